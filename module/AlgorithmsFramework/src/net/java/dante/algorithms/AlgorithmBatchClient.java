@@ -0,0 +1,245 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms;
+
+import net.java.dante.algorithms.common.Dbg;
+import net.java.dante.algorithms.message.AlgorithmExceptionMessage;
+import net.java.dante.algorithms.message.CommandsReadyMessage;
+import net.java.dante.receiver.MessagesProcessor;
+import net.java.dante.receiver.Receiver;
+import net.java.dante.receiver.ReceiverMessage;
+import net.java.dante.sim.batch.BatchClient;
+import net.java.dante.sim.io.CommandsData;
+import net.java.dante.sim.io.FinishData;
+import net.java.dante.sim.io.GroupEliminatedSimulationData;
+import net.java.dante.sim.io.OutputData;
+import net.java.dante.sim.io.SimulationInput;
+import net.java.dante.sim.io.StatisticsData;
+import net.java.dante.sim.io.TimeSyncData;
+import net.java.dante.sim.io.UpdateData;
+import net.java.dante.sim.io.init.InitializationData;
+
+
+/**
+ * {@link BatchClient} running {@link BaseAlgorithmImpl}. Commands generated
+ * by algorithm are sent directly to server simulation's input.<p>
+ * Algorithms implementing {@link SteppedAlgorithm} interface are run in
+ * lockstep with simulation: one step is performed in simulation's thread
+ * for each received {@link UpdateData} or {@link TimeSyncData}, with time
+ * elapsed in simulation, and generated commands are processed by the next
+ * simulation's update. Results of such matches depend only on algorithm's
+ * decisions and seeds. Other algorithms are run in their own
+ * {@link AlgorithmRunner} threads and pace themselves.
+ *
+ * @author M.Olszewski
+ */
+public class AlgorithmBatchClient implements BatchClient
+{
+  /** Run algorithm. */
+  private BaseAlgorithmImpl algorithm;
+  /** Started stepped algorithm - <code>null</code> if algorithm is not stepped or it is finished. */
+  private SteppedAlgorithm steppedAlgorithm;
+  /** Determines whether stepped algorithm should perform further steps. */
+  private boolean stepping;
+  /** Simulation time of the last step. */
+  private long lastStepTime;
+
+
+  /**
+   * Creates instance of {@link AlgorithmBatchClient} class.
+   *
+   * @param batchAlgorithm - run algorithm.
+   */
+  public AlgorithmBatchClient(BaseAlgorithmImpl batchAlgorithm)
+  {
+    if (batchAlgorithm == null)
+    {
+      throw new NullPointerException("Specified batchAlgorithm is null!");
+    }
+
+    algorithm = batchAlgorithm;
+  }
+
+
+  /**
+   * @see net.java.dante.sim.batch.BatchClient#init(net.java.dante.sim.io.init.InitializationData, net.java.dante.sim.io.SimulationInput)
+   */
+  public void init(InitializationData initData, SimulationInput serverInput)
+  {
+    algorithm.initAlgorithm(new DirectReceiver(serverInput), initData);
+
+    if (algorithm instanceof SteppedAlgorithm)
+    {
+      steppedAlgorithm = (SteppedAlgorithm)algorithm;
+      algorithm.startRunning();
+      stepping = true;
+      try
+      {
+        steppedAlgorithm.startSteps();
+      }
+      catch (Throwable e)
+      {
+        stepFailed(e);
+      }
+    }
+    else
+    {
+      AlgorithmRunner runner = new AlgorithmRunner(algorithm);
+      runner.setDaemon(true);
+      runner.start();
+    }
+  }
+
+  /**
+   * @see net.java.dante.sim.batch.BatchClient#dataReady(net.java.dante.sim.io.OutputData)
+   */
+  public void dataReady(OutputData data)
+  {
+    if (data instanceof UpdateData)
+    {
+      UpdateData update = (UpdateData)data;
+      algorithm.addUpdateData(update);
+      step(update.getTime());
+    }
+    else if (data instanceof TimeSyncData)
+    {
+      TimeSyncData timeData = (TimeSyncData)data;
+      algorithm.addTimeSyncData(timeData);
+      step(timeData.getTime());
+    }
+    else if ((data instanceof GroupEliminatedSimulationData) ||
+             (data instanceof StatisticsData) ||
+             (data instanceof FinishData))
+    {
+      stop();
+    }
+  }
+
+  /**
+   * @see net.java.dante.sim.batch.BatchClient#dispose()
+   */
+  public void dispose()
+  {
+    stop();
+  }
+
+  /**
+   * Performs one step of stepped algorithm if it should perform further
+   * steps.
+   *
+   * @param time - current simulation time.
+   */
+  private void step(long time)
+  {
+    if (stepping)
+    {
+      long delta = time - lastStepTime;
+      lastStepTime = time;
+
+      try
+      {
+        stepping = steppedAlgorithm.step(delta);
+      }
+      catch (Throwable e)
+      {
+        stepFailed(e);
+      }
+    }
+  }
+
+  /**
+   * Stops stepping algorithm after exception was caught in it.
+   *
+   * @param cause - cause of exception.
+   */
+  private void stepFailed(Throwable cause)
+  {
+    stepping = false;
+    steppedAlgorithm = null;
+    algorithm.exceptionCaught(cause);
+  }
+
+  /**
+   * Stops run algorithm. Stepped algorithm is finished only once.
+   */
+  private void stop()
+  {
+    if (steppedAlgorithm != null)
+    {
+      stepping = false;
+      SteppedAlgorithm finishedAlgorithm = steppedAlgorithm;
+      steppedAlgorithm = null;
+      finishedAlgorithm.finishSteps();
+    }
+    algorithm.requestStopRunning();
+  }
+
+
+  /**
+   * {@link Receiver} passing commands generated by algorithm directly
+   * to server simulation's input.
+   *
+   * @author M.Olszewski
+   */
+  private static class DirectReceiver implements Receiver
+  {
+    /** Input of server simulation. */
+    private SimulationInput input;
+
+
+    /**
+     * Creates instance of {@link DirectReceiver} class.
+     *
+     * @param serverInput - input of server simulation.
+     */
+    DirectReceiver(SimulationInput serverInput)
+    {
+      if (serverInput == null)
+      {
+        throw new NullPointerException("Specified serverInput is null!");
+      }
+
+      input = serverInput;
+    }
+
+
+    /**
+     * @see net.java.dante.receiver.Receiver#postMessage(net.java.dante.receiver.ReceiverMessage)
+     */
+    public void postMessage(ReceiverMessage message)
+    {
+      if (message instanceof CommandsReadyMessage)
+      {
+        input.dataReceived(new CommandsData(((CommandsReadyMessage)message).getCommands()));
+      }
+      else if (message instanceof AlgorithmExceptionMessage)
+      {
+        if (Dbg.DBGE)
+        {
+          Dbg.error("Exception caught while running algorithm: " +
+              ((AlgorithmExceptionMessage)message).getCause());
+        }
+      }
+    }
+
+    /**
+     * @see net.java.dante.receiver.Receiver#start(net.java.dante.receiver.MessagesProcessor)
+     */
+    public void start(MessagesProcessor messagesProcessor)
+    {
+      // Intentionally left empty.
+    }
+
+    /**
+     * @see net.java.dante.receiver.Receiver#dispose(boolean)
+     */
+    public void dispose(boolean quickDispose)
+    {
+      // Intentionally left empty.
+    }
+  }
+}
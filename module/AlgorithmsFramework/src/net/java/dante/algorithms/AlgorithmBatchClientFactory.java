@@ -0,0 +1,74 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms;
+
+import net.java.dante.sim.batch.BatchClient;
+import net.java.dante.sim.batch.BatchClientFactory;
+
+
+/**
+ * {@link BatchClientFactory} creating {@link AlgorithmBatchClient} instances
+ * with new instances of specified algorithm class. Algorithm class must
+ * have public no-argument constructor. Seed of each client is passed to its
+ * algorithm (see {@link BaseAlgorithmImpl#setSeed(long)}).
+ *
+ * @author M.Olszewski
+ */
+public class AlgorithmBatchClientFactory implements BatchClientFactory
+{
+  /** Class of created algorithms. */
+  private Class<? extends BaseAlgorithmImpl> algorithmClass;
+
+
+  /**
+   * Creates instance of {@link AlgorithmBatchClientFactory} class.
+   *
+   * @param batchAlgorithmClass - class of created algorithms.
+   */
+  public AlgorithmBatchClientFactory(Class<? extends BaseAlgorithmImpl> batchAlgorithmClass)
+  {
+    if (batchAlgorithmClass == null)
+    {
+      throw new NullPointerException("Specified batchAlgorithmClass is null!");
+    }
+
+    algorithmClass = batchAlgorithmClass;
+  }
+
+
+  /**
+   * @see net.java.dante.sim.batch.BatchClientFactory#createClient(long)
+   */
+  public BatchClient createClient(long seed)
+  {
+    BaseAlgorithmImpl algorithm = null;
+    try
+    {
+      algorithm = algorithmClass.newInstance();
+    }
+    catch (InstantiationException e)
+    {
+      throw new IllegalStateException("Cannot create instance of " + algorithmClass.getName() + "!", e);
+    }
+    catch (IllegalAccessException e)
+    {
+      throw new IllegalStateException("Cannot create instance of " + algorithmClass.getName() + "!", e);
+    }
+
+    algorithm.setSeed(seed);
+
+    return new AlgorithmBatchClient(algorithm);
+  }
+
+  /**
+   * @see net.java.dante.sim.batch.BatchClientFactory#getName()
+   */
+  public String getName()
+  {
+    return algorithmClass.getSimpleName();
+  }
+}
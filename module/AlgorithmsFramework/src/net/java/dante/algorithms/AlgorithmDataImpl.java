@@ -13,6 +13,7 @@ import net.java.dante.algorithms.data.AlgorithmData;
 import net.java.dante.algorithms.data.ControlledAgentsData;
 import net.java.dante.algorithms.data.EnemyAgentsData;
 import net.java.dante.algorithms.data.ProjectilesData;
+import net.java.dante.algorithms.data.SpatialData;
 import net.java.dante.algorithms.data.WeaponData;
 import net.java.dante.sim.data.map.SimulationMap;
 import net.java.dante.sim.data.object.ObjectSize;
@@ -47,6 +48,8 @@ class AlgorithmDataImpl implements AlgorithmData
   private ControlledAgentsDataImpl agents;
   /** Projectiles data storage. */
   private ProjectilesDataImpl projectiles;
+  /** Spatial queries about objects. */
+  private SpatialDataImpl spatial;
   /** Best refresh rate. */
   private long refreshRate;
   /** Most recently received time. */
@@ -120,6 +123,14 @@ class AlgorithmDataImpl implements AlgorithmData
     return projectiles;
   }
 
+  /**
+   * @see net.java.dante.algorithms.data.AlgorithmData#getSpatialData()
+   */
+  public SpatialData getSpatialData()
+  {
+    return spatial;
+  }
+
   /**
    * Rebuilds this {@link AlgorithmData} data by using next events repository
    * from the queue. This method returns value indicating whether algorithm's
@@ -231,10 +242,12 @@ class AlgorithmDataImpl implements AlgorithmData
     WeaponTemplateData weaponTemplate = (WeaponTemplateData)initData.getWeaponTemplateTypeData().getData();
     WeaponData weaponData = new WeaponDataImpl(weaponTemplate);
 
+    spatial     = new SpatialDataImpl(map, tileSize);
     enemies     = initializeEnemiesData(initData.getAgentsInitData(), agentTemplate, weaponData);
     agents      = initializeControlledData(initData.getAgentsInitData(), agentTemplate, weaponData);
     projectiles = new ProjectilesDataImpl(weaponTemplate.getProjectileSize(),
-                                          weaponTemplate.getMaxSpeed());
+                                          weaponTemplate.getMaxSpeed(),
+                                          spatial.getProjectilesGrid());
   }
 
   /**
@@ -270,7 +283,7 @@ class AlgorithmDataImpl implements AlgorithmData
       }
     }
 
-    return new EnemiesDataImpl(enemiesData);
+    return new EnemiesDataImpl(enemiesData, spatial.getEnemiesGrid());
   }
 
   /**
@@ -306,7 +319,7 @@ class AlgorithmDataImpl implements AlgorithmData
       agentsData.add(agentData);
     }
 
-    return new ControlledAgentsDataImpl(agentsData);
+    return new ControlledAgentsDataImpl(agentsData, spatial.getAgentsGrid());
   }
 
   /**
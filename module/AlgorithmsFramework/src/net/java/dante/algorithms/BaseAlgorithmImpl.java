@@ -7,6 +7,7 @@
 package net.java.dante.algorithms;
 
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -57,6 +58,8 @@ public abstract class BaseAlgorithmImpl extends BaseAlgorithm
   private AlgorithmDataImpl data;
   /** Messages receiver. */
   private Receiver receiver;
+  /** Generator of seeds - <code>null</code> if algorithm is not seeded. */
+  private Random seedsGenerator;
 
 
   /**
@@ -100,6 +103,29 @@ public abstract class BaseAlgorithmImpl extends BaseAlgorithm
     data.initialize(initData);
   }
 
+  /**
+   * Sets seed of random numbers generators created by {@link #createRandom()}
+   * method. It must be invoked before algorithm is started.
+   *
+   * @param seed seed of random numbers generators.
+   */
+  public final void setSeed(long seed)
+  {
+    seedsGenerator = new Random(seed);
+  }
+
+  /**
+   * Creates new random numbers generator. If seed was set by
+   * {@link #setSeed(long)} method, generators are seeded by seeds generated
+   * from it, so generators created in the same order generate the same numbers.
+   *
+   * @return Returns new random numbers generator.
+   */
+  protected final Random createRandom()
+  {
+    return ((seedsGenerator != null)? new Random(seedsGenerator.nextLong()) : new Random());
+  }
+
   /**
    * Runs algorithm.
    * Implementations of this method should check sometimes whether
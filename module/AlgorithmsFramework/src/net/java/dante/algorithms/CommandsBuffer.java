@@ -0,0 +1,93 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.java.dante.sim.command.CommandUtils;
+import net.java.dante.sim.command.CommandsRepository;
+import net.java.dante.sim.command.CommandsRepositoryBuilder;
+import net.java.dante.sim.command.types.Command;
+
+/**
+ * Buffer of commands added by one agent. Each agent deciding in parallel
+ * with other agents adds its commands to its own buffer - buffers are
+ * moved to shared {@link CommandsRepositoryBuilder} in deterministic
+ * order by {@link #flushTo(CommandsRepositoryBuilder)} method, after all
+ * agents finished their decisions.
+ *
+ * @author M.Olszewski
+ */
+public class CommandsBuffer implements CommandsRepositoryBuilder
+{
+  /** Identifier of group of buffered commands. */
+  private int groupId;
+  /** Identifiers of agents, stored in order of adding commands. */
+  private List<Integer> agentsIds = new ArrayList<Integer>();
+  /** Buffered commands, stored in order of adding commands. */
+  private List<Command> commands = new ArrayList<Command>();
+
+
+  /**
+   * Creates instance of {@link CommandsBuffer} class.
+   *
+   * @param commandsGroupId identifier of group of buffered commands.
+   */
+  public CommandsBuffer(int commandsGroupId)
+  {
+    groupId = commandsGroupId;
+  }
+
+
+  /**
+   * @see net.java.dante.sim.command.CommandsRepositoryBuilder#addCommand(int, net.java.dante.sim.command.types.Command)
+   */
+  public void addCommand(int agentId, Command command)
+  {
+    if (command == null)
+    {
+      throw new NullPointerException("Specified command is null!");
+    }
+
+    agentsIds.add(Integer.valueOf(agentId));
+    commands.add(command);
+  }
+
+  /**
+   * Adds all buffered commands to the specified builder, in order in which
+   * they were added to this buffer, and clears this buffer.
+   *
+   * @param builder the specified builder.
+   */
+  public void flushTo(CommandsRepositoryBuilder builder)
+  {
+    if (builder == null)
+    {
+      throw new NullPointerException("Specified builder is null!");
+    }
+
+    for (int i = 0, size = commands.size(); i < size; i++)
+    {
+      builder.addCommand(agentsIds.get(i).intValue(), commands.get(i));
+    }
+
+    agentsIds.clear();
+    commands.clear();
+  }
+
+  /**
+   * @see net.java.dante.sim.command.CommandsRepositoryBuilder#build()
+   */
+  public CommandsRepository build()
+  {
+    CommandsRepositoryBuilder builder = CommandUtils.createDefaultBuilder(groupId);
+    flushTo(builder);
+
+    return builder.build();
+  }
+}
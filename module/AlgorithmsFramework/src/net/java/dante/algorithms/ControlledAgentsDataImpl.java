@@ -6,7 +6,6 @@
 
 package net.java.dante.algorithms;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,33 +32,46 @@ class ControlledAgentsDataImpl implements ControlledAgentsData, EventsUpdateable
   private Map<Integer, ControlledAgentDataImpl> agentsMap;
   /** List with all controlled agents. */
   private List<ControlledAgentDataImpl> agents;
-  /** List with active controlled agents. */
-  private List<ControlledAgentDataImpl> activeAgents;
-  /** List with blocked and active controlled agents. */
-  private List<ControlledAgentDataImpl> blockedAgents;
+  /** Set with active controlled agents. */
+  private IndexedSet<ControlledAgentDataImpl> activeAgents;
+  /** Set with blocked and active controlled agents. */
+  private IndexedSet<ControlledAgentDataImpl> blockedAgents;
+  /** Grid with active controlled agents. */
+  private SpatialGrid<ControlledAgentDataImpl> grid;
 
 
   /**
    * Creates instance of {@link ControlledAgentsDataImpl} class.
    *
    * @param agentsList - list with data of all controlled agents.
+   * @param agentsGrid - grid with active controlled agents, updated by this object.
    */
-  ControlledAgentsDataImpl(List<ControlledAgentDataImpl> agentsList)
+  ControlledAgentsDataImpl(List<ControlledAgentDataImpl> agentsList,
+                           SpatialGrid<ControlledAgentDataImpl> agentsGrid)
   {
     if (agentsList == null)
     {
       throw new NullPointerException("Specified agentsList is null!");
     }
+    if (agentsGrid == null)
+    {
+      throw new NullPointerException("Specified agentsGrid is null!");
+    }
     if (agentsList.size() <= 0)
     {
       throw new IllegalArgumentException("Invalid argument agentsList - it must contain at least 1 element!");
     }
 
     agents        = agentsList;
-    activeAgents  = new ArrayList<ControlledAgentDataImpl>(agentsList.size());
-    activeAgents.addAll(agentsList);
+    activeAgents  = new IndexedSet<ControlledAgentDataImpl>(agentsList.size());
+    blockedAgents = new IndexedSet<ControlledAgentDataImpl>(agentsList.size());
 
-    blockedAgents = new ArrayList<ControlledAgentDataImpl>(agentsList.size());
+    grid          = agentsGrid;
+    for (ControlledAgentDataImpl data : agentsList)
+    {
+      activeAgents.add(data);
+      grid.add(data);
+    }
 
     // Initialize agents map
     agentsMap        = new HashMap<Integer, ControlledAgentDataImpl>(agentsList.size());
@@ -134,6 +146,14 @@ class ControlledAgentsDataImpl implements ControlledAgentsData, EventsUpdateable
     return blockedAgents.toArray(new ControlledAgentData[blockedAgents.size()]);
   }
 
+  /**
+   * @see net.java.dante.algorithms.data.ControlledAgentsData#getBlockedAgentData(int)
+   */
+  public ControlledAgentData getBlockedAgentData(int index)
+  {
+    return blockedAgents.get(index);
+  }
+
   /**
    * @see net.java.dante.algorithms.EventsUpdateable#update(net.java.dante.sim.event.EventsRepository)
    */
@@ -152,8 +172,6 @@ class ControlledAgentsDataImpl implements ControlledAgentsData, EventsUpdateable
         processFriendlyEvent((FriendlyAgentEvent)event);
       }
     }
-
-    blockedAgents.retainAll(activeAgents);
   }
 
   /**
@@ -176,7 +194,10 @@ class ControlledAgentsDataImpl implements ControlledAgentsData, EventsUpdateable
       else if (event instanceof FriendlyAgentBlockedEvent)
       {
         agentData.blocked();
-        blockedAgents.add(agentData);
+        if (activeAgents.contains(agentData))
+        {
+          blockedAgents.add(agentData);
+        }
       }
       else if (event instanceof FriendlyAgentHitEvent)
       {
@@ -187,6 +208,8 @@ class ControlledAgentsDataImpl implements ControlledAgentsData, EventsUpdateable
       {
         agentData.destroyed();
         activeAgents.remove(agentData);
+        blockedAgents.remove(agentData);
+        grid.remove(agentData);
       }
     }
   }
@@ -204,5 +227,6 @@ class ControlledAgentsDataImpl implements ControlledAgentsData, EventsUpdateable
     agentData.setY(moveParams.getDestinationY());
     agentData.setSpeedX(moveParams.getSpeedX());
     agentData.setSpeedY(moveParams.getSpeedY());
+    grid.move(agentData);
   }
 }
\ No newline at end of file
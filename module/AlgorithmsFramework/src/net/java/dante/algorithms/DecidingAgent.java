@@ -0,0 +1,25 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms;
+
+/**
+ * Interface of agents whose decisions can be made in parallel by
+ * {@link DecisionsExecutor}. Decision of one agent can only read data shared
+ * with other agents and its commands must be added to its own
+ * {@link CommandsBuffer}.
+ *
+ * @author M.Olszewski
+ */
+public interface DecidingAgent
+{
+  /**
+   * Updates this agent - makes its decision if it is time for it.
+   *
+   * @param delta time elapsed since the last update.
+   */
+  void update(long delta);
+}
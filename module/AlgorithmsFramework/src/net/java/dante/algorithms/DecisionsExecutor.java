@@ -0,0 +1,235 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executor updating {@link DecidingAgent} objects in parallel. Agents are
+ * split into contiguous parts, one part for each thread, and updated by
+ * pool of daemon threads shared by all algorithms. Thread invoking
+ * {@link #update(List, long)} method updates first part itself and waits
+ * until all agents are updated.
+ * <p>Number of threads is set by {@link #THREADS_PROPERTY} system property,
+ * number of available processors is used by default. Lists with less
+ * than {@link #MIN_PARALLEL_AGENTS} agents are updated by invoking thread.
+ *
+ * @author M.Olszewski
+ */
+public class DecisionsExecutor
+{
+  /** Name of system property with number of threads updating agents. */
+  public static final String THREADS_PROPERTY = "dante.algorithms.decisionThreads";
+  /** Minimal number of agents updated in parallel. */
+  public static final int MIN_PARALLEL_AGENTS = 8;
+
+  /** The only existing instance of {@link DecisionsExecutor}. */
+  private static final DecisionsExecutor instance = new DecisionsExecutor();
+
+  /** Number of threads updating agents, including invoking thread. */
+  private final int threadsCount;
+  /** Pool of threads - <code>null</code> if agents are updated by invoking thread only. */
+  private final ExecutorService executor;
+
+
+  /**
+   * Private constructor - no external class creation, no inheritance.
+   */
+  private DecisionsExecutor()
+  {
+    threadsCount = Math.max(1, Integer.getInteger(THREADS_PROPERTY,
+        Runtime.getRuntime().availableProcessors()).intValue());
+    executor = ((threadsCount > 1)?
+        Executors.newFixedThreadPool(threadsCount - 1, new DecisionsThreadFactory()) : null);
+  }
+
+
+  /**
+   * Gets the only instance of this singleton class.
+   *
+   * @return Returns the only instance of this singleton class.
+   */
+  public static DecisionsExecutor getInstance()
+  {
+    return instance;
+  }
+
+
+  /**
+   * Updates all agents from the specified list and waits until all of them
+   * are updated. Exceptions thrown by agents are rethrown by this method.
+   *
+   * @param agents the specified list of agents.
+   * @param delta time elapsed since the last update.
+   */
+  public void update(List<? extends DecidingAgent> agents, long delta)
+  {
+    if (agents == null)
+    {
+      throw new NullPointerException("Specified agents is null!");
+    }
+
+    int size = agents.size();
+    int partsCount = Math.min(threadsCount, size / (MIN_PARALLEL_AGENTS >> 1));
+
+    if ((executor == null) || (size < MIN_PARALLEL_AGENTS) || (partsCount < 2))
+    {
+      updateAgents(agents, 0, size, delta);
+    }
+    else
+    {
+      List<Future<Object>> futures = new ArrayList<Future<Object>>(partsCount - 1);
+      int partSize = (size + partsCount - 1) / partsCount;
+      for (int start = partSize; start < size; start += partSize)
+      {
+        futures.add(executor.submit(new UpdateTask(agents, start, Math.min(size, start + partSize), delta)));
+      }
+
+      updateAgents(agents, 0, partSize, delta);
+      waitFor(futures);
+    }
+  }
+
+  /**
+   * Updates agents from the specified part of the specified list.
+   *
+   * @param agents the specified list of agents.
+   * @param start index of first updated agent.
+   * @param end index after last updated agent.
+   * @param delta time elapsed since the last update.
+   */
+  static void updateAgents(List<? extends DecidingAgent> agents, int start, int end, long delta)
+  {
+    for (int i = start; i < end; i++)
+    {
+      agents.get(i).update(delta);
+    }
+  }
+
+  /**
+   * Waits for all the specified futures and rethrows exceptions thrown
+   * by their tasks.
+   *
+   * @param futures the specified futures.
+   */
+  private static void waitFor(List<Future<Object>> futures)
+  {
+    RuntimeException exception = null;
+    boolean interrupted = false;
+
+    for (int i = 0, size = futures.size(); i < size; i++)
+    {
+      boolean done = false;
+      while (!done)
+      {
+        try
+        {
+          futures.get(i).get();
+          done = true;
+        }
+        catch (InterruptedException e)
+        {
+          // Agents must be updated before commands are merged
+          interrupted = true;
+        }
+        catch (ExecutionException e)
+        {
+          done = true;
+          if (exception == null)
+          {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error)
+            {
+              throw (Error)cause;
+            }
+            exception = ((cause instanceof RuntimeException)?
+                (RuntimeException)cause : new RuntimeException(cause));
+          }
+        }
+      }
+    }
+
+    if (interrupted)
+    {
+      Thread.currentThread().interrupt();
+    }
+    if (exception != null)
+    {
+      throw exception;
+    }
+  }
+
+
+  /**
+   * Task updating part of list of agents.
+   *
+   * @author M.Olszewski
+   */
+  private static class UpdateTask implements Callable<Object>
+  {
+    /** List of agents. */
+    private List<? extends DecidingAgent> agents;
+    /** Index of first updated agent. */
+    private int start;
+    /** Index after last updated agent. */
+    private int end;
+    /** Time elapsed since the last update. */
+    private long delta;
+
+
+    /**
+     * Creates instance of {@link UpdateTask} class.
+     *
+     * @param agentsList list of agents.
+     * @param startIndex index of first updated agent.
+     * @param endIndex index after last updated agent.
+     * @param elapsedTime time elapsed since the last update.
+     */
+    UpdateTask(List<? extends DecidingAgent> agentsList, int startIndex, int endIndex, long elapsedTime)
+    {
+      agents = agentsList;
+      start  = startIndex;
+      end    = endIndex;
+      delta  = elapsedTime;
+    }
+
+
+    /**
+     * @see java.util.concurrent.Callable#call()
+     */
+    public Object call()
+    {
+      updateAgents(agents, start, end, delta);
+      return null;
+    }
+  }
+
+  /**
+   * Factory of daemon threads updating agents.
+   *
+   * @author M.Olszewski
+   */
+  private static class DecisionsThreadFactory implements ThreadFactory
+  {
+    /**
+     * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+     */
+    public Thread newThread(Runnable runnable)
+    {
+      Thread thread = new Thread(runnable, "DecisionsExecutor");
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
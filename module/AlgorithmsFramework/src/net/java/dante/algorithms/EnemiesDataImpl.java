@@ -6,7 +6,6 @@
 
 package net.java.dante.algorithms;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,42 +33,49 @@ class EnemiesDataImpl implements EnemyAgentsData, EventsUpdateable
   private Map<Integer, EnemyAgentDataImpl> enemiesMap;
   /** List with all enemy agents. */
   private List<EnemyAgentDataImpl> enemies;
-  /** List with visible enemy agents. */
-  private List<EnemyAgentDataImpl> visibleEnemies;
-  /** List with not visible enemy agents. */
-  private List<EnemyAgentDataImpl> notVisibleEnemies;
+  /** Set with visible enemy agents. */
+  private IndexedSet<EnemyAgentDataImpl> visibleEnemies;
+  /** Set with not visible enemy agents. */
+  private IndexedSet<EnemyAgentDataImpl> notVisibleEnemies;
   /** Count of destroyed enemies */
   private int destroyedEnemies = 0;
+  /** Grid with visible enemy agents. */
+  private SpatialGrid<EnemyAgentDataImpl> grid;
 
 
   /**
    * Creates instance of {@link EnemiesDataImpl} class.
    *
    * @param enemiesList - list with data of all enemy agents.
+   * @param enemiesGrid - grid with visible enemy agents, updated by this object.
    */
-  EnemiesDataImpl(List<EnemyAgentDataImpl> enemiesList)
+  EnemiesDataImpl(List<EnemyAgentDataImpl> enemiesList, SpatialGrid<EnemyAgentDataImpl> enemiesGrid)
   {
     if (enemiesList == null)
     {
       throw new NullPointerException("Specified enemiesList is null!");
     }
+    if (enemiesGrid == null)
+    {
+      throw new NullPointerException("Specified enemiesGrid is null!");
+    }
     if (enemiesList.size() <= 0)
     {
       throw new IllegalArgumentException("Invalid argument enemiesList - it must contain at least 1 element!");
     }
 
     enemies           = enemiesList;
+    grid              = enemiesGrid;
 
-    visibleEnemies    = new ArrayList<EnemyAgentDataImpl>(enemiesList.size());
-
-    notVisibleEnemies = new ArrayList<EnemyAgentDataImpl>(enemiesList.size());
-    notVisibleEnemies.addAll(enemiesList);
+    visibleEnemies    = new IndexedSet<EnemyAgentDataImpl>(enemiesList.size());
+    notVisibleEnemies = new IndexedSet<EnemyAgentDataImpl>(enemiesList.size());
 
     // Initialize enemies map
     enemiesMap        = new HashMap<Integer, EnemyAgentDataImpl>(enemiesList.size());
     for (EnemyAgentDataImpl data : enemiesList)
     {
       enemiesMap.put(Integer.valueOf(data.getId()), data);
+      notVisibleEnemies.add(data);
     }
   }
 
@@ -114,6 +120,14 @@ class EnemiesDataImpl implements EnemyAgentsData, EventsUpdateable
     return notVisibleEnemies.toArray(new EnemyAgentData[notVisibleEnemies.size()]);
   }
 
+  /**
+   * @see net.java.dante.algorithms.data.EnemyAgentsData#getNotVisibleEnemyData(int)
+   */
+  public EnemyAgentData getNotVisibleEnemyData(int index)
+  {
+    return notVisibleEnemies.get(index);
+  }
+
   /**
    * @see net.java.dante.algorithms.data.EnemyAgentsData#getVisibleEnemiesCount()
    */
@@ -178,6 +192,7 @@ class EnemiesDataImpl implements EnemyAgentsData, EventsUpdateable
 
       visibleEnemies.add(enemyData);
       notVisibleEnemies.remove(enemyData);
+      grid.add(enemyData);
     }
     else if (event instanceof EnemyAgentGoneEvent)
     {
@@ -186,6 +201,7 @@ class EnemiesDataImpl implements EnemyAgentsData, EventsUpdateable
 
       visibleEnemies.remove(enemyData);
       notVisibleEnemies.add(enemyData);
+      grid.remove(enemyData);
     }
     else if (event instanceof EnemyAgentHitEvent)
     {
@@ -198,6 +214,7 @@ class EnemiesDataImpl implements EnemyAgentsData, EventsUpdateable
       destroyedEnemies++;
       visibleEnemies.remove(enemyData);
       notVisibleEnemies.remove(enemyData);
+      grid.remove(enemyData);
     }
   }
 
@@ -214,5 +231,6 @@ class EnemiesDataImpl implements EnemyAgentsData, EventsUpdateable
     enemyData.setY(moveParams.getDestinationY());
     enemyData.setSpeedX(moveParams.getSpeedX());
     enemyData.setSpeedY(moveParams.getSpeedY());
+    grid.move(enemyData);
   }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set of objects stored in dense list, with map between objects and their
+ * indexes in this list. Adding, removing and checking whether set contains
+ * an object take constant time: removed object is replaced by the last
+ * object from the list, so order of objects changes after removal.
+ * Objects can be obtained by their indexes without any allocations.
+ *
+ * @param <T> type of stored objects.
+ *
+ * @author M.Olszewski
+ */
+final class IndexedSet<T>
+{
+  /** Objects stored in this set. */
+  private final List<T> elements;
+  /** Map between objects and their indexes in {@link #elements} list. */
+  private final Map<T, Integer> indexes;
+
+
+  /**
+   * Creates instance of {@link IndexedSet} class.
+   *
+   * @param initialCapacity initial capacity of this set.
+   */
+  IndexedSet(int initialCapacity)
+  {
+    elements = new ArrayList<T>(initialCapacity);
+    indexes  = new HashMap<T, Integer>(initialCapacity);
+  }
+
+
+  /**
+   * Adds the specified object to this set, if it is not stored in this set.
+   *
+   * @param object the specified object.
+   *
+   * @return Returns <code>true</code> if the specified object was added,
+   *         <code>false</code> if it was already stored in this set.
+   */
+  boolean add(T object)
+  {
+    if (object == null)
+    {
+      throw new NullPointerException("Specified object is null!");
+    }
+
+    boolean added = !indexes.containsKey(object);
+    if (added)
+    {
+      indexes.put(object, Integer.valueOf(elements.size()));
+      elements.add(object);
+    }
+
+    return added;
+  }
+
+  /**
+   * Removes the specified object from this set. Last object from this set
+   * takes index of removed object.
+   *
+   * @param object the specified object.
+   *
+   * @return Returns <code>true</code> if the specified object was removed,
+   *         <code>false</code> if it was not stored in this set.
+   */
+  boolean remove(T object)
+  {
+    Integer index = indexes.remove(object);
+    if (index != null)
+    {
+      T last = elements.remove(elements.size() - 1);
+      if (last != object)
+      {
+        elements.set(index.intValue(), last);
+        indexes.put(last, index);
+      }
+    }
+
+    return (index != null);
+  }
+
+  /**
+   * Checks whether the specified object is stored in this set.
+   *
+   * @param object the specified object.
+   *
+   * @return Returns <code>true</code> if the specified object is stored
+   *         in this set, <code>false</code> otherwise.
+   */
+  boolean contains(T object)
+  {
+    return indexes.containsKey(object);
+  }
+
+  /**
+   * Gets object from the specified index.
+   *
+   * @param index the specified index.
+   *
+   * @return Returns object from the specified index.
+   */
+  T get(int index)
+  {
+    return elements.get(index);
+  }
+
+  /**
+   * Gets number of objects stored in this set.
+   *
+   * @return Returns number of objects stored in this set.
+   */
+  int size()
+  {
+    return elements.size();
+  }
+
+  /**
+   * Copies all objects stored in this set to the specified array, if it is
+   * big enough, or to new array of the same type.
+   *
+   * @param <E> type of array's elements.
+   * @param array the specified array.
+   *
+   * @return Returns array with all objects stored in this set.
+   */
+  <E> E[] toArray(E[] array)
+  {
+    return elements.toArray(array);
+  }
+}
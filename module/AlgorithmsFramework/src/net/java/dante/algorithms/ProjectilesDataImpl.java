@@ -6,9 +6,7 @@
 
 package net.java.dante.algorithms;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import net.java.dante.algorithms.data.ProjectileData;
@@ -38,12 +36,14 @@ class ProjectilesDataImpl implements ProjectilesData, EventsUpdateable
   private ObjectSize size;
   private double maxSpeed;
 
-  /** List with projectiles. */
-  private List<ProjectileDataImpl> projectiles =
-      new ArrayList<ProjectileDataImpl>(DEFAULT_PROJECTILES_SIZE);
+  /** Set with projectiles. */
+  private IndexedSet<ProjectileDataImpl> projectiles =
+      new IndexedSet<ProjectileDataImpl>(DEFAULT_PROJECTILES_SIZE);
   /** Map between projectiles identifiers and projectiles data. */
   private Map<Integer, ProjectileDataImpl> projectilesMap =
       new HashMap<Integer, ProjectileDataImpl>(DEFAULT_PROJECTILES_SIZE);
+  /** Grid with projectiles. */
+  private SpatialGrid<ProjectileDataImpl> grid;
 
 
   /**
@@ -51,17 +51,23 @@ class ProjectilesDataImpl implements ProjectilesData, EventsUpdateable
    *
    * @param projectilesSize all projectiles size.
    * @param projectileMaxSpeed all projectiles maximum speed.
+   * @param projectilesGrid grid with projectiles, updated by this object.
    */
-  ProjectilesDataImpl(ObjectSize projectilesSize, double projectileMaxSpeed)
+  ProjectilesDataImpl(ObjectSize projectilesSize, double projectileMaxSpeed,
+                      SpatialGrid<ProjectileDataImpl> projectilesGrid)
   {
     if (projectilesSize == null)
     {
       throw new NullPointerException("Specified projectilesSize is null!");
     }
-
+    if (projectilesGrid == null)
+    {
+      throw new NullPointerException("Specified projectilesGrid is null!");
+    }
 
     size     = projectilesSize;
     maxSpeed = projectileMaxSpeed;
+    grid     = projectilesGrid;
   }
 
 
@@ -81,6 +87,14 @@ class ProjectilesDataImpl implements ProjectilesData, EventsUpdateable
     return projectiles.toArray(new ProjectileData[projectiles.size()]);
   }
 
+  /**
+   * @see net.java.dante.algorithms.data.ProjectilesData#getProjectileData(int)
+   */
+  public ProjectileData getProjectileData(int index)
+  {
+    return projectiles.get(index);
+  }
+
   /**
    * @see net.java.dante.algorithms.EventsUpdateable#update(net.java.dante.sim.event.EventsRepository)
    */
@@ -161,6 +175,7 @@ class ProjectilesDataImpl implements ProjectilesData, EventsUpdateable
     projectileData.setY(moveParams.getDestinationY());
     projectileData.setSpeedX(moveParams.getSpeedX());
     projectileData.setSpeedY(moveParams.getSpeedY());
+    grid.move(projectileData);
   }
 
   /**
@@ -172,6 +187,7 @@ class ProjectilesDataImpl implements ProjectilesData, EventsUpdateable
   {
     projectiles.add(projectileData);
     projectilesMap.put(Integer.valueOf(projectileData.getId()), projectileData);
+    grid.add(projectileData);
   }
 
   /**
@@ -183,5 +199,6 @@ class ProjectilesDataImpl implements ProjectilesData, EventsUpdateable
   {
     projectiles.remove(projectileData);
     projectilesMap.remove(Integer.valueOf(projectileData.getId()));
+    grid.remove(projectileData);
   }
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms;
+
+import java.util.List;
+
+import net.java.dante.algorithms.data.ControlledAgentData;
+import net.java.dante.algorithms.data.EnemyAgentData;
+import net.java.dante.algorithms.data.ProjectileData;
+import net.java.dante.algorithms.data.SpatialData;
+import net.java.dante.algorithms.data.TileData;
+import net.java.dante.sim.data.map.SimulationMap;
+import net.java.dante.sim.data.object.ObjectSize;
+
+/**
+ * Implementation of {@link SpatialData} interface. Obstacles are stored in
+ * {@link SpatialGrid} with one cell for each tile of the map, created once.
+ * Enemy agents, controlled agents and projectiles are stored in grids with
+ * larger cells, updated by {@link EnemiesDataImpl},
+ * {@link ControlledAgentsDataImpl} and {@link ProjectilesDataImpl} when
+ * events are processed.
+ *
+ * @author M.Olszewski
+ */
+class SpatialDataImpl implements SpatialData
+{
+  /** Number of tiles in each dimension of cell of grids with moving objects. */
+  private static final int MOVING_CELL_TILES = 2;
+
+  /** Grid with obstacles. */
+  private SpatialGrid<TileData> obstacles;
+  /** Grid with visible enemy agents. */
+  private SpatialGrid<EnemyAgentDataImpl> enemies;
+  /** Grid with active controlled agents. */
+  private SpatialGrid<ControlledAgentDataImpl> agents;
+  /** Grid with visible projectiles. */
+  private SpatialGrid<ProjectileDataImpl> projectiles;
+
+
+  /**
+   * Creates instance of {@link SpatialDataImpl} class.
+   *
+   * @param map simulation's map.
+   * @param tileSize size of each tile.
+   */
+  SpatialDataImpl(SimulationMap map, ObjectSize tileSize)
+  {
+    if (map == null)
+    {
+      throw new NullPointerException("Specified map is null!");
+    }
+    if (tileSize == null)
+    {
+      throw new NullPointerException("Specified tileSize is null!");
+    }
+
+    double width  = map.getColumns() * tileSize.getWidth();
+    double height = map.getRows() * tileSize.getHeight();
+
+    obstacles = new SpatialGrid<TileData>(width, height, tileSize.getWidth(), tileSize.getHeight());
+    TileData[] tiles = AlgorithmUtils.createTilesData(map, tileSize);
+    for (int i = 0; i < tiles.length; i++)
+    {
+      obstacles.add(tiles[i]);
+    }
+
+    double cellWidth  = MOVING_CELL_TILES * tileSize.getWidth();
+    double cellHeight = MOVING_CELL_TILES * tileSize.getHeight();
+    enemies     = new SpatialGrid<EnemyAgentDataImpl>(width, height, cellWidth, cellHeight);
+    agents      = new SpatialGrid<ControlledAgentDataImpl>(width, height, cellWidth, cellHeight);
+    projectiles = new SpatialGrid<ProjectileDataImpl>(width, height, cellWidth, cellHeight);
+  }
+
+
+  /**
+   * Gets grid with visible enemy agents.
+   *
+   * @return Returns grid with visible enemy agents.
+   */
+  SpatialGrid<EnemyAgentDataImpl> getEnemiesGrid()
+  {
+    return enemies;
+  }
+
+  /**
+   * Gets grid with active controlled agents.
+   *
+   * @return Returns grid with active controlled agents.
+   */
+  SpatialGrid<ControlledAgentDataImpl> getAgentsGrid()
+  {
+    return agents;
+  }
+
+  /**
+   * Gets grid with visible projectiles.
+   *
+   * @return Returns grid with visible projectiles.
+   */
+  SpatialGrid<ProjectileDataImpl> getProjectilesGrid()
+  {
+    return projectiles;
+  }
+
+  /**
+   * @see net.java.dante.algorithms.data.SpatialData#findObstacles(double, double, double, java.util.List)
+   */
+  public int findObstacles(double x, double y, double range, List<? super TileData> result)
+  {
+    return obstacles.find(x, y, range, result, null);
+  }
+
+  /**
+   * @see net.java.dante.algorithms.data.SpatialData#findNearestObstacle(double, double, double)
+   */
+  public TileData findNearestObstacle(double x, double y, double range)
+  {
+    return obstacles.findNearest(x, y, range, null);
+  }
+
+  /**
+   * @see net.java.dante.algorithms.data.SpatialData#findEnemies(double, double, double, java.util.List)
+   */
+  public int findEnemies(double x, double y, double range, List<? super EnemyAgentData> result)
+  {
+    return enemies.find(x, y, range, result, null);
+  }
+
+  /**
+   * @see net.java.dante.algorithms.data.SpatialData#findNearestEnemy(double, double, double)
+   */
+  public EnemyAgentData findNearestEnemy(double x, double y, double range)
+  {
+    return enemies.findNearest(x, y, range, null);
+  }
+
+  /**
+   * @see net.java.dante.algorithms.data.SpatialData#findControlledAgents(double, double, double, java.util.List, net.java.dante.algorithms.data.ControlledAgentData)
+   */
+  public int findControlledAgents(double x, double y, double range,
+                                  List<? super ControlledAgentData> result,
+                                  ControlledAgentData excluded)
+  {
+    return agents.find(x, y, range, result, excludedAgent(excluded));
+  }
+
+  /**
+   * @see net.java.dante.algorithms.data.SpatialData#findNearestControlledAgent(double, double, double, net.java.dante.algorithms.data.ControlledAgentData)
+   */
+  public ControlledAgentData findNearestControlledAgent(double x, double y, double range,
+                                                        ControlledAgentData excluded)
+  {
+    return agents.findNearest(x, y, range, excludedAgent(excluded));
+  }
+
+  /**
+   * Gets excluded controlled agent as stored in grid.
+   *
+   * @param excluded excluded controlled agent.
+   *
+   * @return Returns excluded controlled agent or <code>null</code> if it
+   *         is not stored in grid.
+   */
+  private static ControlledAgentDataImpl excludedAgent(ControlledAgentData excluded)
+  {
+    return ((excluded instanceof ControlledAgentDataImpl)? (ControlledAgentDataImpl)excluded : null);
+  }
+
+  /**
+   * @see net.java.dante.algorithms.data.SpatialData#findProjectiles(double, double, double, java.util.List)
+   */
+  public int findProjectiles(double x, double y, double range, List<? super ProjectileData> result)
+  {
+    return projectiles.find(x, y, range, result, null);
+  }
+
+  /**
+   * @see net.java.dante.algorithms.data.SpatialData#findNearestProjectile(double, double, double)
+   */
+  public ProjectileData findNearestProjectile(double x, double y, double range)
+  {
+    return projectiles.findNearest(x, y, range, null);
+  }
+}
@@ -0,0 +1,345 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.java.dante.algorithms.data.SimpleObjectData;
+
+/**
+ * Uniform grid of objects, covering rectangle with upper left corner at
+ * <code>(0, 0)</code>. Each object is stored in cell containing its
+ * center - objects with center outside the grid are stored in the nearest
+ * border cell. Grid must be notified about each movement of stored object
+ * by {@link #move(SimpleObjectData)} method.
+ * <p>Queries ({@link #find(double, double, double, List, SimpleObjectData)}
+ * and {@link #findNearest(double, double, double, SimpleObjectData)}) check
+ * only cells near the specified point and do not modify the grid, so they
+ * can be performed by many threads at once, if grid is not modified.
+ *
+ * @param <T> type of stored objects.
+ *
+ * @author M.Olszewski
+ */
+final class SpatialGrid<T extends SimpleObjectData>
+{
+  /** Width of a cell. */
+  private final double cellWidth;
+  /** Height of a cell. */
+  private final double cellHeight;
+  /** Number of columns. */
+  private final int columns;
+  /** Number of rows. */
+  private final int rows;
+  /** Objects stored in cells, row by row. */
+  private final List<List<T>> cells;
+  /** Map between objects and indexes of cells they are stored in. */
+  private final Map<T, Integer> objectsCells = new HashMap<T, Integer>();
+
+
+  /**
+   * Creates instance of {@link SpatialGrid} class.
+   *
+   * @param width width of rectangle covered by grid.
+   * @param height height of rectangle covered by grid.
+   * @param gridCellWidth width of a cell.
+   * @param gridCellHeight height of a cell.
+   */
+  SpatialGrid(double width, double height, double gridCellWidth, double gridCellHeight)
+  {
+    if (gridCellWidth <= 0.0)
+    {
+      throw new IllegalArgumentException("Invalid argument gridCellWidth - it must be positive real number!");
+    }
+    if (gridCellHeight <= 0.0)
+    {
+      throw new IllegalArgumentException("Invalid argument gridCellHeight - it must be positive real number!");
+    }
+
+    cellWidth  = gridCellWidth;
+    cellHeight = gridCellHeight;
+    columns    = Math.max(1, (int)Math.ceil(width / cellWidth));
+    rows       = Math.max(1, (int)Math.ceil(height / cellHeight));
+
+    cells = new ArrayList<List<T>>(columns * rows);
+    for (int i = 0, size = columns * rows; i < size; i++)
+    {
+      cells.add(new ArrayList<T>());
+    }
+  }
+
+
+  /**
+   * Adds the specified object to this grid. Object already stored in this
+   * grid is moved to cell containing its current center.
+   *
+   * @param object the specified object.
+   */
+  void add(T object)
+  {
+    if (object == null)
+    {
+      throw new NullPointerException("Specified object is null!");
+    }
+
+    Integer cellIndex = objectsCells.get(object);
+    if (cellIndex == null)
+    {
+      int newIndex = getCellIndex(object);
+      cells.get(newIndex).add(object);
+      objectsCells.put(object, Integer.valueOf(newIndex));
+    }
+    else
+    {
+      relocate(object, cellIndex.intValue());
+    }
+  }
+
+  /**
+   * Moves the specified object to cell containing its current center.
+   * Objects not stored in this grid are ignored.
+   *
+   * @param object the specified object.
+   */
+  void move(T object)
+  {
+    Integer cellIndex = objectsCells.get(object);
+    if (cellIndex != null)
+    {
+      relocate(object, cellIndex.intValue());
+    }
+  }
+
+  /**
+   * Moves the specified object from the specified cell to cell containing
+   * its current center.
+   *
+   * @param object the specified object.
+   * @param cellIndex index of cell the specified object is stored in.
+   */
+  private void relocate(T object, int cellIndex)
+  {
+    int newIndex = getCellIndex(object);
+    if (newIndex != cellIndex)
+    {
+      cells.get(cellIndex).remove(object);
+      cells.get(newIndex).add(object);
+      objectsCells.put(object, Integer.valueOf(newIndex));
+    }
+  }
+
+  /**
+   * Removes the specified object from this grid. Objects not stored in
+   * this grid are ignored.
+   *
+   * @param object the specified object.
+   */
+  void remove(T object)
+  {
+    Integer cellIndex = objectsCells.remove(object);
+    if (cellIndex != null)
+    {
+      cells.get(cellIndex.intValue()).remove(object);
+    }
+  }
+
+  /**
+   * Gets number of objects stored in this grid.
+   *
+   * @return Returns number of objects stored in this grid.
+   */
+  int size()
+  {
+    return objectsCells.size();
+  }
+
+  /**
+   * Adds to the specified list all objects whose centers are within
+   * the specified range from the specified point.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   * @param result list to which found objects are added.
+   * @param excluded object which is not added to the specified list,
+   *        may be <code>null</code>.
+   *
+   * @return Returns number of found objects.
+   */
+  int find(double x, double y, double range, List<? super T> result, T excluded)
+  {
+    if (result == null)
+    {
+      throw new NullPointerException("Specified result is null!");
+    }
+
+    int found = 0;
+    if (range >= 0.0)
+    {
+      int minColumn = getColumn(x - range);
+      int maxColumn = getColumn(x + range);
+      int minRow    = getRow(y - range);
+      int maxRow    = getRow(y + range);
+      double rangeSquared = range * range;
+
+      for (int row = minRow; row <= maxRow; row++)
+      {
+        for (int column = minColumn; column <= maxColumn; column++)
+        {
+          List<T> cell = cells.get(row * columns + column);
+          for (int i = 0, size = cell.size(); i < size; i++)
+          {
+            T object = cell.get(i);
+            if ((object != excluded) && (getDistanceSquared(x, y, object) <= rangeSquared))
+            {
+              result.add(object);
+              found++;
+            }
+          }
+        }
+      }
+    }
+
+    return found;
+  }
+
+  /**
+   * Finds object whose center is nearest to the specified point and is
+   * within the specified range from it. Cells are checked in rings around
+   * cell containing the specified point, until no unchecked cell can
+   * contain nearer object.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   * @param excluded object which is not taken into account, may be
+   *        <code>null</code>.
+   *
+   * @return Returns found object or <code>null</code> if there is no object
+   *         within the specified range.
+   */
+  T findNearest(double x, double y, double range, T excluded)
+  {
+    T nearest = null;
+    double nearestDistanceSquared = range * range;
+
+    int centerColumn = getColumn(x);
+    int centerRow    = getRow(y);
+    int maxRing      = Math.max(columns, rows);
+    double cellSize  = Math.min(cellWidth, cellHeight);
+    // Distance between the specified point and the grid
+    double outsideX  = Math.max(0.0, Math.max(-x, x - columns * cellWidth));
+    double outsideY  = Math.max(0.0, Math.max(-y, y - rows * cellHeight));
+    double outside   = Math.sqrt(outsideX * outsideX + outsideY * outsideY);
+
+    // Objects in cells from ring 'r' are at least (r - 1) cells away
+    for (int ring = 0; (range >= 0.0) && (ring <= maxRing) &&
+         (square(Math.max(0.0, (ring - 1) * cellSize - outside)) <= nearestDistanceSquared); ring++)
+    {
+      int minRow = Math.max(0, centerRow - ring);
+      int maxRow = Math.min(rows - 1, centerRow + ring);
+      for (int row = minRow; row <= maxRow; row++)
+      {
+        boolean ringRow = ((row == centerRow - ring) || (row == centerRow + ring));
+        int step = (ringRow? 1 : (2 * ring));
+        for (int column = centerColumn - ring; column <= centerColumn + ring; column += Math.max(1, step))
+        {
+          if ((column >= 0) && (column < columns))
+          {
+            List<T> cell = cells.get(row * columns + column);
+            for (int i = 0, size = cell.size(); i < size; i++)
+            {
+              T object = cell.get(i);
+              double distanceSquared = getDistanceSquared(x, y, object);
+              if ((object != excluded) && (distanceSquared <= nearestDistanceSquared) &&
+                  ((nearest == null) || (distanceSquared < nearestDistanceSquared)))
+              {
+                nearest = object;
+                nearestDistanceSquared = distanceSquared;
+              }
+            }
+          }
+        }
+      }
+    }
+
+    return nearest;
+  }
+
+  /**
+   * Gets index of cell containing center of the specified object.
+   *
+   * @param object the specified object.
+   *
+   * @return Returns index of cell containing center of the specified object.
+   */
+  private int getCellIndex(T object)
+  {
+    return (getRow(object.getY() + (object.getSize().getHeight() >> 1)) * columns +
+            getColumn(object.getX() + (object.getSize().getWidth() >> 1)));
+  }
+
+  /**
+   * Gets column containing the specified 'x' coordinate - the nearest
+   * column if coordinate is outside the grid.
+   *
+   * @param x the specified 'x' coordinate.
+   *
+   * @return Returns column containing the specified 'x' coordinate.
+   */
+  private int getColumn(double x)
+  {
+    return (int)Math.max(0.0, Math.min(columns - 1, Math.floor(x / cellWidth)));
+  }
+
+  /**
+   * Gets row containing the specified 'y' coordinate - the nearest
+   * row if coordinate is outside the grid.
+   *
+   * @param y the specified 'y' coordinate.
+   *
+   * @return Returns row containing the specified 'y' coordinate.
+   */
+  private int getRow(double y)
+  {
+    return (int)Math.max(0.0, Math.min(rows - 1, Math.floor(y / cellHeight)));
+  }
+
+  /**
+   * Calculates squared distance between the specified point and center
+   * of the specified object.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param object the specified object.
+   *
+   * @return Returns squared distance between the specified point and center
+   *         of the specified object.
+   */
+  private static double getDistanceSquared(double x, double y, SimpleObjectData object)
+  {
+    double dx = object.getX() + (object.getSize().getWidth() >> 1) - x;
+    double dy = object.getY() + (object.getSize().getHeight() >> 1) - y;
+
+    return (dx * dx + dy * dy);
+  }
+
+  /**
+   * Calculates square of the specified value.
+   *
+   * @param value the specified value.
+   *
+   * @return Returns square of the specified value.
+   */
+  private static double square(double value)
+  {
+    return (value * value);
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms;
+
+/**
+ * Interface of algorithms whose loop can be driven step by step from outside,
+ * instead of pacing itself by wall clock in {@link BaseAlgorithmImpl#runAlgorithm()}.
+ * {@link AlgorithmBatchClient} performs one step for each update received
+ * from simulation, with time elapsed in simulation, so decisions of such
+ * algorithms do not depend on speed of the machine.
+ *
+ * @author M.Olszewski
+ */
+public interface SteppedAlgorithm
+{
+  /**
+   * Starts algorithm - it is invoked once, before the first step, after
+   * algorithm was initialized.
+   */
+  void startSteps();
+
+  /**
+   * Performs one step of algorithm: makes decisions, refreshes algorithm's
+   * data with the next received update and sends generated commands.
+   *
+   * @param delta time elapsed since the previous step.
+   *
+   * @return Returns <code>true</code> if algorithm should perform further
+   *         steps, <code>false</code> otherwise.
+   */
+  boolean step(long delta);
+
+  /**
+   * Finishes algorithm - it is invoked once, after the last step.
+   */
+  void finishSteps();
+}
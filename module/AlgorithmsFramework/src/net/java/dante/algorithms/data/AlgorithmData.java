@@ -59,6 +59,14 @@ public interface AlgorithmData
    */
   ProjectilesData getProjectilesData();
 
+  /**
+   * Gets range and nearest neighbour queries about obstacles, enemy agents,
+   * controlled agents and projectiles.
+   *
+   * @return Returns range and nearest neighbour queries about objects.
+   */
+  SpatialData getSpatialData();
+
   /**
    * Gets time received most recently.
    *
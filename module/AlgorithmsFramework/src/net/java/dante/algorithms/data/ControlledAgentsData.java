@@ -51,7 +51,9 @@ public interface ControlledAgentsData
   ControlledAgentData[] getActiveAgentsData();
 
   /**
-   * Gets data for active agent from the specified index.
+   * Gets data for active agent from the specified index. Indexes are from
+   * range [0, {@link #getActiveAgentsCount()}) and they may change after
+   * each refresh of algorithm's data.
    *
    * @param index the specified active agent's index.
    *
@@ -72,4 +74,15 @@ public interface ControlledAgentsData
    * @return Returns array with data for blocked and active controlled agents.
    */
   ControlledAgentData[] getBlockedAgentsData();
+
+  /**
+   * Gets data for blocked agent from the specified index. Indexes are from
+   * range [0, {@link #getBlockedAgentsCount()}) and they may change after
+   * each refresh of algorithm's data.
+   *
+   * @param index the specified blocked agent's index.
+   *
+   * @return Returns data for blocked agent from the specified index.
+   */
+  ControlledAgentData getBlockedAgentData(int index);
 }
\ No newline at end of file
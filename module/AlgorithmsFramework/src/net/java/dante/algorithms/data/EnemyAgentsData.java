@@ -43,7 +43,9 @@ public interface EnemyAgentsData
   EnemyAgentData[] getVisibleEnemiesData();
 
   /**
-   * Gets data for visible enemy agent from the specified index.
+   * Gets data for visible enemy agent from the specified index. Indexes
+   * are from range [0, {@link #getVisibleEnemiesCount()}) and they may
+   * change after each refresh of algorithm's data.
    *
    * @param index the specified enemy agent's index.
    *
@@ -66,6 +68,17 @@ public interface EnemyAgentsData
    */
   EnemyAgentData[] getNotVisibleEnemiesData();
 
+  /**
+   * Gets data for not visible enemy agent from the specified index. Indexes
+   * are from range [0, {@link #getNotVisibleEnemiesCount()}) and they may
+   * change after each refresh of algorithm's data.
+   *
+   * @param index the specified enemy agent's index.
+   *
+   * @return Returns data for not visible enemy agent from the specified index.
+   */
+  EnemyAgentData getNotVisibleEnemyData(int index);
+
   /**
    * Gets number of destroyed enemies.
    *
@@ -28,4 +28,15 @@ public interface ProjectilesData
    * @return Returns array with data for all projectiles.
    */
   ProjectileData[] getProjectilesData();
+
+  /**
+   * Gets data of projectile from the specified index. Indexes are from
+   * range [0, {@link #getProjectilesCount()}) and they may change after
+   * each refresh of algorithm's data.
+   *
+   * @param index the specified projectile's index.
+   *
+   * @return Returns data of projectile from the specified index.
+   */
+  ProjectileData getProjectileData(int index);
 }
\ No newline at end of file
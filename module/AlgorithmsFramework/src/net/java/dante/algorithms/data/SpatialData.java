@@ -0,0 +1,134 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms.data;
+
+import java.util.List;
+
+/**
+ * Interface defining range and nearest neighbour queries about objects
+ * known to algorithm: obstacles, visible enemy agents, active controlled
+ * agents and visible projectiles. Object is within range from a point if
+ * its center is within range from this point.
+ * <p>Queries check only neighbourhood of the specified point, so their cost
+ * depends on number of objects near the point, not on number of all objects.
+ * Queries do not modify any data, so they can be performed by many threads
+ * at once, unless algorithm's data is being refreshed.
+ *
+ * @author M.Olszewski
+ */
+public interface SpatialData
+{
+  /**
+   * Adds to the specified list all obstacles within the specified range
+   * from the specified point.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   * @param result list to which found obstacles are added.
+   *
+   * @return Returns number of found obstacles.
+   */
+  int findObstacles(double x, double y, double range, List<? super TileData> result);
+
+  /**
+   * Finds obstacle nearest to the specified point, within the specified range.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   *
+   * @return Returns found obstacle or <code>null</code> if there is no
+   *         obstacle within the specified range.
+   */
+  TileData findNearestObstacle(double x, double y, double range);
+
+  /**
+   * Adds to the specified list all visible enemy agents within
+   * the specified range from the specified point.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   * @param result list to which found enemy agents are added.
+   *
+   * @return Returns number of found enemy agents.
+   */
+  int findEnemies(double x, double y, double range, List<? super EnemyAgentData> result);
+
+  /**
+   * Finds visible enemy agent nearest to the specified point, within
+   * the specified range.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   *
+   * @return Returns found enemy agent or <code>null</code> if there is no
+   *         visible enemy agent within the specified range.
+   */
+  EnemyAgentData findNearestEnemy(double x, double y, double range);
+
+  /**
+   * Adds to the specified list all active controlled agents, except
+   * the specified one, within the specified range from the specified point.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   * @param result list to which found controlled agents are added.
+   * @param excluded controlled agent which is not added to the specified
+   *        list, may be <code>null</code>.
+   *
+   * @return Returns number of found controlled agents.
+   */
+  int findControlledAgents(double x, double y, double range,
+                           List<? super ControlledAgentData> result,
+                           ControlledAgentData excluded);
+
+  /**
+   * Finds active controlled agent, other than the specified one, nearest to
+   * the specified point, within the specified range.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   * @param excluded controlled agent which is not taken into account,
+   *        may be <code>null</code>.
+   *
+   * @return Returns found controlled agent or <code>null</code> if there
+   *         is no such controlled agent within the specified range.
+   */
+  ControlledAgentData findNearestControlledAgent(double x, double y, double range,
+                                                 ControlledAgentData excluded);
+
+  /**
+   * Adds to the specified list all visible projectiles within the specified
+   * range from the specified point.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   * @param result list to which found projectiles are added.
+   *
+   * @return Returns number of found projectiles.
+   */
+  int findProjectiles(double x, double y, double range, List<? super ProjectileData> result);
+
+  /**
+   * Finds visible projectile nearest to the specified point, within
+   * the specified range.
+   *
+   * @param x 'x' coordinate of the specified point.
+   * @param y 'y' coordinate of the specified point.
+   * @param range the specified range.
+   *
+   * @return Returns found projectile or <code>null</code> if there is no
+   *         visible projectile within the specified range.
+   */
+  ProjectileData findNearestProjectile(double x, double y, double range);
+}
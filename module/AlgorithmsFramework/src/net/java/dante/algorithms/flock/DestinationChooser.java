@@ -38,7 +38,7 @@ public class DestinationChooser
   private Point2d[] destinations;
   private int currentLocation;
   private List<Point2d> points = new ArrayList<Point2d>(MAX_DESTINATION_POINTS - 1);
-  private Random rand = new Random();
+  private Random rand;
   private TimeCounter newJourneyTimer = new TimeCounter(0);
   private double avgSpeed;
 
@@ -53,6 +53,22 @@ public class DestinationChooser
    */
   public DestinationChooser(Map<Integer, FlockMember> flockMembers,
                            AlgorithmData algorithmData)
+  {
+    this(flockMembers, algorithmData, new Random());
+  }
+
+  /**
+   * Creates instance of {@link DestinationChooser} class with the specified
+   * parameters, choosing destinations with the specified random numbers
+   * generator.
+   *
+   * @param flockMembers map containing all flock members.
+   * @param algorithmData algorithm's data.
+   * @param random random numbers generator used for choosing destinations.
+   */
+  public DestinationChooser(Map<Integer, FlockMember> flockMembers,
+                           AlgorithmData algorithmData,
+                           Random random)
   {
     if (flockMembers == null)
     {
@@ -62,8 +78,13 @@ public class DestinationChooser
     {
       throw new NullPointerException("Specified algorithmData is null!");
     }
+    if (random == null)
+    {
+      throw new NullPointerException("Specified random is null!");
+    }
 
     members = flockMembers;
+    rand    = random;
 
     determineDestinations(algorithmData);
   }
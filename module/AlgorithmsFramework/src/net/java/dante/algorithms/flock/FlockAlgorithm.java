@@ -7,15 +7,19 @@
 
 package net.java.dante.algorithms.flock;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import net.java.dante.algorithms.AlgorithmUtils;
 import net.java.dante.algorithms.BaseAlgorithmImpl;
+import net.java.dante.algorithms.CommandsBuffer;
+import net.java.dante.algorithms.DecisionsExecutor;
+import net.java.dante.algorithms.SteppedAlgorithm;
 import net.java.dante.algorithms.data.AlgorithmData;
 import net.java.dante.algorithms.data.ControlledAgentData;
-import net.java.dante.algorithms.data.TileData;
 import net.java.dante.sim.command.CommandUtils;
+import net.java.dante.sim.command.CommandsRepository;
 import net.java.dante.sim.command.CommandsRepositoryBuilder;
 import net.java.dante.sim.engine.time.SystemTimer;
 import net.java.dante.sim.engine.time.TimeStopper;
@@ -30,14 +34,22 @@ import net.java.dante.sim.util.math.Point2d;
 
 
 /**
- * Flock algorithm class.
+ * Flock algorithm class. Flock members are updated in parallel by
+ * {@link DecisionsExecutor} - each member adds its commands to its own
+ * {@link CommandsBuffer} and all buffers are merged in order of members
+ * creation, so sent commands do not depend on threads scheduling.
+ * Destinations are chosen by generator created by {@link #createRandom()}.
  *
  * @author M.Olszewski
  */
-public class FlockAlgorithm extends BaseAlgorithmImpl
+public class FlockAlgorithm extends BaseAlgorithmImpl implements SteppedAlgorithm
 {
   private static final int TIME_STOPPER_INTERVAL = 50;
   private Map<Integer, FlockMember> members;
+  /** Members updated in current loop. */
+  private List<FlockMember> updatedMembers;
+  /** Commands buffers of all members, in order of members creation. */
+  private List<CommandsBuffer> buffers;
   private CommandsRepositoryBuilder builder;
   DestinationChooser cruiser;
 
@@ -54,40 +66,66 @@ public class FlockAlgorithm extends BaseAlgorithmImpl
    */
   protected void runAlgorithm()
   {
-    AlgorithmData data = getAlgorithmData();
-    initialize(data);
+    startSteps();
 
     SystemTimer timer = new SystemTimer();
     TimeStopper stopper = new TimeStopper(timer, TIME_STOPPER_INTERVAL);
     long delta        = 0;
     long lastLoopTime = 0;
+    boolean running   = true;
 
-    while (isRunning())
+    while (running && isRunning())
     {
       delta = timer.getTime() - lastLoopTime;
       lastLoopTime = timer.getTime();
 
       stopper.startPoint();
       {
-        cruiser.update(delta);
-        for (Integer memberId : members.keySet())
-        {
-          FlockMember member = members.get(memberId);
-          member.update(delta);
-        }
-
-        updateFlockMembers(refreshAndObtain());
-
-        sendCommands(builder.build());
+        running = step(delta);
       }
       stopper.endPoint();
+    }
 
-      // No point in running
-      if (members.size() <= 0)
-      {
-        break;
-      }
+    finishSteps();
+  }
+
+  /**
+   * @see net.java.dante.algorithms.SteppedAlgorithm#startSteps()
+   */
+  public void startSteps()
+  {
+    initialize(getAlgorithmData());
+  }
+
+  /**
+   * @see net.java.dante.algorithms.SteppedAlgorithm#step(long)
+   */
+  public boolean step(long delta)
+  {
+    cruiser.update(delta);
+
+    updatedMembers.clear();
+    updatedMembers.addAll(members.values());
+    DecisionsExecutor.getInstance().update(updatedMembers, delta);
+    for (int i = 0, size = updatedMembers.size(); i < size; i++)
+    {
+      updatedMembers.get(i).publishState();
     }
+
+    updateFlockMembers(refreshAndObtain());
+
+    sendCommands(buildCommands());
+
+    // No point in running
+    return (members.size() > 0);
+  }
+
+  /**
+   * @see net.java.dante.algorithms.SteppedAlgorithm#finishSteps()
+   */
+  public void finishSteps()
+  {
+    // Intentionally left empty.
   }
 
   private void initialize(AlgorithmData algorithmData)
@@ -105,19 +143,20 @@ public class FlockAlgorithm extends BaseAlgorithmImpl
   {
     ControlledAgentData[] agents = algorithmData.getControlledData().getAgentsData();
     members = new HashMap<Integer, FlockMember>(agents.length);
-
-    TileData[] obstacles = AlgorithmUtils.createTilesData(algorithmData.getMap(),
-                                                          algorithmData.getTileSize());
+    updatedMembers = new ArrayList<FlockMember>(agents.length);
+    buffers = new ArrayList<CommandsBuffer>(agents.length);
 
     for (int i = 0; i < agents.length; i++)
     {
       ControlledAgentData agent = agents[i];
+      CommandsBuffer buffer = new CommandsBuffer(algorithmData.getGroupId());
+      buffers.add(buffer);
       members.put(Integer.valueOf(agent.getId()),
-                                  new FlockMember(agent, algorithmData, builder,
-                                                  new Point2d(400, 304), obstacles));
+                                  new FlockMember(agent, algorithmData, buffer,
+                                                  new Point2d(400, 304)));
     }
 
-    cruiser = new DestinationChooser(members, algorithmData);
+    cruiser = new DestinationChooser(members, algorithmData, createRandom());
 
     for (Integer memberId : members.keySet())
     {
@@ -127,6 +166,16 @@ public class FlockAlgorithm extends BaseAlgorithmImpl
 
   }
 
+  private CommandsRepository buildCommands()
+  {
+    for (int i = 0, size = buffers.size(); i < size; i++)
+    {
+      buffers.get(i).flushTo(builder);
+    }
+
+    return builder.build();
+  }
+
   private void updateFlockMembers(UpdateData update)
   {
     if (update != null)
@@ -12,11 +12,13 @@ import java.util.List;
 import java.util.Map;
 
 import net.java.dante.algorithms.AlgorithmUtils;
+import net.java.dante.algorithms.DecidingAgent;
 import net.java.dante.algorithms.common.Dbg;
 import net.java.dante.algorithms.data.AlgorithmData;
 import net.java.dante.algorithms.data.ControlledAgentData;
 import net.java.dante.algorithms.data.EnemyAgentData;
 import net.java.dante.algorithms.data.ProjectileData;
+import net.java.dante.algorithms.data.ProjectilesData;
 import net.java.dante.algorithms.data.TileData;
 import net.java.dante.sim.command.CommandsRepositoryBuilder;
 import net.java.dante.sim.command.types.CommandTypesUtils;
@@ -28,11 +30,13 @@ import net.java.dante.sim.util.math.Vector2d;
 
 
 /**
- * A member of flock class.
+ * A member of flock class. Members of one flock can be updated in parallel:
+ * during update each member reads position and speed of other members
+ * published by {@link #publishState()} method, never their current state.
  *
  * @author M.Olszewski
  */
-public class FlockMember
+public class FlockMember implements DecidingAgent
 {
   /** Interval between two flock member updates. */
   private static final int UPDATE_INTERVAL = 170;
@@ -64,6 +68,10 @@ public class FlockMember
   private Vector2d speed = new Vector2d(0, 0);
   private Map<Integer, FlockMember> members;
 
+  /* State of this flock's member seen by other members. */
+  private Point2d publishedPosition = new Point2d(0, 0);
+  private Vector2d publishedSpeed = new Vector2d(0, 0);
+
   /* Reload weapon timer. */
   private TimeCounter reloadTimer;
   /* Update flock member timer. */
@@ -71,11 +79,11 @@ public class FlockMember
 
   /* Data of visible flock members. */
   private List<FlockMember> visibleMembers;
+  private List<ControlledAgentData> visibleMembersData;
   private double nearestMemberDistance = Double.POSITIVE_INFINITY;
   private FlockMember nearestMember;
 
   /* Data of obstacles. */
-  private TileData[] obstacles;
   private List<TileData> visibleObstacles;
   private double nearestObstacleDistance = Double.POSITIVE_INFINITY;
   private TileData nearestObstacle;
@@ -98,13 +106,11 @@ public class FlockMember
    * @param flockCommonData common data for flock.
    * @param commandsBuilder command's builder.
    * @param initialDestination initial destination for this member.
-   * @param obstaclesData array containing all obstacles in the world.
    */
   public FlockMember(ControlledAgentData flockMemberData,
                      AlgorithmData flockCommonData,
                      CommandsRepositoryBuilder commandsBuilder,
-                     Point2d initialDestination,
-                     TileData[] obstaclesData)
+                     Point2d initialDestination)
   {
     if (flockMemberData == null)
     {
@@ -122,10 +128,6 @@ public class FlockMember
     {
       throw new NullPointerException("Specified initialDestination is null!");
     }
-    if (obstaclesData == null)
-    {
-      throw new NullPointerException("Specified obstaclesData is null!");
-    }
 
     memberData = flockMemberData;
     flockData  = flockCommonData;
@@ -135,10 +137,11 @@ public class FlockMember
 
     builder    = commandsBuilder;
     destination = initialDestination;
+    publishState();
 
-    obstacles        = obstaclesData;
-    visibleMembers   = new ArrayList<FlockMember>(flockData.getControlledData().getAgentsCount() - 1);
-    visibleObstacles = new ArrayList<TileData>(obstaclesData.length);
+    visibleMembers     = new ArrayList<FlockMember>(flockData.getControlledData().getAgentsCount() - 1);
+    visibleMembersData = new ArrayList<ControlledAgentData>(flockData.getControlledData().getAgentsCount() - 1);
+    visibleObstacles   = new ArrayList<TileData>();
     // Assume the worst
     visibleEnemies   = new ArrayList<EnemyAgentData>(flockData.getEnemiesData().getEnemiesCount());
 
@@ -168,6 +171,8 @@ public class FlockMember
    * Updates this flock member position using flock algorithm.
    *
    * @param delta time elapsed since last update.
+   *
+   * @see net.java.dante.algorithms.DecidingAgent#update(long)
    */
   public void update(long delta)
   {
@@ -200,6 +205,7 @@ public class FlockMember
                       blockedY + (memberData.getSize().getHeight() >> 1));
 
     update0();
+    publishState();
 
     updateTimer.reset();
   }
@@ -212,6 +218,17 @@ public class FlockMember
     update0();
   }
 
+  /**
+   * Publishes current position and speed of this flock member, so they are
+   * seen by other members. It cannot be invoked while other members are
+   * updated.
+   */
+  public void publishState()
+  {
+    publishedPosition.setPoint(position.getX(), position.getY());
+    publishedSpeed.setVector(speed.getX(), speed.getY());
+  }
+
   private void update0()
   {
     if (Dbg.DBG1)
@@ -318,20 +335,23 @@ public class FlockMember
   {
     clearVisibleMembers();
 
-    for (Integer memberId : members.keySet())
+    flockData.getSpatialData().findControlledAgents(getPosition().getX(),
+                                                    getPosition().getY(),
+                                                    memberData.getSightRange(),
+                                                    visibleMembersData,
+                                                    memberData);
+
+    for (int i = 0, size = visibleMembersData.size(); i < size; i++)
     {
-      FlockMember flockMember = members.get(memberId);
-      if ((flockMember != this) && (AlgorithmUtils.isObjectWithinRange(getPosition().getX(),
-                                                                            getPosition().getY(),
-                                                                            memberData.getSightRange(),
-                                                                            flockMember.getData())))
+      FlockMember flockMember = members.get(Integer.valueOf(visibleMembersData.get(i).getId()));
+      if (flockMember != null)
       {
         visibleMembers.add(flockMember);
 
         double distance = MathUtils.calculateDistance(getPosition().getX(),
                                                       getPosition().getY(),
-                                                      flockMember.getPosition().getX(),
-                                                      flockMember.getPosition().getY());
+                                                      flockMember.getPublishedPosition().getX(),
+                                                      flockMember.getPublishedPosition().getY());
 
         if (distance < nearestMemberDistance)
         {
@@ -345,6 +365,7 @@ public class FlockMember
   private void clearVisibleMembers()
   {
     visibleMembers.clear();
+    visibleMembersData.clear();
     nearestMember = null;
     nearestMemberDistance = Double.POSITIVE_INFINITY;
   }
@@ -356,27 +377,24 @@ public class FlockMember
   {
     clearVisibleObstacles();
 
-    for (int i = 0; i < obstacles.length; i++)
-    {
-      TileData obstacle = obstacles[i];
+    flockData.getSpatialData().findObstacles(getPosition().getX(),
+                                             getPosition().getY(),
+                                             memberData.getSightRange(),
+                                             visibleObstacles);
 
-      if (AlgorithmUtils.isObjectWithinRange(getPosition().getX(),
-                                                  getPosition().getY(),
-                                                  memberData.getSightRange(),
-                                                  obstacle))
-      {
-        visibleObstacles.add(obstacle);
+    for (int i = 0, size = visibleObstacles.size(); i < size; i++)
+    {
+      TileData obstacle = visibleObstacles.get(i);
 
-        double distance = MathUtils.calculateDistance(getPosition().getX(),
-                                                      getPosition().getY(),
-                                                      obstacle.getX(),
-                                                      obstacle.getY());
+      double distance = MathUtils.calculateDistance(getPosition().getX(),
+                                                    getPosition().getY(),
+                                                    obstacle.getX(),
+                                                    obstacle.getY());
 
-        if (distance < nearestObstacleDistance)
-        {
-          nearestObstacleDistance = distance;
-          nearestObstacle         = obstacle;
-        }
+      if (distance < nearestObstacleDistance)
+      {
+        nearestObstacleDistance = distance;
+        nearestObstacle         = obstacle;
       }
     }
   }
@@ -395,13 +413,13 @@ public class FlockMember
   {
     clearVisibleProjectiles();
 
-    if (flockData.getProjectilesData().getProjectilesCount() > 0)
+    ProjectilesData projectilesData = flockData.getProjectilesData();
+    int size = projectilesData.getProjectilesCount();
+    if (size > 0)
     {
-      ProjectileData[] projectileData = flockData.getProjectilesData().getProjectilesData();
-
-      for (int i = 0; i < projectileData.length; i++)
+      for (int i = 0; i < size; i++)
       {
-        ProjectileData projectile = projectileData[i];
+        ProjectileData projectile = projectilesData.getProjectileData(i);
 
         if (AlgorithmUtils.isObjectWithinRange(getPosition().getX(),
                                                     getPosition().getY(),
@@ -490,8 +508,8 @@ public class FlockMember
     if (ratio > MAXIMUM_URGENCY) ratio = MAXIMUM_URGENCY;
 
     // Compute vector towards nearest flock member
-    Vector2d change = new Vector2d(nearestMember.getPosition().getX() - getPosition().getX(),
-                                   nearestMember.getPosition().getY() - getPosition().getY());
+    Vector2d change = new Vector2d(nearestMember.getPublishedPosition().getX() - getPosition().getX(),
+                                   nearestMember.getPublishedPosition().getY() - getPosition().getY());
 
     if (nearestMemberDistance < PREFERRED_SEPARATION_DISTANCE)
     {
@@ -511,8 +529,8 @@ public class FlockMember
 
   private Vector2d applyAlignmentRule()
   {
-    Vector2d change = new Vector2d(nearestMember.getSpeed().getX(),
-                                   nearestMember.getSpeed().getY());
+    Vector2d change = new Vector2d(nearestMember.getPublishedSpeed().getX(),
+                                   nearestMember.getPublishedSpeed().getY());
 
     change.adjustVectorToMagnitude(MINIMUM_URGENCY);
 
@@ -526,7 +544,7 @@ public class FlockMember
     for (int i = 0, size = visibleMembers.size(); i < size; i++)
     {
       FlockMember member = visibleMembers.get(i);
-      center.addVector(member.getPosition().getX(), member.getPosition().getY());
+      center.addVector(member.getPublishedPosition().getX(), member.getPublishedPosition().getY());
     }
 
     center.divideBy(visibleMembers.size());
@@ -663,6 +681,7 @@ public class FlockMember
     position.setPoint(positionX + (memberData.getSize().getWidth() >> 1),
                       positionY + (memberData.getSize().getHeight() >> 1));
     speed.setVector(speedX, speedY);
+    publishState();
     
     if (Dbg.DBG1) Dbg.write("movement finished at point=" + position.getX() + ", " + position.getY());
   }
@@ -673,6 +692,7 @@ public class FlockMember
   public void moveFinished()
   {
     speed.setVector(0, 0);
+    publishState();
     
     if (Dbg.DBG1) Dbg.write("movement finished at point=" + position.getX() + ", " + position.getY());
   }
@@ -688,13 +708,23 @@ public class FlockMember
   }
 
   /**
-   * Gets speed of this flock member.
+   * Gets position of this flock member seen by other members.
+   *
+   * @return Returns position of this flock member seen by other members.
+   */
+  private Point2d getPublishedPosition()
+  {
+    return publishedPosition;
+  }
+
+  /**
+   * Gets speed of this flock member seen by other members.
    *
-   * @return Returns speed of this flock member.
+   * @return Returns speed of this flock member seen by other members.
    */
-  private Vector2d getSpeed()
+  private Vector2d getPublishedSpeed()
   {
-    return speed;
+    return publishedSpeed;
   }
 
   // Alternative method of dealing with the obstacles
@@ -0,0 +1,26 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms.rl;
+
+/**
+ * Methods of selecting actions used by {@link QLambdaLearner}.
+ *
+ * @author M.Olszewski
+ */
+public enum ActionSelection
+{
+  /**
+   * Action is chosen with probability proportional to
+   * <code>exp(Q / temperature)</code>.
+   */
+  BOLTZMANN,
+  /**
+   * Random action is chosen with probability equal to epsilon, action with
+   * maximal Q-value is chosen otherwise.
+   */
+  EPSILON_GREEDY
+}
@@ -0,0 +1,359 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms.rl;
+
+import java.util.Random;
+
+/**
+ * Watkins's Q(lambda) learner working on {@link QTable}. Each learner
+ * keeps its own eligibility traces and previous state-action pair, so
+ * many learners can learn into one {@link QTable}.
+ * <p>Only traces greater than {@link #MIN_TRACE} are kept - they are
+ * stored in a list of active traces, so cost of one learning step depends
+ * on number of recently visited state-action pairs, not on size of
+ * the table. All buffers are allocated once - {@link #step(int, double)}
+ * method does not allocate any objects.
+ *
+ * @author M.Olszewski
+ */
+public final class QLambdaLearner
+{
+  /** Traces smaller than this value are set to zero. */
+  static final double MIN_TRACE = 0.001;
+
+  private static final double ALPHA_DEFAULT = 0.1;
+  private static final double GAMMA_DEFAULT = 0.9;
+  private static final double LAMBDA_DEFAULT = 0.9;
+  private static final double TEMPERATURE_DEFAULT = 0.01;
+  private static final double EPSILON_DEFAULT = 0.1;
+
+  /** Learned Q-values. */
+  private QTable table;
+  /** Random numbers generator used for selecting actions. */
+  private Random random;
+
+  /** Eligibility traces, indexed like Q-values in {@link #table}. */
+  private double[] traces;
+  /** Indexes of traces greater than zero. */
+  private int[] activeTraces;
+  /** Number of traces greater than zero. */
+  private int activeCount;
+  /** Values used to calculate Boltzmann probabilities. */
+  private double[] selectionValues;
+
+  /** Index of Q-value of previous state and action, negative if there is none. */
+  private int previousIndex = -1;
+  /** Most recently selected action. */
+  private int selectedAction = -1;
+  /** Maximal Q-value in most recent state. */
+  private double maxValue;
+
+  /** Learning rate. */
+  private double alpha = ALPHA_DEFAULT;
+  /** Discount factor. */
+  private double gamma = GAMMA_DEFAULT;
+  /** Traces decay rate. */
+  private double lambda = LAMBDA_DEFAULT;
+  /** Method of selecting actions. */
+  private ActionSelection selection = ActionSelection.BOLTZMANN;
+  /** Boltzmann temperature. */
+  private double temperature = TEMPERATURE_DEFAULT;
+  /** Probability of selecting random action by epsilon-greedy selection. */
+  private double epsilon = EPSILON_DEFAULT;
+
+
+  /**
+   * Creates instance of {@link QLambdaLearner} class.
+   *
+   * @param qTable table of Q-values used by this learner.
+   * @param randomGenerator random numbers generator used for selecting actions.
+   */
+  public QLambdaLearner(QTable qTable, Random randomGenerator)
+  {
+    if (qTable == null)
+    {
+      throw new NullPointerException("Specified qTable is null!");
+    }
+    if (randomGenerator == null)
+    {
+      throw new NullPointerException("Specified randomGenerator is null!");
+    }
+
+    table  = qTable;
+    random = randomGenerator;
+
+    int size = table.getStatesCount() * table.getActionsCount();
+    traces          = new double[size];
+    activeTraces    = new int[size];
+    selectionValues = new double[table.getActionsCount()];
+  }
+
+
+  /**
+   * One step of Q(lambda) algorithm. Selects action in the specified state
+   * and updates Q-values of previously visited state-action pairs using
+   * the specified reward received for previously selected action.
+   *
+   * @param state the specified state.
+   * @param reward reward received for previously selected action - it is
+   *        ignored in first step after {@link #reset()}.
+   *
+   * @return Returns selected action.
+   */
+  public int step(int state, double reward)
+  {
+    if ((state < 0) || (state >= table.getStatesCount()))
+    {
+      throw new IllegalArgumentException("Invalid argument state - it must be an integer from range [0, statesCount)!");
+    }
+
+    int action = selectAction(state);
+    int index = table.getIndex(state, action);
+
+    if (previousIndex >= 0)
+    {
+      // Exploratory action cuts traces
+      learn(reward, (table.getValue(index) >= maxValue));
+    }
+
+    previousIndex  = index;
+    selectedAction = action;
+
+    return action;
+  }
+
+  /**
+   * Updates Q-values of all state-action pairs with active traces.
+   *
+   * @param reward reward received for previously selected action.
+   * @param greedy determines whether currently selected action is greedy.
+   */
+  private void learn(double reward, boolean greedy)
+  {
+    double error = reward + gamma * maxValue - table.getValue(previousIndex);
+
+    // Replacing traces
+    if (traces[previousIndex] == 0.0)
+    {
+      activeTraces[activeCount++] = previousIndex;
+    }
+    traces[previousIndex] = 1.0;
+
+    double change = alpha * error;
+    double decay = (greedy? (gamma * lambda) : 0.0);
+    int i = 0;
+    while (i < activeCount)
+    {
+      int index = activeTraces[i];
+      table.addValue(index, change * traces[index]);
+      traces[index] *= decay;
+
+      if (traces[index] < MIN_TRACE)
+      {
+        traces[index] = 0.0;
+        activeTraces[i] = activeTraces[--activeCount];
+      }
+      else
+      {
+        i++;
+      }
+    }
+  }
+
+  /**
+   * Selects action in the specified state and calculates maximal Q-value
+   * in this state.
+   *
+   * @param state the specified state.
+   *
+   * @return Returns selected action.
+   */
+  private int selectAction(int state)
+  {
+    int firstIndex = table.getIndex(state, 0);
+    int actionsCount = table.getActionsCount();
+
+    int greedyAction = 0;
+    maxValue = table.getValue(firstIndex);
+    for (int a = 1; a < actionsCount; a++)
+    {
+      double value = table.getValue(firstIndex + a);
+      if (value > maxValue)
+      {
+        maxValue = value;
+        greedyAction = a;
+      }
+    }
+
+    int action = greedyAction;
+    if (selection == ActionSelection.BOLTZMANN)
+    {
+      double sum = 0.0;
+      for (int a = 0; a < actionsCount; a++)
+      {
+        // Subtract maximum - exponent cannot overflow
+        selectionValues[a] = Math.exp((table.getValue(firstIndex + a) - maxValue) / temperature);
+        sum += selectionValues[a];
+      }
+
+      double pick = random.nextDouble() * sum;
+      action = actionsCount - 1;
+      for (int a = 0; a < actionsCount - 1; a++)
+      {
+        pick -= selectionValues[a];
+        if (pick < 0.0)
+        {
+          action = a;
+          break;
+        }
+      }
+    }
+    else if (random.nextDouble() < epsilon)
+    {
+      action = random.nextInt(actionsCount);
+    }
+
+    return action;
+  }
+
+  /**
+   * Resets eligibility traces and forgets previous state and action.
+   * Should be invoked before each new learning episode.
+   */
+  public void reset()
+  {
+    for (int i = 0; i < activeCount; i++)
+    {
+      traces[activeTraces[i]] = 0.0;
+    }
+    activeCount   = 0;
+    previousIndex = -1;
+  }
+
+  /**
+   * Gets most recently selected action.
+   *
+   * @return Returns most recently selected action or negative value if
+   *         no action was selected yet.
+   */
+  public int getSelectedAction()
+  {
+    return selectedAction;
+  }
+
+  /**
+   * Gets table of Q-values used by this learner.
+   *
+   * @return Returns table of Q-values used by this learner.
+   */
+  public QTable getTable()
+  {
+    return table;
+  }
+
+  /**
+   * Sets learning rate.
+   *
+   * @param learningRate learning rate from range [0, 1].
+   */
+  public void setAlpha(double learningRate)
+  {
+    alpha = checkRate(learningRate, "learningRate");
+  }
+
+  /**
+   * Sets discount factor.
+   *
+   * @param discountFactor discount factor from range [0, 1].
+   */
+  public void setGamma(double discountFactor)
+  {
+    gamma = checkRate(discountFactor, "discountFactor");
+  }
+
+  /**
+   * Sets traces decay rate.
+   *
+   * @param decayRate traces decay rate from range [0, 1].
+   */
+  public void setLambda(double decayRate)
+  {
+    lambda = checkRate(decayRate, "decayRate");
+  }
+
+  /**
+   * Sets method of selecting actions.
+   *
+   * @param actionSelection method of selecting actions.
+   */
+  public void setSelection(ActionSelection actionSelection)
+  {
+    if (actionSelection == null)
+    {
+      throw new NullPointerException("Specified actionSelection is null!");
+    }
+
+    selection = actionSelection;
+  }
+
+  /**
+   * Sets Boltzmann temperature used by {@link ActionSelection#BOLTZMANN}
+   * selection.
+   *
+   * @param boltzmannTemperature Boltzmann temperature.
+   */
+  public void setTemperature(double boltzmannTemperature)
+  {
+    if (boltzmannTemperature <= 0.0)
+    {
+      throw new IllegalArgumentException("Invalid argument boltzmannTemperature - it must be positive real number!");
+    }
+
+    temperature = boltzmannTemperature;
+  }
+
+  /**
+   * Sets probability of selecting random action used by
+   * {@link ActionSelection#EPSILON_GREEDY} selection.
+   *
+   * @param randomProbability probability of selecting random action from
+   *        range [0, 1].
+   */
+  public void setEpsilon(double randomProbability)
+  {
+    epsilon = checkRate(randomProbability, "randomProbability");
+  }
+
+  /**
+   * Checks whether the specified rate is from range [0, 1].
+   *
+   * @param rate the specified rate.
+   * @param name name of checked argument.
+   *
+   * @return Returns the specified rate.
+   */
+  private static double checkRate(double rate, String name)
+  {
+    if ((rate < 0.0) || (rate > 1.0))
+    {
+      throw new IllegalArgumentException("Invalid argument " + name + " - it must be real number from range [0, 1]!");
+    }
+
+    return rate;
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass() + "[table=" + table + "; alpha=" + alpha + "; gamma=" + gamma +
+        "; lambda=" + lambda + "; selection=" + selection + "; temperature=" + temperature +
+        "; epsilon=" + epsilon + "]");
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms.rl;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Table of Q-values stored in one flat array. Value of action
+ * <code>a</code> in state <code>s</code> is stored at index
+ * <code>s * actionsCount + a</code>, so all values of one state are
+ * stored next to each other.
+ *
+ * @author M.Olszewski
+ */
+public class QTable
+{
+  /** Identifier of stored Q-tables format. */
+  private static final int FORMAT_ID = 0x51544231;
+
+  /** Number of states. */
+  private final int statesCount;
+  /** Number of actions. */
+  private final int actionsCount;
+  /** Q-values. */
+  private final double[] values;
+
+
+  /**
+   * Creates instance of {@link QTable} class with all Q-values
+   * equal to zero.
+   *
+   * @param states number of states.
+   * @param actions number of actions.
+   */
+  public QTable(int states, int actions)
+  {
+    if (states <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument states - it must be positive integer!");
+    }
+    if (actions <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument actions - it must be positive integer!");
+    }
+
+    statesCount  = states;
+    actionsCount = actions;
+    values       = new double[statesCount * actionsCount];
+  }
+
+
+  /**
+   * Gets number of states.
+   *
+   * @return Returns number of states.
+   */
+  public final int getStatesCount()
+  {
+    return statesCount;
+  }
+
+  /**
+   * Gets number of actions.
+   *
+   * @return Returns number of actions.
+   */
+  public final int getActionsCount()
+  {
+    return actionsCount;
+  }
+
+  /**
+   * Gets index of Q-value of the specified action in the specified state.
+   *
+   * @param state the specified state.
+   * @param action the specified action.
+   *
+   * @return Returns index of Q-value of the specified action in
+   *         the specified state.
+   */
+  public final int getIndex(int state, int action)
+  {
+    return (state * actionsCount + action);
+  }
+
+  /**
+   * Gets Q-value from the specified index.
+   *
+   * @param index the specified index.
+   *
+   * @return Returns Q-value from the specified index.
+   */
+  public double getValue(int index)
+  {
+    return values[index];
+  }
+
+  /**
+   * Sets Q-value at the specified index.
+   *
+   * @param index the specified index.
+   * @param value new Q-value.
+   */
+  public void setValue(int index, double value)
+  {
+    values[index] = value;
+  }
+
+  /**
+   * Adds the specified change to Q-value from the specified index.
+   *
+   * @param index the specified index.
+   * @param change the specified change.
+   */
+  public void addValue(int index, double change)
+  {
+    values[index] += change;
+  }
+
+  /**
+   * Writes all Q-values to the specified output.
+   *
+   * @param output the specified output.
+   *
+   * @throws IOException if any I/O error occurred.
+   */
+  public void store(DataOutput output) throws IOException
+  {
+    output.writeInt(FORMAT_ID);
+    output.writeInt(statesCount);
+    output.writeInt(actionsCount);
+    for (int i = 0; i < values.length; i++)
+    {
+      output.writeDouble(getValue(i));
+    }
+  }
+
+  /**
+   * Reads all Q-values from the specified input. Q-values must be
+   * written by {@link #store(DataOutput)} method of table with the same
+   * number of states and actions.
+   *
+   * @param input the specified input.
+   *
+   * @throws IOException if any I/O error occurred or input does not
+   *         contain Q-values of this table.
+   */
+  public void load(DataInput input) throws IOException
+  {
+    if (input.readInt() != FORMAT_ID)
+    {
+      throw new IOException("Input does not contain Q-table!");
+    }
+    if ((input.readInt() != statesCount) || (input.readInt() != actionsCount))
+    {
+      throw new IOException("Stored Q-table has different number of states or actions!");
+    }
+
+    for (int i = 0; i < values.length; i++)
+    {
+      setValue(i, input.readDouble());
+    }
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass() + "[statesCount=" + statesCount + "; actionsCount=" + actionsCount + "]");
+  }
+}
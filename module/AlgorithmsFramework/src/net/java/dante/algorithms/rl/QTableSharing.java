@@ -0,0 +1,22 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms.rl;
+
+/**
+ * Ways of sharing Q-tables between {@link RFAgent} objects.
+ *
+ * @author M.Olszewski
+ */
+public enum QTableSharing
+{
+  /** Each agent learns into its own Q-table, stored in its own file. */
+  AGENT,
+  /** All agents of one group learn into one Q-table. */
+  GROUP,
+  /** All agents of all groups in virtual machine learn into one Q-table. */
+  VIRTUAL_MACHINE
+}
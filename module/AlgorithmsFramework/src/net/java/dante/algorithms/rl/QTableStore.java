@@ -0,0 +1,277 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms.rl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store of {@link SharedQTable} objects. Tables are loaded from files and
+ * their snapshots are written to files asynchronously, by one daemon thread,
+ * so learning agents do not wait for I/O operations. Snapshots scheduled
+ * before exit of virtual machine are written before it exits.
+ * <p>Tables obtained by {@link #getTable(File, int, int)} method are shared
+ * by all users in this virtual machine, e.g. by all parallel battles.
+ *
+ * @author M.Olszewski
+ */
+public class QTableStore
+{
+  /** The only existing instance of {@link QTableStore}. */
+  private static final QTableStore instance = new QTableStore();
+
+  /** Maximal time of waiting for scheduled snapshots at exit - in seconds. */
+  private static final long EXIT_TIMEOUT = 10;
+
+  /** Executor writing snapshots. */
+  private final ExecutorService writer = Executors.newSingleThreadExecutor(new WriterThreadFactory());
+  /** Tables shared in this virtual machine, mapped by files they are stored in. */
+  private final Map<File, SharedQTable> tables = new HashMap<File, SharedQTable>();
+
+
+  /**
+   * Private constructor - no external class creation, no inheritance.
+   */
+  private QTableStore()
+  {
+    Runtime.getRuntime().addShutdownHook(new Thread("QTableStore shutdown")
+    {
+      /**
+       * @see java.lang.Thread#run()
+       */
+      @Override
+      public void run()
+      {
+        writer.shutdown();
+        try
+        {
+          writer.awaitTermination(EXIT_TIMEOUT, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+          // Intentionally left empty.
+        }
+      }
+    });
+  }
+
+
+  /**
+   * Gets the only instance of this singleton class.
+   *
+   * @return Returns the only instance of this singleton class.
+   */
+  public static QTableStore getInstance()
+  {
+    return instance;
+  }
+
+
+  /**
+   * Gets table shared in this virtual machine, stored in the specified file.
+   * If table was not used yet, it is created and loaded from the specified
+   * file, if such file exists.
+   *
+   * @param file the specified file.
+   * @param states number of states.
+   * @param actions number of actions.
+   *
+   * @return Returns table shared in this virtual machine.
+   */
+  public synchronized SharedQTable getTable(File file, int states, int actions)
+  {
+    if (file == null)
+    {
+      throw new NullPointerException("Specified file is null!");
+    }
+
+    File key = file.getAbsoluteFile();
+    SharedQTable table = tables.get(key);
+    if (table == null)
+    {
+      table = createTable(key, states, actions);
+      tables.put(key, table);
+    }
+    else if ((table.getStatesCount() != states) || (table.getActionsCount() != actions))
+    {
+      throw new IllegalArgumentException("Invalid arguments states and actions - table stored in " +
+          file + " has different number of states or actions!");
+    }
+
+    return table;
+  }
+
+  /**
+   * Creates new table, not shared with other users, and loads it from
+   * the specified file, if such file exists. If it does not exist, table
+   * is loaded from backup of previous snapshot, left there if writing of
+   * next snapshot was interrupted (see {@link #store(QTable, File)}).
+   *
+   * @param file the specified file.
+   * @param states number of states.
+   * @param actions number of actions.
+   *
+   * @return Returns created table.
+   */
+  public SharedQTable createTable(File file, int states, int actions)
+  {
+    if (file == null)
+    {
+      throw new NullPointerException("Specified file is null!");
+    }
+
+    SharedQTable table = new SharedQTable(states, actions);
+    File source = (file.exists()? file : getBackupFile(file));
+    if (source.exists())
+    {
+      try
+      {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(source)));
+        try
+        {
+          table.load(input);
+        }
+        finally
+        {
+          input.close();
+        }
+      }
+      catch (IOException e)
+      {
+        e.printStackTrace();
+      }
+    }
+
+    return table;
+  }
+
+  /**
+   * Takes snapshot of the specified table and schedules writing it to
+   * the specified file. Snapshot is written to temporary file first,
+   * which replaces the specified file after successful write.
+   *
+   * @param table the specified table.
+   * @param file the specified file.
+   */
+  public void storeAsync(SharedQTable table, final File file)
+  {
+    if (table == null)
+    {
+      throw new NullPointerException("Specified table is null!");
+    }
+    if (file == null)
+    {
+      throw new NullPointerException("Specified file is null!");
+    }
+
+    final QTable snapshot = table.createSnapshot();
+    writer.execute(new Runnable()
+    {
+      /**
+       * @see java.lang.Runnable#run()
+       */
+      public void run()
+      {
+        store(snapshot, file);
+      }
+    });
+  }
+
+  /**
+   * Writes the specified table to the specified file. Table is written to
+   * temporary file first, which is then renamed to the specified file.
+   * If the specified file cannot be replaced by renaming (e.g. on Windows),
+   * it is renamed to backup file, which is removed only after temporary
+   * file is in its place, so previous snapshot is never lost.
+   *
+   * @param table the specified table.
+   * @param file the specified file.
+   */
+  static void store(QTable table, File file)
+  {
+    File tempFile = new File(file.getPath() + ".tmp");
+    try
+    {
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+      try
+      {
+        table.store(output);
+      }
+      finally
+      {
+        output.close();
+      }
+
+      if (!tempFile.renameTo(file))
+      {
+        File backupFile = getBackupFile(file);
+        if (backupFile.exists() && !backupFile.delete())
+        {
+          throw new IOException("Cannot delete backup file " + backupFile + "!");
+        }
+        if (file.exists() && !file.renameTo(backupFile))
+        {
+          throw new IOException("Cannot replace file " + file + "!");
+        }
+        if (!tempFile.renameTo(file))
+        {
+          // Restore previous snapshot
+          backupFile.renameTo(file);
+          throw new IOException("Cannot replace file " + file + "!");
+        }
+        backupFile.delete();
+      }
+    }
+    catch (IOException e)
+    {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Gets backup file of the specified file.
+   *
+   * @param file the specified file.
+   *
+   * @return Returns backup file of the specified file.
+   */
+  static File getBackupFile(File file)
+  {
+    return new File(file.getPath() + ".bak");
+  }
+
+
+  /**
+   * Factory of the only daemon thread writing snapshots.
+   *
+   * @author M.Olszewski
+   */
+  private static class WriterThreadFactory implements ThreadFactory
+  {
+    /**
+     * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+     */
+    public Thread newThread(Runnable runnable)
+    {
+      Thread thread = new Thread(runnable, "QTableStore");
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -6,15 +6,13 @@
 
 package net.java.dante.algorithms.rl;
 
-import pl.gdan.elsy.qconf.Action;
-
 /**
  * Base class for all actions that can be made by
  * {@link RFAgent} agent.
  *
  * @author M.Olszewski
  */
-public abstract class RFAction extends Action
+public abstract class RFAction
 {
   private RFAgent agent;
 
@@ -35,6 +33,13 @@ public abstract class RFAction extends Action
   }
 
 
+  /**
+   * Executes this action.
+   *
+   * @return Returns result of this action's execution.
+   */
+  public abstract int execute();
+
   /**
    * Gets {@link RFAgent} object connected with this action.
    *
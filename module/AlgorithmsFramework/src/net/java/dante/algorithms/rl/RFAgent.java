@@ -6,39 +6,46 @@
 
 package net.java.dante.algorithms.rl;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import net.java.dante.algorithms.AlgorithmUtils;
+import net.java.dante.algorithms.DecidingAgent;
 import net.java.dante.algorithms.common.Dbg;
 import net.java.dante.algorithms.data.AlgorithmData;
 import net.java.dante.algorithms.data.ControlledAgentData;
-import net.java.dante.algorithms.data.ControlledAgentsData;
 import net.java.dante.algorithms.data.EnemyAgentData;
 import net.java.dante.algorithms.data.EnemyAgentsData;
 import net.java.dante.algorithms.data.ProjectileData;
 import net.java.dante.algorithms.data.ProjectilesData;
 import net.java.dante.algorithms.data.SimpleObjectData;
-import net.java.dante.algorithms.data.TileData;
 import net.java.dante.sim.command.CommandsRepositoryBuilder;
 import net.java.dante.sim.command.types.CommandTypesUtils;
+import net.java.dante.sim.data.object.ObjectSize;
 import net.java.dante.sim.engine.time.TimeCounter;
 import net.java.dante.sim.util.math.Point2d;
 import net.java.dante.sim.util.math.Vector2d;
 
-import pl.gdan.elsy.qconf.Action;
-import pl.gdan.elsy.qconf.Brain;
-
 
 /**
- * Reinforcement learning agent.
+ * Reinforcement learning agent. Agents can be updated in parallel if each
+ * of them adds commands to its own commands builder.
  *
  * @author M.Olszewski
  */
-public class RFAgent
+public class RFAgent implements DecidingAgent
 {
+  /** Number of states perceived by learning agent. */
+  public static final int STATES_COUNT = RFAgentPerception.STATES_COUNT;
+  /** Number of actions taken by learning agent. */
+  public static final int ACTIONS_COUNT = 4;
+
   /** Interval between two updates of learning agent. */
   private static final int UPDATE_INTERVAL = 200;
   
@@ -63,16 +70,19 @@ public class RFAgent
 
   private AlgorithmData data;
   private CommandsRepositoryBuilder builder;
-  private TileData[] obstacles;
 
   private ControlledAgentData agentData;
   private Point2d position;
   private Vector2d speed = new Vector2d(0, 0);
   private final double maxDistance;
   private final double checkDistance;
+  /** Range of spatial query for other agents - it covers check range of the largest agent. */
+  private final double agentsQueryRange;
   private double angle = 0;
   private double avgReward = 0;
   private List<SimpleObjectData> objectsWithinMovement = new ArrayList<SimpleObjectData>(DEFAULT_LIST_SIZE);
+  /** Objects found by spatial queries, before checking them. */
+  private List<SimpleObjectData> nearbyObjects = new ArrayList<SimpleObjectData>(DEFAULT_LIST_SIZE);
   
   /* Reload weapon timer. */
   private TimeCounter reloadTimer;
@@ -84,22 +94,69 @@ public class RFAgent
   private int agentIdx;
 
   private RFAgentPerception perception;
-  private Brain brain;
+  private RFAction[] actions;
+  private QLambdaLearner learner;
+  private boolean sharedLearning;
+  private int executionResult;
 
   /**
-   * Creates instance of {@link RFAgent} class.
+   * Creates instance of {@link RFAgent} class learning into its own
+   * Q-table, stored in its own file.
    *
    * @param algorithmData algorithm's data.
    * @param controlledAgentData this agent's data.
    * @param commandsBuilder commands builder.
-   * @param obstaclesArray obstacle's array.
    * @param agentIndex agent's agent's index in group.
    */
   public RFAgent(AlgorithmData algorithmData,
                  ControlledAgentData controlledAgentData,
                  CommandsRepositoryBuilder commandsBuilder,
-                 TileData[] obstaclesArray,
                  int agentIndex)
+  {
+    this(algorithmData, controlledAgentData, commandsBuilder, agentIndex, null);
+  }
+
+  /**
+   * Creates instance of {@link RFAgent} class learning into the specified
+   * shared Q-table. Shared Q-table must have {@link #STATES_COUNT} states
+   * and {@link #ACTIONS_COUNT} actions and it is not stored by
+   * {@link #storeBrain()} method.
+   *
+   * @param algorithmData algorithm's data.
+   * @param controlledAgentData this agent's data.
+   * @param commandsBuilder commands builder.
+   * @param agentIndex agent's agent's index in group.
+   * @param sharedTable shared Q-table or <code>null</code> if agent should
+   *        learn into its own Q-table.
+   */
+  public RFAgent(AlgorithmData algorithmData,
+                 ControlledAgentData controlledAgentData,
+                 CommandsRepositoryBuilder commandsBuilder,
+                 int agentIndex,
+                 QTable sharedTable)
+  {
+    this(algorithmData, controlledAgentData, commandsBuilder, agentIndex, sharedTable, new Random());
+  }
+
+  /**
+   * Creates instance of {@link RFAgent} class learning into the specified
+   * shared Q-table and selecting actions with the specified random numbers
+   * generator - seeded generator makes agent's decisions reproducible.
+   *
+   * @param algorithmData algorithm's data.
+   * @param controlledAgentData this agent's data.
+   * @param commandsBuilder commands builder.
+   * @param agentIndex agent's agent's index in group.
+   * @param sharedTable shared Q-table or <code>null</code> if agent should
+   *        learn into its own Q-table.
+   * @param random random numbers generator used for selecting actions.
+   */
+  public RFAgent(AlgorithmData algorithmData,
+                 ControlledAgentData controlledAgentData,
+                 CommandsRepositoryBuilder commandsBuilder,
+                 int agentIndex,
+                 QTable sharedTable,
+                 Random random)
   {
     if (controlledAgentData == null)
     {
@@ -113,15 +170,10 @@ public class RFAgent
     {
       throw new NullPointerException("Specified commandsBuilder is null!");
     }
-    if (obstaclesArray == null)
-    {
-      throw new NullPointerException("Specified obstaclesArray is null!");
-    }
 
     data        = algorithmData;
     builder     = commandsBuilder;
     agentData   = controlledAgentData;
-    obstacles   = obstaclesArray;
     agentIdx    = agentIndex;
     maxDistance = (agentData.getMaxSpeed() * MOVEMENT_TIME) / 1000.0;
     
@@ -129,6 +181,7 @@ public class RFAgent
                                     (agentData.getSize().getWidth() * agentData.getSize().getWidth())) * 0.5;
     
     checkDistance = maxDistance + halfDiagonal;
+    agentsQueryRange = getCheckRange(getLargestAgentSize(algorithmData.getControlledData().getAgentsData()));
 
     position    = new Point2d(agentData.getX() + (agentData.getSize().getWidth() >> 1),
                               agentData.getY() + (agentData.getSize().getHeight() >> 1));
@@ -138,28 +191,38 @@ public class RFAgent
     reloadTimer.refresh(agentData.getWeapon().getReloadTime());
     updateTimer.refresh(UPDATE_INTERVAL);
 
-    initializeQFramework();
+    initializeLearner(sharedTable, random);
   }
 
-  private void initializeQFramework()
+  private void initializeLearner(QTable sharedTable, Random random)
   {
     perception = new RFAgentPerception(this);
 
-    Action actionArray[] = new Action[4];
-    actionArray[0] = new MoveForwardAction(this);
-    actionArray[1] = new TurnLeftAction(this);
-    actionArray[2] = new TurnRightAction(this);
-    actionArray[3] = new AttackAction(this);
+    actions = new RFAction[ACTIONS_COUNT];
+    actions[0] = new MoveForwardAction(this);
+    actions[1] = new TurnLeftAction(this);
+    actions[2] = new TurnRightAction(this);
+    actions[3] = new AttackAction(this);
 
-    brain = new Brain(perception, actionArray);
-    brain.setAlpha(0.1);
-    brain.setGamma(0.8);
-    brain.setLambda(0.8);
-    brain.setUseBoltzmann(true);
-    brain.setTemperature(0.02);
+    sharedLearning = (sharedTable != null);
+    QTable table = (sharedLearning? sharedTable : new QTable(STATES_COUNT, ACTIONS_COUNT));
+    if ((table.getStatesCount() != STATES_COUNT) || (table.getActionsCount() != ACTIONS_COUNT))
+    {
+      throw new IllegalArgumentException("Invalid argument sharedTable - it must have STATES_COUNT states and ACTIONS_COUNT actions!");
+    }
+
+    learner = new QLambdaLearner(table, random);
+    learner.setAlpha(0.1);
+    learner.setGamma(0.8);
+    learner.setLambda(0.8);
+    learner.setSelection(ActionSelection.BOLTZMANN);
+    learner.setTemperature(0.02);
 
     // Try to load brain stored in a file
-    tryLoadBrain();
+    if (!sharedLearning)
+    {
+      tryLoadBrain();
+    }
   }
 
   private boolean tryLoadBrain()
@@ -170,17 +233,21 @@ public class RFAgent
     {
       try
       {
-        brain.load(f.getName());
-        loaded = true;
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(f)));
+        try
+        {
+          learner.getTable().load(input);
+          loaded = true;
+        }
+        finally
+        {
+          input.close();
+        }
       }
       catch (IOException e)
       {
         e.printStackTrace();
       }
-      catch (ClassNotFoundException e)
-      {
-        e.printStackTrace();
-      }
     }
 
     return loaded;
@@ -346,6 +413,8 @@ public class RFAgent
    * Updates this agent.
    * 
    * @param delta time elapsed since the last update.
+   *
+   * @see net.java.dante.algorithms.DecidingAgent#update(long)
    */
   public void update(long delta)
   {
@@ -356,14 +425,14 @@ public class RFAgent
       if (Dbg.DBG1) Dbg.write("Update for agent=" + agentData.getId());
       updateCollisionsData();
   
-      perception.perceive();
+      int state = perception.getState();
+      double reward = perception.getReward();
       
-      avgReward = avgReward * (1 - AVG_FORGET) + perception.getReward() * AVG_FORGET;
+      avgReward = avgReward * (1 - AVG_FORGET) + reward * AVG_FORGET;
 //      if (Dbg.DBG1) 
       Dbg.write("Avg reward=" + avgReward);
       
-      brain.count();
-      brain.executeAction();
+      executionResult = actions[learner.step(state, reward)].execute();
       
       updateTimer.reset();
     }
@@ -383,28 +452,28 @@ public class RFAgent
   {
     assert lastCommandType == CommandType.ATTACK_COMMAND : "lastCommandType != CommandType.ATTACK_COMMAND !!!";
 
-    return (brain.getExecutionResult() == 0);
+    return (executionResult == 0);
   }
   
   boolean weaponNotRealoaded()
   {
     assert lastCommandType == CommandType.ATTACK_COMMAND : "lastCommandType != CommandType.ATTACK_COMMAND !!!";
 
-    return (brain.getExecutionResult() == 1);
+    return (executionResult == 1);
   }
   
   boolean noEnemyInRange()
   {
     assert lastCommandType == CommandType.ATTACK_COMMAND : "lastCommandType != CommandType.ATTACK_COMMAND !!!";
     
-    return (brain.getExecutionResult() == 2);
+    return (executionResult == 2);
   }
 
   boolean movedWell()
   {
     assert lastCommandType == CommandType.MOVE_COMMAND : "lastCommandType != CommandType.MOVE_COMMAND !!!";
 
-    return (brain.getExecutionResult() == 0);
+    return (executionResult == 0);
   }
 
   private void updateCollisionsData()
@@ -421,8 +490,7 @@ public class RFAgent
   
   private boolean checkObject(SimpleObjectData object)
   {
-    double distanceToCheck = checkDistance + 0.5 * Math.sqrt(object.getSize().getWidth() * object.getSize().getWidth() + 
-                                                             object.getSize().getHeight() * object.getSize().getHeight());
+    double distanceToCheck = getCheckRange(object.getSize());
     
     boolean result = (AlgorithmUtils.isObjectWithinRange(position.getX(), position.getY(), distanceToCheck, object) &&
         AlgorithmUtils.isObjectOnObjectWay(object.getX(), object.getY(), object.getSize(),
@@ -449,28 +517,70 @@ public class RFAgent
 
   private void collectOtherAgents()
   {
-    ControlledAgentsData agents = data.getControlledData();
-    for (int i = 0, size = agents.getActiveAgentsCount(); i < size; i++)
-    {
-      ControlledAgentData otherAgentData = agents.getActiveAgentData(i);
+    nearbyObjects.clear();
+    data.getSpatialData().findControlledAgents(position.getX(), position.getY(),
+                                               agentsQueryRange, nearbyObjects, agentData);
+    collectCheckedObjects();
+  }
 
-      if (otherAgentData != agentData)
+  private void collectObstacles()
+  {
+    nearbyObjects.clear();
+    data.getSpatialData().findObstacles(position.getX(), position.getY(),
+                                        getCheckRange(data.getTileSize()), nearbyObjects);
+    collectCheckedObjects();
+  }
+
+  /**
+   * Gets range within which objects of the specified size are checked
+   * by {@link #checkObject(SimpleObjectData)} method.
+   *
+   * @param size the specified size.
+   *
+   * @return Returns range within which objects are checked.
+   */
+  private double getCheckRange(ObjectSize size)
+  {
+    return checkDistance + 0.5 * Math.sqrt(size.getWidth() * size.getWidth() +
+                                           size.getHeight() * size.getHeight());
+  }
+
+  /**
+   * Gets size of agent with the largest diagonal from the specified agents,
+   * so range of agents query computed from it by
+   * {@link #getCheckRange(ObjectSize)} contains all agents checked by
+   * {@link #checkObject(SimpleObjectData)} method.
+   *
+   * @param agents the specified agents.
+   *
+   * @return Returns size of the largest agent.
+   */
+  private ObjectSize getLargestAgentSize(ControlledAgentData[] agents)
+  {
+    ObjectSize largest = agentData.getSize();
+    for (int i = 0; i < agents.length; i++)
+    {
+      ObjectSize size = agents[i].getSize();
+      if ((size.getWidth() * size.getWidth() + size.getHeight() * size.getHeight()) >
+          (largest.getWidth() * largest.getWidth() + largest.getHeight() * largest.getHeight()))
       {
-        if (checkObject(otherAgentData))
-        {
-          objectsWithinMovement.add(otherAgentData);
-        }
+        largest = size;
       }
     }
+    return largest;
   }
 
-  private void collectObstacles()
+  /**
+   * Adds checked objects found by spatial query to objects within movement.
+   */
+  private void collectCheckedObjects()
   {
-    for (int i = 0; i < obstacles.length; i++)
+    for (int i = 0, size = nearbyObjects.size(); i < size; i++)
     {
-      if (checkObject(obstacles[i]))
+      SimpleObjectData object = nearbyObjects.get(i);
+      if (checkObject(object))
       {
-        objectsWithinMovement.add(obstacles[i]);
+        objectsWithinMovement.add(object);
       }
     }
   }
@@ -492,17 +602,13 @@ public class RFAgent
   private void collectProjectiles()
   {
     ProjectilesData projectilesData = data.getProjectilesData();
-    if (projectilesData.getProjectilesCount() > 0)
+    for (int i = 0, size = projectilesData.getProjectilesCount(); i < size; i++)
     {
-      ProjectileData[] projectiles = projectilesData.getProjectilesData();
-      for (int i = 0; i < projectiles.length; i++)
-      {
-        ProjectileData projectile = projectiles[i];
+      ProjectileData projectile = projectilesData.getProjectileData(i);
 
-        if (checkObject(projectile))
-         {
-           objectsWithinMovement.add(projectile);
-         }
+      if (checkObject(projectile))
+      {
+        objectsWithinMovement.add(projectile);
       }
     }
   }
@@ -516,10 +622,10 @@ public class RFAgent
   {
     boolean inRange = false;
     
-    EnemyAgentData[] visibleEnemies = data.getEnemiesData().getVisibleEnemiesData();
-    for (int i = 0; i < visibleEnemies.length; i++)
+    EnemyAgentsData enemiesData = data.getEnemiesData();
+    for (int i = 0, size = enemiesData.getVisibleEnemiesCount(); i < size; i++)
     {
-      if (AlgorithmUtils.isObjectWithinAttackRange(agentData, visibleEnemies[i]))
+      if (AlgorithmUtils.isObjectWithinAttackRange(agentData, enemiesData.getVisibleEnemyData(i)))
       {
         inRange = true;
         break;
@@ -530,17 +636,13 @@ public class RFAgent
   }
 
   /**
-   * Stores agent's brain.
+   * Stores agent's brain. Shared Q-table is not stored.
    */
   public void storeBrain()
   {
-    try
-    {
-      brain.save(STORED_BRAIN_FILE_PREFIX + agentIdx);
-    }
-    catch (IOException e)
+    if (!sharedLearning)
     {
-      e.printStackTrace();
+      QTableStore.store(learner.getTable(), new File(STORED_BRAIN_FILE_PREFIX + agentIdx));
     }
   }
 
@@ -8,18 +8,19 @@ package net.java.dante.algorithms.rl;
 
 import net.java.dante.algorithms.common.Dbg;
 
-import pl.gdan.elsy.qconf.Perception;
-
 
 /**
  * Perception of {@link RFAgent} object.
  *
  * @author M.Olszewski
  */
-public class RFAgentPerception extends Perception
+public class RFAgentPerception
 {
-  private static final long serialVersionUID = 1L;
-  
+  /** Number of perceived binary inputs. */
+  static final int INPUTS_COUNT = 3;
+  /** Number of states encoded by {@link #getState()} method. */
+  static final int STATES_COUNT = 1 << INPUTS_COUNT;
+
   private RFAgent agent;
   
 
@@ -39,9 +40,11 @@ public class RFAgentPerception extends Perception
   }
 
   /**
-   * @see pl.gdan.elsy.qconf.Perception#getReward()
+   * Gets reward for the last action taken by the agent: positive value
+   * (0..1) rewards the agent, negative value (-1..0) punishes it.
+   *
+   * @return Returns reward for the last action.
    */
-  @Override
   public double getReward()
   {
     double reward = 0.0;
@@ -95,13 +98,28 @@ public class RFAgentPerception extends Perception
   }
 
   /**
-   * @see pl.gdan.elsy.qconf.Perception#updateInputValues()
+   * Gets current state of the agent - each perceived binary input is
+   * encoded as one bit.
+   *
+   * @return Returns current state of the agent from range
+   *         [0, {@link #STATES_COUNT}).
    */
-  @Override
-  protected void updateInputValues()
+  public int getState()
   {
-    setNextValue(agent.checkPossibleCollisions());
-    setNextValue(agent.isWeaponReady());
-    setNextValue(agent.isEnemyInRange());
+    int state = 0;
+    if (agent.checkPossibleCollisions())
+    {
+      state |= 1;
+    }
+    if (agent.isWeaponReady())
+    {
+      state |= 2;
+    }
+    if (agent.isEnemyInRange())
+    {
+      state |= 4;
+    }
+
+    return state;
   }
 }
\ No newline at end of file
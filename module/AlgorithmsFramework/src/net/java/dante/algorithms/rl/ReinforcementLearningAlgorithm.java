@@ -6,16 +6,21 @@
 
 package net.java.dante.algorithms.rl;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import net.java.dante.algorithms.AlgorithmUtils;
 import net.java.dante.algorithms.BaseAlgorithmImpl;
+import net.java.dante.algorithms.CommandsBuffer;
+import net.java.dante.algorithms.DecisionsExecutor;
+import net.java.dante.algorithms.SteppedAlgorithm;
 import net.java.dante.algorithms.common.Dbg;
 import net.java.dante.algorithms.data.AlgorithmData;
 import net.java.dante.algorithms.data.ControlledAgentData;
-import net.java.dante.algorithms.data.TileData;
 import net.java.dante.sim.command.CommandUtils;
+import net.java.dante.sim.command.CommandsRepository;
 import net.java.dante.sim.command.CommandsRepositoryBuilder;
 import net.java.dante.sim.engine.time.SystemTimer;
 import net.java.dante.sim.engine.time.TimeStopper;
@@ -29,16 +34,37 @@ import net.java.dante.sim.io.UpdateData;
 
 
 /**
- * Reinforcement learning algorithm using
- * "Connectionist Q-learning Java Framework".
+ * Reinforcement learning algorithm using tabular Q(lambda) learning
+ * (see {@link QLambdaLearner}). Way of sharing Q-tables between agents
+ * is selected by {@link #SHARING_PROPERTY} system property - its value
+ * is a name of {@link QTableSharing} constant, {@link QTableSharing#AGENT}
+ * is used by default. Shared Q-table is stored in {@link #SHARED_TABLE_FILE}
+ * file.
+ * <p>Agents make decisions in parallel, using {@link DecisionsExecutor}.
+ * Each agent adds its commands to its own {@link CommandsBuffer} and all
+ * buffers are merged in order of agents creation, so sent commands do not
+ * depend on threads scheduling. Algorithm can also be stepped from outside
+ * (see {@link SteppedAlgorithm}) - then decisions depend only on simulation
+ * time, seed (see {@link #setSeed(long)}) and stored Q-tables.
  *
  * @author M.Olszewski
  */
-public class ReinforcementLearningAlgorithm extends BaseAlgorithmImpl
+public class ReinforcementLearningAlgorithm extends BaseAlgorithmImpl implements SteppedAlgorithm
 {
+  /** Name of system property with way of sharing Q-tables. */
+  public static final String SHARING_PROPERTY = "dante.rl.sharing";
+  /** Name of file with shared Q-table. */
+  public static final String SHARED_TABLE_FILE = RFAgent.class.getSimpleName() + "___shared";
+
   private static final int TIME_STOPPER_INTERVAL = 50;
   private CommandsRepositoryBuilder builder;
   private Map<Integer, RFAgent> agents;
+  /** Agents updated in current loop. */
+  private List<RFAgent> updatedAgents;
+  /** Commands buffers of all agents, in order of agents creation. */
+  private List<CommandsBuffer> buffers;
+  /** Q-table shared by agents or <code>null</code> if agents do not share Q-table. */
+  private SharedQTable sharedTable;
 
   /**
    * Creates instance of {@link ReinforcementLearningAlgorithm} class.
@@ -58,8 +84,7 @@ public class ReinforcementLearningAlgorithm extends BaseAlgorithmImpl
   {
     Dbg.enableDateTimeLog("RL__log__", ".log");
 
-    initialize();
-    startAgents();
+    startSteps();
 
     SystemTimer timer = new SystemTimer();
     TimeStopper stopper = new TimeStopper(timer, TIME_STOPPER_INTERVAL);
@@ -67,58 +92,138 @@ public class ReinforcementLearningAlgorithm extends BaseAlgorithmImpl
 
     long delta = 0;
     long lastTime = 0;
+    boolean running = true;
 
-    sendCommands(builder.build());
-
-    while (isRunning())
+    while (running && isRunning())
     {
       delta = timer.getTime() - lastTime;
       lastTime = timer.getTime();
 
       stopper.startPoint();
       {
-        // Make decisions
-        for (Integer agentId : agents.keySet())
-        {
-          RFAgent agent = agents.get(agentId);
-
-          agent.update(delta);
-        }
-
-        updateAgents(refreshAndObtain());
-
-        sendCommands(builder.build());
+        running = step(delta);
       }
       stopper.endPoint();
-
-      // No point in running
-      if (agents.size() <= 0)
-      {
-        break;
-      }
     }
 
-    store();
+    finishSteps();
 
     Dbg.disableLogging();
   }
 
+  /**
+   * @see net.java.dante.algorithms.SteppedAlgorithm#startSteps()
+   */
+  public void startSteps()
+  {
+    initialize();
+    startAgents();
+
+    sendCommands(buildCommands());
+  }
+
+  /**
+   * @see net.java.dante.algorithms.SteppedAlgorithm#step(long)
+   */
+  public boolean step(long delta)
+  {
+    // Make decisions
+    updatedAgents.clear();
+    updatedAgents.addAll(agents.values());
+    DecisionsExecutor.getInstance().update(updatedAgents, delta);
+
+    updateAgents(refreshAndObtain());
+
+    sendCommands(buildCommands());
+
+    // No point in running
+    return (agents.size() > 0);
+  }
+
+  /**
+   * @see net.java.dante.algorithms.SteppedAlgorithm#finishSteps()
+   */
+  public void finishSteps()
+  {
+    store();
+  }
+
   private void initialize()
   {
     AlgorithmData data = getAlgorithmData();
 
     builder = CommandUtils.createDefaultBuilder(data.getGroupId());
-    TileData[] tiles = AlgorithmUtils.createTilesData(data.getMap(), data.getTileSize());
 
     ControlledAgentData[] agentsData =  data.getControlledData().getAgentsData();
     agents = new HashMap<Integer, RFAgent>(agentsData.length);
+    updatedAgents = new ArrayList<RFAgent>(agentsData.length);
+    buffers = new ArrayList<CommandsBuffer>(agentsData.length);
+    sharedTable = createSharedTable();
 
     for (int i = 0; i < agentsData.length; i++)
     {
       ControlledAgentData agentData = agentsData[i];
+      CommandsBuffer buffer = new CommandsBuffer(data.getGroupId());
+      buffers.add(buffer);
       agents.put(Integer.valueOf(agentData.getId()),
-                 new RFAgent(data, agentData, builder, tiles, i));
+                 new RFAgent(data, agentData, buffer, i, sharedTable, createRandom()));
+    }
+  }
+
+  /**
+   * Gets way of sharing Q-tables with the specified name. Invalid names
+   * are reported and {@link QTableSharing#AGENT} is used instead of them.
+   *
+   * @param name name of {@link QTableSharing} constant, case insensitive.
+   *
+   * @return Returns way of sharing Q-tables with the specified name.
+   */
+  static QTableSharing getSharing(String name)
+  {
+    QTableSharing sharing = QTableSharing.AGENT;
+    if (name != null)
+    {
+      try
+      {
+        sharing = QTableSharing.valueOf(name.trim().toUpperCase());
+      }
+      catch (IllegalArgumentException e)
+      {
+        Dbg.warning("Invalid value of " + SHARING_PROPERTY + " property: " + name +
+            " - " + QTableSharing.AGENT + " is used instead.");
+      }
+    }
+
+    return sharing;
+  }
+
+  private SharedQTable createSharedTable()
+  {
+    QTableSharing sharing = getSharing(System.getProperty(SHARING_PROPERTY));
+    File file = new File(SHARED_TABLE_FILE);
+    SharedQTable table = null;
+
+    switch (sharing)
+    {
+      case GROUP:
+      {
+        table = QTableStore.getInstance().createTable(file, RFAgent.STATES_COUNT, RFAgent.ACTIONS_COUNT);
+        break;
+      }
+
+      case VIRTUAL_MACHINE:
+      {
+        table = QTableStore.getInstance().getTable(file, RFAgent.STATES_COUNT, RFAgent.ACTIONS_COUNT);
+        break;
+      }
+
+      default:
+      {
+        break;
+      }
     }
+
+    return table;
   }
 
   private void startAgents()
@@ -129,6 +234,16 @@ public class ReinforcementLearningAlgorithm extends BaseAlgorithmImpl
     }
   }
 
+  private CommandsRepository buildCommands()
+  {
+    for (int i = 0, size = buffers.size(); i < size; i++)
+    {
+      buffers.get(i).flushTo(builder);
+    }
+
+    return builder.build();
+  }
+
   private void updateAgents(UpdateData update)
   {
     if (update != null)
@@ -192,6 +307,11 @@ public class ReinforcementLearningAlgorithm extends BaseAlgorithmImpl
     {
       agents.get(agentId).storeBrain();
     }
+
+    if (sharedTable != null)
+    {
+      QTableStore.getInstance().storeAsync(sharedTable, new File(SHARED_TABLE_FILE));
+    }
   }
 
 
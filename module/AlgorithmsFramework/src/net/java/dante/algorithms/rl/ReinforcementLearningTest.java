@@ -0,0 +1,184 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms.rl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for sharing Q-tables: {@link SharedQTable}, {@link QTableStore}
+ * and selection of {@link QTableSharing} by
+ * {@link ReinforcementLearningAlgorithm}.
+ *
+ * @author M.Olszewski
+ */
+public class ReinforcementLearningTest extends TestCase
+{
+  /** Number of states in tested tables. */
+  private static final int STATES = 100;
+  /** Number of actions in tested tables. */
+  private static final int ACTIONS = 4;
+  /** Number of threads changing shared table. */
+  private static final int THREADS_COUNT = 4;
+  /** Number of changes performed by each thread. */
+  private static final int CHANGES_COUNT = 10000;
+
+  /** Temporary file with stored table. */
+  private File tableFile;
+
+
+  /**
+   * @see junit.framework.TestCase#setUp()
+   */
+  @Override
+  protected void setUp() throws Exception
+  {
+    tableFile = File.createTempFile("qtable", ".bin");
+  }
+
+  /**
+   * @see junit.framework.TestCase#tearDown()
+   */
+  @Override
+  protected void tearDown() throws Exception
+  {
+    tableFile.delete();
+    File tempFile = new File(tableFile.getPath() + ".tmp");
+    if (tempFile.isDirectory())
+    {
+      new File(tempFile, "blocker").delete();
+    }
+    tempFile.delete();
+    QTableStore.getBackupFile(tableFile).delete();
+  }
+
+  /**
+   * Test method for {@link SharedQTable#addValue(int, double)}. No change
+   * made concurrently by many threads can be lost.
+   *
+   * @throws InterruptedException if test was interrupted.
+   */
+  public void testConcurrentAddValue() throws InterruptedException
+  {
+    final SharedQTable table = new SharedQTable(STATES, ACTIONS);
+    final int size = STATES * ACTIONS;
+    final CountDownLatch start = new CountDownLatch(1);
+    Thread[] threads = new Thread[THREADS_COUNT];
+
+    for (int i = 0; i < threads.length; i++)
+    {
+      threads[i] = new Thread()
+      {
+        /**
+         * @see java.lang.Thread#run()
+         */
+        @Override
+        public void run()
+        {
+          try
+          {
+            start.await();
+          }
+          catch (InterruptedException e)
+          {
+            return;
+          }
+
+          for (int j = 0; j < CHANGES_COUNT; j++)
+          {
+            table.addValue(j % size, 1.0);
+          }
+        }
+      };
+      threads[i].start();
+    }
+
+    start.countDown();
+    for (Thread thread : threads)
+    {
+      thread.join();
+    }
+
+    double total = 0.0;
+    for (int i = 0; i < size; i++)
+    {
+      total += table.getValue(i);
+    }
+    assertEquals((double)THREADS_COUNT * CHANGES_COUNT, total, 0.0);
+    assertEquals((double)THREADS_COUNT * ((CHANGES_COUNT + size - 1) / size), table.getValue(0), 0.0);
+  }
+
+  /**
+   * Test method for {@link QTableStore#store(QTable, File)} and
+   * {@link QTableStore#createTable(File, int, int)}. Table stored in file
+   * (through temporary file renamed to it) must be loaded with
+   * the same Q-values.
+   *
+   * @throws IOException if temporary file cannot be created.
+   */
+  public void testStoreAndLoad() throws IOException
+  {
+    SharedQTable table = new SharedQTable(STATES, ACTIONS);
+    for (int i = 0; i < STATES * ACTIONS; i++)
+    {
+      table.setValue(i, i * 0.5 - 7.0);
+    }
+
+    // Existing file is replaced
+    QTableStore.store(new QTable(STATES, ACTIONS), tableFile);
+    QTableStore.store(table.createSnapshot(), tableFile);
+    assertFalse(new File(tableFile.getPath() + ".tmp").exists());
+
+    SharedQTable loaded = QTableStore.getInstance().createTable(tableFile, STATES, ACTIONS);
+    assertNotSame(table, loaded);
+    for (int i = 0; i < STATES * ACTIONS; i++)
+    {
+      assertEquals(table.getValue(i), loaded.getValue(i), 0.0);
+    }
+  }
+
+  /**
+   * Test method for {@link QTableStore#store(QTable, File)} and
+   * {@link QTableStore#createTable(File, int, int)}. Previous snapshot
+   * must not be lost if next one cannot be written or if it was not
+   * moved to its place.
+   *
+   * @throws IOException if temporary file cannot be created.
+   */
+  public void testPreviousSnapshotKept() throws IOException
+  {
+    SharedQTable table = new SharedQTable(STATES, ACTIONS);
+    table.setValue(0, 3.0);
+    QTableStore.store(table.createSnapshot(), tableFile);
+
+    // Temporary file cannot be created - stored file is unchanged
+    File tempFile = new File(tableFile.getPath() + ".tmp");
+    assertTrue(tempFile.mkdir());
+    assertTrue(new File(tempFile, "blocker").createNewFile());
+    QTableStore.store(new QTable(STATES, ACTIONS), tableFile);
+    assertEquals(3.0, QTableStore.getInstance().createTable(tableFile, STATES, ACTIONS).getValue(0), 0.0);
+
+    // Writing interrupted after file was moved to backup - backup is loaded
+    assertTrue(tableFile.renameTo(QTableStore.getBackupFile(tableFile)));
+    assertEquals(3.0, QTableStore.getInstance().createTable(tableFile, STATES, ACTIONS).getValue(0), 0.0);
+  }
+
+  /**
+   * Test method for {@link ReinforcementLearningAlgorithm#getSharing(String)}.
+   */
+  public void testGetSharing()
+  {
+    assertSame(QTableSharing.AGENT, ReinforcementLearningAlgorithm.getSharing(null));
+    assertSame(QTableSharing.GROUP, ReinforcementLearningAlgorithm.getSharing("group"));
+    assertSame(QTableSharing.VIRTUAL_MACHINE, ReinforcementLearningAlgorithm.getSharing(" Virtual_Machine "));
+    assertSame(QTableSharing.AGENT, ReinforcementLearningAlgorithm.getSharing("everything"));
+    assertSame(QTableSharing.AGENT, ReinforcementLearningAlgorithm.getSharing(""));
+  }
+}
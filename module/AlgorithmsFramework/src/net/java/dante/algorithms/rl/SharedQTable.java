@@ -0,0 +1,118 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.algorithms.rl;
+
+/**
+ * {@link QTable} which can be used by many {@link QLambdaLearner} objects
+ * running in different threads. Access to Q-values is guarded by striped
+ * locks: Q-values of one state are guarded by one lock, selected by state's
+ * number, so learners visiting different states do not block each other.
+ *
+ * @author M.Olszewski
+ */
+public final class SharedQTable extends QTable
+{
+  /** Maximal number of locks - it must be a power of two. */
+  private static final int MAX_STRIPES_COUNT = 64;
+
+  /** Locks guarding Q-values. */
+  private final Object[] stripes;
+  /** Mask selecting lock from state's number. */
+  private final int stripesMask;
+
+
+  /**
+   * Creates instance of {@link SharedQTable} class with all Q-values
+   * equal to zero.
+   *
+   * @param states number of states.
+   * @param actions number of actions.
+   */
+  public SharedQTable(int states, int actions)
+  {
+    super(states, actions);
+
+    int stripesCount = 1;
+    while ((stripesCount < states) && (stripesCount < MAX_STRIPES_COUNT))
+    {
+      stripesCount <<= 1;
+    }
+
+    stripes = new Object[stripesCount];
+    for (int i = 0; i < stripes.length; i++)
+    {
+      stripes[i] = new Object();
+    }
+    stripesMask = stripesCount - 1;
+  }
+
+
+  /**
+   * Gets lock guarding Q-value from the specified index.
+   *
+   * @param index the specified index.
+   *
+   * @return Returns lock guarding Q-value from the specified index.
+   */
+  private Object getStripe(int index)
+  {
+    return stripes[(index / getActionsCount()) & stripesMask];
+  }
+
+  /**
+   * @see net.java.dante.algorithms.rl.QTable#getValue(int)
+   */
+  @Override
+  public double getValue(int index)
+  {
+    synchronized (getStripe(index))
+    {
+      return super.getValue(index);
+    }
+  }
+
+  /**
+   * @see net.java.dante.algorithms.rl.QTable#setValue(int, double)
+   */
+  @Override
+  public void setValue(int index, double value)
+  {
+    synchronized (getStripe(index))
+    {
+      super.setValue(index, value);
+    }
+  }
+
+  /**
+   * @see net.java.dante.algorithms.rl.QTable#addValue(int, double)
+   */
+  @Override
+  public void addValue(int index, double change)
+  {
+    synchronized (getStripe(index))
+    {
+      super.addValue(index, change);
+    }
+  }
+
+  /**
+   * Creates snapshot of this table - not shared {@link QTable} with
+   * copy of all Q-values.
+   *
+   * @return Returns snapshot of this table.
+   */
+  public QTable createSnapshot()
+  {
+    QTable snapshot = new QTable(getStatesCount(), getActionsCount());
+    for (int i = 0, size = getStatesCount() * getActionsCount(); i < size; i++)
+    {
+      snapshot.setValue(i, getValue(i));
+    }
+
+    return snapshot;
+  }
+}
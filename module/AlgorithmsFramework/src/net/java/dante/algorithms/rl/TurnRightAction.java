@@ -13,9 +13,6 @@ package net.java.dante.algorithms.rl;
  */
 public class TurnRightAction extends RFAction
 {
-  private static final long serialVersionUID = 1L;
-
-
   /**
    * Creates instance of {@link TurnRightAction} class.
    *
@@ -28,7 +25,7 @@ public class TurnRightAction extends RFAction
 
 
   /**
-   * @see pl.gdan.elsy.qconf.Action#execute()
+   * @see net.java.dante.algorithms.rl.RFAction#execute()
    */
   @Override
   public int execute()
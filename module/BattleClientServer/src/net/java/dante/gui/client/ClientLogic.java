@@ -24,6 +24,8 @@ import net.java.dante.darknet.session.SessionAdapter;
 import net.java.dante.gui.common.Dbg;
 import net.java.dante.gui.common.Utils;
 import net.java.dante.gui.common.messages.net.client.update.InitDataMessage;
+import net.java.dante.gui.common.messages.net.game.sim.SupportedEncodingsNetworkMessage;
+import net.java.dante.gui.common.messages.net.game.sim.UpdateEncoding;
 import net.java.dante.gui.common.messages.receiver.AlgorithmSelectedMessage;
 import net.java.dante.gui.common.messages.receiver.ClientConnectionRequestMessage;
 import net.java.dante.gui.common.messages.receiver.ClientDisconnectionMessage;
@@ -35,8 +37,8 @@ import net.java.dante.gui.common.messages.receiver.NetworkReceiverMessage;
 import net.java.dante.receiver.MessageProcessingExceptionMessage;
 import net.java.dante.receiver.MessagesProcessor;
 import net.java.dante.receiver.Receiver;
+import net.java.dante.receiver.ReceiverFactory;
 import net.java.dante.receiver.ReceiverMessage;
-import net.java.dante.receiver.RunnableReceiver;
 import net.java.dante.receiver.time.TimerMessage;
 
 
@@ -611,6 +613,7 @@ public class ClientLogic implements MessagesProcessor
         {
           clientFrame.appendLogLine("Connected to server with address: " + client.getServerAddress());
           clientFrame.connected();
+          session.send(new SupportedEncodingsNetworkMessage(UpdateEncoding.getSupportedVersions()));
 
           stateMachine.setConnectionNotInitState();
         }
@@ -747,7 +750,8 @@ public class ClientLogic implements MessagesProcessor
 
 
   /**
-   * Starts client.
+   * Starts client. Type of client's receiver is selected by
+   * {@link ReceiverFactory} system properties.
    *
    * @param args - first argument can contain optional path to file with
    *        client's configuration.
@@ -760,7 +764,7 @@ public class ClientLogic implements MessagesProcessor
        clientConfig = ClientConfig.loadConfig(args[0], true);
     }
 
-    Receiver receiver = new RunnableReceiver();
+    Receiver receiver = ReceiverFactory.getInstance().createReceiver();
     ClientLogic logic = new ClientLogic(receiver, clientConfig);
     receiver.start(logic);
   }
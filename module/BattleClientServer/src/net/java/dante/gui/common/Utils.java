@@ -12,6 +12,8 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Date;
 
+import net.java.dante.darknet.messaging.NetworkMessage;
+import net.java.dante.darknet.messaging.NetworkMessageFactory;
 import net.java.dante.darknet.messaging.NetworkMessagesRegister;
 import net.java.dante.gui.common.messages.net.client.NoFreeClientsSlotsMessage;
 import net.java.dante.gui.common.messages.net.client.update.ClientConnectedMessage;
@@ -46,6 +48,7 @@ import net.java.dante.gui.common.messages.net.game.sim.FinishDataNetworkMessage;
 import net.java.dante.gui.common.messages.net.game.sim.GroupEliminatedNetworkMessage;
 import net.java.dante.gui.common.messages.net.game.sim.InitializationNetworkMessage;
 import net.java.dante.gui.common.messages.net.game.sim.StatisticsNetworkMessage;
+import net.java.dante.gui.common.messages.net.game.sim.SupportedEncodingsNetworkMessage;
 import net.java.dante.gui.common.messages.net.game.sim.TimeSyncNetworkMessage;
 import net.java.dante.gui.common.messages.net.game.sim.UpdateNetworkMessage;
 import net.java.dante.receiver.Receiver;
@@ -74,7 +77,9 @@ public final class Utils
 
   /**
    * Registers all messages used both by client and server in the specified
-   * register. This method should be called once per each register.
+   * register and seals it. This method should be called once per each register.
+   * Simulation messages sent during each game frame are registered with
+   * factories, so they are constructed without reflection.
    *
    * @param register the specified register.
    */
@@ -123,12 +128,45 @@ public final class Utils
 
     // Simulation messages
     register.register(InitializationNetworkMessage.class, BEGIN_NET_MSG_ID     + 28);
-    register.register(CommandsNetworkMessage.class, BEGIN_NET_MSG_ID           + 29);
+    register.register(CommandsNetworkMessage.class, BEGIN_NET_MSG_ID           + 29,
+        new NetworkMessageFactory()
+        {
+          /**
+           * @see net.java.dante.darknet.messaging.NetworkMessageFactory#create()
+           */
+          public NetworkMessage create()
+          {
+            return new CommandsNetworkMessage();
+          }
+        });
     register.register(FinishDataNetworkMessage.class, BEGIN_NET_MSG_ID         + 30);
     register.register(GroupEliminatedNetworkMessage.class, BEGIN_NET_MSG_ID    + 31);
     register.register(StatisticsNetworkMessage.class, BEGIN_NET_MSG_ID         + 32);
-    register.register(TimeSyncNetworkMessage.class, BEGIN_NET_MSG_ID           + 33);
-    register.register(UpdateNetworkMessage.class, BEGIN_NET_MSG_ID             + 34);
+    register.register(TimeSyncNetworkMessage.class, BEGIN_NET_MSG_ID           + 33,
+        new NetworkMessageFactory()
+        {
+          /**
+           * @see net.java.dante.darknet.messaging.NetworkMessageFactory#create()
+           */
+          public NetworkMessage create()
+          {
+            return new TimeSyncNetworkMessage();
+          }
+        });
+    register.register(UpdateNetworkMessage.class, BEGIN_NET_MSG_ID             + 34,
+        new NetworkMessageFactory()
+        {
+          /**
+           * @see net.java.dante.darknet.messaging.NetworkMessageFactory#create()
+           */
+          public NetworkMessage create()
+          {
+            return new UpdateNetworkMessage();
+          }
+        });
+    register.register(SupportedEncodingsNetworkMessage.class, BEGIN_NET_MSG_ID + 35);
+
+    register.seal();
   }
 
   /**
@@ -8,6 +8,7 @@ package net.java.dante.gui.common.messages.net.game.sim;
 
 import net.java.dante.darknet.protocol.packet.PacketReader;
 import net.java.dante.darknet.protocol.packet.PacketWriter;
+import net.java.dante.darknet.session.Session;
 
 /**
  * Class representing {@link net.java.dante.sim.io.FinishData} input data for client.
@@ -47,6 +48,20 @@ public class FinishDataNetworkMessage extends SimulationNetworkMessage
     super.fromPacket(reader);
   }
 
+  /**
+   * Update encoding received by the specified session for finished game
+   * is no longer needed, so it is removed.
+   *
+   * @see net.java.dante.darknet.messaging.NetworkMessage#fromPacket(net.java.dante.darknet.protocol.packet.PacketReader, net.java.dante.darknet.session.Session)
+   */
+  @Override
+  public void fromPacket(PacketReader reader, Session session)
+  {
+    fromPacket(reader);
+
+    UpdateEncoding.removeReceived(session, getGameId());
+  }
+
   /**
    * @see net.java.dante.darknet.messaging.NetworkMessage#toPacket(net.java.dante.darknet.protocol.packet.PacketWriter)
    */
@@ -9,6 +9,7 @@ package net.java.dante.gui.common.messages.net.game.sim;
 
 import net.java.dante.darknet.protocol.packet.PacketReader;
 import net.java.dante.darknet.protocol.packet.PacketWriter;
+import net.java.dante.darknet.session.Session;
 import net.java.dante.sim.data.GlobalData;
 import net.java.dante.sim.data.common.AnimationFramesData;
 import net.java.dante.sim.data.map.MapUtils;
@@ -38,6 +39,8 @@ public class InitializationNetworkMessage extends SimulationNetworkMessage
 {
   /** Initialization data for client. */
   private InitializationData initialization;
+  /** Encoding of events in subsequent {@link UpdateNetworkMessage} messages. */
+  private UpdateEncoding encoding = UpdateEncoding.LEGACY;
 
 
   /**
@@ -59,6 +62,22 @@ public class InitializationNetworkMessage extends SimulationNetworkMessage
    * @param initializationData initialization data for client.
    */
   public InitializationNetworkMessage(int gameIdenifier, InitializationData initializationData)
+  {
+    this(gameIdenifier, initializationData, UpdateEncoding.LEGACY);
+  }
+
+  /**
+   * Creates instance of {@link InitializationNetworkMessage} class with the
+   * specified parameters. The specified encoding is sent to client and must
+   * be used by all subsequent {@link UpdateNetworkMessage} messages sent
+   * to this client in this game.
+   *
+   * @param gameIdenifier the game's identifier.
+   * @param initializationData initialization data for client.
+   * @param updateEncoding encoding of events in update messages.
+   */
+  public InitializationNetworkMessage(int gameIdenifier, InitializationData initializationData,
+                                      UpdateEncoding updateEncoding)
   {
     super(gameIdenifier);
 
@@ -66,8 +85,13 @@ public class InitializationNetworkMessage extends SimulationNetworkMessage
     {
       throw new NullPointerException("Specified initializationData is null!");
     }
+    if (updateEncoding == null)
+    {
+      throw new NullPointerException("Specified updateEncoding is null!");
+    }
 
     initialization = initializationData;
+    encoding = updateEncoding;
   }
 
 
@@ -82,21 +106,70 @@ public class InitializationNetworkMessage extends SimulationNetworkMessage
   }
 
   /**
+   * Gets encoding of events in subsequent {@link UpdateNetworkMessage} messages.
+   *
+   * @return Returns encoding of events in update messages.
+   */
+  public UpdateEncoding getUpdateEncoding()
+  {
+    return encoding;
+  }
+
+  /**
+   * Message decoded outside of any session has original layout,
+   * without encoding.
+   *
    * @see net.java.dante.gui.common.messages.net.game.sim.SimulationNetworkMessage#fromPacket(net.java.dante.darknet.protocol.packet.PacketReader)
    */
   @Override
   public void fromPacket(PacketReader reader)
+  {
+    fromPacket(reader, null);
+  }
+
+  /**
+   * Encoding is read only if the specified session negotiated compact
+   * format (see {@link UpdateEncoding#isCompactNegotiated(Session)}),
+   * otherwise it is {@link UpdateEncoding#LEGACY}. Received encoding is
+   * stored in the specified session, so subsequent {@link UpdateNetworkMessage}
+   * messages received by this session can be decoded.
+   *
+   * @see net.java.dante.darknet.messaging.NetworkMessage#fromPacket(net.java.dante.darknet.protocol.packet.PacketReader, net.java.dante.darknet.session.Session)
+   */
+  @Override
+  public void fromPacket(PacketReader reader, Session session)
   {
     super.fromPacket(reader);
 
     initialization = loadInitializationData(reader);
+    encoding = (UpdateEncoding.isCompactNegotiated(session)? UpdateEncoding.load(reader) : UpdateEncoding.LEGACY);
+
+    UpdateEncoding.setReceived(session, getGameId(), initialization.getGroupId(), encoding);
   }
 
   /**
+   * Message encoded outside of any session has original layout,
+   * without encoding.
+   *
    * @see net.java.dante.gui.common.messages.net.game.sim.SimulationNetworkMessage#toPacket(net.java.dante.darknet.protocol.packet.PacketWriter)
    */
   @Override
   public void toPacket(PacketWriter writer)
+  {
+    toPacket(writer, null);
+  }
+
+  /**
+   * Encoding is written only if the specified session negotiated compact
+   * format (see {@link UpdateEncoding#isCompactNegotiated(Session)}).
+   *
+   * @throws IllegalStateException if encoding is compact, but session
+   *         did not negotiate compact format.
+   *
+   * @see net.java.dante.darknet.messaging.NetworkMessage#toPacket(net.java.dante.darknet.protocol.packet.PacketWriter, net.java.dante.darknet.session.Session)
+   */
+  @Override
+  public void toPacket(PacketWriter writer, Session session)
   {
     super.toPacket(writer);
 
@@ -105,7 +178,17 @@ public class InitializationNetworkMessage extends SimulationNetworkMessage
       throw new IllegalStateException("IllegalState in InitializationNetworkMessage: object is read only!");
     }
 
+    boolean negotiated = UpdateEncoding.isCompactNegotiated(session);
+    if (!negotiated && encoding.isCompact())
+    {
+      throw new IllegalStateException("IllegalState in InitializationNetworkMessage: compact format was not negotiated!");
+    }
+
     storeInitializationData(writer, initialization);
+    if (negotiated)
+    {
+      encoding.store(writer);
+    }
   }
 
   private void storeInitializationData(PacketWriter writer,
@@ -6,7 +6,9 @@
 
 package net.java.dante.gui.common.messages.net.game.sim;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 import net.java.dante.darknet.messaging.NetworkMessage;
@@ -82,48 +84,55 @@ class SimulationMessagesProvider implements MessagesProvider
   public NetworkMessage[] provide()
   {
     final int maxMessages = 10000;
-    final int NUMBER_OF_TYPES = 6;
+    final int NUMBER_OF_TYPES = 7;
 
-    NetworkMessage[] msg = new NetworkMessage[maxMessages];
+    List<NetworkMessage> msg = new ArrayList<NetworkMessage>(maxMessages);
+    // Session negotiates compact format before any update is sent
+    msg.add(new SupportedEncodingsNetworkMessage(UpdateEncoding.getSupportedVersions()));
 
-    for (int i = 0; i < maxMessages; i++)
+    while (msg.size() < maxMessages)
     {
       switch (rand.nextInt(NUMBER_OF_TYPES))
       {
         case 0:
         {
-          msg[i] = buildInitializationMessage();
+          msg.add(buildInitializationMessage());
           break;
         }
         case 1:
         {
-          msg[i] = buildFinishMessage();
+          msg.add(buildFinishMessage());
           break;
         }
         case 2:
         {
-          msg[i] = buildTimeSyncMessage();
+          msg.add(buildTimeSyncMessage());
           break;
         }
         case 3:
         {
-          msg[i] = buildCommandsNetworkMessage();
+          msg.add(buildCommandsNetworkMessage());
           break;
         }
         case 4:
         {
-          msg[i] = buildUpdateNetworkMessage();
+          addUpdateNetworkMessage(msg);
           break;
         }
         case 5:
         {
-          msg[i] = buildStatisticsNetworkMessage();
+          msg.add(buildStatisticsNetworkMessage());
+          break;
+        }
+        case 6:
+        {
+          msg.add(new SupportedEncodingsNetworkMessage(UpdateEncoding.getSupportedVersions()));
           break;
         }
       }
     }
 
-    return msg;
+    return msg.toArray(new NetworkMessage[msg.size()]);
   }
 
   private FinishDataNetworkMessage buildFinishMessage()
@@ -138,6 +147,14 @@ class SimulationMessagesProvider implements MessagesProvider
   }
 
   private InitializationNetworkMessage buildInitializationMessage()
+  {
+    return buildInitializationMessage(rand.nextInt(Integer.MAX_VALUE),
+                                      rand.nextInt(Integer.MAX_VALUE),
+                                      UpdateEncoding.LEGACY);
+  }
+
+  InitializationNetworkMessage buildInitializationMessage(int gameId, int groupId,
+                                                          UpdateEncoding encoding)
   {
     GlobalData globalData = new GlobalData(rand.nextBoolean(), rand.nextBoolean(),
                                            rand.nextInt(1000000) + 1, rand.nextInt(1000) + 1,
@@ -224,10 +241,11 @@ class SimulationMessagesProvider implements MessagesProvider
         new EnemyAgentsGroupInitData[] { AgentInitDataUtils.createEnemyAgentsGroupInitData(enemiesData) });
 
 
-    return new InitializationNetworkMessage(rand.nextInt(Integer.MAX_VALUE),
-               InitializationData.createInitializationData(rand.nextInt(Integer.MAX_VALUE),
+    return new InitializationNetworkMessage(gameId,
+               InitializationData.createInitializationData(groupId,
                                                            simMap, agentData,
-                                                           weaponData, agentsInitData, globalData));
+                                                           weaponData, agentsInitData, globalData),
+               encoding);
   }
 
   private CommandsNetworkMessage buildCommandsNetworkMessage()
@@ -279,12 +297,21 @@ class SimulationMessagesProvider implements MessagesProvider
                                       new CommandsData(builder.build()));
   }
 
-  UpdateNetworkMessage buildUpdateNetworkMessage()
+  /**
+   * Adds update message to the specified messages. Update in compact format
+   * is preceded by initialization message with its encoding, so receiving
+   * session can decode it.
+   *
+   * @param messages - the specified messages.
+   */
+  void addUpdateNetworkMessage(List<NetworkMessage> messages)
   {
     final int MAX_EVENTS = rand.nextInt(500) + 10;
     final int MAX_EVENTS_TYPE = EventType.values().length;
 
-    EventsRepositoryBuilder builder = EventUtils.createDefaultBuilder(rand.nextInt(Integer.MAX_VALUE));
+    int groupId = rand.nextInt(Integer.MAX_VALUE);
+    EventsRepositoryBuilder builder = (rand.nextBoolean()?
+        EventUtils.createDefaultBuilder(groupId) : EventUtils.createPrimitiveBuilder(groupId));
 
     int enemyAgentId = rand.nextInt(Integer.MAX_VALUE);
     int friendlyAgentId = rand.nextInt(Integer.MAX_VALUE);
@@ -453,9 +480,21 @@ class SimulationMessagesProvider implements MessagesProvider
       }
     }
 
-    return new UpdateNetworkMessage(rand.nextInt(Integer.MAX_VALUE),
-                                    new UpdateData(rand.nextInt(1000000) + 1,
-                                                   builder.build()));
+    int gameId = rand.nextInt(Integer.MAX_VALUE);
+    UpdateData updateData = new UpdateData(rand.nextInt(1000000) + 1, builder.build());
+    if (rand.nextBoolean())
+    {
+      // Positions and speeds are integers, so compact encoding is lossless.
+      // Only one of projectile types is in dictionary - the other one is sent inline.
+      UpdateEncoding encoding = UpdateEncoding.createCompact(
+          new String[] {"raz dwa trzysta dwiwescscsieeee osiem"});
+      messages.add(buildInitializationMessage(gameId, groupId, encoding));
+      messages.add(new UpdateNetworkMessage(gameId, updateData, encoding));
+    }
+    else
+    {
+      messages.add(new UpdateNetworkMessage(gameId, updateData));
+    }
   }
 
   StatisticsNetworkMessage buildStatisticsNetworkMessage()
@@ -0,0 +1,148 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.gui.common.messages.net.game.sim;
+
+import java.util.Arrays;
+
+import net.java.dante.darknet.messaging.NetworkMessage;
+import net.java.dante.darknet.protocol.packet.PacketReader;
+import net.java.dante.darknet.protocol.packet.PacketWriter;
+import net.java.dante.darknet.session.Session;
+
+/**
+ * Class representing message sent by client after connection, advertising
+ * versions of {@link UpdateEncoding} format supported by client. Server stores
+ * them in client's session and chooses encoding of each game from them -
+ * clients which never send this message receive updates in legacy format.
+ *
+ * @author M.Olszewski
+ */
+public class SupportedEncodingsNetworkMessage extends NetworkMessage
+{
+  /** Supported versions of format. */
+  private byte[] versions;
+
+
+  /**
+   * Creates instance of {@link SupportedEncodingsNetworkMessage} class.
+   * Do not create instances of {@link SupportedEncodingsNetworkMessage} class by calling this
+   * constructor - it is intended to be called by DarkNet while
+   * encoding this message.
+   */
+  public SupportedEncodingsNetworkMessage()
+  {
+    super();
+  }
+
+  /**
+   * Creates instance of {@link SupportedEncodingsNetworkMessage} class with the
+   * specified parameters.
+   *
+   * @param supportedVersions supported versions of format.
+   */
+  public SupportedEncodingsNetworkMessage(byte[] supportedVersions)
+  {
+    if (supportedVersions == null)
+    {
+      throw new NullPointerException("Specified supportedVersions is null!");
+    }
+
+    versions = supportedVersions.clone();
+  }
+
+
+  /**
+   * Gets supported versions of format.
+   *
+   * @return Returns supported versions of format.
+   */
+  public byte[] getVersions()
+  {
+    return versions.clone();
+  }
+
+  /**
+   * @see net.java.dante.darknet.messaging.NetworkMessage#fromPacket(net.java.dante.darknet.protocol.packet.PacketReader)
+   */
+  @Override
+  public void fromPacket(PacketReader reader)
+  {
+    versions = reader.readByteArray();
+  }
+
+  /**
+   * Advertised versions are stored in the specified receiving session.
+   *
+   * @see net.java.dante.darknet.messaging.NetworkMessage#fromPacket(net.java.dante.darknet.protocol.packet.PacketReader, net.java.dante.darknet.session.Session)
+   */
+  @Override
+  public void fromPacket(PacketReader reader, Session session)
+  {
+    fromPacket(reader);
+
+    UpdateEncoding.setAdvertisedVersions(session, versions);
+  }
+
+  /**
+   * @see net.java.dante.darknet.messaging.NetworkMessage#toPacket(net.java.dante.darknet.protocol.packet.PacketWriter)
+   */
+  @Override
+  public void toPacket(PacketWriter writer)
+  {
+    if (versions == null)
+    {
+      throw new IllegalStateException("IllegalState in SupportedEncodingsNetworkMessage: object is read only!");
+    }
+
+    writer.writeByteArray(versions);
+  }
+
+  /**
+   * Advertised versions are stored in the specified sending session.
+   *
+   * @see net.java.dante.darknet.messaging.NetworkMessage#toPacket(net.java.dante.darknet.protocol.packet.PacketWriter, net.java.dante.darknet.session.Session)
+   */
+  @Override
+  public void toPacket(PacketWriter writer, Session session)
+  {
+    toPacket(writer);
+
+    UpdateEncoding.setAdvertisedVersions(session, versions);
+  }
+
+  /**
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode()
+  {
+    return Arrays.hashCode(versions);
+  }
+
+  /**
+   * @see java.lang.Object#equals(java.lang.Object)
+   */
+  @Override
+  public boolean equals(Object object)
+  {
+    boolean equal = (this == object);
+    if (!equal && (object instanceof SupportedEncodingsNetworkMessage))
+    {
+      equal = Arrays.equals(versions, ((SupportedEncodingsNetworkMessage)object).versions);
+    }
+    return equal;
+  }
+
+  /**
+   * @see net.java.dante.darknet.messaging.NetworkMessage#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass().getName() + " [versions=" + Arrays.toString(versions) + "]");
+  }
+}
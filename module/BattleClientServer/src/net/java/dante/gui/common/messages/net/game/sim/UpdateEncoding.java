@@ -0,0 +1,526 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.gui.common.messages.net.game.sim;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import net.java.dante.darknet.protocol.packet.PacketReader;
+import net.java.dante.darknet.protocol.packet.PacketWriter;
+import net.java.dante.darknet.session.Session;
+import net.java.dante.sim.data.template.types.AgentTemplateData;
+import net.java.dante.sim.io.init.InitializationData;
+
+
+/**
+ * Format of events stored in {@link UpdateNetworkMessage}, chosen by server
+ * for each client session and announced in {@link InitializationNetworkMessage}.
+ * <ul>
+ * <li>{@link #LEGACY_VERSION} - all numbers are written with their full size.
+ * <li>{@link #COMPACT_VERSION} - identifiers and event types are written as
+ *     variable length integers, events' times as differences from time of
+ *     update, positions as fixed point numbers with
+ *     {@link #POSITION_FRACTION_BITS} fractional bits, speeds as
+ *     <code>float</code> numbers and projectile types as identifiers from
+ *     dictionary sent in {@link InitializationNetworkMessage}.
+ * </ul>
+ * Client advertises versions it supports in
+ * {@link SupportedEncodingsNetworkMessage} and server falls back to
+ * {@link #LEGACY} for clients which support no other version. Encoding
+ * received by client is kept in attributes of its session, so
+ * {@link UpdateNetworkMessage} can find dictionary while it is decoded
+ * and encoding is discarded together with session.
+ * <p>Layouts of {@link InitializationNetworkMessage} and
+ * {@link UpdateNetworkMessage} with encoding and its version are used only
+ * by sessions which negotiated compact format (see
+ * {@link #isCompactNegotiated(Session)}) - other sessions send and receive
+ * both messages in their original layout, without any encoding data, so
+ * clients which never advertise supported versions can still parse them.
+ *
+ * @author M.Olszewski
+ */
+public final class UpdateEncoding
+{
+  /** Version of format with full size numbers. */
+  public static final byte LEGACY_VERSION = 1;
+  /** Version of compact format. */
+  public static final byte COMPACT_VERSION = 2;
+  /** Number of fractional bits of positions in compact format. */
+  public static final int POSITION_FRACTION_BITS = 8;
+
+  /** Legacy encoding - it has empty dictionary. */
+  public static final UpdateEncoding LEGACY = new UpdateEncoding(LEGACY_VERSION, new String[0]);
+
+  /** Scale of positions in compact format. */
+  private static final double POSITION_SCALE = 1 << POSITION_FRACTION_BITS;
+  /** Identifier of projectile type which is not in dictionary. */
+  private static final int UNKNOWN_TYPE_ID = 0;
+  /** Mask of bits stored in one byte of variable length integer. */
+  private static final int VAR_INT_BITS_MASK = 0x7F;
+  /** Flag set in each byte of variable length integer except the last one. */
+  private static final int VAR_INT_CONTINUATION = 0x80;
+  /** Number of bits stored in one byte of variable length integer. */
+  private static final int VAR_INT_SHIFT = 7;
+
+  /** Versions of format supported by this implementation, from the most preferred one. */
+  private static final byte[] SUPPORTED_VERSIONS = new byte[] { COMPACT_VERSION, LEGACY_VERSION };
+  /** Key of session attribute holding versions of format advertised through session. */
+  private static final String ADVERTISED_VERSIONS_ATTRIBUTE =
+      UpdateEncoding.class.getName() + ".advertisedVersions";
+  /** Key of session attribute holding encoding received by client. */
+  private static final String RECEIVED_ENCODING_ATTRIBUTE =
+      UpdateEncoding.class.getName() + ".received";
+
+  /** Version of format. */
+  private byte version;
+  /** Dictionary of projectile types - type with index i has identifier i + 1. */
+  private String[] projectileTypes;
+  /** Identifiers of projectile types. */
+  private Map<String, Integer> projectileTypesIds;
+
+
+  /**
+   * Creates instance of {@link UpdateEncoding} class.
+   *
+   * @param formatVersion - version of format.
+   * @param typesDictionary - dictionary of projectile types.
+   */
+  private UpdateEncoding(byte formatVersion, String[] typesDictionary)
+  {
+    version = formatVersion;
+    projectileTypes = typesDictionary;
+    projectileTypesIds = new HashMap<String, Integer>(typesDictionary.length * 2);
+    for (int i = 0; i < typesDictionary.length; i++)
+    {
+      projectileTypesIds.put(typesDictionary[i], Integer.valueOf(i + 1));
+    }
+  }
+
+
+  /**
+   * Creates compact encoding with dictionary containing all projectile types
+   * which can be shot by agents described by the specified initialization data.
+   *
+   * @param initData - initialization data sent to client.
+   *
+   * @return Returns created compact encoding.
+   */
+  public static UpdateEncoding createCompact(InitializationData initData)
+  {
+    if (initData == null)
+    {
+      throw new NullPointerException("Specified initData is null!");
+    }
+
+    TreeSet<String> types = new TreeSet<String>();
+    types.add(initData.getWeaponTemplateTypeData().getType());
+    types.add(((AgentTemplateData)initData.getAgentTemplateTypeData().getData()).getWeaponSystemType());
+
+    return createCompact(types.toArray(new String[types.size()]));
+  }
+
+  /**
+   * Creates compact encoding with the specified dictionary of projectile types.
+   *
+   * @param typesDictionary - dictionary of projectile types.
+   *
+   * @return Returns created compact encoding.
+   */
+  static UpdateEncoding createCompact(String[] typesDictionary)
+  {
+    return new UpdateEncoding(COMPACT_VERSION, typesDictionary.clone());
+  }
+
+  /**
+   * Checks whether this encoding uses compact format.
+   *
+   * @return Returns <code>true</code> if this encoding uses compact format,
+   *         <code>false</code> otherwise.
+   */
+  public boolean isCompact()
+  {
+    return (version == COMPACT_VERSION);
+  }
+
+  /**
+   * Gets version of format.
+   *
+   * @return Returns version of format.
+   */
+  byte getVersion()
+  {
+    return version;
+  }
+
+  /**
+   * Stores this encoding using the specified {@link PacketWriter} object.
+   *
+   * @param writer - the specified {@link PacketWriter} object.
+   */
+  void store(PacketWriter writer)
+  {
+    writer.writeByte(version);
+    writer.writeStringArray(projectileTypes);
+  }
+
+  /**
+   * Loads encoding stored by {@link #store(PacketWriter)} using the specified
+   * {@link PacketReader} object.
+   *
+   * @param reader - the specified {@link PacketReader} object.
+   *
+   * @return Returns loaded encoding.
+   */
+  static UpdateEncoding load(PacketReader reader)
+  {
+    byte formatVersion = reader.readByte();
+    String[] typesDictionary = reader.readStringArray();
+    checkVersion(formatVersion);
+
+    return ((formatVersion == LEGACY_VERSION)? LEGACY : new UpdateEncoding(formatVersion, typesDictionary));
+  }
+
+  /**
+   * Checks whether the specified format version is supported.
+   *
+   * @param formatVersion - the specified format version.
+   *
+   * @throws IllegalStateException if version is not supported.
+   */
+  static void checkVersion(byte formatVersion)
+  {
+    if ((formatVersion != LEGACY_VERSION) && (formatVersion != COMPACT_VERSION))
+    {
+      throw new IllegalStateException("Unsupported update format version: " + formatVersion + "!");
+    }
+  }
+
+  /**
+   * Gets versions of format supported by this implementation, starting
+   * from the most preferred one. Client advertises them to server
+   * in {@link SupportedEncodingsNetworkMessage}.
+   *
+   * @return Returns supported versions of format.
+   */
+  public static byte[] getSupportedVersions()
+  {
+    return SUPPORTED_VERSIONS.clone();
+  }
+
+  /**
+   * Creates encoding for game described by the specified initialization data
+   * and client connected by the specified session. Compact encoding is
+   * created only if client advertised it in
+   * {@link SupportedEncodingsNetworkMessage} - clients which did not
+   * advertise any versions receive updates in legacy format.
+   *
+   * @param session - session of client.
+   * @param initData - initialization data sent to client.
+   *
+   * @return Returns encoding chosen for client.
+   */
+  public static UpdateEncoding createForSession(Session session, InitializationData initData)
+  {
+    if (session == null)
+    {
+      throw new NullPointerException("Specified session is null!");
+    }
+
+    return (isCompactNegotiated(session)? createCompact(initData) : LEGACY);
+  }
+
+  /**
+   * Checks whether the specified session negotiated compact format - whether
+   * {@link SupportedEncodingsNetworkMessage} advertising it was sent or
+   * received by this session. Advertising peer supports compact format and
+   * only peers supporting it can receive this message, so both peers use
+   * layouts of {@link InitializationNetworkMessage} and
+   * {@link UpdateNetworkMessage} with encoding data since then.
+   *
+   * @param session - the specified session or <code>null</code> if message
+   *        is encoded or decoded outside of any session.
+   *
+   * @return Returns <code>true</code> if session negotiated compact format,
+   *         <code>false</code> otherwise.
+   */
+  static boolean isCompactNegotiated(Session session)
+  {
+    byte[] versions = ((session != null)? (byte[])session.getAttribute(ADVERTISED_VERSIONS_ATTRIBUTE) : null);
+    boolean compactSupported = false;
+    for (int i = 0; (versions != null) && (i < versions.length) && !compactSupported; i++)
+    {
+      compactSupported = (versions[i] == COMPACT_VERSION);
+    }
+
+    return compactSupported;
+  }
+
+  /**
+   * Stores versions of format advertised through the specified session -
+   * by client which sends them or by server which receives them.
+   *
+   * @param session - session through which versions are advertised or
+   *        <code>null</code> if message with versions is encoded or decoded
+   *        outside of any session.
+   * @param versions - advertised versions.
+   */
+  static void setAdvertisedVersions(Session session, byte[] versions)
+  {
+    if (session != null)
+    {
+      session.setAttribute(ADVERTISED_VERSIONS_ATTRIBUTE, versions.clone());
+    }
+  }
+
+  /**
+   * Stores encoding received by client in its session. Client's session
+   * takes part in one game at a time, so encoding received for previous
+   * game is replaced.
+   *
+   * @param session - session which received encoding or <code>null</code>
+   *        if encoding was decoded outside of any session.
+   * @param gameId - game's identifier.
+   * @param groupId - group's identifier.
+   * @param encoding - received encoding.
+   */
+  static void setReceived(Session session, int gameId, int groupId, UpdateEncoding encoding)
+  {
+    if (session != null)
+    {
+      session.setAttribute(RECEIVED_ENCODING_ATTRIBUTE, new ReceivedEncoding(gameId, groupId, encoding));
+    }
+  }
+
+  /**
+   * Gets encoding received by the specified session for the specified
+   * game and group.
+   *
+   * @param session - session which received encoding or <code>null</code>
+   *        if update is decoded outside of any session.
+   * @param gameId - game's identifier.
+   * @param groupId - group's identifier.
+   *
+   * @return Returns received encoding.
+   *
+   * @throws IllegalStateException if no encoding was received.
+   */
+  static UpdateEncoding getReceived(Session session, int gameId, int groupId)
+  {
+    ReceivedEncoding received = ((session != null)?
+        (ReceivedEncoding)session.getAttribute(RECEIVED_ENCODING_ATTRIBUTE) : null);
+    if ((received == null) || (received.gameId != gameId) || (received.groupId != groupId))
+    {
+      throw new IllegalStateException("No update encoding received for game " + gameId +
+          " and group " + groupId + "!");
+    }
+    return received.encoding;
+  }
+
+  /**
+   * Removes encoding received by the specified session for the specified game.
+   *
+   * @param session - session which received encoding or <code>null</code>
+   *        if message is decoded outside of any session.
+   * @param gameId - game's identifier.
+   */
+  static void removeReceived(Session session, int gameId)
+  {
+    if (session != null)
+    {
+      ReceivedEncoding received = (ReceivedEncoding)session.getAttribute(RECEIVED_ENCODING_ATTRIBUTE);
+      if ((received != null) && (received.gameId == gameId))
+      {
+        session.removeAttribute(RECEIVED_ENCODING_ATTRIBUTE);
+      }
+    }
+  }
+
+  /**
+   * Writes the specified projectile type - its identifier from dictionary
+   * or whole string if it is not in dictionary.
+   *
+   * @param writer - the specified {@link PacketWriter} object.
+   * @param type - written projectile type.
+   */
+  void writeProjectileType(PacketWriter writer, String type)
+  {
+    Integer id = projectileTypesIds.get(type);
+    writeVarInt(writer, (id != null)? id.intValue() : UNKNOWN_TYPE_ID);
+    if (id == null)
+    {
+      writer.writeString(type);
+    }
+  }
+
+  /**
+   * Reads projectile type written by {@link #writeProjectileType(PacketWriter, String)}.
+   *
+   * @param reader - the specified {@link PacketReader} object.
+   *
+   * @return Returns read projectile type.
+   */
+  String readProjectileType(PacketReader reader)
+  {
+    int id = readVarInt(reader);
+    return ((id == UNKNOWN_TYPE_ID)? reader.readString() : projectileTypes[id - 1]);
+  }
+
+  /**
+   * Writes the specified integer as variable length integer: 7 bits in each
+   * byte, starting from the lowest ones. Small non-negative integers take
+   * less bytes.
+   *
+   * @param writer - the specified {@link PacketWriter} object.
+   * @param value - written integer.
+   */
+  static void writeVarInt(PacketWriter writer, int value)
+  {
+    int remaining = value;
+    while ((remaining & ~VAR_INT_BITS_MASK) != 0)
+    {
+      writer.writeByte((byte)((remaining & VAR_INT_BITS_MASK) | VAR_INT_CONTINUATION));
+      remaining >>>= VAR_INT_SHIFT;
+    }
+    writer.writeByte((byte)remaining);
+  }
+
+  /**
+   * Reads integer written by {@link #writeVarInt(PacketWriter, int)}.
+   *
+   * @param reader - the specified {@link PacketReader} object.
+   *
+   * @return Returns read integer.
+   */
+  static int readVarInt(PacketReader reader)
+  {
+    return (int)readVarLong(reader);
+  }
+
+  /**
+   * Writes the specified number as variable length integer, using zig-zag
+   * encoding so numbers close to zero take less bytes - also negative ones.
+   *
+   * @param writer - the specified {@link PacketWriter} object.
+   * @param value - written number.
+   */
+  static void writeSignedVarLong(PacketWriter writer, long value)
+  {
+    long remaining = (value << 1) ^ (value >> (Long.SIZE - 1));
+    while ((remaining & ~VAR_INT_BITS_MASK) != 0)
+    {
+      writer.writeByte((byte)((remaining & VAR_INT_BITS_MASK) | VAR_INT_CONTINUATION));
+      remaining >>>= VAR_INT_SHIFT;
+    }
+    writer.writeByte((byte)remaining);
+  }
+
+  /**
+   * Reads number written by {@link #writeSignedVarLong(PacketWriter, long)}.
+   *
+   * @param reader - the specified {@link PacketReader} object.
+   *
+   * @return Returns read number.
+   */
+  static long readSignedVarLong(PacketReader reader)
+  {
+    long encoded = readVarLong(reader);
+    return ((encoded >>> 1) ^ -(encoded & 1));
+  }
+
+  /**
+   * Writes the specified position as fixed point number.
+   *
+   * @param writer - the specified {@link PacketWriter} object.
+   * @param position - written position.
+   */
+  static void writePosition(PacketWriter writer, double position)
+  {
+    writeSignedVarLong(writer, Math.round(position * POSITION_SCALE));
+  }
+
+  /**
+   * Reads position written by {@link #writePosition(PacketWriter, double)}.
+   *
+   * @param reader - the specified {@link PacketReader} object.
+   *
+   * @return Returns read position.
+   */
+  static double readPosition(PacketReader reader)
+  {
+    return (readSignedVarLong(reader) / POSITION_SCALE);
+  }
+
+  /**
+   * Reads unsigned variable length integer.
+   *
+   * @param reader - the specified {@link PacketReader} object.
+   *
+   * @return Returns read integer.
+   */
+  private static long readVarLong(PacketReader reader)
+  {
+    long value = 0;
+    int shift = 0;
+    byte read;
+    do
+    {
+      if (shift >= Long.SIZE)
+      {
+        throw new IllegalStateException("Malformed variable length integer!");
+      }
+      read = reader.readByte();
+      value |= ((long)(read & VAR_INT_BITS_MASK) << shift);
+      shift += VAR_INT_SHIFT;
+    }
+    while ((read & VAR_INT_CONTINUATION) != 0);
+
+    return value;
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass().getName() + " [version=" + version +
+        "; projectileTypes=" + Arrays.toString(projectileTypes) + "]");
+  }
+
+
+  /**
+   * Encoding received by client for game and group, stored in client's session.
+   *
+   * @author M.Olszewski
+   */
+  private static final class ReceivedEncoding
+  {
+    /** Game's identifier. */
+    final int gameId;
+    /** Group's identifier. */
+    final int groupId;
+    /** Received encoding. */
+    final UpdateEncoding encoding;
+
+
+    /**
+     * Creates instance of {@link ReceivedEncoding} class.
+     *
+     * @param gameIdentifier - game's identifier.
+     * @param groupIdentifier - group's identifier.
+     * @param receivedEncoding - received encoding.
+     */
+    ReceivedEncoding(int gameIdentifier, int groupIdentifier, UpdateEncoding receivedEncoding)
+    {
+      gameId = gameIdentifier;
+      groupId = groupIdentifier;
+      encoding = receivedEncoding;
+    }
+  }
+}
@@ -0,0 +1,332 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.gui.common.messages.net.game.sim;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import net.java.dante.darknet.messaging.NetworkMessage;
+import net.java.dante.darknet.protocol.tcp.TCPPacket;
+import net.java.dante.darknet.session.Session;
+import net.java.dante.sim.event.Event;
+import net.java.dante.sim.event.EventsRepository;
+import net.java.dante.sim.io.UpdateData;
+
+/**
+ * Test case for layouts of {@link InitializationNetworkMessage} and
+ * {@link UpdateNetworkMessage} chosen by {@link UpdateEncoding}. Sessions
+ * which did not negotiate compact format must use original layouts
+ * of both messages, without any encoding data.
+ *
+ * @author M.Olszewski
+ */
+public class UpdateLayoutTest extends TestCase
+{
+  /** Identifier of game used by test. */
+  private static final int GAME_ID = 17;
+  /** Identifier of group used by test. */
+  private static final int GROUP_ID = 3;
+  /** Subclass identifier of encoded packets. */
+  private static final int SUBCLASS_ID = 1;
+
+  /** Provider building test messages. */
+  private SimulationMessagesProvider provider = new SimulationMessagesProvider();
+
+
+  /**
+   * Test method for {@link UpdateEncoding#isCompactNegotiated(Session)} and
+   * {@link UpdateEncoding#createForSession(Session, net.java.dante.sim.io.init.InitializationData)}.
+   */
+  public void testNegotiation()
+  {
+    TestSession client = new TestSession();
+    TestSession server = new TestSession();
+    InitializationNetworkMessage init = provider.buildInitializationMessage(GAME_ID, GROUP_ID, UpdateEncoding.LEGACY);
+
+    assertFalse(UpdateEncoding.isCompactNegotiated(null));
+    assertFalse(UpdateEncoding.isCompactNegotiated(server));
+    assertSame(UpdateEncoding.LEGACY, UpdateEncoding.createForSession(server, init.getInitializationData()));
+
+    TCPPacket packet = encode(new SupportedEncodingsNetworkMessage(UpdateEncoding.getSupportedVersions()), client);
+    assertTrue(UpdateEncoding.isCompactNegotiated(client));
+    new SupportedEncodingsNetworkMessage().fromPacket(packet, server);
+    assertTrue(UpdateEncoding.isCompactNegotiated(server));
+    assertTrue(UpdateEncoding.createForSession(server, init.getInitializationData()).isCompact());
+
+    TestSession legacyOnly = new TestSession();
+    encode(new SupportedEncodingsNetworkMessage(new byte[] { UpdateEncoding.LEGACY_VERSION }), legacyOnly);
+    assertFalse(UpdateEncoding.isCompactNegotiated(legacyOnly));
+  }
+
+  /**
+   * Test method for layout of {@link UpdateNetworkMessage} sent by session
+   * which did not negotiate compact format - it must be
+   * <code>gameId, time, groupId, eventsCount, events</code>, without version.
+   */
+  public void testLegacyUpdateLayout()
+  {
+    UpdateNetworkMessage message = new UpdateNetworkMessage(GAME_ID, buildUpdateData());
+    UpdateData update = message.getUpdateData();
+    EventsRepository repository = update.getRepository();
+    Event first = repository.getEvent(0);
+
+    TCPPacket packet = encode(message, new TestSession());
+    assertEquals(GAME_ID, packet.readInt());
+    assertEquals(update.getTime(), packet.readLong());
+    assertEquals(repository.getGroupId(), packet.readInt());
+    assertEquals(repository.getEventsCount(), packet.readInt());
+    assertEquals(first.getId(), packet.readInt());
+    assertEquals(first.getEventType().ordinal(), packet.readInt());
+    assertEquals(first.getTime(), packet.readLong());
+
+    packet.rewind();
+    UpdateNetworkMessage decoded = new UpdateNetworkMessage();
+    decoded.fromPacket(packet, new TestSession());
+    assertEquals(0, packet.getBuffer().remaining());
+    assertEquals(message, decoded);
+  }
+
+  /**
+   * Test method for layout of {@link InitializationNetworkMessage} sent
+   * by session which did not negotiate compact format - it must not
+   * contain encoding, which is added only by sessions negotiating
+   * compact format.
+   */
+  public void testLegacyInitializationLayout()
+  {
+    InitializationNetworkMessage message = provider.buildInitializationMessage(GAME_ID, GROUP_ID, UpdateEncoding.LEGACY);
+
+    TCPPacket legacyPacket = encode(message, new TestSession());
+    int legacySize = legacyPacket.getBuffer().remaining();
+    assertEquals(GAME_ID, legacyPacket.readInt());
+    assertEquals(GROUP_ID, legacyPacket.readInt());
+
+    legacyPacket.rewind();
+    TestSession receiver = new TestSession();
+    InitializationNetworkMessage decoded = new InitializationNetworkMessage();
+    decoded.fromPacket(legacyPacket, receiver);
+    assertEquals(0, legacyPacket.getBuffer().remaining());
+    assertEquals(message, decoded);
+    assertSame(UpdateEncoding.LEGACY, decoded.getUpdateEncoding());
+    assertSame(UpdateEncoding.LEGACY, UpdateEncoding.getReceived(receiver, GAME_ID, GROUP_ID));
+
+    // Negotiated layout adds version and empty dictionary
+    TCPPacket negotiatedPacket = encode(message, createNegotiatedSession());
+    assertTrue(negotiatedPacket.getBuffer().remaining() > legacySize);
+  }
+
+  /**
+   * Test method for round trip of messages in compact format between
+   * sessions which negotiated it.
+   */
+  public void testCompactRoundTrip()
+  {
+    UpdateEncoding encoding = UpdateEncoding.createCompact(new String[] { "type" });
+    UpdateData updateData = buildUpdateData();
+    int groupId = updateData.getRepository().getGroupId();
+    InitializationNetworkMessage init = provider.buildInitializationMessage(GAME_ID, groupId, encoding);
+    UpdateNetworkMessage update = new UpdateNetworkMessage(GAME_ID, updateData, encoding);
+
+    Session sender = createNegotiatedSession();
+    Session receiver = createNegotiatedSession();
+
+    InitializationNetworkMessage decodedInit = new InitializationNetworkMessage();
+    decodedInit.fromPacket(encode(init, sender), receiver);
+    assertEquals(init, decodedInit);
+    assertTrue(decodedInit.getUpdateEncoding().isCompact());
+
+    UpdateNetworkMessage decodedUpdate = new UpdateNetworkMessage();
+    TCPPacket packet = encode(update, sender);
+    decodedUpdate.fromPacket(packet, receiver);
+    assertEquals(0, packet.getBuffer().remaining());
+    assertEquals(update, decodedUpdate);
+  }
+
+  /**
+   * Test method for encoding messages in compact format by session which
+   * did not negotiate it - it must fail instead of sending data which
+   * cannot be parsed by client.
+   */
+  public void testCompactWithoutNegotiation()
+  {
+    UpdateEncoding encoding = UpdateEncoding.createCompact(new String[] { "type" });
+    try
+    {
+      encode(provider.buildInitializationMessage(GAME_ID, GROUP_ID, encoding), new TestSession());
+      fail("IllegalStateException was expected!");
+    }
+    catch (IllegalStateException e)
+    {
+      // Intentionally left empty.
+    }
+    try
+    {
+      encode(new UpdateNetworkMessage(GAME_ID, buildUpdateData(), encoding), null);
+      fail("IllegalStateException was expected!");
+    }
+    catch (IllegalStateException e)
+    {
+      // Intentionally left empty.
+    }
+  }
+
+  /**
+   * Builds update data with at least one event, whose positions and speeds
+   * can be stored in compact format without loss.
+   *
+   * @return Returns built update data.
+   */
+  private UpdateData buildUpdateData()
+  {
+    List<NetworkMessage> messages = new ArrayList<NetworkMessage>();
+    provider.addUpdateNetworkMessage(messages);
+    return ((UpdateNetworkMessage)messages.get(messages.size() - 1)).getUpdateData();
+  }
+
+  /**
+   * Creates session which negotiated compact format.
+   *
+   * @return Returns created session.
+   */
+  private static Session createNegotiatedSession()
+  {
+    Session session = new TestSession();
+    UpdateEncoding.setAdvertisedVersions(session, UpdateEncoding.getSupportedVersions());
+    return session;
+  }
+
+  /**
+   * Encodes the specified message, sent by the specified session, and
+   * prepares packet for reading.
+   *
+   * @param message - encoded message.
+   * @param session - sending session.
+   *
+   * @return Returns packet with encoded message.
+   */
+  private static TCPPacket encode(NetworkMessage message, Session session)
+  {
+    TCPPacket packet = new TCPPacket(SUBCLASS_ID);
+    message.toPacket(packet, session);
+    packet.getBuffer().flip();
+    packet.rewind();
+    return packet;
+  }
+
+
+  /**
+   * Session not connected to any peer, holding only attributes.
+   *
+   * @author M.Olszewski
+   */
+  private static class TestSession implements Session
+  {
+    /** Attributes of session. */
+    private Map<String, Object> attributes = new HashMap<String, Object>();
+
+
+    /**
+     * @see net.java.dante.darknet.session.Session#getRemoteAddress()
+     */
+    public SocketAddress getRemoteAddress()
+    {
+      return null;
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#getLocalAddress()
+     */
+    public SocketAddress getLocalAddress()
+    {
+      return null;
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#close(boolean)
+     */
+    public void close(boolean quickClose)
+    {
+      // Intentionally left empty.
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#isConnected()
+     */
+    public boolean isConnected()
+    {
+      return false;
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#send(net.java.dante.darknet.messaging.NetworkMessage)
+     */
+    public void send(NetworkMessage message)
+    {
+      throw new UnsupportedOperationException("Test session cannot send messages!");
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#getSentMessagesCount()
+     */
+    public long getSentMessagesCount()
+    {
+      return 0;
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#getReceivedMessagesCount()
+     */
+    public long getReceivedMessagesCount()
+    {
+      return 0;
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#getSentBytesCount()
+     */
+    public long getSentBytesCount()
+    {
+      return 0;
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#getReceivedBytesCount()
+     */
+    public long getReceivedBytesCount()
+    {
+      return 0;
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#getAttribute(java.lang.String)
+     */
+    public Object getAttribute(String key)
+    {
+      return attributes.get(key);
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#setAttribute(java.lang.String, java.lang.Object)
+     */
+    public Object setAttribute(String key, Object value)
+    {
+      return attributes.put(key, value);
+    }
+
+    /**
+     * @see net.java.dante.darknet.session.Session#removeAttribute(java.lang.String)
+     */
+    public Object removeAttribute(String key)
+    {
+      return attributes.remove(key);
+    }
+  }
+}
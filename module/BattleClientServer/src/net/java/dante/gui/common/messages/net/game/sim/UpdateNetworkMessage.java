@@ -9,10 +9,12 @@ package net.java.dante.gui.common.messages.net.game.sim;
 
 import net.java.dante.darknet.protocol.packet.PacketReader;
 import net.java.dante.darknet.protocol.packet.PacketWriter;
+import net.java.dante.darknet.session.Session;
 import net.java.dante.sim.event.Event;
 import net.java.dante.sim.event.EventType;
 import net.java.dante.sim.event.EventUtils;
 import net.java.dante.sim.event.EventsRepository;
+import net.java.dante.sim.event.PrimitiveEventsRepository;
 import net.java.dante.sim.event.types.EnemyAgentDestroyedEvent;
 import net.java.dante.sim.event.types.EnemyAgentEvent;
 import net.java.dante.sim.event.types.EnemyAgentHitEvent;
@@ -32,14 +34,27 @@ import net.java.dante.sim.io.UpdateData;
 
 /**
  * Class wrapping {@link UpdateData} object to transport it through
- * the network.
+ * the network. Events are stored using {@link UpdateEncoding} chosen
+ * by server for client's session. Version of encoding is stored in each
+ * message only if session negotiated compact format
+ * (see {@link UpdateEncoding#isCompactNegotiated(Session)}) - otherwise
+ * message has original layout and events are stored in legacy format.
  *
  * @author M.Olszewski
  */
 public class UpdateNetworkMessage extends SimulationNetworkMessage
 {
+  /** Estimated size of game identifier, version, time, group and events count. */
+  private static final int HEADER_SIZE_HINT = 24;
+  /** Estimated size of single event in legacy format - size of move event. */
+  private static final int LEGACY_EVENT_SIZE_HINT = 56;
+  /** Estimated size of single event in compact format. */
+  private static final int COMPACT_EVENT_SIZE_HINT = 24;
+
   /** Wrapped {@link UpdateData} object */
   private UpdateData update;
+  /** Encoding of events. */
+  private UpdateEncoding encoding = UpdateEncoding.LEGACY;
 
 
   /**
@@ -61,6 +76,21 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
    * @param updateData update data with events repository.
    */
   public UpdateNetworkMessage(int gameIdenifier, UpdateData updateData)
+  {
+    this(gameIdenifier, updateData, UpdateEncoding.LEGACY);
+  }
+
+  /**
+   * Creates instance of {@link UpdateNetworkMessage} class with the
+   * specified parameters. Events are stored using the specified encoding,
+   * which must be the same as encoding sent to client in
+   * {@link InitializationNetworkMessage}.
+   *
+   * @param gameIdenifier the game's identifier.
+   * @param updateData update data with events repository.
+   * @param updateEncoding encoding of events.
+   */
+  public UpdateNetworkMessage(int gameIdenifier, UpdateData updateData, UpdateEncoding updateEncoding)
   {
     super(gameIdenifier);
 
@@ -68,8 +98,13 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
     {
       throw new NullPointerException("Specified updateData is null!");
     }
+    if (updateEncoding == null)
+    {
+      throw new NullPointerException("Specified updateEncoding is null!");
+    }
 
     update = updateData;
+    encoding = updateEncoding;
   }
 
 
@@ -84,15 +119,40 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
   }
 
   /**
+   * Message decoded outside of any session has original layout, with
+   * events in legacy format.
+   *
    * @see net.java.dante.gui.common.messages.net.game.sim.SimulationNetworkMessage#fromPacket(net.java.dante.darknet.protocol.packet.PacketReader)
    */
   @Override
   public void fromPacket(PacketReader reader)
+  {
+    fromPacket(reader, null);
+  }
+
+  /**
+   * Version of encoding is read only if the specified session negotiated
+   * compact format. Events in compact format are decoded using encoding
+   * received by the specified session in {@link InitializationNetworkMessage}.
+   *
+   * @see net.java.dante.darknet.messaging.NetworkMessage#fromPacket(net.java.dante.darknet.protocol.packet.PacketReader, net.java.dante.darknet.session.Session)
+   */
+  @Override
+  public void fromPacket(PacketReader reader, Session session)
   {
     super.fromPacket(reader);
 
+    byte version = UpdateEncoding.LEGACY_VERSION;
+    if (UpdateEncoding.isCompactNegotiated(session))
+    {
+      version = reader.readByte();
+      UpdateEncoding.checkVersion(version);
+    }
     long time = reader.readLong();
-    EventsRepository repository = loadRepository(reader);
+    int groupId = reader.readInt();
+    encoding = ((version == UpdateEncoding.LEGACY_VERSION)?
+        UpdateEncoding.LEGACY : UpdateEncoding.getReceived(session, getGameId(), groupId));
+    EventsRepository repository = loadRepository(reader, groupId, time);
 
     update = new UpdateData(time, repository);
   }
@@ -102,20 +162,22 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
    * object.
    *
    * @param reader the specified {@link PacketReader} object.
+   * @param groupId the group's identifier.
+   * @param updateTime the time of update.
    *
    * @return Returns read events repository.
    */
-  private EventsRepository loadRepository(PacketReader reader)
+  private EventsRepository loadRepository(PacketReader reader, int groupId, long updateTime)
   {
-    int groupId     = reader.readInt();
-    int eventsCount = reader.readInt();
+    int eventsCount = readInt(reader);
     Event[] events  = new Event[eventsCount];
+    EventType[] eventTypes = EventType.values();
 
     for (int i = 0; i < eventsCount; i++)
     {
-      int       eventId   = reader.readInt();
-      EventType eventType = EventType.values()[reader.readInt()];
-      long      eventTime = reader.readLong();
+      int       eventId   = readInt(reader);
+      EventType eventType = eventTypes[readInt(reader)];
+      long      eventTime = readTime(reader, updateTime);
 
       events[i] = readEvent(reader, eventId, eventType, eventTime);
     }
@@ -142,130 +204,130 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
       case ENEMY_AGENT_SEEN:
       {
         event = EventTypesUtils.createEnemyAgentSeenEvent(eventId, eventTime,
-                                                          reader.readInt(),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()));
+                                                          readInt(reader),
+                                                          readPosition(reader),
+                                                          readPosition(reader),
+                                                          readSpeed(reader),
+                                                          readSpeed(reader));
         break;
       }
       case ENEMY_AGENT_GONE:
       {
         event = EventTypesUtils.createEnemyAgentGoneEvent(eventId, eventTime,
-                                                          reader.readInt(),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()));
+                                                          readInt(reader),
+                                                          readPosition(reader),
+                                                          readPosition(reader),
+                                                          readSpeed(reader),
+                                                          readSpeed(reader));
         break;
       }
       case ENEMY_AGENT_MOVE:
       {
         event = EventTypesUtils.createEnemyAgentMoveEvent(eventId, eventTime,
-                                                          reader.readInt(),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()));
+                                                          readInt(reader),
+                                                          readPosition(reader),
+                                                          readPosition(reader),
+                                                          readSpeed(reader),
+                                                          readSpeed(reader));
         break;
       }
       case ENEMY_AGENT_HIT:
       {
         event = EventTypesUtils.createEnemyAgentHitEvent(eventId, eventTime,
-                                                         reader.readInt(),
-                                                         reader.readInt());
+                                                         readInt(reader),
+                                                         readInt(reader));
         break;
       }
       case ENEMY_AGENT_DESTROYED:
       {
         event = EventTypesUtils.createEnemyAgentDestroyedEvent(eventId, eventTime,
-                                                               reader.readInt(),
-                                                               reader.readInt());
+                                                               readInt(reader),
+                                                               readInt(reader));
         break;
       }
       case FRIENDLY_AGENT_MOVE:
       {
         event = EventTypesUtils.createFriendlyAgentMoveEvent(eventId, eventTime,
-                                                             reader.readInt(),
-                                                             Double.longBitsToDouble(reader.readLong()),
-                                                             Double.longBitsToDouble(reader.readLong()),
-                                                             Double.longBitsToDouble(reader.readLong()),
-                                                             Double.longBitsToDouble(reader.readLong()));
+                                                             readInt(reader),
+                                                             readPosition(reader),
+                                                             readPosition(reader),
+                                                             readSpeed(reader),
+                                                             readSpeed(reader));
         break;
       }
       case FRIENDLY_AGENT_MOVE_FINISHED:
       {
         event = EventTypesUtils.createFriendlyAgentMoveFinishedEvent(eventId, eventTime,
-                                                                     reader.readInt());
+                                                                     readInt(reader));
         break;
       }
       case FRIENDLY_AGENT_BLOCKED:
       {
         event = EventTypesUtils.createFriendlyAgentBlockedEvent(eventId, eventTime,
-                                                                reader.readInt(),
-                                                                Double.longBitsToDouble(reader.readLong()),
-                                                                Double.longBitsToDouble(reader.readLong()));
+                                                                readInt(reader),
+                                                                readPosition(reader),
+                                                                readPosition(reader));
         break;
       }
       case FRIENDLY_AGENT_HIT:
       {
         event = EventTypesUtils.createFriendlyAgentHitEvent(eventId, eventTime,
-                                                            reader.readInt(),
-                                                            reader.readInt());
+                                                            readInt(reader),
+                                                            readInt(reader));
         break;
       }
       case FRIENDLY_AGENT_DESTROYED:
       {
         event = EventTypesUtils.createFriendlyAgentDestroyedEvent(eventId, eventTime,
-                                                                  reader.readInt());
+                                                                  readInt(reader));
         break;
       }
       case PROJECTILE_SHOT:
       {
         event = EventTypesUtils.createProjectileShotEvent(eventId, eventTime,
-                                                          reader.readString(), reader.readInt(),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          reader.readInt());
+                                                          readProjectileType(reader), readInt(reader),
+                                                          readPosition(reader),
+                                                          readPosition(reader),
+                                                          readSpeed(reader),
+                                                          readSpeed(reader),
+                                                          readInt(reader));
         break;
       }
       case PROJECTILE_SEEN:
       {
         event = EventTypesUtils.createProjectileSeenEvent(eventId, eventTime,
-                                                          reader.readString(), reader.readInt(),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()));
+                                                          readProjectileType(reader), readInt(reader),
+                                                          readPosition(reader),
+                                                          readPosition(reader),
+                                                          readSpeed(reader),
+                                                          readSpeed(reader));
         break;
       }
       case PROJECTILE_GONE:
       {
         event = EventTypesUtils.createProjectileGoneEvent(eventId, eventTime,
-                                                          reader.readInt(),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()));
+                                                          readInt(reader),
+                                                          readPosition(reader),
+                                                          readPosition(reader),
+                                                          readSpeed(reader),
+                                                          readSpeed(reader));
         break;
       }
       case PROJECTILE_MOVE:
       {
         event = EventTypesUtils.createProjectileMoveEvent(eventId, eventTime,
-                                                          reader.readInt(),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()),
-                                                          Double.longBitsToDouble(reader.readLong()));
+                                                          readInt(reader),
+                                                          readPosition(reader),
+                                                          readPosition(reader),
+                                                          readSpeed(reader),
+                                                          readSpeed(reader));
         break;
       }
       case PROJECTILE_DESTROYED:
       {
-        int projectileId = reader.readInt();
-        double x = Double.longBitsToDouble(reader.readLong());
-        double y = Double.longBitsToDouble(reader.readLong());
+        int projectileId = readInt(reader);
+        double x = readPosition(reader);
+        double y = readPosition(reader);
 
         event = EventTypesUtils.createProjectileDestroyedEvent(eventId, eventTime,
                                                                projectileId,
@@ -292,10 +354,43 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
   }
 
   /**
+   * @see net.java.dante.darknet.messaging.NetworkMessage#getSizeHint()
+   */
+  @Override
+  public int getSizeHint()
+  {
+    int sizeHint = 0;
+    if (update != null)
+    {
+      int eventSize = encoding.isCompact()? COMPACT_EVENT_SIZE_HINT : LEGACY_EVENT_SIZE_HINT;
+      sizeHint = HEADER_SIZE_HINT + update.getRepository().getEventsCount() * eventSize;
+    }
+    return sizeHint;
+  }
+
+  /**
+   * Message encoded outside of any session has original layout, with
+   * events in legacy format.
+   *
    * @see net.java.dante.gui.common.messages.net.game.sim.SimulationNetworkMessage#toPacket(net.java.dante.darknet.protocol.packet.PacketWriter)
    */
   @Override
   public void toPacket(PacketWriter writer)
+  {
+    toPacket(writer, null);
+  }
+
+  /**
+   * Version of encoding is written only if the specified session negotiated
+   * compact format.
+   *
+   * @throws IllegalStateException if encoding is compact, but session
+   *         did not negotiate compact format.
+   *
+   * @see net.java.dante.darknet.messaging.NetworkMessage#toPacket(net.java.dante.darknet.protocol.packet.PacketWriter, net.java.dante.darknet.session.Session)
+   */
+  @Override
+  public void toPacket(PacketWriter writer, Session session)
   {
     super.toPacket(writer);
 
@@ -304,6 +399,14 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
       throw new IllegalStateException("IllegalState in UpdateNetworkMessage: object is read only!");
     }
 
+    if (UpdateEncoding.isCompactNegotiated(session))
+    {
+      writer.writeByte(encoding.getVersion());
+    }
+    else if (encoding.isCompact())
+    {
+      throw new IllegalStateException("IllegalState in UpdateNetworkMessage: compact format was not negotiated!");
+    }
     writer.writeLong(update.getTime());
     storeRepository(writer);
   }
@@ -320,15 +423,34 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
 
     writer.writeInt(repository.getGroupId());
     int eventsCount = repository.getEventsCount();
-    writer.writeInt(eventsCount);
+    writeInt(writer, eventsCount);
 
-    for (int i = 0; i < eventsCount; i++)
+    if (repository instanceof PrimitiveEventsRepository)
+    {
+      storePrimitiveEvents(writer, (PrimitiveEventsRepository)repository);
+    }
+    else
+    {
+      storeEvents(writer, repository);
+    }
+  }
+
+  /**
+   * Stores all events from the specified repository using the specified
+   * {@link PacketWriter} object.
+   *
+   * @param writer the specified {@link PacketWriter} object.
+   * @param repository the specified events repository.
+   */
+  private void storeEvents(PacketWriter writer, EventsRepository repository)
+  {
+    for (int i = 0, eventsCount = repository.getEventsCount(); i < eventsCount; i++)
     {
       Event event = repository.getEvent(i);
 
-      writer.writeInt(event.getId());
-      writer.writeInt(event.getEventType().ordinal());
-      writer.writeLong(event.getTime());
+      writeInt(writer, event.getId());
+      writeInt(writer, event.getEventType().ordinal());
+      writeTime(writer, event.getTime(), update.getTime());
 
       if (event instanceof FriendlyAgentEvent)
       {
@@ -345,6 +467,76 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
     }
   }
 
+  /**
+   * Stores all events from the specified repository using the specified
+   * {@link PacketWriter} object. Events are read directly from primitive
+   * arrays, in the same format as one used by
+   * {@link #storeEvents(PacketWriter, EventsRepository)}.
+   *
+   * @param writer the specified {@link PacketWriter} object.
+   * @param repository the specified events repository.
+   */
+  private void storePrimitiveEvents(PacketWriter writer, PrimitiveEventsRepository repository)
+  {
+    for (int i = 0, eventsCount = repository.getEventsCount(); i < eventsCount; i++)
+    {
+      EventType eventType = repository.getEventType(i);
+
+      writeInt(writer, repository.getEventId(i));
+      writeInt(writer, eventType.ordinal());
+      writeTime(writer, repository.getEventTime(i), update.getTime());
+
+      if ((eventType == EventType.PROJECTILE_SEEN) || (eventType == EventType.PROJECTILE_SHOT))
+      {
+        writeProjectileType(writer, repository.getProjectileType(i));
+      }
+
+      writeInt(writer, repository.getObjectId(i));
+
+      switch (eventType)
+      {
+        case FRIENDLY_AGENT_MOVE:
+        case ENEMY_AGENT_MOVE:
+        case ENEMY_AGENT_SEEN:
+        case ENEMY_AGENT_GONE:
+        case PROJECTILE_MOVE:
+        case PROJECTILE_SEEN:
+        case PROJECTILE_GONE:
+        case PROJECTILE_SHOT:
+        {
+          writePosition(writer, repository.getPositionX(i));
+          writePosition(writer, repository.getPositionY(i));
+          writeSpeed(writer, repository.getSpeedX(i));
+          writeSpeed(writer, repository.getSpeedY(i));
+
+          if (eventType == EventType.PROJECTILE_SHOT)
+          {
+            writeInt(writer, repository.getValue(i));
+          }
+          break;
+        }
+        case FRIENDLY_AGENT_BLOCKED:
+        case PROJECTILE_DESTROYED:
+        {
+          writePosition(writer, repository.getPositionX(i));
+          writePosition(writer, repository.getPositionY(i));
+          break;
+        }
+        case FRIENDLY_AGENT_HIT:
+        case ENEMY_AGENT_HIT:
+        case ENEMY_AGENT_DESTROYED:
+        {
+          writeInt(writer, repository.getValue(i));
+          break;
+        }
+        default:
+        {
+          // Intentionally left empty.
+        }
+      }
+    }
+  }
+
   /**
    * Stores the specified event with {@link FriendlyAgentEvent} super interface
    * using the specified {@link PacketWriter} object.
@@ -355,29 +547,29 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
    */
   private void storeFriendlyAgentEvent(PacketWriter writer, FriendlyAgentEvent event)
   {
-    writer.writeInt(event.getFriendlyAgentId());
+    writeInt(writer, event.getFriendlyAgentId());
 
     if (event instanceof FriendlyAgentMoveEvent)
     {
       FriendlyAgentMoveEvent moveEvent = (FriendlyAgentMoveEvent)event;
 
-      writer.writeLong(Double.doubleToLongBits(moveEvent.getDestinationX()));
-      writer.writeLong(Double.doubleToLongBits(moveEvent.getDestinationY()));
-      writer.writeLong(Double.doubleToLongBits(moveEvent.getSpeedX()));
-      writer.writeLong(Double.doubleToLongBits(moveEvent.getSpeedY()));
+      writePosition(writer, moveEvent.getDestinationX());
+      writePosition(writer, moveEvent.getDestinationY());
+      writeSpeed(writer, moveEvent.getSpeedX());
+      writeSpeed(writer, moveEvent.getSpeedY());
     }
     else if (event instanceof FriendlyAgentBlockedEvent)
     {
       FriendlyAgentBlockedEvent blockedEvent = (FriendlyAgentBlockedEvent)event;
 
-      writer.writeLong(Double.doubleToLongBits(blockedEvent.getBlockedX()));
-      writer.writeLong(Double.doubleToLongBits(blockedEvent.getBlockedY()));
+      writePosition(writer, blockedEvent.getBlockedX());
+      writePosition(writer, blockedEvent.getBlockedY());
     }
     else if (event instanceof FriendlyAgentHitEvent)
     {
       FriendlyAgentHitEvent hitEvent = (FriendlyAgentHitEvent)event;
 
-      writer.writeInt(hitEvent.getDamage());
+      writeInt(writer, hitEvent.getDamage());
     }
     else if (event instanceof FriendlyAgentDestroyedEvent)
     {
@@ -399,26 +591,26 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
    */
   private void storeEnemyAgentEvent(PacketWriter writer, EnemyAgentEvent event)
   {
-    writer.writeInt(event.getEnemyAgentId());
+    writeInt(writer, event.getEnemyAgentId());
 
     if (event instanceof ObjectMoveEventParams)
     {
       ObjectMoveEventParams moveParams = (ObjectMoveEventParams)event;
 
-      writer.writeLong(Double.doubleToLongBits(moveParams.getDestinationX()));
-      writer.writeLong(Double.doubleToLongBits(moveParams.getDestinationY()));
-      writer.writeLong(Double.doubleToLongBits(moveParams.getSpeedX()));
-      writer.writeLong(Double.doubleToLongBits(moveParams.getSpeedY()));
+      writePosition(writer, moveParams.getDestinationX());
+      writePosition(writer, moveParams.getDestinationY());
+      writeSpeed(writer, moveParams.getSpeedX());
+      writeSpeed(writer, moveParams.getSpeedY());
     }
     else if (event instanceof EnemyAgentHitEvent)
     {
       EnemyAgentHitEvent hitEvent = (EnemyAgentHitEvent)event;
-      writer.writeInt(hitEvent.getShooterId());
+      writeInt(writer, hitEvent.getShooterId());
     }
     else if (event instanceof EnemyAgentDestroyedEvent)
     {
       EnemyAgentDestroyedEvent hitEvent = (EnemyAgentDestroyedEvent)event;
-      writer.writeInt(hitEvent.getShooterId());
+      writeInt(writer, hitEvent.getShooterId());
     }
   }
 
@@ -435,33 +627,187 @@ public class UpdateNetworkMessage extends SimulationNetworkMessage
     if (event instanceof ProjectileTypeEvent)
     {
       ProjectileTypeEvent typeEvent = (ProjectileTypeEvent)event;
-      writer.writeString(typeEvent.getProjectileType());
+      writeProjectileType(writer, typeEvent.getProjectileType());
     }
 
-    writer.writeInt(event.getProjectileId());
+    writeInt(writer, event.getProjectileId());
 
     if (event instanceof ObjectMoveEventParams)
     {
       ObjectMoveEventParams moveParams = (ObjectMoveEventParams)event;
 
-      writer.writeLong(Double.doubleToLongBits(moveParams.getDestinationX()));
-      writer.writeLong(Double.doubleToLongBits(moveParams.getDestinationY()));
-      writer.writeLong(Double.doubleToLongBits(moveParams.getSpeedX()));
-      writer.writeLong(Double.doubleToLongBits(moveParams.getSpeedY()));
+      writePosition(writer, moveParams.getDestinationX());
+      writePosition(writer, moveParams.getDestinationY());
+      writeSpeed(writer, moveParams.getSpeedX());
+      writeSpeed(writer, moveParams.getSpeedY());
 
       if (event instanceof ProjectileShotEvent)
       {
         ProjectileShotEvent shotEvent = (ProjectileShotEvent)event;
-        writer.writeInt(shotEvent.getShooterId());
+        writeInt(writer, shotEvent.getShooterId());
       }
     }
     else if (event instanceof ProjectileDestroyedEvent)
     {
       ProjectileDestroyedEvent destroyedEvent = (ProjectileDestroyedEvent)event;
 
-      writer.writeLong(Double.doubleToLongBits(destroyedEvent.getProjectileX()));
-      writer.writeLong(Double.doubleToLongBits(destroyedEvent.getProjectileY()));
+      writePosition(writer, destroyedEvent.getProjectileX());
+      writePosition(writer, destroyedEvent.getProjectileY());
+    }
+  }
+
+  /**
+   * Writes the specified integer (identifier, counter or damage) using
+   * current encoding.
+   *
+   * @param writer the specified {@link PacketWriter} object.
+   * @param value the specified integer.
+   */
+  private void writeInt(PacketWriter writer, int value)
+  {
+    if (encoding.isCompact())
+    {
+      UpdateEncoding.writeVarInt(writer, value);
+    }
+    else
+    {
+      writer.writeInt(value);
+    }
+  }
+
+  /**
+   * Reads integer written by {@link #writeInt(PacketWriter, int)}.
+   *
+   * @param reader the specified {@link PacketReader} object.
+   *
+   * @return Returns read integer.
+   */
+  private int readInt(PacketReader reader)
+  {
+    return (encoding.isCompact()? UpdateEncoding.readVarInt(reader) : reader.readInt());
+  }
+
+  /**
+   * Writes the specified event's time using current encoding - compact
+   * encoding writes only difference from the update's time.
+   *
+   * @param writer the specified {@link PacketWriter} object.
+   * @param eventTime the specified event's time.
+   * @param updateTime the update's time.
+   */
+  private void writeTime(PacketWriter writer, long eventTime, long updateTime)
+  {
+    if (encoding.isCompact())
+    {
+      UpdateEncoding.writeSignedVarLong(writer, eventTime - updateTime);
+    }
+    else
+    {
+      writer.writeLong(eventTime);
+    }
+  }
+
+  /**
+   * Reads event's time written by {@link #writeTime(PacketWriter, long, long)}.
+   *
+   * @param reader the specified {@link PacketReader} object.
+   * @param updateTime the update's time.
+   *
+   * @return Returns read event's time.
+   */
+  private long readTime(PacketReader reader, long updateTime)
+  {
+    return (encoding.isCompact()? (updateTime + UpdateEncoding.readSignedVarLong(reader)) : reader.readLong());
+  }
+
+  /**
+   * Writes the specified position using current encoding.
+   *
+   * @param writer the specified {@link PacketWriter} object.
+   * @param position the specified position.
+   */
+  private void writePosition(PacketWriter writer, double position)
+  {
+    if (encoding.isCompact())
+    {
+      UpdateEncoding.writePosition(writer, position);
+    }
+    else
+    {
+      writer.writeLong(Double.doubleToLongBits(position));
+    }
+  }
+
+  /**
+   * Reads position written by {@link #writePosition(PacketWriter, double)}.
+   *
+   * @param reader the specified {@link PacketReader} object.
+   *
+   * @return Returns read position.
+   */
+  private double readPosition(PacketReader reader)
+  {
+    return (encoding.isCompact()? UpdateEncoding.readPosition(reader) : Double.longBitsToDouble(reader.readLong()));
+  }
+
+  /**
+   * Writes the specified speed using current encoding.
+   *
+   * @param writer the specified {@link PacketWriter} object.
+   * @param speed the specified speed.
+   */
+  private void writeSpeed(PacketWriter writer, double speed)
+  {
+    if (encoding.isCompact())
+    {
+      writer.writeFloat((float)speed);
+    }
+    else
+    {
+      writer.writeLong(Double.doubleToLongBits(speed));
+    }
+  }
+
+  /**
+   * Reads speed written by {@link #writeSpeed(PacketWriter, double)}.
+   *
+   * @param reader the specified {@link PacketReader} object.
+   *
+   * @return Returns read speed.
+   */
+  private double readSpeed(PacketReader reader)
+  {
+    return (encoding.isCompact()? reader.readFloat() : Double.longBitsToDouble(reader.readLong()));
+  }
+
+  /**
+   * Writes the specified projectile type using current encoding.
+   *
+   * @param writer the specified {@link PacketWriter} object.
+   * @param type the specified projectile type.
+   */
+  private void writeProjectileType(PacketWriter writer, String type)
+  {
+    if (encoding.isCompact())
+    {
+      encoding.writeProjectileType(writer, type);
     }
+    else
+    {
+      writer.writeString(type);
+    }
+  }
+
+  /**
+   * Reads projectile type written by {@link #writeProjectileType(PacketWriter, String)}.
+   *
+   * @param reader the specified {@link PacketReader} object.
+   *
+   * @return Returns read projectile type.
+   */
+  private String readProjectileType(PacketReader reader)
+  {
+    return (encoding.isCompact()? encoding.readProjectileType(reader) : reader.readString());
   }
 
   /**
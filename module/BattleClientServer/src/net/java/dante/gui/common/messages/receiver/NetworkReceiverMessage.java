@@ -9,14 +9,17 @@ package net.java.dante.gui.common.messages.receiver;
 
 import net.java.dante.darknet.messaging.NetworkMessage;
 import net.java.dante.darknet.session.Session;
-import net.java.dante.receiver.ReceiverMessage;
+import net.java.dante.gui.common.messages.net.game.sim.SimulationNetworkMessage;
+import net.java.dante.receiver.KeyedReceiverMessage;
 
 /**
  * Class wrapping {@link net.java.dante.darknet.messaging.NetworkMessage} object.
+ * Wrapped simulation messages are keyed by their game's identifier, all
+ * other messages have no key.
  *
  * @author M.Olszewski
  */
-public class NetworkReceiverMessage implements ReceiverMessage
+public class NetworkReceiverMessage implements KeyedReceiverMessage
 {
   /** Wrapped {@link NetworkMessage} object. */
   private NetworkMessage message;
@@ -71,6 +74,19 @@ public class NetworkReceiverMessage implements ReceiverMessage
     return session;
   }
 
+  /**
+   * @see net.java.dante.receiver.KeyedReceiverMessage#getReceiverKey()
+   */
+  public Object getReceiverKey()
+  {
+    Object key = null;
+    if (message instanceof SimulationNetworkMessage)
+    {
+      key = Integer.valueOf(((SimulationNetworkMessage)message).getGameId());
+    }
+    return key;
+  }
+
   /**
    * @see java.lang.Object#hashCode()
    */
@@ -8,17 +8,17 @@ package net.java.dante.gui.common.messages.receiver;
 
 
 import net.java.dante.gui.common.games.GameOutputData;
-import net.java.dante.receiver.ReceiverMessage;
+import net.java.dante.receiver.KeyedReceiverMessage;
 import net.java.dante.sim.io.OutputData;
 
 /**
  * Class wrapping {@link net.java.dante.sim.io.OutputData} object
  * ({@link net.java.dante.sim.Simulation} output) created by game
- * with specified identifier.
+ * with specified identifier. Message is keyed by game's identifier.
  *
  * @author M.Olszewski
  */
-public class SimulationOutputMessage implements ReceiverMessage, GameOutputData
+public class SimulationOutputMessage implements KeyedReceiverMessage, GameOutputData
 {
   /** Game's identifier for which output data was generated. */
   private Integer gameId;
@@ -57,6 +57,14 @@ public class SimulationOutputMessage implements ReceiverMessage, GameOutputData
     return gameId;
   }
 
+  /**
+   * @see net.java.dante.receiver.KeyedReceiverMessage#getReceiverKey()
+   */
+  public Object getReceiverKey()
+  {
+    return gameId;
+  }
+
   /**
    * Gets output data wrapped by this message.
    *
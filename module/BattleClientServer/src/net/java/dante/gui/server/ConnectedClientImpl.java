@@ -40,6 +40,7 @@ import net.java.dante.gui.common.messages.net.game.sim.InitializationNetworkMess
 import net.java.dante.gui.common.messages.net.game.sim.SimulationNetworkMessage;
 import net.java.dante.gui.common.messages.net.game.sim.StatisticsNetworkMessage;
 import net.java.dante.gui.common.messages.net.game.sim.TimeSyncNetworkMessage;
+import net.java.dante.gui.common.messages.net.game.sim.UpdateEncoding;
 import net.java.dante.gui.common.messages.net.game.sim.UpdateNetworkMessage;
 import net.java.dante.gui.common.messages.receiver.SimulationOutputMessage;
 import net.java.dante.sim.io.FinishData;
@@ -63,6 +64,8 @@ class ConnectedClientImpl implements ConnectedClient
   private final ServerFrame frame;
   /** This client's session. */
   private final Session session;
+  /** Encoding of update messages sent to this client in current game. */
+  private volatile UpdateEncoding updateEncoding = UpdateEncoding.LEGACY;
 
 
   /**
@@ -229,11 +232,13 @@ class ConnectedClientImpl implements ConnectedClient
 
     if (outputData instanceof InitializationData)
     {
-      message = new InitializationNetworkMessage(gameId, (InitializationData)outputData);
+      InitializationData initData = (InitializationData)outputData;
+      updateEncoding = UpdateEncoding.createForSession(session, initData);
+      message = new InitializationNetworkMessage(gameId, initData, updateEncoding);
     }
     else if (outputData instanceof UpdateData)
     {
-      message = new UpdateNetworkMessage(gameId, (UpdateData)outputData);
+      message = new UpdateNetworkMessage(gameId, (UpdateData)outputData, updateEncoding);
     }
     else if (outputData instanceof TimeSyncData)
     {
@@ -223,11 +223,12 @@ public class ServerFrame extends JFrame
   }
 
   /**
-   * Modify the specified client data in tree nodes manager.
+   * Modify the specified client data in tree nodes manager. This method
+   * can be called concurrently by games processed in different threads.
    *
    * @param client the specified client data.
    */
-  void modifyClientData(ConnectedClientImpl client)
+  synchronized void modifyClientData(ConnectedClientImpl client)
   {
     nodesMan.modifyClientData(client);
   }
@@ -8,6 +8,9 @@ package net.java.dante.gui.server;
 
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.swing.JOptionPane;
 
@@ -43,16 +46,20 @@ import net.java.dante.gui.common.messages.receiver.GameInitializationFailed;
 import net.java.dante.gui.common.messages.receiver.NetworkReceiverMessage;
 import net.java.dante.gui.common.messages.receiver.SimulationInputMessage;
 import net.java.dante.gui.common.messages.receiver.SimulationOutputMessage;
+import net.java.dante.receiver.KeyedReceiverMessage;
 import net.java.dante.receiver.MessageProcessingExceptionMessage;
 import net.java.dante.receiver.MessagesProcessor;
 import net.java.dante.receiver.Receiver;
 import net.java.dante.receiver.ReceiverMessage;
-import net.java.dante.receiver.RunnableReceiver;
+import net.java.dante.receiver.ShardedReceiver;
 import net.java.dante.sim.data.common.FileDataSource;
 import net.java.dante.sim.data.map.MapLoadersFactory;
 import net.java.dante.sim.data.map.SimulationMap;
 import net.java.dante.sim.data.settings.SettingsLoaderFactory;
 import net.java.dante.sim.data.settings.SimulationSettings;
+import net.java.dante.sim.io.FinishData;
+import net.java.dante.sim.io.OutputData;
+import net.java.dante.sim.io.init.InitializationData;
 
 
 /**
@@ -80,6 +87,12 @@ public class ServerLogic implements MessagesProcessor
   ClientsManager clientsMan;
   /** Games manager. */
   GamesManager gamesMan;
+  /**
+   * Lock guarding clients and games managers: read lock is held while
+   * messages of running games are processed, write lock is held while
+   * all other messages are processed.
+   */
+  private final ReadWriteLock managersLock = new ReentrantReadWriteLock();
 
 
   /**
@@ -154,11 +167,60 @@ public class ServerLogic implements MessagesProcessor
 
 
   /**
-   * Main processing method.
-   * 
+   * Main processing method. Messages of running games (keyed by game's
+   * identifier) can be processed concurrently by {@link ShardedReceiver}
+   * lanes, so they are processed under shared lock. Messages changing state
+   * of clients or games are processed under exclusive lock.
+   *
    * @see net.java.dante.receiver.MessagesProcessor#processMessage(net.java.dante.receiver.ReceiverMessage)
    */
   public void processMessage(ReceiverMessage message)
+  {
+    Lock lock = (isSharedMessage(message)? managersLock.readLock() : managersLock.writeLock());
+    lock.lock();
+    try
+    {
+      dispatchMessage(message);
+    }
+    finally
+    {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Checks whether the specified message can be processed under shared
+   * lock: it must be keyed by game's identifier and it cannot change state
+   * of any game.
+   *
+   * @param message - the specified message.
+   *
+   * @return Returns <code>true</code> if the specified message can be
+   *         processed under shared lock, <code>false</code> otherwise.
+   */
+  private static boolean isSharedMessage(ReceiverMessage message)
+  {
+    boolean shared = false;
+    if ((message instanceof KeyedReceiverMessage) &&
+        (((KeyedReceiverMessage)message).getReceiverKey() != null))
+    {
+      shared = true;
+      if (message instanceof SimulationOutputMessage)
+      {
+        OutputData outputData = ((SimulationOutputMessage)message).getOutputData();
+        shared = !((outputData instanceof InitializationData) ||
+                   (outputData instanceof FinishData));
+      }
+    }
+    return shared;
+  }
+
+  /**
+   * Dispatches the specified message to appropriate processing method.
+   *
+   * @param message - message to dispatch.
+   */
+  private void dispatchMessage(ReceiverMessage message)
   {
     if (message instanceof NetworkReceiverMessage)
     {
@@ -428,7 +490,9 @@ public class ServerLogic implements MessagesProcessor
   }
 
   /**
-   * Starts server with the optional arguments.
+   * Starts server with the optional arguments. Type of receivers used
+   * by server's lanes is selected by
+   * {@link net.java.dante.receiver.ReceiverFactory} system properties.
    *
    * @param args first entry in array defines path to main definition file,
    *        second one defines path to configuration file for server.
@@ -449,7 +513,7 @@ public class ServerLogic implements MessagesProcessor
 
     Utils.registerAllMessages(server.getRegister());
 
-    Receiver receiver = new RunnableReceiver();
+    Receiver receiver = new ShardedReceiver(Runtime.getRuntime().availableProcessors());
     ServerLogic logic = new ServerLogic(receiver, server, definitionFile);
 
     receiver.start(logic);
@@ -91,7 +91,7 @@ class NetworkClientImpl implements NetworkClient
   private void configure0(ClientConfig clientConfig)
   {
     config = clientConfig;
-    msgSystem = NetworkMessagingSystemFactory.getInstance().createMessagingSystem(config.getProtocol());
+    msgSystem = NetworkMessagingSystemFactory.getInstance().createMessagingSystem(config.getProtocol(), config.getOutputBuffers());
   }
 
   /**
@@ -23,6 +23,13 @@ public class CommonAttributesNames
    * it finds free port or list is finished.
    */
   public static String PORTS = "PORTS";
+  /**
+   * Way in which buffers for sent messages are obtained - one of
+   * {@link net.java.dante.darknet.messaging.OutputBuffers} names. This
+   * attribute is optional - if it is not specified, new buffer is allocated
+   * for each message and pooled buffers must be enabled explicitly.
+   */
+  public static String OUTPUT_BUFFERS = "OUTPUT_BUFFERS";
 
 
   /**
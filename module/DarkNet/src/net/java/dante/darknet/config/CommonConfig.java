@@ -10,6 +10,7 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.Properties;
 
+import net.java.dante.darknet.messaging.OutputBuffers;
 import net.java.dante.darknet.protocol.SupportedProtocol;
 import net.java.dante.darknet.util.InvalidValueException;
 import net.java.dante.darknet.util.ValuesParser;
@@ -25,7 +26,8 @@ import net.java.dante.darknet.util.ValuesParser;
  * Default common configuration contains:
  * <ul>
  * <li>Protocol: TCP,
- * <li>Port: 5335.
+ * <li>Port: 5335,
+ * <li>Output buffers: new heap buffer for each message.
  * </ul>
  *
  * @author M.Olszewski
@@ -39,6 +41,8 @@ public class CommonConfig
    * default port for client connection.
    */
   private static final int[] DEFAULT_PORTS = new int[]{ 5335 };
+  /** Default way in which buffers for sent messages are obtained. */
+  private static final OutputBuffers DEFAULT_OUTPUT_BUFFERS = OutputBuffers.ALLOCATED;
 
   /** Name of the protocol used by end-point to communicate with other end-point. */
   private SupportedProtocol protocol = DEFAULT_PROTOCOL;
@@ -47,6 +51,8 @@ public class CommonConfig
    * local ports used by client.
    */
   private int[] ports = DEFAULT_PORTS.clone();
+  /** Way in which buffers for sent messages are obtained. */
+  private OutputBuffers outputBuffers = DEFAULT_OUTPUT_BUFFERS;
 
   /**
    * File from which configuration was obtained. It is set to <code>null</code>
@@ -107,7 +113,8 @@ public class CommonConfig
     if (!equal && (obj instanceof CommonConfig))
     {
       CommonConfig config = (CommonConfig)obj;
-      equal = (Arrays.equals(ports, config.ports) && (protocol == config.protocol));
+      equal = (Arrays.equals(ports, config.ports) && (protocol == config.protocol) &&
+               (outputBuffers == config.outputBuffers));
     }
 
     return equal;
@@ -121,6 +128,7 @@ public class CommonConfig
     int result = 19;
     result = 37 * result + protocol.hashCode();
     result = 37 * result + Arrays.hashCode(ports);
+    result = 37 * result + outputBuffers.hashCode();
 
     return result;
   }
@@ -140,6 +148,37 @@ public class CommonConfig
   {
     loadProtocolAttribute(p.getProperty(CommonAttributesNames.PROTOCOL), useDefaults);
     parsePortsAttribute(p.getProperty(CommonAttributesNames.PORTS), useDefaults);
+    loadOutputBuffersAttribute(p.getProperty(CommonAttributesNames.OUTPUT_BUFFERS), useDefaults);
+  }
+
+  /**
+   * Loads and sets value of optional 'OutputBuffers' attribute. If this
+   * attribute is not specified, default value is used.
+   *
+   * @param value - value of 'OutputBuffers' attribute.
+   * @param useDefaults - specifies whether default 'OutputBuffers' value
+   *        should be set if any error occurred during loading.
+   *
+   * @throws ConfigFileErrorException if value of 'OutputBuffers' attribute
+   *         is invalid and second parameter was set to <code>false</code>.
+   */
+  private void loadOutputBuffersAttribute(String value, boolean useDefaults) throws ConfigFileErrorException
+  {
+    if (value != null)
+    {
+      String formattedValue = ValuesParser.formatPropertyValue(value).toUpperCase();
+      if (OutputBuffers.isSupported(formattedValue))
+      {
+        outputBuffers = OutputBuffers.valueOf(formattedValue);
+      }
+      else
+      {
+        if (!useDefaults)
+        {
+          throw new ConfigFileErrorException("Value of 'OutputBuffers' attribute (" + formattedValue + ") is not valid name of output buffers mode!");
+        }
+      }
+    }
   }
 
   /**
@@ -281,6 +320,16 @@ public class CommonConfig
     return tmpPorts;
   }
 
+  /**
+   * Gets way in which buffers for messages sent by end-point are obtained.
+   *
+   * @return Returns way in which buffers for sent messages are obtained.
+   */
+  public OutputBuffers getOutputBuffers()
+  {
+    return outputBuffers;
+  }
+
   /**
    * Sets the path to configuration file. Specified path cannot be <code>null</code>.
    *
@@ -8,6 +8,7 @@ package net.java.dante.darknet.config;
 
 import java.util.Arrays;
 
+import net.java.dante.darknet.messaging.OutputBuffers;
 import net.java.dante.darknet.protocol.SupportedProtocol;
 import net.java.dante.darknet.util.TempFilesList;
 
@@ -160,6 +161,43 @@ public class CommonConfigTest extends TestCase
     assertTrue(Arrays.equals(config.getPorts(), VALID_CONFIGS[0].getPorts()));
   }
 
+  /**
+   * Test method for {@link net.java.dante.darknet.config.CommonConfig#getOutputBuffers()}.
+   * Pooled buffers must be used only if they are enabled explicitly.
+   *
+   * @throws Exception if any error occurred.
+   */
+  public final void testGetOutputBuffers() throws Exception
+  {
+    CommonConfig defConfig = new CommonConfig();
+    assertEquals(defConfig.getOutputBuffers(), OutputBuffers.ALLOCATED);
+
+    CommonConfig config = new CommonConfig();
+    ConfigLoader.getInstance().load(config, validFiles.get(0), false);
+    assertEquals(config.getOutputBuffers(), OutputBuffers.ALLOCATED);
+
+    TempFilesList pooledFiles = new TempFilesList();
+    try
+    {
+      pooledFiles.fillList(new String[] {
+          "PROTOCOL = \"TCP\"\nPORTS = 4444\nOUTPUT_BUFFERS = \"POOLED\"",
+          "PROTOCOL = \"TCP\"\nPORTS = 4444\nOUTPUT_BUFFERS = \"pooled_direct\""
+      });
+
+      config = new CommonConfig();
+      ConfigLoader.getInstance().load(config, pooledFiles.get(0), false);
+      assertEquals(config.getOutputBuffers(), OutputBuffers.POOLED);
+
+      config = new CommonConfig();
+      ConfigLoader.getInstance().load(config, pooledFiles.get(1), false);
+      assertEquals(config.getOutputBuffers(), OutputBuffers.POOLED_DIRECT);
+    }
+    finally
+    {
+      pooledFiles.clear(true);
+    }
+  }
+
   /**
    * Test method for {@link net.java.dante.darknet.config.CommonConfig#getConfigPath()}.
    */
@@ -8,6 +8,8 @@ package net.java.dante.darknet.messaging;
 
 import java.nio.ByteBuffer;
 
+import net.java.dante.darknet.session.Session;
+
 
 /**
  * Interface of {@link NetworkMessage} decoder, decoding specified {@link ByteBuffer}
@@ -27,4 +29,19 @@ public interface Decoder
    *         (and probably previously passed) {@link ByteBuffer} object.
    */
   public NetworkMessage[] decode(ByteBuffer buffer);
+
+  /**
+   * Decodes specified {@link ByteBuffer} object, received by the specified
+   * {@link Session}, into array of {@link NetworkMessage} objects.
+   * Decoded messages are filled by
+   * {@link NetworkMessage#fromPacket(net.java.dante.darknet.protocol.packet.PacketReader, Session)}
+   * method, so they can use state of receiving session.
+   *
+   * @param buffer - buffer to decode.
+   * @param session - session which received the specified buffer.
+   *
+   * @return Returns array of {@link NetworkMessage} decoded from specified
+   *         (and probably previously passed) {@link ByteBuffer} object.
+   */
+  public NetworkMessage[] decode(ByteBuffer buffer, Session session);
 }
\ No newline at end of file
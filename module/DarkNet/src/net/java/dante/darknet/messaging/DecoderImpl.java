@@ -11,7 +11,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import net.java.dante.darknet.protocol.PacketsFetcher;
+import net.java.dante.darknet.protocol.PacketsListener;
 import net.java.dante.darknet.protocol.packet.Packet;
+import net.java.dante.darknet.session.Session;
 
 
 /**
@@ -20,12 +22,16 @@ import net.java.dante.darknet.protocol.packet.Packet;
  *
  * @author M.Olszewski
  */
-public class DecoderImpl implements Decoder
+public class DecoderImpl implements Decoder, PacketsListener
 {
   /** {@link PacketsFetcher} object used only in this {@link DecoderImpl}. */
   private PacketsFetcher fetcher = null;
   /** Instance of {@link NetworkMessagesRegister} used in this {@link NetworkMessagingSystem}. */
   NetworkMessagesRegister register = null;
+  /** Messages decoded from currently decoded {@link ByteBuffer}. */
+  private List<NetworkMessage> decodedMessages = new ArrayList<NetworkMessage>();
+  /** Session which received currently decoded {@link ByteBuffer}. */
+  private Session decodedSession = null;
   
   /**
    * Constructs object of {@link DecoderImpl} using specified 
@@ -49,23 +55,46 @@ public class DecoderImpl implements Decoder
    */
   public NetworkMessage[] decode(ByteBuffer buffer)
   {
-    Packet[] packets = fetcher.fetch(buffer);
-    List<NetworkMessage> messages = new ArrayList<NetworkMessage>(packets.length);
-    
-    for (int i = 0; i < packets.length; i++)
+    return decode(buffer, null);
+  }
+
+  /**
+   * @see net.java.dante.darknet.messaging.Decoder#decode(java.nio.ByteBuffer, net.java.dante.darknet.session.Session)
+   */
+  public synchronized NetworkMessage[] decode(ByteBuffer buffer, Session session)
+  {
+    decodedSession = session;
+    try
+    {
+      fetcher.fetch(buffer, this);
+    }
+    finally
+    {
+      decodedSession = null;
+    }
+
+    NetworkMessage[] messages = decodedMessages.toArray(new NetworkMessage[decodedMessages.size()]);
+    decodedMessages.clear();
+
+    return messages;
+  }
+
+  /**
+   * Constructs {@link NetworkMessage} from the specified packet. Packet's
+   * contents are read before this method returns, so packet can share its
+   * buffer with decoded {@link ByteBuffer}.
+   *
+   * @see net.java.dante.darknet.protocol.PacketsListener#packetFetched(net.java.dante.darknet.protocol.packet.Packet)
+   */
+  public void packetFetched(Packet packet)
+  {
+    NetworkMessage msg = register.construct(packet.getSubclassId());
+
+    if (msg != null)
     {
-      Packet p = packets[i];
-      
-      NetworkMessage msg = register.construct(p.getSubclassId());
-      
-      if (msg != null)
-      {
-        p.rewind();
-        msg.fromPacket(p);
-        messages.add(msg);
-      }
+      packet.rewind();
+      msg.fromPacket(packet, decodedSession);
+      decodedMessages.add(msg);
     }
-    
-    return messages.toArray(new NetworkMessage[messages.size()]);
   }
-}
\ No newline at end of file
+}
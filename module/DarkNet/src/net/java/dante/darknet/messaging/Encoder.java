@@ -7,6 +7,8 @@
 package net.java.dante.darknet.messaging;
 import java.nio.ByteBuffer;
 
+import net.java.dante.darknet.session.Session;
+
 
 /**
  * Interface of {@link NetworkMessage} encoder, encoding specified {@link NetworkMessage}
@@ -26,4 +28,39 @@ public interface Encoder
    *         {@link NetworkMessage} object.
    */
   public ByteBuffer[] encode(NetworkMessage message);
+
+  /**
+   * Encodes specified {@link NetworkMessage} object, sent by the specified
+   * {@link Session}, into array of {@link ByteBuffer} objects. Encoded
+   * message is written by
+   * {@link NetworkMessage#toPacket(net.java.dante.darknet.protocol.packet.PacketWriter, Session)}
+   * method, so it can use state of sending session.
+   *
+   * @param message - message to encode.
+   * @param session - session which sends the specified message.
+   *
+   * @return Returns array of {@link ByteBuffer} representing encoded
+   *         {@link NetworkMessage} object.
+   */
+  public ByteBuffer[] encode(NetworkMessage message, Session session);
+
+  /**
+   * Checks whether buffers returned by {@link #encode(NetworkMessage)} are
+   * acquired from pool and should be released by {@link #release(ByteBuffer[])}
+   * method after they are sent.
+   *
+   * @return Returns <code>true</code> if this encoder uses pooled buffers,
+   *         <code>false</code> otherwise.
+   */
+  public boolean isPooling();
+
+  /**
+   * Releases buffers returned by {@link #encode(NetworkMessage)} method,
+   * so they can be reused by next encoded messages. Buffers must not be
+   * used after they are released. Encoders not using pooled buffers ignore
+   * this call.
+   *
+   * @param buffers - released buffers.
+   */
+  public void release(ByteBuffer[] buffers);
 }
\ No newline at end of file
@@ -9,12 +9,20 @@ package net.java.dante.darknet.messaging;
 import java.nio.ByteBuffer;
 
 import net.java.dante.darknet.protocol.PacketsSeparator;
+import net.java.dante.darknet.protocol.packet.BuffersPool;
 import net.java.dante.darknet.protocol.tcp.TCPPacket;
+import net.java.dante.darknet.session.Session;
 
 
 /**
  * Implementation of {@link NetworkMessage} encoder, encoding specified {@link NetworkMessage}
  * objects into arrays of {@link ByteBuffer} objects.
+ * <p>
+ * If encoder is created with {@link BuffersPool}, all buffers are acquired
+ * from this pool and should be released by {@link #release(ByteBuffer[])}
+ * method when they are sent. Size of buffers is chosen using
+ * {@link NetworkMessage#getSizeHint()}, so most of messages are encoded
+ * without resizing buffers.
  *
  * @author M.Olszewski
  */
@@ -24,6 +32,8 @@ public class EncoderImpl implements Encoder
   private PacketsSeparator separator = null;
   /** Instance of {@link NetworkMessagesRegister} used in this {@link NetworkMessagingSystem}. */
   private NetworkMessagesRegister register = null;
+  /** Pool providing buffers or <code>null</code> if buffers are allocated. */
+  private BuffersPool pool = null;
   
   /**
    * Constructs object of {@link EncoderImpl} using specified 
@@ -34,12 +44,30 @@ public class EncoderImpl implements Encoder
    *        {@link NetworkMessagingSystem}.
    */
   EncoderImpl(PacketsSeparator packetsSeparator, NetworkMessagesRegister msgRegister)
+  {
+    this(packetsSeparator, msgRegister, null);
+  }
+
+  /**
+   * Constructs object of {@link EncoderImpl} using specified
+   * {@link PacketsSeparator} to obtain {@link ByteBuffer} objects and
+   * specified {@link BuffersPool} to acquire buffers.
+   *
+   * @param packetsSeparator - packets separator used by this {@link EncoderImpl}.
+   * @param msgRegister - register holding messages registered in this
+   *        {@link NetworkMessagingSystem}.
+   * @param buffersPool - pool providing buffers or <code>null</code> if
+   *        buffers should be allocated for each message.
+   */
+  EncoderImpl(PacketsSeparator packetsSeparator, NetworkMessagesRegister msgRegister,
+      BuffersPool buffersPool)
   {
     assert (packetsSeparator == null) : "Specified packetsSeparator cannot be null!";
     assert (msgRegister == null)   : "Specified msgRegister cannot be null!";
     
     separator = packetsSeparator;
     register = msgRegister;
+    pool = buffersPool;
   }
   
   /** 
@@ -47,10 +75,61 @@ public class EncoderImpl implements Encoder
    */
   public ByteBuffer[] encode(NetworkMessage message)
   {
-    TCPPacket packet = new TCPPacket(register.getSubclassId(message));
-    message.toPacket(packet);
+    return encode(message, null);
+  }
+
+  /**
+   * @see net.java.dante.darknet.messaging.Encoder#encode(net.java.dante.darknet.messaging.NetworkMessage, net.java.dante.darknet.session.Session)
+   */
+  public ByteBuffer[] encode(NetworkMessage message, Session session)
+  {
+    int subclassId = register.getSubclassId(message);
+    int sizeHint = message.getSizeHint();
+
+    TCPPacket packet = null;
+    if (pool != null)
+    {
+      packet = new TCPPacket(subclassId, Math.max(sizeHint, 0), pool);
+    }
+    else if (sizeHint > 0)
+    {
+      packet = new TCPPacket(subclassId, TCPPacket.PACKET_DATA_SIZE + sizeHint);
+    }
+    else
+    {
+      packet = new TCPPacket(subclassId);
+    }
+
+    message.toPacket(packet, session);
     packet.getBuffer().flip();
     packet.updatePacketData();
     return separator.separate(packet);
   }
+
+  /**
+   * @see net.java.dante.darknet.messaging.Encoder#isPooling()
+   */
+  public boolean isPooling()
+  {
+    return (pool != null);
+  }
+
+  /**
+   * @see net.java.dante.darknet.messaging.Encoder#release(java.nio.ByteBuffer[])
+   */
+  public void release(ByteBuffer[] buffers)
+  {
+    if (buffers == null)
+    {
+      throw new NullPointerException("Specified buffers are null!");
+    }
+
+    if (pool != null)
+    {
+      for (int i = 0; i < buffers.length; i++)
+      {
+        pool.release(buffers[i]);
+      }
+    }
+  }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ package net.java.dante.darknet.messaging;
 
 import net.java.dante.darknet.protocol.packet.PacketReader;
 import net.java.dante.darknet.protocol.packet.PacketWriter;
+import net.java.dante.darknet.session.Session;
 
 
 /**
@@ -51,6 +52,25 @@ public abstract class NetworkMessage
    */
   public abstract void fromPacket(PacketReader reader);
 
+  /**
+   * Fills all data of this {@link NetworkMessage} subclass from specified
+   * {@link PacketReader}, received by the specified {@link Session}.
+   * This method is called automatically during message receiving process
+   * instead of {@link #fromPacket(PacketReader)} - it should be overridden
+   * only by messages whose decoding depends on state of receiving session,
+   * kept in its attributes. Default implementation ignores the session
+   * and calls {@link #fromPacket(PacketReader)}.
+   *
+   * @param reader - reference to {@link PacketReader}, containing data that
+   *        should be read by this {@link NetworkMessage} subclass.
+   * @param session - session which received this message or <code>null</code>
+   *        if message is decoded outside of any session.
+   */
+  public void fromPacket(PacketReader reader, Session session)
+  {
+    fromPacket(reader);
+  }
+
   /**
    * This method is called automatically before any sending message.
    * Implementation of this method obtains new empty {@link PacketWriter}
@@ -63,6 +83,39 @@ public abstract class NetworkMessage
    */
   public abstract void toPacket(PacketWriter writer);
 
+  /**
+   * Fills the specified {@link PacketWriter} with message-specific data,
+   * for message sent by the specified {@link Session}. This method is
+   * called automatically before sending message instead of
+   * {@link #toPacket(PacketWriter)} - it should be overridden only by
+   * messages whose encoding depends on state of sending session, kept in
+   * its attributes. Default implementation ignores the session and calls
+   * {@link #toPacket(PacketWriter)}.
+   *
+   * @param writer - {@link PacketWriter} that should be filled with
+   *        message-specific data.
+   * @param session - session which sends this message or <code>null</code>
+   *        if message is encoded outside of any session.
+   */
+  public void toPacket(PacketWriter writer, Session session)
+  {
+    toPacket(writer);
+  }
+
+  /**
+   * Gets estimated number of bytes written by {@link #toPacket(PacketWriter)}
+   * method. It is used to choose size of buffer before message is encoded,
+   * so messages with accurate estimations are encoded without resizing
+   * buffers. Default implementation returns <code>0</code> - no estimation.
+   *
+   * @return Returns estimated number of bytes written by this message
+   *         or <code>0</code> if size cannot be estimated.
+   */
+  public int getSizeHint()
+  {
+    return 0;
+  }
+
   /**
    * @see java.lang.Object#toString()
    */
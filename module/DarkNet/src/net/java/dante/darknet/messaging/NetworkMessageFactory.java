@@ -0,0 +1,27 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.darknet.messaging;
+
+
+/**
+ * Factory creating empty objects of one {@link NetworkMessage} subclass,
+ * which are filled by {@link NetworkMessage#fromPacket(net.java.dante.darknet.protocol.packet.PacketReader)}
+ * method. Factories are registered in {@link NetworkMessagesRegister}
+ * together with message classes, so decoded messages can be constructed
+ * without reflection.
+ *
+ * @author M.Olszewski
+ */
+public interface NetworkMessageFactory
+{
+  /**
+   * Creates new empty object of {@link NetworkMessage} subclass.
+   *
+   * @return Returns created message - it cannot be <code>null</code>.
+   */
+  NetworkMessage create();
+}
@@ -6,6 +6,8 @@
 
 package net.java.dante.darknet.messaging;
 
+import java.lang.reflect.Constructor;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -14,14 +16,39 @@ import net.java.dante.darknet.common.Dbg;
 
 /**
  * Thread-safe implementation of {@link NetworkMessagesRegister} interface.
+ * <p>
+ * Factories of registered messages are held in array indexed by subclass
+ * identifiers (only identifiers greater than {@link #MAX_INDEXED_ID} are held
+ * in map). Array and maps are never modified after they are published -
+ * each registration replaces them with modified copies, so all lookups
+ * performed by {@link #construct(int)}, {@link #isUsed(int)},
+ * {@link #isRegistered(Class)} and {@link #getSubclassId(Class)} methods
+ * do not acquire any lock.
  *
  * @author M.Olszewski
  */
 class NetworkMessageRegisterImpl implements NetworkMessagesRegister
 {
+  /** The greatest subclass identifier held in {@link #factories} array. */
+  private static final int MAX_INDEXED_ID = 0xFFFF;
+  /** Factories array of empty register. */
+  private static final NetworkMessageFactory[] NO_FACTORIES = new NetworkMessageFactory[0];
+
+  /**
+   * Factories of registered subclasses - factory of subclass with
+   * identifier i is at index i. Only non-negative identifiers not greater
+   * than {@link #MAX_INDEXED_ID} are held.
+   */
+  private volatile NetworkMessageFactory[] factories = NO_FACTORIES;
+  /**
+   * Factories of registered subclasses with identifiers which are not held
+   * in {@link #factories} array.
+   */
+  private volatile Map<Integer, NetworkMessageFactory> otherFactories = Collections.emptyMap();
   /**
    * Register containing subclasses identifiers and classes associated with them.
    * Only classes extending {@link NetworkMessage} class are held.
+   * It is accessed only with {@link #lock} held.
    */
   private Map<Integer, Class<? extends NetworkMessage>> register = new HashMap<Integer, Class<? extends NetworkMessage>>();
   /**
@@ -30,7 +57,9 @@ class NetworkMessageRegisterImpl implements NetworkMessagesRegister
    * It is reversed version of {@link NetworkMessagesRegister} for faster
    * {@link #getSubclassId(Class)} or {@link #getSubclassId(NetworkMessage)} calls.
    */
-  private Map<Class<? extends NetworkMessage>, Integer> reverseRegister = new HashMap<Class<? extends NetworkMessage>, Integer>();
+  private volatile Map<Class<? extends NetworkMessage>, Integer> reverseRegister = Collections.emptyMap();
+  /** Determines whether this register is sealed. */
+  private volatile boolean sealed = false;
 
   /** Internal lock for this class: to avoid any DoS attacks. */
   private Object lock = new Object();
@@ -66,37 +95,142 @@ class NetworkMessageRegisterImpl implements NetworkMessagesRegister
   {
     if (msgClass != null)
     {
-      synchronized(lock)
+      register(msgClass, subclassId, new ReflectiveFactory(msgClass));
+    }
+    else
+    {
+      throw new NullPointerException("Specified msgClass is null!");
+    }
+  }
+
+  /**
+   * @see net.java.dante.darknet.messaging.NetworkMessagesRegister#register(java.lang.Class, int, net.java.dante.darknet.messaging.NetworkMessageFactory)
+   */
+  public void register(Class<? extends NetworkMessage> msgClass, int subclassId,
+      NetworkMessageFactory factory)
+  {
+    if (msgClass == null)
+    {
+      throw new NullPointerException("Specified msgClass is null!");
+    }
+    if (factory == null)
+    {
+      throw new NullPointerException("Specified factory is null!");
+    }
+
+    synchronized(lock)
+    {
+      Class<? extends NetworkMessage> registryClass = register.get(Integer.valueOf(subclassId));
+      if (registryClass == null)
       {
-        Class<? extends NetworkMessage> registryClass = register.get(Integer.valueOf(subclassId));
-        if (registryClass == null)
+        if (!reverseRegister.containsKey(msgClass))
         {
-          if (!reverseRegister.containsKey(msgClass))
-          {
-            Integer id = Integer.valueOf(subclassId);
-            register.put(id, msgClass);
-            reverseRegister.put(msgClass, id);
-          }
-          else
-          {
-            throw new SubclassAlreadyRegisteredException("Specified subclass of Message class: " + msgClass.getName() + " already registered!");
-          }
+          checkNotSealed();
+
+          Integer id = Integer.valueOf(subclassId);
+          register.put(id, msgClass);
+
+          Map<Class<? extends NetworkMessage>, Integer> newReverseRegister =
+              new HashMap<Class<? extends NetworkMessage>, Integer>(reverseRegister);
+          newReverseRegister.put(msgClass, id);
+          reverseRegister = newReverseRegister;
+
+          publishFactory(subclassId, factory);
         }
         else
         {
-          if (msgClass != registryClass)
-          {
-            throw new SubclassIdAlreadyRegisteredException("Specified Subclass identifier: " + subclassId + " already registered for another Message subclass!");
-          }
+          throw new SubclassAlreadyRegisteredException("Specified subclass of Message class: " + msgClass.getName() + " already registered!");
+        }
+      }
+      else
+      {
+        if (msgClass != registryClass)
+        {
+          throw new SubclassIdAlreadyRegisteredException("Specified Subclass identifier: " + subclassId + " already registered for another Message subclass!");
         }
       }
     }
+  }
+
+  /**
+   * Publishes copy of factories array or map containing the specified factory.
+   * It must be called with {@link #lock} held.
+   *
+   * @param subclassId - subclass identifier.
+   * @param factory - factory of subclass with specified identifier.
+   */
+  private void publishFactory(int subclassId, NetworkMessageFactory factory)
+  {
+    if ((subclassId >= 0) && (subclassId <= MAX_INDEXED_ID))
+    {
+      NetworkMessageFactory[] newFactories = new NetworkMessageFactory[Math.max(factories.length, subclassId + 1)];
+      System.arraycopy(factories, 0, newFactories, 0, factories.length);
+      newFactories[subclassId] = factory;
+      factories = newFactories;
+    }
     else
     {
-      throw new NullPointerException("Specified msgClass is null!");
+      Map<Integer, NetworkMessageFactory> newOtherFactories =
+          new HashMap<Integer, NetworkMessageFactory>(otherFactories);
+      newOtherFactories.put(Integer.valueOf(subclassId), factory);
+      otherFactories = newOtherFactories;
     }
   }
 
+  /**
+   * Gets factory of subclass with the specified identifier.
+   *
+   * @param subclassId - subclass identifier.
+   *
+   * @return Returns factory of subclass with the specified identifier
+   *         or <code>null</code> if identifier is not registered.
+   */
+  private NetworkMessageFactory getFactory(int subclassId)
+  {
+    NetworkMessageFactory factory = null;
+
+    NetworkMessageFactory[] currentFactories = factories;
+    if ((subclassId >= 0) && (subclassId < currentFactories.length))
+    {
+      factory = currentFactories[subclassId];
+    }
+    else if ((subclassId < 0) || (subclassId > MAX_INDEXED_ID))
+    {
+      factory = otherFactories.get(Integer.valueOf(subclassId));
+    }
+
+    return factory;
+  }
+
+  /**
+   * Checks whether this register is not sealed.
+   *
+   * @throws IllegalStateException if this register is sealed.
+   */
+  private void checkNotSealed()
+  {
+    if (sealed)
+    {
+      throw new IllegalStateException("Messages register is sealed!");
+    }
+  }
+
+  /**
+   * @see net.java.dante.darknet.messaging.NetworkMessagesRegister#seal()
+   */
+  public void seal()
+  {
+    sealed = true;
+  }
+
+  /**
+   * @see net.java.dante.darknet.messaging.NetworkMessagesRegister#isSealed()
+   */
+  public boolean isSealed()
+  {
+    return sealed;
+  }
+
   /**
    * @see net.java.dante.darknet.messaging.NetworkMessagesRegister#clear()
    */
@@ -104,8 +238,12 @@ class NetworkMessageRegisterImpl implements NetworkMessagesRegister
   {
     synchronized(lock)
     {
+      checkNotSealed();
+
       register.clear();
-      reverseRegister.clear();
+      reverseRegister = Collections.emptyMap();
+      factories = NO_FACTORIES;
+      otherFactories = Collections.emptyMap();
     }
   }
 
@@ -135,10 +273,7 @@ class NetworkMessageRegisterImpl implements NetworkMessagesRegister
     boolean registered = false;
     if (subclass != null)
     {
-      synchronized(lock)
-      {
-        registered = reverseRegister.containsKey(subclass);
-      }
+      registered = reverseRegister.containsKey(subclass);
     }
     else
     {
@@ -152,12 +287,7 @@ class NetworkMessageRegisterImpl implements NetworkMessagesRegister
    */
   public boolean isUsed(int subClassId)
   {
-    boolean inUse = false;
-    synchronized(lock)
-    {
-      inUse = register.containsKey(Integer.valueOf(subClassId));
-    }
-    return inUse;
+    return (getFactory(subClassId) != null);
   }
 
   /**
@@ -167,18 +297,12 @@ class NetworkMessageRegisterImpl implements NetworkMessagesRegister
   {
     NetworkMessage msg = null;
 
-    Class<? extends NetworkMessage> msgClass = null;
-    synchronized(lock)
-    {
-      msgClass = register.get(Integer.valueOf(subclassId));
-    }
-
-    if (msgClass != null)
+    NetworkMessageFactory factory = getFactory(subclassId);
+    if (factory != null)
     {
       try
       {
-        // Call public nullary constructor.
-        msg = msgClass.newInstance();
+        msg = factory.create();
       }
       catch (Exception e)
       {
@@ -203,17 +327,14 @@ class NetworkMessageRegisterImpl implements NetworkMessagesRegister
 
     if (msgClass != null)
     {
-      synchronized(lock)
+      Integer value = reverseRegister.get(msgClass);
+      if (value != null)
       {
-        Integer value = reverseRegister.get(msgClass);
-        if (value != null)
-        {
-          subclassId = value.intValue();
-        }
-        else
-        {
-          throw new IllegalStateException("Specified Message subclass: " + msgClass.getSimpleName() + " is not registered!");
-        }
+        subclassId = value.intValue();
+      }
+      else
+      {
+        throw new IllegalStateException("Specified Message subclass: " + msgClass.getSimpleName() + " is not registered!");
       }
     }
     else
@@ -242,4 +363,55 @@ class NetworkMessageRegisterImpl implements NetworkMessagesRegister
 
     return subclassId;
   }
-}
\ No newline at end of file
+
+
+  /**
+   * Factory constructing messages using public nullary constructor of
+   * their class. Constructor is looked up once, when first message is
+   * constructed.
+   *
+   * @author M.Olszewski
+   */
+  private static class ReflectiveFactory implements NetworkMessageFactory
+  {
+    /** Class of constructed messages. */
+    private final Class<? extends NetworkMessage> msgClass;
+    /** Nullary constructor of {@link #msgClass} - <code>null</code> until first use. */
+    private volatile Constructor<? extends NetworkMessage> constructor;
+
+
+    /**
+     * Creates instance of {@link ReflectiveFactory} class.
+     *
+     * @param messageClass - class of constructed messages.
+     */
+    ReflectiveFactory(Class<? extends NetworkMessage> messageClass)
+    {
+      msgClass = messageClass;
+    }
+
+    /**
+     * @see net.java.dante.darknet.messaging.NetworkMessageFactory#create()
+     */
+    public NetworkMessage create()
+    {
+      NetworkMessage msg = null;
+      try
+      {
+        Constructor<? extends NetworkMessage> nullary = constructor;
+        if (nullary == null)
+        {
+          nullary = msgClass.getDeclaredConstructor();
+          constructor = nullary;
+        }
+        // Call public nullary constructor.
+        msg = nullary.newInstance();
+      }
+      catch (Exception e)
+      {
+        throw new IllegalStateException("Construction of " + msgClass.getName() + " failed!", e);
+      }
+      return msg;
+    }
+  }
+}
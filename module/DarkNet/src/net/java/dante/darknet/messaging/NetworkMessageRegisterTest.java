@@ -228,4 +228,75 @@ public final class NetworkMessageRegisterTest extends TestCase
     NetworkMessage invMsg = register.construct(subclassId + 1);
     assertNull(invMsg);
   }
+
+  /**
+   * Test for {@link NetworkMessageRegisterImpl#register(Class, int, NetworkMessageFactory)}
+   * method - registered factory must be used to construct messages, also
+   * for identifiers which are not indexed.
+   */
+  public final void testRegisterFactory()
+  {
+    NetworkMessagesRegister register = new NetworkMessageRegisterImpl();
+    final NetworkMessage created = new MessageTest2(0);
+    NetworkMessageFactory factory = new NetworkMessageFactory()
+    {
+      /**
+       * @see net.java.dante.darknet.messaging.NetworkMessageFactory#create()
+       */
+      public NetworkMessage create()
+      {
+        return created;
+      }
+    };
+
+    register.register(MessageTest2.class, 5, factory);
+    assertSame(created, register.construct(5));
+    assertEquals(5, register.getSubclassId(MessageTest2.class));
+
+    register.clear();
+    register.register(MessageTest2.class, -7, factory);
+    register.register(MessageTest1.class, Integer.MAX_VALUE);
+    assertSame(created, register.construct(-7));
+    assertTrue(register.construct(Integer.MAX_VALUE) instanceof MessageTest1);
+    assertTrue(register.isUsed(-7));
+    assertFalse(register.isUsed(5));
+    assertNull(register.construct(5));
+  }
+
+  /**
+   * Test for {@link NetworkMessageRegisterImpl#seal()} method.
+   */
+  public final void testSeal()
+  {
+    NetworkMessagesRegister register = new NetworkMessageRegisterImpl();
+    register.register(MessageTest1.class, 100);
+    assertFalse(register.isSealed());
+    register.seal();
+    assertTrue(register.isSealed());
+
+    // Registering the same message again has no effect.
+    register.register(MessageTest1.class, 100);
+    assertNotNull(register.construct(100));
+
+    try
+    {
+      register.register(MessageTest2.class, 101);
+      fail("IllegalStateException not thrown - failed.");
+    }
+    catch (IllegalStateException e)
+    {
+      // Intentionally left empty.
+    }
+    try
+    {
+      register.clear();
+      fail("IllegalStateException not thrown - failed.");
+    }
+    catch (IllegalStateException e)
+    {
+      // Intentionally left empty.
+    }
+    assertTrue(register.isUsed(100));
+    assertFalse(register.isUsed(101));
+  }
 }
\ No newline at end of file
@@ -30,6 +30,16 @@ package net.java.dante.darknet.messaging;
  * processing threads is safe, almost any received message will not be processed
  * correctly. 
  * <p>
+ * Messages can be registered together with {@link NetworkMessageFactory}
+ * ({@link #register(Class, int, NetworkMessageFactory)} method), which is
+ * used to construct received messages. Messages registered without factory
+ * are constructed using their nullary constructors.
+ * <p>
+ * When all messages are registered, register should be sealed
+ * ({@link #seal()} method). Sealed register cannot be changed, so
+ * {@link #construct(int)} calls never wait for each other or for any
+ * registration.
+ * <p>
  * Implementation of this class should be thread-safe. 
  *
  * @author M.Olszewski
@@ -48,6 +58,7 @@ public interface NetworkMessagesRegister
    *         subclass identifier is already registered.
    * @throws SubclassAlreadyRegisteredException if {@link NetworkMessage} 
    *         subclass is already registered.  
+   * @throws IllegalStateException if this register is sealed.
    */
   public void register(NetworkMessage message, int subclassId);
   
@@ -63,12 +74,51 @@ public interface NetworkMessagesRegister
    *         subclass identifier is already registered.
    * @throws SubclassAlreadyRegisteredException if {@link NetworkMessage} 
    *         subclass is already registered. 
+   * @throws IllegalStateException if this register is sealed.
    */
   public void register(Class<? extends NetworkMessage> msgClass, int subclassId);
+
+  /**
+   * Registers specified {@link NetworkMessage} subclass in this
+   * {@link NetworkMessagesRegister} together with factory constructing its
+   * objects, so it could be used in DarkNet library.
+   *
+   * @param msgClass - {@link NetworkMessage} subclass to be registered.
+   * @param subclassId - unique subclass identifier.
+   * @param factory - factory constructing objects of <code>msgClass</code>.
+   *
+   * @throws NullPointerException if <code>msgClass</code> or
+   *         <code>factory</code> is null.
+   * @throws SubclassIdAlreadyRegisteredException if {@link NetworkMessage}
+   *         subclass identifier is already registered.
+   * @throws SubclassAlreadyRegisteredException if {@link NetworkMessage}
+   *         subclass is already registered.
+   * @throws IllegalStateException if this register is sealed.
+   */
+  public void register(Class<? extends NetworkMessage> msgClass, int subclassId,
+      NetworkMessageFactory factory);
+
+  /**
+   * Seals this register - after that no {@link NetworkMessage} subclass can
+   * be registered and register cannot be cleared. Registering again
+   * already registered subclass with the same identifier is still allowed
+   * and has no effect.
+   */
+  public void seal();
+
+  /**
+   * Checks whether this register is sealed.
+   *
+   * @return Returns <code>true</code> if this register is sealed,
+   *         <code>false</code> otherwise.
+   */
+  public boolean isSealed();
   
   /**
    * Clears whole messages register - beware, all messages types are removed, so
    * most of the DarkNet library functionality will be disabled.
+   *
+   * @throws IllegalStateException if this register is sealed.
    */
   public void clear();
   
@@ -105,8 +155,9 @@ public interface NetworkMessagesRegister
   public boolean isUsed(int subClassId);
   
   /**
-   * Attempts to construct {@link NetworkMessage} subclass using {@link NetworkMessage} 
-   * nullary constructor. 
+   * Attempts to construct {@link NetworkMessage} subclass using its registered
+   * {@link NetworkMessageFactory} or, if it was registered without factory,
+   * using {@link NetworkMessage} nullary constructor. 
    * If {@link NetworkMessage} subclass is not registered in this 
    * {@link NetworkMessagesRegister} or its construction failed, then <code>null</code>
    * is returned. In case of successful construction new object of specified
@@ -53,11 +53,33 @@ public class NetworkMessagingSystemFactory
    */
   public NetworkMessagingSystem createMessagingSystem(SupportedProtocol supportedProtocol)
   {
+    return createMessagingSystem(supportedProtocol, OutputBuffers.ALLOCATED);
+  }
+
+  /**
+   * Creates object implementing {@link NetworkMessagingSystem} interface, depending
+   * on given {@link SupportedProtocol}, which encoders obtain buffers in
+   * specified way.
+   *
+   * @param supportedProtocol - protocol on which implementation of
+   *        {@link NetworkMessagingSystem} will be depending.
+   * @param outputBuffers - way in which encoders obtain buffers.
+   *
+   * @return Returns object implementing {@link NetworkMessagingSystem} interface.
+   */
+  public NetworkMessagingSystem createMessagingSystem(SupportedProtocol supportedProtocol,
+      OutputBuffers outputBuffers)
+  {
+    if (outputBuffers == null)
+    {
+      throw new NullPointerException("Specified outputBuffers is null!");
+    }
+
     Protocol protocol = ProtocolFactory.getInstance().getProtocol(supportedProtocol);
-    
+
     assert protocol != null : "Obtained protocol cannot be null!";
-    
-    NetworkMessagingSystem ms = new NetworkMessagingSystemImpl(protocol);
+
+    NetworkMessagingSystem ms = new NetworkMessagingSystemImpl(protocol, outputBuffers.createPool());
     return ms;
   }
   
@@ -80,7 +102,7 @@ public class NetworkMessagingSystemFactory
     NetworkMessagingSystem ms = null;
     if (protocol != null)
     {
-      ms = new NetworkMessagingSystemImpl(protocol);
+      ms = new NetworkMessagingSystemImpl(protocol, null);
     }
     
     return ms;
@@ -7,6 +7,7 @@
 package net.java.dante.darknet.messaging;
 
 import net.java.dante.darknet.protocol.Protocol;
+import net.java.dante.darknet.protocol.packet.BuffersPool;
 
 /**
  * Implementation of {@link NetworkMessagingSystem} interface, containing one 
@@ -15,7 +16,7 @@ import net.java.dante.darknet.protocol.Protocol;
  * for encoding/decoding {@link NetworkMessage} objects into {@link java.nio.ByteBuffer} 
  * objects and vice versa.
  * <p>This implementation depends on {@link Protocol} specified at construction
- * time.
+ * time. All encoders share the same {@link BuffersPool} - if it was specified.
  *
  * @author M.Olszewski
  */
@@ -25,6 +26,8 @@ class NetworkMessagingSystemImpl implements NetworkMessagingSystem
   private Protocol protocol = null;
   /** Messages register used by this {@link NetworkMessagingSystemImpl}. */
   private NetworkMessagesRegister register = new NetworkMessageRegisterImpl();
+  /** Pool providing buffers for encoders or <code>null</code> if buffers are allocated. */
+  private BuffersPool pool = null;
   
   
   /**
@@ -33,12 +36,15 @@ class NetworkMessagingSystemImpl implements NetworkMessagingSystem
    * 
    * @param usedProtocol - protocol which delivers objects capable of fetching
    *        and separating protocol-dependent packets.
+   * @param buffersPool - pool providing buffers for encoders or
+   *        <code>null</code> if buffers should be allocated.
    */
-  NetworkMessagingSystemImpl(Protocol usedProtocol)
+  NetworkMessagingSystemImpl(Protocol usedProtocol, BuffersPool buffersPool)
   {
     if (usedProtocol != null)
     {
       protocol = usedProtocol;
+      pool = buffersPool;
     }
     else
     {
@@ -60,7 +66,7 @@ class NetworkMessagingSystemImpl implements NetworkMessagingSystem
    */
   public Encoder createEncoder()
   {
-    return new EncoderImpl(protocol.createSeparator(), register);
+    return new EncoderImpl(protocol.createSeparator(), register, pool);
   }
   
   /** 
@@ -0,0 +1,76 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.darknet.messaging;
+
+import net.java.dante.darknet.protocol.packet.BuffersPool;
+
+
+/**
+ * Enumeration of ways in which {@link Encoder} obtains buffers for encoded
+ * messages.
+ *
+ * @author M.Olszewski
+ */
+public enum OutputBuffers
+{
+  /** New heap buffer is allocated for each encoded message. */
+  ALLOCATED,
+  /** Heap buffers are acquired from pool and released after they are sent. */
+  POOLED,
+  /** Direct buffers are acquired from pool and released after they are sent. */
+  POOLED_DIRECT;
+
+  /**
+   * Creates pool of buffers used by encoders.
+   *
+   * @return Returns created pool or <code>null</code> if buffers should
+   *         not be pooled.
+   */
+  BuffersPool createPool()
+  {
+    BuffersPool pool = null;
+    if (this != ALLOCATED)
+    {
+      pool = new BuffersPool(this == POOLED_DIRECT);
+    }
+    return pool;
+  }
+
+  /**
+   * Checks whether mode of output buffers specified by name is supported.
+   *
+   * @param name - name of output buffers mode to check.
+   *
+   * @return Returns <code>true</code> if mode is supported,
+   *         <code>false</code> otherwise.
+   *
+   * @throws NullPointerException if specified <code>name</code>
+   *         is <code>null</code>.
+   */
+  public static boolean isSupported(String name)
+  {
+    boolean supported = false;
+
+    if (name != null)
+    {
+      for (OutputBuffers mode : OutputBuffers.values())
+      {
+        if (mode.name().equals(name))
+        {
+          supported = true;
+          break;
+        }
+      }
+    }
+    else
+    {
+      throw new NullPointerException("Specified name is null!");
+    }
+
+    return supported;
+  }
+}
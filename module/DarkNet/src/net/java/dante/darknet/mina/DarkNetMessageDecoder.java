@@ -48,7 +48,8 @@ class DarkNetMessageDecoder implements ProtocolDecoder
   public void decode(ProtocolSession session, ByteBuffer minaBuffer,
       ProtocolDecoderOutput output) throws ProtocolViolationException
   {
-    NetworkMessage[] messages = decoder.decode(minaBuffer.buf());
+    NetworkMessage[] messages = decoder.decode(minaBuffer.buf(),
+                                               SessionProvider.getInstance().getSession(session));
     if (messages != null)
     {
       for (int i = 0; i < messages.length; i++)
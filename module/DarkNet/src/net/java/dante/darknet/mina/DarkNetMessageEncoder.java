@@ -7,6 +7,8 @@
 package net.java.dante.darknet.mina;
 
 import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import net.java.dante.darknet.messaging.Encoder;
 import net.java.dante.darknet.messaging.NetworkMessage;
@@ -20,16 +22,28 @@ import org.apache.mina.protocol.ProtocolViolationException;
 /**
  * DarkNet encoder using external {@link Encoder} to encode
  * {@link NetworkMessage} object to array of {@link java.nio.ByteBuffer} objects.
+ * <p>
+ * If external encoder uses pooled buffers, buffers of each encoded message
+ * are remembered until MINA reports that message was sent
+ * ({@link DarkNetProtocolHandler#messageSent(ProtocolSession, Object)}) -
+ * then they are released. This encoder is stored as attribute of its session
+ * ({@link #ENCODER_ATTRIBUTE}), so it can be found by protocol handler.
  *
  * @author M.Olszewski
  */
 class DarkNetMessageEncoder implements ProtocolEncoder
 {
+  /** Name of session's attribute holding encoder using pooled buffers. */
+  static final String ENCODER_ATTRIBUTE = DarkNetMessageEncoder.class.getName();
+
+
   /** 
    * Encoder used to encode {@link NetworkMessage} to array of 
    * {@link java.nio.ByteBuffer} objects. 
    */
   private Encoder encoder = null;
+  /** Messages encoded into pooled buffers, which were not sent yet. */
+  private Queue<PendingMessage> pendingMessages = new ConcurrentLinkedQueue<PendingMessage>();
   
   
   /**
@@ -54,7 +68,15 @@ class DarkNetMessageEncoder implements ProtocolEncoder
     if (object instanceof NetworkMessage)
     {
       NetworkMessage message = (NetworkMessage)object;
-      ByteBuffer[] buffers = encoder.encode(message);
+      ByteBuffer[] buffers = encoder.encode(message, SessionProvider.getInstance().getSession(session));
+      if (encoder.isPooling())
+      {
+        if (session.getAttribute(ENCODER_ATTRIBUTE) != this)
+        {
+          session.setAttribute(ENCODER_ATTRIBUTE, this);
+        }
+        pendingMessages.offer(new PendingMessage(message, buffers));
+      }
       for (int i = 0; i < buffers.length; i++)
       {
         ByteBuffer buffer = buffers[i];
@@ -67,4 +89,49 @@ class DarkNetMessageEncoder implements ProtocolEncoder
       throw new ProtocolViolationException("Specified object is not an instance of Message subclass!");
     }
   }
+
+  /**
+   * Releases buffers of the specified sent message. Messages are sent in
+   * order of encoding, so buffers of all messages encoded before specified
+   * one are released too.
+   *
+   * @param message - sent message.
+   */
+  void messageSent(Object message)
+  {
+    boolean found = false;
+    PendingMessage pending = null;
+    while (!found && ((pending = pendingMessages.poll()) != null))
+    {
+      encoder.release(pending.buffers);
+      found = (pending.message == message);
+    }
+  }
+
+
+  /**
+   * Message encoded into pooled buffers, which was not sent yet.
+   *
+   * @author M.Olszewski
+   */
+  private static class PendingMessage
+  {
+    /** Encoded message. */
+    final Object message;
+    /** Buffers holding encoded message. */
+    final ByteBuffer[] buffers;
+
+
+    /**
+     * Creates instance of {@link PendingMessage} class.
+     *
+     * @param encodedMessage - encoded message.
+     * @param encodedBuffers - buffers holding encoded message.
+     */
+    PendingMessage(Object encodedMessage, ByteBuffer[] encodedBuffers)
+    {
+      message = encodedMessage;
+      buffers = encodedBuffers;
+    }
+  }
 }
\ No newline at end of file
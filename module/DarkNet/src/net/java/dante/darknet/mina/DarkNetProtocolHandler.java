@@ -17,7 +17,8 @@ import org.apache.mina.protocol.ProtocolSession;
 
 /**
  * DarkNet protocol handler using MINA framework to retrieve all necessary
- * events and pass them to {@link SessionHandler}.
+ * events and pass them to {@link SessionHandler}. Pooled buffers of sent
+ * messages are released before {@link SessionHandler} is notified.
  *
  * @author M.Olszewski
  */
@@ -116,6 +117,13 @@ class DarkNetProtocolHandler extends ProtocolHandlerAdapter
   {
     super.messageSent(minaSession, object);
 
+    DarkNetMessageEncoder encoder =
+        (DarkNetMessageEncoder)minaSession.getAttribute(DarkNetMessageEncoder.ENCODER_ATTRIBUTE);
+    if (encoder != null)
+    {
+      encoder.messageSent(object);
+    }
+
     if (object instanceof NetworkMessage)
     {
       SessionImpl session = SessionProvider.getInstance().getSessionImpl(minaSession);
@@ -144,6 +144,30 @@ class SessionImpl implements Session
     return session.getWrittenBytes();
   }
 
+  /**
+   * @see net.java.dante.darknet.session.Session#getAttribute(java.lang.String)
+   */
+  public Object getAttribute(String key)
+  {
+    return session.getAttribute(key);
+  }
+
+  /**
+   * @see net.java.dante.darknet.session.Session#setAttribute(java.lang.String, java.lang.Object)
+   */
+  public Object setAttribute(String key, Object value)
+  {
+    return session.setAttribute(key, value);
+  }
+
+  /**
+   * @see net.java.dante.darknet.session.Session#removeAttribute(java.lang.String)
+   */
+  public Object removeAttribute(String key)
+  {
+    return session.removeAttribute(key);
+  }
+
   /**
    * @see java.lang.Object#toString()
    */
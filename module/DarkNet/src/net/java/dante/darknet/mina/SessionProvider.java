@@ -1,8 +1,5 @@
 package net.java.dante.darknet.mina;
 
-import java.util.IdentityHashMap;
-import java.util.Map;
-
 import net.java.dante.darknet.session.Session;
 
 import org.apache.mina.protocol.ProtocolSession;
@@ -10,22 +7,20 @@ import org.apache.mina.protocol.ProtocolSession;
 
 /**
  * Class providing implementation of {@link Session} interface specific
- * for MINA framework.
+ * for MINA framework. Created sessions are stored as attributes of
+ * {@link ProtocolSession} objects from MINA framework, so no shared
+ * structure is accessed by concurrently handled sessions.
  * 
  * @author M.Olszewski
  */
 public class SessionProvider
 {
+  /** Key of {@link ProtocolSession} attribute holding created {@link SessionImpl} object. */
+  static final String SESSION_ATTRIBUTE = SessionProvider.class.getName();
+  
   /** The only instance of {@link SessionProvider}. */
   private static SessionProvider instance = new SessionProvider();
   
-  /** 
-   * Map holding association between {@link ProtocolSession} objects and all 
-   * created {@link SessionImpl} objects. 
-   */
-  private Map<ProtocolSession, SessionImpl> sessions = 
-      new IdentityHashMap<ProtocolSession, SessionImpl>();
-  
   
   /**
    * Private constructor - no external class creation, no inheritance.
@@ -47,13 +42,14 @@ public class SessionProvider
   }
   
   /**
-   * Provides new session for the specified {@link ProtocolSession} from MINA 
-   * framework.
+   * Provides session for the specified {@link ProtocolSession} from MINA 
+   * framework. Session is created and attached to {@link ProtocolSession}
+   * when this method is called for the first time.
    * 
    * @param minaSession - the specified {@link ProtocolSession} from MINA 
    *        framework.
    * 
-   * @return Returns new session created for 
+   * @return Returns session created for 
    *         the specified {@link ProtocolSession} from MINA framework.
    */
   public Session getSession(ProtocolSession minaSession)
@@ -63,10 +59,19 @@ public class SessionProvider
       throw new NullPointerException("Specified minaSession is null!");
     }
     
-    Session session = sessions.get(minaSession);
+    SessionImpl session = (SessionImpl)minaSession.getAttribute(SESSION_ATTRIBUTE);
     if (session == null)
     {
-      sessions.put(minaSession, new SessionImpl(minaSession));
+      // Only events of this MINA session can compete for its attribute
+      synchronized (minaSession)
+      {
+        session = (SessionImpl)minaSession.getAttribute(SESSION_ATTRIBUTE);
+        if (session == null)
+        {
+          session = new SessionImpl(minaSession);
+          minaSession.setAttribute(SESSION_ATTRIBUTE, session);
+        }
+      }
     }
     return session;
   }
@@ -82,7 +87,7 @@ public class SessionProvider
   {
     if (minaSession != null)
     {
-      sessions.remove(minaSession);
+      minaSession.removeAttribute(SESSION_ATTRIBUTE);
     }
   }
   
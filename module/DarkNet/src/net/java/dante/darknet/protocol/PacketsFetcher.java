@@ -31,4 +31,16 @@ public interface PacketsFetcher
    * @return Returns array holding zero or more {@link Packet} objects.
    */
   public Packet[] fetch(ByteBuffer buffer);
+
+  /**
+   * Fetches objects of {@link Packet} class from specified {@link ByteBuffer}
+   * and passes them to the specified listener. Unlike {@link #fetch(ByteBuffer)}
+   * passed packets are not copied - they can share contents with specified
+   * buffer and are valid only while listener is notified.
+   *
+   * @param buffer - buffer holding data, that will be used to fetch
+   *       {@link Packet} objects from them.
+   * @param listener - listener notified about each fetched packet.
+   */
+  public void fetch(ByteBuffer buffer, PacketsListener listener);
 }
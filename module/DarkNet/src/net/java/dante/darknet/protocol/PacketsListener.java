@@ -0,0 +1,28 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.darknet.protocol;
+
+import net.java.dante.darknet.protocol.packet.Packet;
+
+
+/**
+ * Interface for receivers of packets fetched by
+ * {@link PacketsFetcher#fetch(java.nio.ByteBuffer, PacketsListener)}.
+ *
+ * @author M.Olszewski
+ */
+public interface PacketsListener
+{
+  /**
+   * Method invoked for each fetched packet. Specified packet and its buffer
+   * are valid only until this method returns - they can be reused for next
+   * packets, so packet's contents must be read before return.
+   *
+   * @param packet - fetched packet.
+   */
+  void packetFetched(Packet packet);
+}
@@ -0,0 +1,211 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.darknet.protocol.packet;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Thread-safe pool of {@link ByteBuffer} objects divided into size classes.
+ * Capacity of each pooled buffer is a power of two between
+ * {@link #MIN_CLASS_CAPACITY} and {@link #MAX_CLASS_CAPACITY} - requested
+ * capacity is rounded up to the nearest size class. Buffers with greater
+ * capacity are allocated each time they are requested and are never pooled.
+ * <p>
+ * Each size class holds at most specified number of released buffers -
+ * buffers released to full size class are left for garbage collector.
+ *
+ * @author M.Olszewski
+ */
+public class BuffersPool
+{
+  /** Capacity of buffers in the smallest size class. */
+  public static final int MIN_CLASS_CAPACITY = 256;
+  /** Capacity of buffers in the greatest size class. */
+  public static final int MAX_CLASS_CAPACITY = 64 * 1024;
+  /** Default maximum number of buffers held by each size class. */
+  public static final int DEFAULT_MAX_POOLED_BUFFERS = 64;
+
+  /** Number of trailing zero bits in {@link #MIN_CLASS_CAPACITY}. */
+  private static final int MIN_CLASS_SHIFT = Integer.numberOfTrailingZeros(MIN_CLASS_CAPACITY);
+  /** Number of size classes. */
+  private static final int CLASSES_COUNT =
+      Integer.numberOfTrailingZeros(MAX_CLASS_CAPACITY) - MIN_CLASS_SHIFT + 1;
+
+  /** Size classes of this pool. */
+  private SizeClass[] classes;
+  /** Maximum number of buffers held by each size class. */
+  private int maxPooledBuffers;
+  /** Determines whether direct buffers are allocated. */
+  private boolean direct;
+
+
+  /**
+   * Creates instance of {@link BuffersPool} class, holding at most
+   * {@link #DEFAULT_MAX_POOLED_BUFFERS} buffers in each size class.
+   *
+   * @param directBuffers - determines whether direct buffers should be
+   *        allocated.
+   */
+  public BuffersPool(boolean directBuffers)
+  {
+    this(directBuffers, DEFAULT_MAX_POOLED_BUFFERS);
+  }
+
+  /**
+   * Creates instance of {@link BuffersPool} class.
+   *
+   * @param directBuffers - determines whether direct buffers should be
+   *        allocated.
+   * @param maxBuffersPerClass - maximum number of buffers held by each
+   *        size class.
+   */
+  public BuffersPool(boolean directBuffers, int maxBuffersPerClass)
+  {
+    if (maxBuffersPerClass <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument maxBuffersPerClass - it must be positive integer!");
+    }
+
+    direct           = directBuffers;
+    maxPooledBuffers = maxBuffersPerClass;
+    classes          = new SizeClass[CLASSES_COUNT];
+    for (int i = 0; i < CLASSES_COUNT; i++)
+    {
+      classes[i] = new SizeClass();
+    }
+  }
+
+
+  /**
+   * Acquires cleared buffer with capacity not lesser than the specified one.
+   *
+   * @param capacity - required capacity.
+   *
+   * @return Returns acquired buffer.
+   */
+  public ByteBuffer acquire(int capacity)
+  {
+    if (capacity < 0)
+    {
+      throw new IllegalArgumentException("Invalid argument capacity - it must be non-negative integer!");
+    }
+
+    ByteBuffer buffer = null;
+
+    int classIndex = classIndex(capacity);
+    if (classIndex < CLASSES_COUNT)
+    {
+      SizeClass sizeClass = classes[classIndex];
+      buffer = sizeClass.buffers.poll();
+      if (buffer != null)
+      {
+        sizeClass.size.decrementAndGet();
+        buffer.clear();
+      }
+      else
+      {
+        buffer = allocate(MIN_CLASS_CAPACITY << classIndex);
+      }
+    }
+    else
+    {
+      buffer = allocate(capacity);
+    }
+
+    return buffer;
+  }
+
+  /**
+   * Releases the specified buffer, so it can be acquired again. Buffer must
+   * not be used after it is released. Buffers which were not acquired
+   * from pool with the same kind of buffers (direct or heap) are ignored.
+   *
+   * @param buffer - released buffer.
+   */
+  public void release(ByteBuffer buffer)
+  {
+    if (buffer == null)
+    {
+      throw new NullPointerException("Specified buffer is null!");
+    }
+
+    int capacity = buffer.capacity();
+    if ((buffer.isDirect() == direct) && (Integer.bitCount(capacity) == 1) &&
+        (capacity >= MIN_CLASS_CAPACITY) && (capacity <= MAX_CLASS_CAPACITY))
+    {
+      SizeClass sizeClass = classes[classIndex(capacity)];
+      if (sizeClass.size.incrementAndGet() <= maxPooledBuffers)
+      {
+        sizeClass.buffers.offer(buffer);
+      }
+      else
+      {
+        sizeClass.size.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Checks whether this pool allocates direct buffers.
+   *
+   * @return Returns <code>true</code> if this pool allocates direct buffers,
+   *         <code>false</code> otherwise.
+   */
+  public boolean isDirect()
+  {
+    return direct;
+  }
+
+  /**
+   * Gets index of the smallest size class holding buffers with the
+   * specified capacity.
+   *
+   * @param capacity - the specified capacity.
+   *
+   * @return Returns index of size class - it is not lesser than
+   *         number of size classes if capacity is too big to be pooled.
+   */
+  private static int classIndex(int capacity)
+  {
+    int classIndex = 0;
+    if (capacity > MIN_CLASS_CAPACITY)
+    {
+      classIndex = (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1)) - MIN_CLASS_SHIFT;
+    }
+    return classIndex;
+  }
+
+  /**
+   * Allocates new buffer with the specified capacity.
+   *
+   * @param capacity - the specified capacity.
+   *
+   * @return Returns allocated buffer.
+   */
+  private ByteBuffer allocate(int capacity)
+  {
+    return (direct? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+  }
+
+
+  /**
+   * Single size class of {@link BuffersPool}.
+   *
+   * @author M.Olszewski
+   */
+  private static class SizeClass
+  {
+    /** Released buffers. */
+    final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    /** Number of released buffers. */
+    final AtomicInteger size = new AtomicInteger();
+  }
+}
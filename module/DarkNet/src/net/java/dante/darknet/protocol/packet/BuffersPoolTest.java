@@ -0,0 +1,101 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.darknet.protocol.packet;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class containing tests for {@link BuffersPool} class.
+ *
+ * @author M.Olszewski
+ */
+public class BuffersPoolTest extends TestCase
+{
+  /**
+   * Test for {@link BuffersPool#acquire(int)} method - capacities must be
+   * rounded up to size classes.
+   */
+  public void testAcquire()
+  {
+    BuffersPool pool = new BuffersPool(false);
+
+    assertEquals(BuffersPool.MIN_CLASS_CAPACITY, pool.acquire(0).capacity());
+    assertEquals(BuffersPool.MIN_CLASS_CAPACITY, pool.acquire(BuffersPool.MIN_CLASS_CAPACITY).capacity());
+    assertEquals(512, pool.acquire(BuffersPool.MIN_CLASS_CAPACITY + 1).capacity());
+    assertEquals(BuffersPool.MAX_CLASS_CAPACITY, pool.acquire(BuffersPool.MAX_CLASS_CAPACITY).capacity());
+    assertEquals(BuffersPool.MAX_CLASS_CAPACITY + 1, pool.acquire(BuffersPool.MAX_CLASS_CAPACITY + 1).capacity());
+    assertTrue(new BuffersPool(true).acquire(100).isDirect());
+  }
+
+  /**
+   * Test for {@link BuffersPool#release(ByteBuffer)} method - released
+   * buffers must be reused and cleared, foreign buffers must be ignored.
+   */
+  public void testRelease()
+  {
+    BuffersPool pool = new BuffersPool(false, 1);
+
+    ByteBuffer buffer1 = pool.acquire(1000);
+    ByteBuffer buffer2 = pool.acquire(1000);
+    buffer1.putInt(5).flip();
+    pool.release(buffer1);
+    pool.release(buffer2);
+    pool.release(ByteBuffer.allocate(1000));
+    pool.release(ByteBuffer.allocateDirect(1024));
+
+    ByteBuffer reused = pool.acquire(600);
+    assertSame(buffer1, reused);
+    assertEquals(0, reused.position());
+    assertEquals(reused.capacity(), reused.limit());
+    assertNotSame(buffer2, pool.acquire(600));
+  }
+
+  /**
+   * Test for {@link Packet} with pooled buffer - replaced buffers must be
+   * released to pool and written data must be preserved.
+   */
+  public void testPooledPacket()
+  {
+    BuffersPool pool = new BuffersPool(false);
+    Packet packet = new Packet(1, 10, pool)
+    {
+      /**
+       * @see net.java.dante.darknet.protocol.packet.Packet#rewind()
+       */
+      @Override
+      public void rewind()
+      {
+        buffer.rewind();
+      }
+
+      /**
+       * @see net.java.dante.darknet.protocol.packet.Packet#updatePacketData()
+       */
+      @Override
+      protected void updatePacketData()
+      {
+        // Not used.
+      }
+    };
+
+    ByteBuffer first = packet.getBuffer();
+    for (int i = 0; i < 100; i++)
+    {
+      packet.writeInt(i);
+    }
+    assertEquals(512, packet.getBuffer().capacity());
+    assertSame(first, pool.acquire(1));
+
+    packet.rewind();
+    for (int i = 0; i < 100; i++)
+    {
+      assertEquals(i, packet.readInt());
+    }
+  }
+}
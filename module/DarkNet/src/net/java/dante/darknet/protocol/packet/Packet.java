@@ -74,6 +74,12 @@ abstract public class Packet implements PacketReader, PacketWriter
   /** Time stamp of this packet. */
   protected long timestamp;
 
+  /**
+   * Pool providing buffers for this packet or <code>null</code> if buffers
+   * are allocated.
+   */
+  private BuffersPool pool = null;
+
 
   // Char set initialization - if not initialized, following methods could not be
   // called: writeString, writeStrings, readString and readStrings.
@@ -146,6 +152,36 @@ abstract public class Packet implements PacketReader, PacketWriter
     }
   }
 
+  /**
+   * Creates packet with specified unique identifier of {@link NetworkMessage}
+   * subclass, which buffer with at least specified size is acquired from
+   * specified {@link BuffersPool}. Buffers replaced when packet grows are
+   * released to this pool. Buffer held by packet is not released - it
+   * should be released by user when packet is no longer used.
+   *
+   * @param messageSubclassID - unique identifier of {@link NetworkMessage} subclass.
+   * @param bufferSize - minimum size of the buffer.
+   * @param buffersPool - pool providing buffers for this packet.
+   *
+   * @throws IllegalArgumentException if message subclass identifier or
+   *         buffer size are negative integers.
+   */
+  protected Packet(int messageSubclassID, int bufferSize, BuffersPool buffersPool)
+  {
+    if (messageSubclassID < 0)
+    {
+      throw new IllegalArgumentException("Packet(): specified messageSubclassID is a negative integer!");
+    }
+    if (buffersPool == null)
+    {
+      throw new NullPointerException("Specified buffersPool is null!");
+    }
+
+    subclassId = messageSubclassID;
+    pool       = buffersPool;
+    buffer     = pool.acquire(bufferSize);
+  }
+
   /**
    * @see java.lang.Object#equals(java.lang.Object)
    */
@@ -519,10 +555,7 @@ abstract public class Packet implements PacketReader, PacketWriter
     {
       if (capacity > buffer.capacity())
       {
-        ByteBuffer newBuffer = ByteBuffer.allocate(capacity);
-        buffer.flip();
-        newBuffer.put(buffer);
-        buffer = newBuffer;
+        resizeBuffer(capacity);
       }
     }
     else
@@ -875,9 +908,13 @@ abstract public class Packet implements PacketReader, PacketWriter
    */
   private void resizeBuffer(int newCapacity)
   {
-    ByteBuffer newBuffer = ByteBuffer.allocate(newCapacity);
+    ByteBuffer newBuffer = (pool != null)? pool.acquire(newCapacity) : ByteBuffer.allocate(newCapacity);
     buffer.flip();
     newBuffer.put(buffer);
+    if (pool != null)
+    {
+      pool.release(buffer);
+    }
     buffer = newBuffer;
   }
 
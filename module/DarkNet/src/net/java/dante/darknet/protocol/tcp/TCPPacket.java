@@ -6,8 +6,11 @@
 
 package net.java.dante.darknet.protocol.tcp;
 
+import java.nio.ByteBuffer;
+
 import net.java.dante.darknet.common.PrimitivesSizes;
 import net.java.dante.darknet.messaging.NetworkMessage;
+import net.java.dante.darknet.protocol.packet.BuffersPool;
 import net.java.dante.darknet.protocol.packet.Packet;
 
 
@@ -38,6 +41,12 @@ public class TCPPacket extends Packet
   
   /** Size of packet data entries. */
   public static final int PACKET_DATA_SIZE = 16;
+
+  /**
+   * Offset of this packet's contents in its buffer - non-zero only for
+   * packets viewing frames stored in shared buffers.
+   */
+  private int baseOffset = 0;
   
   /**
    * Creates packet specific for TCP protocol with specified unique 
@@ -84,6 +93,74 @@ public class TCPPacket extends Packet
     
     buffer.position(USER_DATA_OFFSET);
   }
+
+  /**
+   * Creates packet specific for TCP protocol with specified unique
+   * identifier of {@link NetworkMessage} subclass, which buffer with
+   * space for at least specified number of user data bytes is acquired
+   * from specified {@link BuffersPool}.
+   *
+   * @param messageSubclassID - unique identifier of {@link NetworkMessage} subclass.
+   * @param userDataSize - expected number of user data bytes.
+   * @param buffersPool - pool providing buffers for this packet.
+   *
+   * @throws IllegalArgumentException if message subclass identifier or
+   *         user data size are negative integers.
+   */
+  public TCPPacket(int messageSubclassID, int userDataSize, BuffersPool buffersPool)
+  {
+    super(messageSubclassID, PACKET_DATA_SIZE + userDataSize, buffersPool);
+
+    buffer.position(USER_DATA_OFFSET);
+  }
+
+  /**
+   * Creates packet specific for TCP protocol without own contents. It must
+   * be attached to frame stored in other buffer by
+   * {@link #wrap(ByteBuffer, int, int)} before use.
+   */
+  TCPPacket()
+  {
+    super(0, 0, 0);
+  }
+
+  /**
+   * Attaches this packet to the frame stored in the specified buffer, without
+   * copying it. Subclass identifier and time stamp are read from the frame,
+   * buffer's limit and position are set to the end of the frame.
+   *
+   * @param frames - buffer containing frame.
+   * @param frameOffset - offset of the frame (of its length field).
+   * @param frameLength - length of the frame, including its length field.
+   */
+  void wrap(ByteBuffer frames, int frameOffset, int frameLength)
+  {
+    frames.limit(frameOffset + frameLength);
+    frames.position(frameOffset + frameLength);
+
+    buffer     = frames;
+    baseOffset = frameOffset;
+    subclassId = frames.getInt(frameOffset + TYPE_OFFSET);
+    timestamp  = frames.getLong(frameOffset + TIMESTAMP_OFFSET);
+  }
+
+  /**
+   * Creates copy of this packet with its own buffer. Position and limit
+   * of created packet's buffer are set to the end of packet's contents.
+   *
+   * @return Returns copy of this packet.
+   */
+  TCPPacket copy()
+  {
+    ByteBuffer frame = buffer.duplicate();
+    frame.position(baseOffset);
+
+    TCPPacket packet = new TCPPacket(subclassId, frame.remaining(), timestamp);
+    packet.buffer.clear();
+    packet.buffer.put(frame);
+
+    return packet;
+  }
   
   /** 
    * @see net.java.dante.darknet.protocol.packet.Packet#rewind()
@@ -91,7 +168,7 @@ public class TCPPacket extends Packet
   @Override
   public void rewind()
   {
-    buffer.position(USER_DATA_OFFSET);
+    buffer.position(baseOffset + USER_DATA_OFFSET);
   }
 
   /** 
@@ -100,10 +177,10 @@ public class TCPPacket extends Packet
   @Override
   public void updatePacketData()
   {
-    int length = buffer.limit() - PrimitivesSizes.INT_SIZE;
-    buffer.putInt(LENGTH_OFFSET, length);
-    buffer.putInt(TYPE_OFFSET, getSubclassId());
-    buffer.putLong(TIMESTAMP_OFFSET, getTimestamp());
+    int length = buffer.limit() - baseOffset - PrimitivesSizes.INT_SIZE;
+    buffer.putInt(baseOffset + LENGTH_OFFSET, length);
+    buffer.putInt(baseOffset + TYPE_OFFSET, getSubclassId());
+    buffer.putLong(baseOffset + TIMESTAMP_OFFSET, getTimestamp());
   }
   
   /** 
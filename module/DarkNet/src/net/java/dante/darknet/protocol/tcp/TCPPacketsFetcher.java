@@ -11,12 +11,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import net.java.dante.darknet.common.PrimitivesSizes;
-import net.java.dante.darknet.messaging.NetworkMessage;
 import net.java.dante.darknet.protocol.PacketsFetcher;
+import net.java.dante.darknet.protocol.PacketsListener;
 import net.java.dante.darknet.protocol.packet.Packet;
-import net.java.dante.darknet.util.reader.BytesReader;
-import net.java.dante.darknet.util.reader.IntegerReader;
-import net.java.dante.darknet.util.reader.LongIntegerReader;
 
 
 /**
@@ -25,39 +22,36 @@ import net.java.dante.darknet.util.reader.LongIntegerReader;
  * TCP packets fetcher first reads length of the packet's contents,
  * then reads packet data (subclass identifier and time stamp) and finally reads
  * all other bytes as user data.
+ * <p>
+ * Frames which are entirely contained by fetched buffer are passed to
+ * {@link PacketsListener} directly from this buffer, without copying.
+ * Only frames split between subsequent buffers are copied to reassembly
+ * buffer, which is reused for all split frames.
  *
  * @author M.Olszewski
  */
 public class TCPPacketsFetcher implements PacketsFetcher
 {
-  /**
-   * Enumeration specifying set of possible read subjects: length of the packet,
-   * packet's data (subclass identifier, time stamp) and user's specific data.
-   *
-   * @author M.Olszewski
-   */
-  private enum ReadSubject
-  {
-    /** Indicates that currently length of the packet is read. */
-    READ_LENGTH,
-    /** Indicates that currently packet's data is read. */
-    READ_PACKET_DATA,
-    /** Indicates that currently user's specific data is read. */
-    READ_USER_DATA;
-  }
-
-  /** Subject currently read by this {@link PacketsFetcher}. */
-  private ReadSubject subject = ReadSubject.READ_LENGTH;
-  /** List holding all fetched packets. */
-  private List<Packet> fetchedPackets = new ArrayList<Packet>();
-  /** Variable holding so far read packet's content. */
-  private TCPPacketContent packetContent = new TCPPacketContent();
+  /** Initial capacity of reassembly buffer. */
+  private static final int INITIAL_REASSEMBLY_CAPACITY = 1024;
   /**
    * If no packet was fetched, reference to this array is returned.
    * This array does not contain any packet.
    */
   private static final Packet[] ZERO_PACKETS = new Packet[0];
 
+  /** Buffer holding so far read part of frame split between buffers. */
+  private ByteBuffer reassembly = ByteBuffer.allocate(INITIAL_REASSEMBLY_CAPACITY);
+  /**
+   * Length of frame held by {@link #reassembly} buffer (including length
+   * field) or <code>-1</code> if its length field was not read yet.
+   */
+  private int reassemblyLength = -1;
+  /** Packet passed to listeners - it is attached to each fetched frame. */
+  private TCPPacket view = new TCPPacket();
+  /** Listener collecting copies of fetched packets for {@link #fetch(ByteBuffer)}. */
+  private PacketsCollector collector = new PacketsCollector();
+
   /**
    * Constructs packets fetcher specific for TCP.
    */
@@ -73,203 +67,154 @@ public class TCPPacketsFetcher implements PacketsFetcher
   {
     Packet[] packets = ZERO_PACKETS;
 
+    fetch(buffer, collector);
+
+    if (!collector.packets.isEmpty())
+    {
+      packets = collector.packets.toArray(new Packet[collector.packets.size()]);
+      collector.packets.clear();
+    }
+
+    return packets;
+  }
+
+  /**
+   * @see net.java.dante.darknet.protocol.PacketsFetcher#fetch(java.nio.ByteBuffer, net.java.dante.darknet.protocol.PacketsListener)
+   */
+  public synchronized void fetch(ByteBuffer buffer, PacketsListener listener)
+  {
+    if (listener == null)
+    {
+      throw new NullPointerException("Specified listener is null!");
+    }
+
     // prepare to read - if not prepared
     if ((buffer.position() != 0) && (buffer.position() == buffer.limit()))
     {
       buffer.flip();
     }
 
+    ByteBuffer frames = null;
+    int limit = buffer.limit();
+
     while (buffer.hasRemaining())
     {
-      switch(subject)
+      int position = buffer.position();
+      int remaining = limit - position;
+      int frameLength = -1;
+
+      if ((reassembly.position() == 0) && (remaining >= PrimitivesSizes.INT_SIZE))
       {
-        case READ_LENGTH:
-        {
-          if (packetContent.readLength(buffer))
-          {
-            subject = ReadSubject.READ_PACKET_DATA;
-          }
-          break;
-        }
-        case READ_PACKET_DATA:
-        {
-          if (packetContent.readSubclassId(buffer))
-          {
-            if (packetContent.readTimestamp(buffer))
-            {
-              if (packetContent.prepareUserDataReader())
-              {
-                subject = ReadSubject.READ_USER_DATA;
-              }
-              else
-              {
-                subject = ReadSubject.READ_LENGTH;
-                Packet p = packetContent.generatePacket();
-                fetchedPackets.add(p);
-              }
-            }
-          }
-          break;
-        }
-        case READ_USER_DATA:
+        frameLength = readFrameLength(buffer.getInt(position));
+      }
+
+      if ((frameLength > 0) && (remaining >= frameLength))
+      {
+        // Whole frame is available - pass it without copying
+        if (frames == null)
         {
-          if (packetContent.readUserData(buffer))
-          {
-            Packet p = packetContent.generatePacket();
-            fetchedPackets.add(p);
-            subject = ReadSubject.READ_LENGTH;
-          }
-          break;
+          frames = buffer.duplicate();
         }
+        view.wrap(frames, position, frameLength);
+        buffer.position(position + frameLength);
+        listener.packetFetched(view);
+      }
+      else
+      {
+        reassemble(buffer, listener);
       }
     }
-
-    if (!fetchedPackets.isEmpty())
-    {
-      packets = fetchedPackets.toArray(new Packet[0]);
-      fetchedPackets.clear();
-    }
-
-    return packets;
   }
 
   /**
-   * Class representing content of the TCP packet. Content is divined into four
-   * fields:
-   * <ul>
-   * <li>length of whole TCP packet's contents,
-   * <li>{@link NetworkMessage} subclass identifier,
-   * <li>time stamp,
-   * <li>user-specific data.
-   * </ul>
+   * Copies bytes from the specified buffer to reassembly buffer - up to the
+   * end of currently reassembled frame. If frame is complete, it is passed
+   * to the specified listener.
    *
-   * <p>
-   * Class provides handy methods to read listed fields. After reading all
-   * packet's content, {@link #generatePacket()} method should be invoked
-   * to generate {@link TCPPacket} object.
-   *
-   * @author M.Olszewski
+   * @param buffer - buffer with bytes of reassembled frame.
+   * @param listener - listener notified about reassembled packet.
    */
-  final class TCPPacketContent
+  private void reassemble(ByteBuffer buffer, PacketsListener listener)
   {
-    /** Reads length of the packet's contents. */
-    private IntegerReader lengthReader = new IntegerReader();
-    /** Reads {@link NetworkMessage} subclass identifier. */
-    private IntegerReader subClassIdReader = new IntegerReader();
-    /** Reads packet's time stamp. */
-    LongIntegerReader timestampReader = new LongIntegerReader();
-    /**
-     * Reads user data. It is set to <code>null</code> until other fields are
-     * not read successfully.
-     */
-    BytesReader userDataReader = null;
+    int required = ((reassemblyLength < 0)? PrimitivesSizes.INT_SIZE : reassemblyLength) -
+                   reassembly.position();
+    int copied = Math.min(required, buffer.remaining());
 
-    /**
-     * Reads length of the packet's contents.
-     *
-     * @param buffer - buffer containing length.
-     *
-     * @return Returns <code>true</code> if length was read, <code>false</code>
-     *         otherwise.
-     */
-    boolean readLength(ByteBuffer buffer)
-    {
-      return lengthReader.readBytes(buffer);
-    }
+    int limit = buffer.limit();
+    buffer.limit(buffer.position() + copied);
+    reassembly.put(buffer);
+    buffer.limit(limit);
 
-    /**
-     * Reads {@link NetworkMessage} subclass identifier.
-     *
-     * @param buffer - buffer containing subclass identifier.
-     *
-     * @return Returns <code>true</code> if subclass identifier was read,
-     *         <code>false</code> otherwise.
-     */
-    boolean readSubclassId(ByteBuffer buffer)
+    if ((reassemblyLength < 0) && (reassembly.position() == PrimitivesSizes.INT_SIZE))
     {
-      return subClassIdReader.readBytes(buffer);
+      reassemblyLength = readFrameLength(reassembly.getInt(0));
+      ensureReassemblyCapacity(reassemblyLength);
     }
 
-    /**
-     * Reads packet's time stamp.
-     *
-     * @param buffer - buffer containing time stamp.
-     *
-     * @return Returns <code>true</code> if time stamp was read, <code>false</code>
-     *         otherwise.
-     */
-    boolean readTimestamp(ByteBuffer buffer)
+    if (reassembly.position() == reassemblyLength)
     {
-      return timestampReader.readBytes(buffer);
-    }
+      view.wrap(reassembly, 0, reassemblyLength);
+      listener.packetFetched(view);
 
-    /**
-     * Reads user-specific data.
-     *
-     * @param buffer - buffer containing user data.
-     *
-     * @return Returns <code>true</code> if user data was read, <code>false</code>
-     *         otherwise.
-     */
-    boolean readUserData(ByteBuffer buffer)
-    {
-      return userDataReader.readBytes(buffer);
+      reassembly.clear();
+      reassemblyLength = -1;
     }
+  }
 
-    /**
-     * Prepares user data reader, so it could read appropriate number of
-     * bytes representing user data from {@link ByteBuffer}.
-     *
-     * @return Returns value indicating whether there is any user specific
-     *         data to read.
-     */
-    boolean prepareUserDataReader()
+  /**
+   * Ensures that reassembly buffer can hold frame with specified length.
+   * Already copied bytes are preserved.
+   *
+   * @param frameLength - length of frame.
+   */
+  private void ensureReassemblyCapacity(int frameLength)
+  {
+    if (reassembly.capacity() < frameLength)
     {
-      int realLength = lengthReader.getInt();
-      int toRead = realLength - PrimitivesSizes.INT_SIZE - PrimitivesSizes.LONG_SIZE;
-      if (toRead > 0)
-      {
-        userDataReader = new BytesReader(toRead);
-      }
-
-      return (toRead > 0);
+      ByteBuffer enlarged = ByteBuffer.allocate(Math.max(frameLength, reassembly.capacity() << 1));
+      reassembly.flip();
+      enlarged.put(reassembly);
+      reassembly = enlarged;
     }
+  }
 
-    /**
-     * Resets contents of all fields, especially setting {@link #userDataReader}
-     * to <code>null</code>.
-     */
-    void reset()
+  /**
+   * Converts value of frame's length field into length of whole frame.
+   *
+   * @param lengthField - value of frame's length field.
+   *
+   * @return Returns length of whole frame, including its length field.
+   *
+   * @throws IllegalStateException if length is lesser than size of
+   *         packet data entries.
+   */
+  private static int readFrameLength(int lengthField)
+  {
+    int frameLength = lengthField + PrimitivesSizes.INT_SIZE;
+    if ((lengthField < 0) || (frameLength < TCPPacket.PACKET_DATA_SIZE))
     {
-      lengthReader.reset();
-      subClassIdReader.reset();
-      timestampReader.reset();
-      userDataReader = null;
+      throw new IllegalStateException("Invalid packet length: " + lengthField + "!");
     }
+    return frameLength;
+  }
+
+
+  /**
+   * Listener collecting copies of all fetched packets.
+   *
+   * @author M.Olszewski
+   */
+  private static class PacketsCollector implements PacketsListener
+  {
+    /** Copies of fetched packets. */
+    final List<Packet> packets = new ArrayList<Packet>();
 
     /**
-     * Method called after successful read of all fields. It generates
-     * {@link TCPPacket} object containing all read data.
-     *
-     * @return Returns new {@link TCPPacket} object containing all read data.
+     * @see net.java.dante.darknet.protocol.PacketsListener#packetFetched(net.java.dante.darknet.protocol.packet.Packet)
      */
-    Packet generatePacket()
+    public void packetFetched(Packet packet)
     {
-      int length = lengthReader.getInt() + PrimitivesSizes.INT_SIZE;
-      int subclassId = subClassIdReader.getInt();
-      long timestamp = timestampReader.getLong();
-
-      Packet p = new TCPPacket(subclassId, length, timestamp);
-
-      if (userDataReader != null)
-      {
-        byte[] userData = userDataReader.getBytes();
-        p.write(userData);
-      }
-
-      reset();
-
-      return p;
+      packets.add(((TCPPacket)packet).copy());
     }
   }
-}
\ No newline at end of file
+}
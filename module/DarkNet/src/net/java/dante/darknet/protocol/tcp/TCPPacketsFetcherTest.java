@@ -12,6 +12,7 @@ import java.util.List;
 
 import net.java.dante.darknet.common.PrimitivesSizes;
 import net.java.dante.darknet.protocol.PacketsFetcher;
+import net.java.dante.darknet.protocol.PacketsListener;
 import net.java.dante.darknet.protocol.packet.Packet;
 import net.java.dante.darknet.util.RandomGenerator;
 
@@ -281,6 +282,73 @@ public class TCPPacketsFetcherTest extends TestCase
     }
   }
   
+  /**
+   * Test for {@link TCPPacketsFetcher#fetch(ByteBuffer, PacketsListener)}
+   * method: creates random {@link TCPPacket} objects (some of them larger
+   * than initial reassembly buffer), writes all of them to one big
+   * {@link ByteBuffer} object, splits it into chunks with random sizes and
+   * fetches packets from each chunk. Contents of packets passed to listener
+   * are compared with randomly generated ones.
+   */
+  public void testFetchListener()
+  {
+    TCPPacket[] packets = new TCPPacket[RandomGenerator.randomInt(10, 100)];
+    int totalSize = 0;
+    for (int i = 0; i < packets.length; i++)
+    {
+      int bufferSize = RandomGenerator.randomInt(TCPPacket.PACKET_DATA_SIZE, 4096);
+      packets[i] = new TCPPacket(i, bufferSize, System.currentTimeMillis() + i);
+      packets[i].write(RandomGenerator.randomBytes(bufferSize - TCPPacket.PACKET_DATA_SIZE));
+      packets[i].updatePacketData();
+      packets[i].getBuffer().flip();
+      totalSize += bufferSize;
+    }
+
+    ByteBuffer bigBuffer = ByteBuffer.allocate(totalSize);
+    for (int i = 0; i < packets.length; i++)
+    {
+      bigBuffer.put(packets[i].getBuffer().duplicate());
+    }
+    bigBuffer.flip();
+
+    final List<ByteBuffer> obtainedList = new ArrayList<ByteBuffer>(packets.length);
+    PacketsListener listener = new PacketsListener()
+    {
+      public void packetFetched(Packet packet)
+      {
+        ByteBuffer contents = ByteBuffer.allocate(packet.getBuffer().limit());
+        packet.rewind();
+        contents.position(TCPPacket.PACKET_DATA_SIZE);
+        contents.put(packet.getBuffer());
+        contents.putInt(0, packet.getSubclassId());
+        contents.putLong(PrimitivesSizes.INT_SIZE, packet.getTimestamp());
+        contents.flip();
+        obtainedList.add(contents);
+      }
+    };
+
+    PacketsFetcher fetcher = new TCPPacketsFetcher();
+    while (bigBuffer.hasRemaining())
+    {
+      int chunkSize = Math.min(RandomGenerator.randomInt(1, 6000), bigBuffer.remaining());
+      byte[] chunk = new byte[chunkSize];
+      bigBuffer.get(chunk);
+      fetcher.fetch(ByteBuffer.wrap(chunk), listener);
+    }
+
+    assertEquals(packets.length, obtainedList.size());
+    for (int i = 0; i < packets.length; i++)
+    {
+      ByteBuffer expected = packets[i].getBuffer();
+      ByteBuffer obtained = obtainedList.get(i);
+      assertEquals(expected.getInt(4), obtained.getInt(0));
+      assertEquals(expected.getLong(8), obtained.getLong(PrimitivesSizes.INT_SIZE));
+      expected.position(TCPPacket.PACKET_DATA_SIZE);
+      obtained.position(TCPPacket.PACKET_DATA_SIZE);
+      assertEquals(expected, obtained);
+    }
+  }
+
   /**
    * Creates and returns custom test suite containing e.g. repeated tests.
    *  
@@ -293,6 +361,7 @@ public class TCPPacketsFetcherTest extends TestCase
     mySuite.addTest(new TCPPacketsFetcherTest("testFetchTwoBuffers"));
     mySuite .addTest(new TCPPacketsFetcherTest("testFetchTwoPacketsSeparatedLength"));
     mySuite.addTest(new RepeatedTest(new TCPPacketsFetcherTest("testFetch"), 100));
+    mySuite.addTest(new RepeatedTest(new TCPPacketsFetcherTest("testFetchListener"), 100));
     return mySuite;
   }
 
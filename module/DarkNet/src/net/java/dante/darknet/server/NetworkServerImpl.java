@@ -79,7 +79,7 @@ class NetworkServerImpl implements NetworkServer
   private void configure0(ServerConfig serverConfig)
   {
     config = serverConfig;
-    msgSystem = NetworkMessagingSystemFactory.getInstance().createMessagingSystem(config.getProtocol());
+    msgSystem = NetworkMessagingSystemFactory.getInstance().createMessagingSystem(config.getProtocol(), config.getOutputBuffers());
   }
 
   /**
@@ -84,4 +84,37 @@ public interface Session
    * @return Returns number of bytes received using this {@link Session}.
    */
   public long getReceivedBytesCount();
+
+  /**
+   * Gets value of the specified attribute of this {@link Session}.
+   * Attributes hold state of single connection, so they are discarded
+   * together with this {@link Session}.
+   *
+   * @param key - attribute's key.
+   *
+   * @return Returns value of the specified attribute or <code>null</code>
+   *         if this {@link Session} has no such attribute.
+   */
+  public Object getAttribute(String key);
+
+  /**
+   * Sets value of the specified attribute of this {@link Session}.
+   *
+   * @param key - attribute's key.
+   * @param value - attribute's new value.
+   *
+   * @return Returns previous value of the specified attribute or
+   *         <code>null</code> if this {@link Session} had no such attribute.
+   */
+  public Object setAttribute(String key, Object value);
+
+  /**
+   * Removes the specified attribute of this {@link Session}.
+   *
+   * @param key - attribute's key.
+   *
+   * @return Returns removed value of the specified attribute or
+   *         <code>null</code> if this {@link Session} had no such attribute.
+   */
+  public Object removeAttribute(String key);
 }
\ No newline at end of file
@@ -7,6 +7,7 @@
 package net.java.dante.darknet.test;
 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -79,7 +80,9 @@ public class SimpleNetMessagesTester implements NetMessagesTester
   private void test0()
   {
     Set<Class<? extends NetworkMessage>> registeredClasses = new HashSet<Class<? extends NetworkMessage>>();
-    Set<NetworkMessage> messages = new HashSet<NetworkMessage>();
+    // Messages are sent in provided order - decoding of some messages
+    // depends on messages received earlier by the same session
+    Set<NetworkMessage> messages = new LinkedHashSet<NetworkMessage>();
     int classId = 101;
 
     for (MessagesProvider provider : providers)
@@ -0,0 +1,27 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver;
+
+/**
+ * Interface for receiver messages which can be processed in parallel
+ * with messages having different keys (see {@link ShardedReceiver}).
+ * Messages with equal keys are always processed in order in which they
+ * were posted.
+ *
+ * @author M.Olszewski
+ */
+public interface KeyedReceiverMessage extends ReceiverMessage
+{
+  /**
+   * Gets key of this message.
+   *
+   * @return Returns key of this message or <code>null</code> if this
+   *         message should be processed by control lane, in order with all
+   *         other messages without key.
+   */
+  Object getReceiverKey();
+}
@@ -0,0 +1,148 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of {@link MailboxReceiver} mailbox - current depth and latency
+ * between posting and processing messages. Metrics are updated by
+ * receiver's thread and can be read by any thread.
+ *
+ * @author M.Olszewski
+ */
+public class MailboxMetrics
+{
+  /** Mailbox of which metrics are measured. */
+  private MailboxReceiver mailbox;
+  /** Number of processed messages. */
+  private volatile long processedCount;
+  /** Sum of latencies of processed messages in nanoseconds. */
+  private volatile long totalLatency;
+  /** Maximum latency of processed message in nanoseconds. */
+  private volatile long maxLatency;
+  /** Maximum size of batch of messages taken from mailbox. */
+  private volatile int maxBatchSize;
+  /** Number of messages which did not fit into full mailbox. */
+  private AtomicLong overflowedCount = new AtomicLong();
+
+
+  /**
+   * Creates instance of {@link MailboxMetrics} class.
+   *
+   * @param measuredMailbox - mailbox of which metrics are measured.
+   */
+  MailboxMetrics(MailboxReceiver measuredMailbox)
+  {
+    mailbox = measuredMailbox;
+  }
+
+
+  /**
+   * Records metrics of batch of messages taken from mailbox. This method
+   * must be called only by receiver's thread.
+   *
+   * @param batchSize - number of messages in batch.
+   * @param batchLatency - sum of latencies of messages in batch.
+   * @param batchMaxLatency - maximum latency of message in batch.
+   */
+  void batchTaken(int batchSize, long batchLatency, long batchMaxLatency)
+  {
+    processedCount += batchSize;
+    totalLatency   += batchLatency;
+    if (batchMaxLatency > maxLatency)
+    {
+      maxLatency = batchMaxLatency;
+    }
+    if (batchSize > maxBatchSize)
+    {
+      maxBatchSize = batchSize;
+    }
+  }
+
+  /**
+   * Records message which did not fit into full mailbox and was stored
+   * in overflow queue. This method can be called by any thread.
+   */
+  void messageOverflowed()
+  {
+    overflowedCount.incrementAndGet();
+  }
+
+  /**
+   * Gets number of messages waiting in mailbox.
+   *
+   * @return Returns number of messages waiting in mailbox.
+   */
+  public int getDepth()
+  {
+    return mailbox.getDepth();
+  }
+
+  /**
+   * Gets number of messages taken from mailbox.
+   *
+   * @return Returns number of messages taken from mailbox.
+   */
+  public long getProcessedCount()
+  {
+    return processedCount;
+  }
+
+  /**
+   * Gets average time between posting message and taking it from mailbox.
+   *
+   * @return Returns average latency in nanoseconds.
+   */
+  public long getAverageLatency()
+  {
+    long processed = processedCount;
+    return ((processed > 0)? (totalLatency / processed) : 0);
+  }
+
+  /**
+   * Gets maximum time between posting message and taking it from mailbox.
+   *
+   * @return Returns maximum latency in nanoseconds.
+   */
+  public long getMaxLatency()
+  {
+    return maxLatency;
+  }
+
+  /**
+   * Gets maximum number of messages taken from mailbox at once.
+   *
+   * @return Returns maximum size of batch of messages.
+   */
+  public int getMaxBatchSize()
+  {
+    return maxBatchSize;
+  }
+
+  /**
+   * Gets number of messages which did not fit into full mailbox and were
+   * stored in overflow queue.
+   *
+   * @return Returns number of overflowed messages.
+   */
+  public long getOverflowedCount()
+  {
+    return overflowedCount.get();
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass() + "[depth=" + getDepth() + "; processedCount=" + processedCount +
+        "; averageLatency=" + getAverageLatency() + "; maxLatency=" + maxLatency +
+        "; maxBatchSize=" + maxBatchSize + "; overflowedCount=" + overflowedCount + "]");
+  }
+}
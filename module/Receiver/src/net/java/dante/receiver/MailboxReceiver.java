@@ -0,0 +1,475 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implementation of {@link Receiver} interface delivering messages for
+ * {@link MessagesProcessor} object in separate thread, like
+ * {@link RunnableReceiver}, but storing posted messages in bounded
+ * lock-free mailbox instead of blocking queue:
+ * <ul>
+ * <li>Posting threads claim slots in ring buffer with compare-and-set
+ *     operation - no lock is taken and no memory is allocated for message.
+ * <li>If mailbox is full, posting threads wait until receiver's thread
+ *     frees some slots, but not longer than {@link #MAX_POST_WAIT_TIME}.
+ *     Messages which still do not fit are stored in unbounded overflow
+ *     queue, so posting never blocks forever - neither receiver's own
+ *     thread (it does not wait at all) nor threads shared by many receivers,
+ *     e.g. thread of {@link net.java.dante.receiver.time.TimerManager}.
+ *     While overflow queue is not empty, all posted messages are stored
+ *     in it, so messages posted by one thread are still processed in order
+ *     in which they were posted.
+ * <li>Receiver's thread takes up to specified number of messages at
+ *     once and frees their slots before processing them.
+ * <li>Receiver's thread waits for messages in empty mailbox using
+ *     specified {@link MailboxWaitStrategy}.
+ * </ul>
+ * Depth of mailbox and latency between posting and processing messages
+ * are measured by {@link MailboxMetrics}.
+ *
+ * @author M.Olszewski
+ */
+public class MailboxReceiver implements Receiver, Runnable
+{
+  /** Default capacity of mailbox. */
+  public static final int DEFAULT_CAPACITY = 1024;
+  /** Default maximum number of messages taken from mailbox at once. */
+  public static final int DEFAULT_BATCH_SIZE = 64;
+
+  /** Maximum time of waiting for free slot in full mailbox, in nanoseconds. */
+  public static final long MAX_POST_WAIT_TIME = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /** Maximum time of parking receiver's thread - guards against missed wake-ups. */
+  private static final long MAX_PARK_TIME = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /** Indicates whether receiver accepts messages. */
+  private AtomicBoolean running = new AtomicBoolean();
+  /** Slots with posted messages. */
+  private AtomicReferenceArray<ReceiverMessage> slots;
+  /** Times of posting messages stored in slots - published by writes to {@link #slots}. */
+  private long[] postTimes;
+  /** Mask of index of slot. */
+  private int mask;
+  /** Sequence number of the next claimed slot. */
+  private AtomicLong tail = new AtomicLong();
+  /** Sequence number of the next slot taken by receiver's thread. */
+  private AtomicLong head = new AtomicLong();
+  /** Messages which did not fit into full mailbox. */
+  private Queue<OverflowedMessage> overflow = new ConcurrentLinkedQueue<OverflowedMessage>();
+  /** Number of messages posted to {@link #overflow} and not taken yet. */
+  private AtomicInteger overflowCount = new AtomicInteger();
+  /** Maximum number of messages taken from mailbox at once. */
+  private int batchSize;
+  /** Strategy of waiting for messages. */
+  private MailboxWaitStrategy waitStrategy;
+  /** Indicates whether receiver's thread is parked or going to park. */
+  private volatile boolean parked;
+  /** Metrics of mailbox. */
+  private MailboxMetrics metrics = new MailboxMetrics(this);
+  /** Custom receiver messages processor. */
+  private MessagesProcessor processor;
+  /** Receiver thread. */
+  private Thread receiverThread;
+
+
+  /**
+   * Creates instance of {@link MailboxReceiver} class with default
+   * capacity, batch size and {@link MailboxWaitStrategy#PARK} strategy.
+   */
+  public MailboxReceiver()
+  {
+    this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, MailboxWaitStrategy.PARK);
+  }
+
+  /**
+   * Creates instance of {@link MailboxReceiver} class with the specified
+   * parameters.
+   *
+   * @param capacity - capacity of mailbox, it must be a power of two.
+   * @param maxBatchSize - maximum number of messages taken from mailbox at once.
+   * @param strategy - strategy of waiting for messages.
+   */
+  public MailboxReceiver(int capacity, int maxBatchSize, MailboxWaitStrategy strategy)
+  {
+    if (strategy == null)
+    {
+      throw new NullPointerException("Specified strategy is null!");
+    }
+    if ((capacity <= 0) || ((capacity & (capacity - 1)) != 0))
+    {
+      throw new IllegalArgumentException("Invalid argument capacity - it must be positive power of two!");
+    }
+    if ((maxBatchSize <= 0) || (maxBatchSize > capacity))
+    {
+      throw new IllegalArgumentException("Invalid argument maxBatchSize - it must be positive integer not greater than capacity!");
+    }
+
+    slots        = new AtomicReferenceArray<ReceiverMessage>(capacity);
+    postTimes    = new long[capacity];
+    mask         = capacity - 1;
+    batchSize    = maxBatchSize;
+    waitStrategy = strategy;
+  }
+
+
+  /**
+   * @see net.java.dante.receiver.Receiver#start(net.java.dante.receiver.MessagesProcessor)
+   */
+  public void start(MessagesProcessor messagesProcessor)
+  {
+    if (messagesProcessor == null)
+    {
+      throw new NullPointerException("Specified messagesProcessor is null!");
+    }
+
+    // Set messages processor
+    processor = messagesProcessor;
+    // Create thread - it is published to posting threads by 'running' flag
+    receiverThread = new Thread(this);
+    // Accept messages posted before thread is running
+    running.set(true);
+    // Start thread
+    receiverThread.start();
+  }
+
+  /**
+   * @see net.java.dante.receiver.Receiver#postMessage(net.java.dante.receiver.ReceiverMessage)
+   */
+  public void postMessage(ReceiverMessage message)
+  {
+    if (message == null)
+    {
+      throw new NullPointerException("Specified message is null!");
+    }
+
+    if (running.get())
+    {
+      long sequence = (overflowCount.get() > 0)? -1 : claimSlot();
+      if (sequence >= 0)
+      {
+        int index = (int)sequence & mask;
+        postTimes[index] = System.nanoTime();
+        slots.set(index, message);
+      }
+      else if (running.get())
+      {
+        overflowCount.incrementAndGet();
+        overflow.add(new OverflowedMessage(message, System.nanoTime()));
+        metrics.messageOverflowed();
+      }
+
+      if (parked)
+      {
+        LockSupport.unpark(receiverThread);
+      }
+    }
+  }
+
+  /**
+   * Claims next free slot in mailbox - waits while mailbox is full, but
+   * not longer than {@link #MAX_POST_WAIT_TIME}. Receiver's thread does
+   * not wait at all, because only it can free slots.
+   *
+   * @return Returns sequence number of claimed slot or <code>-1</code>
+   *         if no slot was claimed.
+   */
+  private long claimSlot()
+  {
+    boolean mayWait = (Thread.currentThread() != receiverThread);
+    long waitEnd = 0;
+    long sequence = -1;
+    boolean claimed = false;
+    while (!claimed && running.get())
+    {
+      sequence = tail.get();
+      if (sequence - head.get() > mask)
+      {
+        // Mailbox is full - let receiver's thread free some slots
+        if (!mayWait)
+        {
+          break;
+        }
+        if (waitEnd == 0)
+        {
+          waitEnd = System.nanoTime() + MAX_POST_WAIT_TIME;
+        }
+        else if (System.nanoTime() - waitEnd >= 0)
+        {
+          break;
+        }
+        Thread.yield();
+      }
+      else
+      {
+        claimed = tail.compareAndSet(sequence, sequence + 1);
+      }
+    }
+    return (claimed? sequence : -1);
+  }
+
+  /**
+   * Gets number of messages waiting in mailbox.
+   *
+   * @return Returns number of messages waiting in mailbox.
+   */
+  int getDepth()
+  {
+    return (int)Math.max(0, tail.get() - head.get()) + overflowCount.get();
+  }
+
+  /**
+   * Gets metrics of this receiver's mailbox.
+   *
+   * @return Returns metrics of mailbox.
+   */
+  public MailboxMetrics getMetrics()
+  {
+    return metrics;
+  }
+
+  /**
+   * Stops receiver's thread and discards messages waiting in mailbox.
+   *
+   * @see net.java.dante.receiver.Receiver#dispose(boolean)
+   */
+  public void dispose(boolean wait)
+  {
+    // Perform disposal only once
+    if (running.getAndSet(false))
+    {
+      LockSupport.unpark(receiverThread);
+
+      if (wait && (Thread.currentThread() != receiverThread))
+      {
+        // Wait for thread to finish
+        try
+        {
+          receiverThread.join();
+        }
+        catch (InterruptedException e)
+        {
+          e.printStackTrace();
+        }
+      }
+    }
+  }
+
+  /**
+   * @see java.lang.Runnable#run()
+   */
+  public void run()
+  {
+    ReceiverMessage[] batch = new ReceiverMessage[batchSize];
+
+    while (running.get())
+    {
+      int taken = takeBatch(batch);
+      if (taken == 0)
+      {
+        taken = takeOverflowedBatch(batch);
+      }
+      if (taken > 0)
+      {
+        for (int i = 0; (i < taken) && running.get(); i++)
+        {
+          process(batch[i]);
+          batch[i] = null;
+        }
+      }
+      else
+      {
+        waitForMessages();
+      }
+    }
+  }
+
+  /**
+   * Takes up to {@link #batchSize} messages from mailbox and frees their
+   * slots.
+   *
+   * @param batch - array to which taken messages are stored.
+   *
+   * @return Returns number of taken messages.
+   */
+  private int takeBatch(ReceiverMessage[] batch)
+  {
+    long first = head.get();
+    long now = System.nanoTime();
+    long batchLatency = 0;
+    long batchMaxLatency = 0;
+
+    int taken = 0;
+    while (taken < batch.length)
+    {
+      int index = (int)(first + taken) & mask;
+      ReceiverMessage message = slots.get(index);
+      if (message == null)
+      {
+        break;
+      }
+
+      long latency = now - postTimes[index];
+      batchLatency += latency;
+      batchMaxLatency = Math.max(batchMaxLatency, latency);
+
+      batch[taken] = message;
+      slots.set(index, null);
+      taken++;
+    }
+
+    if (taken > 0)
+    {
+      head.set(first + taken);
+      metrics.batchTaken(taken, batchLatency, batchMaxLatency);
+    }
+
+    return taken;
+  }
+
+  /**
+   * Takes up to {@link #batchSize} messages from overflow queue. It must be
+   * called only when mailbox is empty - messages stored in mailbox were
+   * posted before messages from overflow queue.
+   *
+   * @param batch - array to which taken messages are stored.
+   *
+   * @return Returns number of taken messages.
+   */
+  private int takeOverflowedBatch(ReceiverMessage[] batch)
+  {
+    long now = System.nanoTime();
+    long batchLatency = 0;
+    long batchMaxLatency = 0;
+
+    int taken = 0;
+    while (taken < batch.length)
+    {
+      OverflowedMessage overflowed = overflow.poll();
+      if (overflowed == null)
+      {
+        break;
+      }
+
+      long latency = now - overflowed.postTime;
+      batchLatency += latency;
+      batchMaxLatency = Math.max(batchMaxLatency, latency);
+
+      batch[taken] = overflowed.message;
+      taken++;
+    }
+
+    if (taken > 0)
+    {
+      overflowCount.addAndGet(-taken);
+      metrics.batchTaken(taken, batchLatency, batchMaxLatency);
+    }
+
+    return taken;
+  }
+
+  /**
+   * Waits for messages using {@link #waitStrategy}.
+   */
+  private void waitForMessages()
+  {
+    switch (waitStrategy)
+    {
+      case SPIN:
+      {
+        // Intentionally left empty.
+        break;
+      }
+      case YIELD:
+      {
+        Thread.yield();
+        break;
+      }
+      case PARK:
+      {
+        parked = true;
+        // Message could be posted before flag was set
+        if ((slots.get((int)head.get() & mask) == null) && overflow.isEmpty())
+        {
+          LockSupport.parkNanos(this, MAX_PARK_TIME);
+        }
+        parked = false;
+        break;
+      }
+    }
+  }
+
+  /**
+   * Processes the specified message.
+   *
+   * @param message - the specified message.
+   */
+  private void process(ReceiverMessage message)
+  {
+    try
+    {
+      processor.processMessage(message);
+    }
+    catch (Throwable e1)
+    {
+      try
+      {
+        // Send notification about exception to messages processor
+        processor.processMessage(new MessageProcessingExceptionMessage(e1));
+      }
+      catch (Throwable e2)
+      {
+        // Intentionally left empty.
+      }
+    }
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass() + "[capacity=" + slots.length() + "; batchSize=" + batchSize +
+        "; waitStrategy=" + waitStrategy + "]");
+  }
+
+
+  /**
+   * Message which did not fit into full mailbox, with time of posting it.
+   *
+   * @author M.Olszewski
+   */
+  private static class OverflowedMessage
+  {
+    /** Posted message. */
+    final ReceiverMessage message;
+    /** Time of posting message, in nanoseconds. */
+    final long postTime;
+
+
+    /**
+     * Creates instance of {@link OverflowedMessage} class.
+     *
+     * @param postedMessage - posted message.
+     * @param messagePostTime - time of posting message, in nanoseconds.
+     */
+    OverflowedMessage(ReceiverMessage postedMessage, long messagePostTime)
+    {
+      message  = postedMessage;
+      postTime = messagePostTime;
+    }
+  }
+}
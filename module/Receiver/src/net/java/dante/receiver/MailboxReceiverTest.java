@@ -0,0 +1,295 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link MailboxReceiver} class.
+ *
+ * @author M.Olszewski
+ */
+public class MailboxReceiverTest extends TestCase
+{
+  /** Number of posting threads. */
+  private static final int PRODUCERS_COUNT = 4;
+  /** Number of messages posted by each thread. */
+  private static final int MESSAGES_PER_PRODUCER = 20000;
+
+
+  /**
+   * Test method for {@link MailboxReceiver#postMessage(ReceiverMessage)}
+   * with all wait strategies. All messages must be processed by one thread,
+   * messages posted by one thread must be processed in order in which
+   * they were posted, even if mailbox is full.
+   *
+   * @throws InterruptedException if test was interrupted.
+   */
+  public void testPostMessage() throws InterruptedException
+  {
+    for (MailboxWaitStrategy strategy : MailboxWaitStrategy.values())
+    {
+      MailboxReceiver receiver = new MailboxReceiver(64, 16, strategy);
+      OrderCheckingProcessor processor = new OrderCheckingProcessor();
+      receiver.start(processor);
+
+      Thread[] producers = new Thread[PRODUCERS_COUNT];
+      for (int i = 0; i < producers.length; i++)
+      {
+        producers[i] = new ProducerThread(receiver, i);
+        producers[i].start();
+      }
+      for (int i = 0; i < producers.length; i++)
+      {
+        producers[i].join();
+      }
+
+      assertTrue(strategy.toString(), processor.processed.await(30, TimeUnit.SECONDS));
+      assertNull(strategy.toString(), processor.failure);
+
+      MailboxMetrics metrics = receiver.getMetrics();
+      assertEquals(PRODUCERS_COUNT * MESSAGES_PER_PRODUCER, metrics.getProcessedCount());
+      assertEquals(0, metrics.getDepth());
+      assertTrue(metrics.getMaxBatchSize() <= 16);
+      assertTrue(metrics.getMaxLatency() >= metrics.getAverageLatency());
+
+      receiver.dispose(true);
+    }
+  }
+
+  /**
+   * Test method for {@link MailboxReceiver#dispose(boolean)} - messages
+   * posted after disposal must be ignored, also when mailbox is full.
+   */
+  public void testDispose()
+  {
+    final CountDownLatch blocked = new CountDownLatch(1);
+    MailboxReceiver receiver = new MailboxReceiver(4, 4, MailboxWaitStrategy.PARK);
+    receiver.start(new MessagesProcessor()
+    {
+      /**
+       * @see net.java.dante.receiver.MessagesProcessor#processMessage(net.java.dante.receiver.ReceiverMessage)
+       */
+      public void processMessage(ReceiverMessage message)
+      {
+        try
+        {
+          blocked.await();
+        }
+        catch (InterruptedException e)
+        {
+          // Intentionally left empty.
+        }
+      }
+    });
+
+    for (int i = 0; i < 5; i++)
+    {
+      receiver.postMessage(new TestMessage(0, i));
+    }
+    receiver.dispose(false);
+    blocked.countDown();
+
+    // Mailbox may be full, but posting must not block
+    receiver.postMessage(new TestMessage(0, 5));
+  }
+
+
+  /**
+   * Test method for {@link MailboxReceiver#postMessage(ReceiverMessage)}
+   * with full mailbox - neither receiver's own thread nor other thread
+   * can be blocked forever, messages which do not fit are processed
+   * in order after messages from mailbox.
+   *
+   * @throws InterruptedException if test was interrupted.
+   */
+  public void testOverflow() throws InterruptedException
+  {
+    final int capacity = 4;
+    final int messagesCount = capacity * 8;
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch processed = new CountDownLatch(messagesCount * 2);
+    final int[] expected = new int[2];
+    final String[] failure = new String[1];
+    final MailboxReceiver receiver = new MailboxReceiver(capacity, capacity, MailboxWaitStrategy.PARK);
+    receiver.start(new MessagesProcessor()
+    {
+      /**
+       * @see net.java.dante.receiver.MessagesProcessor#processMessage(net.java.dante.receiver.ReceiverMessage)
+       */
+      public void processMessage(ReceiverMessage message)
+      {
+        TestMessage testMessage = (TestMessage)message;
+        if ((testMessage.producerId == 0) && (testMessage.sequence == 0))
+        {
+          try
+          {
+            blocked.await();
+          }
+          catch (InterruptedException e)
+          {
+            // Intentionally left empty.
+          }
+          // Processor posts messages to its own receiver
+          for (int i = 0; i < messagesCount; i++)
+          {
+            receiver.postMessage(new TestMessage(1, i));
+          }
+        }
+
+        if ((failure[0] == null) && (expected[testMessage.producerId] != testMessage.sequence))
+        {
+          failure[0] = "Producer " + testMessage.producerId + " - expected " +
+              expected[testMessage.producerId] + ", processed " + testMessage.sequence;
+        }
+        expected[testMessage.producerId] = testMessage.sequence + 1;
+        processed.countDown();
+      }
+    });
+
+    // Processor is blocked - mailbox is filled and the rest overflows
+    Thread producer = new Thread()
+    {
+      /**
+       * @see java.lang.Thread#run()
+       */
+      @Override
+      public void run()
+      {
+        for (int i = 0; i < messagesCount; i++)
+        {
+          receiver.postMessage(new TestMessage(0, i));
+        }
+      }
+    };
+    producer.start();
+    producer.join(TimeUnit.SECONDS.toMillis(10));
+    assertFalse("Posting thread is blocked.", producer.isAlive());
+
+    blocked.countDown();
+    assertTrue(processed.await(10, TimeUnit.SECONDS));
+
+    MailboxMetrics metrics = receiver.getMetrics();
+    assertNull(failure[0], failure[0]);
+    assertEquals(0, metrics.getDepth());
+    assertTrue(metrics.getOverflowedCount() > 0);
+
+    receiver.dispose(true);
+  }
+
+
+  /**
+   * Thread posting messages to receiver.
+   *
+   * @author M.Olszewski
+   */
+  private static class ProducerThread extends Thread
+  {
+    /** Receiver of messages. */
+    private Receiver receiver;
+    /** Identifier of this producer. */
+    private int producerId;
+
+
+    /**
+     * Creates instance of {@link ProducerThread} class.
+     *
+     * @param messagesReceiver - receiver of messages.
+     * @param id - identifier of producer.
+     */
+    ProducerThread(Receiver messagesReceiver, int id)
+    {
+      receiver   = messagesReceiver;
+      producerId = id;
+    }
+
+
+    /**
+     * @see java.lang.Thread#run()
+     */
+    @Override
+    public void run()
+    {
+      for (int i = 0; i < MESSAGES_PER_PRODUCER; i++)
+      {
+        receiver.postMessage(new TestMessage(producerId, i));
+      }
+    }
+  }
+
+  /**
+   * Processor checking whether messages of each producer are processed
+   * in order by one thread.
+   *
+   * @author M.Olszewski
+   */
+  private static class OrderCheckingProcessor implements MessagesProcessor
+  {
+    /** Latch counting processed messages. */
+    final CountDownLatch processed = new CountDownLatch(PRODUCERS_COUNT * MESSAGES_PER_PRODUCER);
+    /** Description of first detected failure - <code>null</code> if there was no failure. */
+    volatile String failure;
+    /** Next expected sequence number of each producer. */
+    private int[] expected = new int[PRODUCERS_COUNT];
+    /** Thread processing messages. */
+    private Thread processingThread;
+
+
+    /**
+     * @see net.java.dante.receiver.MessagesProcessor#processMessage(net.java.dante.receiver.ReceiverMessage)
+     */
+    public void processMessage(ReceiverMessage message)
+    {
+      TestMessage testMessage = (TestMessage)message;
+      if (processingThread == null)
+      {
+        processingThread = Thread.currentThread();
+      }
+
+      if ((failure == null) && (processingThread != Thread.currentThread()))
+      {
+        failure = "Message processed by another thread: " + Thread.currentThread();
+      }
+      if ((failure == null) && (expected[testMessage.producerId] != testMessage.sequence))
+      {
+        failure = "Producer " + testMessage.producerId + " - expected " +
+            expected[testMessage.producerId] + ", processed " + testMessage.sequence;
+      }
+      expected[testMessage.producerId] = testMessage.sequence + 1;
+      processed.countDown();
+    }
+  }
+
+  /**
+   * Message posted by test.
+   *
+   * @author M.Olszewski
+   */
+  private static class TestMessage implements ReceiverMessage
+  {
+    /** Identifier of producer. */
+    final int producerId;
+    /** Sequence number of message. */
+    final int sequence;
+
+
+    /**
+     * Creates instance of {@link TestMessage} class.
+     *
+     * @param id - identifier of producer.
+     * @param messageSequence - sequence number of message.
+     */
+    TestMessage(int id, int messageSequence)
+    {
+      producerId = id;
+      sequence   = messageSequence;
+    }
+  }
+}
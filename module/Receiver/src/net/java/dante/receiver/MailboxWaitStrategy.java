@@ -0,0 +1,29 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver;
+
+/**
+ * Enumeration of strategies used by {@link MailboxReceiver} thread waiting
+ * for messages in empty mailbox.
+ *
+ * @author M.Olszewski
+ */
+public enum MailboxWaitStrategy
+{
+  /**
+   * Busy spinning - the lowest latency, but thread occupies whole processor
+   * core all the time.
+   */
+  SPIN,
+  /** Yielding processor to other threads between checks of mailbox. */
+  YIELD,
+  /**
+   * Parking thread until message is posted - the highest latency, but
+   * thread does not use processor while mailbox is empty.
+   */
+  PARK
+}
\ No newline at end of file
@@ -12,7 +12,9 @@ package net.java.dante.receiver;
  * will be processed by the {@link MessagesProcessor} specified in
  * {@link #start(MessagesProcessor)} method and whole processing
  * will be performed in one thread (which means that {@link MessagesProcessor}
- * will receive messages one-by-one).
+ * will receive messages one-by-one). The only exception is
+ * {@link ShardedReceiver}, which processes {@link KeyedReceiverMessage}
+ * messages in several threads.
  *
  * @author M.Olszewski
  */
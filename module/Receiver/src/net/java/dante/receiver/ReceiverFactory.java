@@ -0,0 +1,119 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver;
+
+/**
+ * Factory class delivering implementations of {@link Receiver} interface
+ * processing messages in one thread. Type of created receivers is selected
+ * at startup by system properties:
+ * <ul>
+ * <li>{@link #TYPE_PROPERTY} - name of {@link ReceiverType} constant,
+ *     {@link ReceiverType#QUEUE} by default.
+ * <li>{@link #WAIT_STRATEGY_PROPERTY} - name of {@link MailboxWaitStrategy}
+ *     constant used by {@link MailboxReceiver}, {@link MailboxWaitStrategy#PARK}
+ *     by default.
+ * <li>{@link #CAPACITY_PROPERTY} - capacity of {@link MailboxReceiver}
+ *     mailbox.
+ * <li>{@link #BATCH_SIZE_PROPERTY} - maximum number of messages taken by
+ *     {@link MailboxReceiver} at once.
+ * </ul>
+ *
+ * @author M.Olszewski
+ */
+public class ReceiverFactory
+{
+  /** Name of system property with type of created receivers. */
+  public static final String TYPE_PROPERTY = "dante.receiver.type";
+  /** Name of system property with wait strategy of created mailbox receivers. */
+  public static final String WAIT_STRATEGY_PROPERTY = "dante.receiver.waitStrategy";
+  /** Name of system property with capacity of created mailbox receivers. */
+  public static final String CAPACITY_PROPERTY = "dante.receiver.capacity";
+  /** Name of system property with batch size of created mailbox receivers. */
+  public static final String BATCH_SIZE_PROPERTY = "dante.receiver.batchSize";
+
+  /** The only existing instance of {@link ReceiverFactory}. */
+  private static final ReceiverFactory instance = new ReceiverFactory();
+
+
+  /**
+   * Private constructor - no external class creation, no inheritance.
+   */
+  private ReceiverFactory()
+  {
+    // Intentionally left empty.
+  }
+
+
+  /**
+   * Gets the only instance of this singleton class.
+   *
+   * @return Returns the only instance of this singleton class.
+   */
+  public static ReceiverFactory getInstance()
+  {
+    return instance;
+  }
+
+
+  /**
+   * Creates receiver of type selected by system properties.
+   * Every time this method is invoked, new object is created.
+   *
+   * @return Returns new instance of {@link Receiver} interface implementation.
+   *
+   * @throws IllegalArgumentException if any system property has invalid value.
+   */
+  public Receiver createReceiver()
+  {
+    ReceiverType type = ReceiverType.valueOf(
+        System.getProperty(TYPE_PROPERTY, ReceiverType.QUEUE.name()).toUpperCase());
+    return createReceiver(type);
+  }
+
+  /**
+   * Creates receiver of the specified type. {@link MailboxReceiver} is
+   * configured by system properties.
+   * Every time this method is invoked, new object is created.
+   *
+   * @param type - type of created receiver.
+   *
+   * @return Returns new instance of {@link Receiver} interface implementation.
+   *
+   * @throws IllegalArgumentException if any system property has invalid value.
+   */
+  public Receiver createReceiver(ReceiverType type)
+  {
+    if (type == null)
+    {
+      throw new NullPointerException("Specified type is null!");
+    }
+
+    Receiver receiver = null;
+
+    switch (type)
+    {
+      case QUEUE:
+      {
+        receiver = new RunnableReceiver();
+        break;
+      }
+
+      case MAILBOX:
+      {
+        MailboxWaitStrategy strategy = MailboxWaitStrategy.valueOf(
+            System.getProperty(WAIT_STRATEGY_PROPERTY, MailboxWaitStrategy.PARK.name()).toUpperCase());
+        receiver = new MailboxReceiver(
+            Integer.getInteger(CAPACITY_PROPERTY, MailboxReceiver.DEFAULT_CAPACITY).intValue(),
+            Integer.getInteger(BATCH_SIZE_PROPERTY, MailboxReceiver.DEFAULT_BATCH_SIZE).intValue(),
+            strategy);
+        break;
+      }
+    }
+
+    return receiver;
+  }
+}
@@ -0,0 +1,21 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver;
+
+/**
+ * Enumeration representing types of receivers created by
+ * {@link ReceiverFactory}.
+ *
+ * @author M.Olszewski
+ */
+public enum ReceiverType
+{
+  /** {@link RunnableReceiver} with blocking messages queue. */
+  QUEUE,
+  /** {@link MailboxReceiver} with bounded lock-free mailbox. */
+  MAILBOX
+}
\ No newline at end of file
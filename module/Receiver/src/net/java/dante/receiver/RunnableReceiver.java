@@ -45,6 +45,8 @@ public class RunnableReceiver implements Receiver, Runnable
 
     // Set messages processor
     processor = messagesProcessor;
+    // Accept messages posted before thread is running
+    running.set(true);
     // Create and start thread
     receiverThread = new Thread(this);
     receiverThread.start();
@@ -0,0 +1,114 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver;
+
+/**
+ * Implementation of {@link Receiver} interface processing messages in
+ * several lanes, each one with its own messages queue and thread:
+ * <ul>
+ * <li>Control lane - processes all messages which are not instances of
+ *     {@link KeyedReceiverMessage} or have <code>null</code> key.
+ * <li>Worker lanes - process {@link KeyedReceiverMessage} messages with
+ *     non-<code>null</code> keys. Lane is chosen by hash code of message's
+ *     key, so messages with equal keys are always processed by the same lane.
+ * </ul>
+ * Messages posted to one lane are processed one-by-one, in order in which
+ * they were posted, but messages from different lanes are processed in
+ * parallel - {@link MessagesProcessor} used by this receiver must be
+ * prepared for that. Lanes are created by {@link ReceiverFactory}.
+ *
+ * @author M.Olszewski
+ */
+public class ShardedReceiver implements Receiver
+{
+  /** Control lane. */
+  private Receiver controlLane = ReceiverFactory.getInstance().createReceiver();
+  /** Worker lanes. */
+  private Receiver[] workerLanes;
+
+
+  /**
+   * Creates instance of {@link ShardedReceiver} class with the specified
+   * number of worker lanes.
+   *
+   * @param workerLanesCount - number of worker lanes.
+   */
+  public ShardedReceiver(int workerLanesCount)
+  {
+    if (workerLanesCount <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument workerLanesCount - it must be positive integer!");
+    }
+
+    workerLanes = new Receiver[workerLanesCount];
+    for (int i = 0; i < workerLanesCount; i++)
+    {
+      workerLanes[i] = ReceiverFactory.getInstance().createReceiver();
+    }
+  }
+
+
+  /**
+   * @see net.java.dante.receiver.Receiver#start(net.java.dante.receiver.MessagesProcessor)
+   */
+  public void start(MessagesProcessor messagesProcessor)
+  {
+    if (messagesProcessor == null)
+    {
+      throw new NullPointerException("Specified messagesProcessor is null!");
+    }
+
+    controlLane.start(messagesProcessor);
+    for (int i = 0; i < workerLanes.length; i++)
+    {
+      workerLanes[i].start(messagesProcessor);
+    }
+  }
+
+  /**
+   * @see net.java.dante.receiver.Receiver#postMessage(net.java.dante.receiver.ReceiverMessage)
+   */
+  public void postMessage(ReceiverMessage message)
+  {
+    Receiver lane = controlLane;
+    if (message instanceof KeyedReceiverMessage)
+    {
+      Object key = ((KeyedReceiverMessage)message).getReceiverKey();
+      if (key != null)
+      {
+        lane = workerLanes[(key.hashCode() & Integer.MAX_VALUE) % workerLanes.length];
+      }
+    }
+
+    lane.postMessage(message);
+  }
+
+  /**
+   * Disposes all lanes. Please note that if this method is called within
+   * thread of any lane, it must be called with <code>false</code> argument
+   * or deadlock will occur.
+   *
+   * @see net.java.dante.receiver.Receiver#dispose(boolean)
+   */
+  public void dispose(boolean wait)
+  {
+    for (int i = 0; i < workerLanes.length; i++)
+    {
+      workerLanes[i].dispose(wait);
+    }
+    controlLane.dispose(wait);
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass() + "[workerLanes=" + workerLanes.length + "]");
+  }
+}
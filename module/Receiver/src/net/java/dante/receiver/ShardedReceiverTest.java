@@ -0,0 +1,155 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.AssertionFailedError;
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link ShardedReceiver} class.
+ *
+ * @author M.Olszewski
+ */
+public class ShardedReceiverTest extends TestCase
+{
+  /** Number of keys used by test. */
+  private static final int KEYS_COUNT = 8;
+  /** Number of messages posted for each key. */
+  private static final int MESSAGES_PER_KEY = 500;
+
+
+  /**
+   * Test method for {@link ShardedReceiver#postMessage(ReceiverMessage)}.
+   * Messages with the same key must be processed in order by one thread,
+   * messages without key must be processed by control lane. Failures
+   * detected in processing threads are reported by test's thread.
+   */
+  public void testPostMessage()
+  {
+    final CountDownLatch processed = new CountDownLatch(KEYS_COUNT * MESSAGES_PER_KEY + 1);
+    final Map<Object, List<Integer>> sequences = new HashMap<Object, List<Integer>>();
+    final Map<Object, Thread> threads = new HashMap<Object, Thread>();
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+    Receiver receiver = new ShardedReceiver(3);
+    receiver.start(new MessagesProcessor()
+    {
+      /**
+       * @see net.java.dante.receiver.MessagesProcessor#processMessage(net.java.dante.receiver.ReceiverMessage)
+       */
+      public void processMessage(ReceiverMessage message)
+      {
+        try
+        {
+          Object key = ((TestMessage)message).getReceiverKey();
+          synchronized (sequences)
+          {
+            List<Integer> sequence = sequences.get(key);
+            if (sequence == null)
+            {
+              sequence = new ArrayList<Integer>();
+              sequences.put(key, sequence);
+              threads.put(key, Thread.currentThread());
+            }
+            sequence.add(Integer.valueOf(((TestMessage)message).sequence));
+            assertSame("Key " + key + " processed by another thread.", threads.get(key), Thread.currentThread());
+          }
+        }
+        catch (Throwable e)
+        {
+          // Exceptions thrown here are swallowed by receiver
+          failure.compareAndSet(null, e);
+        }
+        finally
+        {
+          processed.countDown();
+        }
+      }
+    });
+
+    for (int i = 0; i < MESSAGES_PER_KEY; i++)
+    {
+      for (int key = 0; key < KEYS_COUNT; key++)
+      {
+        receiver.postMessage(new TestMessage(Integer.valueOf(key), i));
+      }
+    }
+    receiver.postMessage(new TestMessage(null, 0));
+
+    try
+    {
+      assertTrue(processed.await(30, TimeUnit.SECONDS));
+    }
+    catch (InterruptedException e)
+    {
+      fail("Thread was interrupted - it cannot be!");
+    }
+    receiver.dispose(true);
+
+    if (failure.get() != null)
+    {
+      AssertionFailedError error = new AssertionFailedError("Failure in processing thread: " + failure.get());
+      error.initCause(failure.get());
+      throw error;
+    }
+
+    for (int key = 0; key < KEYS_COUNT; key++)
+    {
+      List<Integer> sequence = sequences.get(Integer.valueOf(key));
+      assertEquals(MESSAGES_PER_KEY, sequence.size());
+      for (int i = 0; i < MESSAGES_PER_KEY; i++)
+      {
+        assertEquals(i, sequence.get(i).intValue());
+      }
+      assertNotSame(threads.get(null), threads.get(Integer.valueOf(key)));
+    }
+    assertNotSame(threads.get(Integer.valueOf(0)), threads.get(Integer.valueOf(1)));
+  }
+
+
+  /**
+   * Keyed message used by test.
+   *
+   * @author M.Olszewski
+   */
+  private static final class TestMessage implements KeyedReceiverMessage
+  {
+    /** Key of this message. */
+    private final Object key;
+    /** Sequence number of this message. */
+    final int sequence;
+
+
+    /**
+     * Creates instance of {@link TestMessage} class.
+     *
+     * @param messageKey - key of this message.
+     * @param sequenceNumber - sequence number of this message.
+     */
+    TestMessage(Object messageKey, int sequenceNumber)
+    {
+      key      = messageKey;
+      sequence = sequenceNumber;
+    }
+
+    /**
+     * @see net.java.dante.receiver.KeyedReceiverMessage#getReceiverKey()
+     */
+    public Object getReceiverKey()
+    {
+      return key;
+    }
+  }
+}
@@ -6,8 +6,11 @@
 
 package net.java.dante.receiver.time;
 
-import java.util.Date;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.java.dante.receiver.Receiver;
 
@@ -15,7 +18,9 @@ import net.java.dante.receiver.Receiver;
 
 /**
  * Timer manager, creating implementation of {@link Timer} interface that
- * sends {@link TimerMessage} messages when they goes off.
+ * sends {@link TimerMessage} messages when they goes off. All timers
+ * are scheduled by one shared daemon thread, so creating, scheduling and
+ * cancelling timers is cheap.
  *
  * @author M.Olszewski
  */
@@ -24,6 +29,15 @@ public class TimerManager
   /** The only existing instance of {@link TimerManager}. */
   private static final TimerManager instance = new TimerManager();
 
+  /** Number of cancelled timers after which cancelled tasks are purged from scheduler. */
+  private static final int PURGE_THRESHOLD = 256;
+
+  /** Scheduler shared by all timers. */
+  private final ScheduledThreadPoolExecutor scheduler =
+      new ScheduledThreadPoolExecutor(1, new TimerThreadFactory());
+  /** Number of timers cancelled since last purge of scheduler. */
+  private final AtomicInteger cancelledCount = new AtomicInteger();
+
 
   /**
    * Private constructor - no external class creation, no inheritance.
@@ -59,8 +73,22 @@ public class TimerManager
   }
 
   /**
-   * Implementation of {@link Timer} interface using {@link java.util.Timer}
-   * class to perform all tasks.
+   * Notifies this manager that scheduled timer was cancelled. Cancelled
+   * tasks are removed from scheduler's queue from time to time, so they
+   * do not pile up when timers are cancelled long before they go off.
+   */
+  void timerCancelled()
+  {
+    if (cancelledCount.incrementAndGet() >= PURGE_THRESHOLD)
+    {
+      cancelledCount.set(0);
+      scheduler.purge();
+    }
+  }
+
+  /**
+   * Implementation of {@link Timer} interface using scheduler shared by
+   * all timers to perform all tasks.
    *
    * @author M.Olszewski
    */
@@ -68,8 +96,10 @@ public class TimerManager
   {
     /** Messages receiver. */
     final Receiver receiver;
-    /** Timer used by this implementation. */
-    private java.util.Timer extTimer;
+    /** Currently scheduled task - <code>null</code> if timer is not scheduled. */
+    private Runnable scheduledTask;
+    /** Future of currently scheduled task - <code>null</code> if timer is not scheduled. */
+    private ScheduledFuture<?> scheduledFuture;
 
 
     /**
@@ -85,13 +115,12 @@ public class TimerManager
     /**
      * @see net.java.dante.receiver.time.Timer#scheduleAfter(long)
      */
-    public void scheduleAfter(long delay)
+    public synchronized void scheduleAfter(long delay)
     {
-      if (extTimer == null)
+      if (scheduledTask == null)
       {
-        extTimer = new java.util.Timer();
-
-        extTimer.schedule(generateTask(), delay);
+        scheduledTask   = generateTask();
+        scheduledFuture = scheduler.schedule(scheduledTask, delay, TimeUnit.MILLISECONDS);
       }
     }
 
@@ -100,46 +129,83 @@ public class TimerManager
      */
     public void scheduleAt(long delay)
     {
-      if (extTimer == null)
-      {
-        extTimer = new java.util.Timer();
-
-        extTimer.schedule(generateTask(), new Date(delay));
-      }
+      scheduleAfter(Math.max(0, delay - System.currentTimeMillis()));
     }
 
     /**
-     * Creates timer task posting message to the specified receiver
+     * Creates task posting message to the specified receiver
      * when timer time went off.
      *
-     * @return Returns created timer task.
+     * @return Returns created task.
      */
-    private TimerTask generateTask()
+    private Runnable generateTask()
     {
-      return new TimerTask() {
+      return new Runnable() {
         /**
-         * @see java.util.TimerTask#run()
+         * @see java.lang.Runnable#run()
          */
-        @Override
         public void run()
         {
-          receiver.postMessage(new TimerMessage(TimerImpl.this));
-
-          TimerImpl.this.cancel();
+          if (fired(this))
+          {
+            receiver.postMessage(new TimerMessage(TimerImpl.this));
+          }
         }
       };
     }
 
+    /**
+     * Marks this timer as not scheduled if the specified task, which
+     * went off, is still scheduled.
+     *
+     * @param task - the specified task.
+     *
+     * @return Returns <code>true</code> if the specified task was scheduled
+     *         and message should be posted, <code>false</code> otherwise.
+     */
+    synchronized boolean fired(Runnable task)
+    {
+      boolean scheduled = (scheduledTask == task);
+      if (scheduled)
+      {
+        scheduledTask   = null;
+        scheduledFuture = null;
+      }
+      return scheduled;
+    }
+
     /**
      * @see net.java.dante.receiver.time.Timer#cancel()
      */
-    public void cancel()
+    public synchronized void cancel()
     {
-      if (extTimer != null)
+      if (scheduledTask != null)
       {
-        extTimer.cancel();
-        extTimer = null;
+        scheduledFuture.cancel(false);
+        scheduledTask   = null;
+        scheduledFuture = null;
+
+        timerCancelled();
       }
     }
   }
+
+
+  /**
+   * Factory of the only daemon thread running all timers.
+   *
+   * @author M.Olszewski
+   */
+  private static class TimerThreadFactory implements ThreadFactory
+  {
+    /**
+     * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+     */
+    public Thread newThread(Runnable runnable)
+    {
+      Thread thread = new Thread(runnable, "TimerManager");
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
 }
\ No newline at end of file
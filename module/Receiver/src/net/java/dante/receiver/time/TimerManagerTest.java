@@ -0,0 +1,99 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.receiver.time;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import net.java.dante.receiver.MessagesProcessor;
+import net.java.dante.receiver.Receiver;
+import net.java.dante.receiver.ReceiverMessage;
+
+/**
+ * Test case for {@link TimerManager} class.
+ *
+ * @author M.Olszewski
+ */
+public class TimerManagerTest extends TestCase
+{
+  /** Messages posted by timers. */
+  BlockingQueue<ReceiverMessage> messages = new LinkedBlockingQueue<ReceiverMessage>();
+  /** Receiver collecting messages posted by timers. */
+  private Receiver receiver = new Receiver()
+  {
+    /**
+     * @see net.java.dante.receiver.Receiver#postMessage(net.java.dante.receiver.ReceiverMessage)
+     */
+    public void postMessage(ReceiverMessage message)
+    {
+      messages.offer(message);
+    }
+
+    /**
+     * @see net.java.dante.receiver.Receiver#start(net.java.dante.receiver.MessagesProcessor)
+     */
+    public void start(MessagesProcessor messagesProcessor)
+    {
+      // Intentionally left empty.
+    }
+
+    /**
+     * @see net.java.dante.receiver.Receiver#dispose(boolean)
+     */
+    public void dispose(boolean quickDispose)
+    {
+      // Intentionally left empty.
+    }
+  };
+
+
+  /**
+   * Test method for {@link Timer#scheduleAfter(long)} - timer must post
+   * exactly one message and it can be scheduled again after it went off.
+   *
+   * @throws InterruptedException if test was interrupted.
+   */
+  public void testScheduleAfter() throws InterruptedException
+  {
+    Timer timer = TimerManager.getInstance().createTimer(receiver);
+    for (int i = 0; i < 3; i++)
+    {
+      timer.scheduleAfter(10);
+      // Already scheduled timer ignores next schedules
+      timer.scheduleAfter(0);
+
+      TimerMessage message = (TimerMessage)messages.poll(5, TimeUnit.SECONDS);
+      assertNotNull(message);
+      assertSame(timer, message.getTimer());
+      assertNull(messages.poll(50, TimeUnit.MILLISECONDS));
+    }
+  }
+
+  /**
+   * Test method for {@link Timer#cancel()} - cancelled timers must not post
+   * any messages.
+   *
+   * @throws InterruptedException if test was interrupted.
+   */
+  public void testCancel() throws InterruptedException
+  {
+    Timer[] timers = new Timer[1000];
+    for (int i = 0; i < timers.length; i++)
+    {
+      timers[i] = TimerManager.getInstance().createTimer(receiver);
+      timers[i].scheduleAfter(200);
+    }
+    for (int i = 0; i < timers.length; i++)
+    {
+      timers[i].cancel();
+    }
+
+    assertNull(messages.poll(400, TimeUnit.MILLISECONDS));
+  }
+}
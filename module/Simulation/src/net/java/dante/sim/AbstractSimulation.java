@@ -166,6 +166,11 @@ abstract class AbstractSimulation implements Simulation
   {
     engine.dispose();
     input.dispose();
+
+    if (data != null)
+    {
+      data.dispose();
+    }
   }
 
   /**
@@ -51,8 +51,17 @@ class ServerSimulation extends AbstractSimulation
 
     ServerSimulationInitData simInitData = (ServerSimulationInitData)initData;
     GlobalData globalData = data.getGlobalData();
-    engine.init(input, output, data,
-        new Engine2dInitData(simInitData.getParentContainer(), globalData));
+    Engine2dInitData engineInitData = null;
+    if (simInitData.isHeadless())
+    {
+      engineInitData = new Engine2dInitData(globalData, simInitData.getSeed());
+    }
+    else
+    {
+      engineInitData = new Engine2dInitData(simInitData.getParentContainer(), globalData,
+                                            simInitData.getSeed());
+    }
+    engine.init(input, output, data, engineInitData);
   }
 
   /**
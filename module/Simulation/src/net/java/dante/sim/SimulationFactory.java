@@ -7,9 +7,11 @@
 package net.java.dante.sim;
 
 import net.java.dante.sim.engine.engine2d.client.ClientEngine2d;
+import net.java.dante.sim.engine.engine2d.server.ReplayEngine2d;
 import net.java.dante.sim.engine.engine2d.server.ServerEngine2d;
 import net.java.dante.sim.io.ClientInput;
 import net.java.dante.sim.io.ServerInput;
+import net.java.dante.sim.record.BattleRecordReader;
 
 
 /**
@@ -79,4 +81,22 @@ public class SimulationFactory
 
     return sim;
   }
+
+  /**
+   * Creates server simulation replaying battle read by the specified reader
+   * (see {@link ReplayEngine2d}). Replay simulation must be initialized
+   * with {@link net.java.dante.sim.data.ServerSimulationInitData} for
+   * headless simulation with recorded seed and number of groups.
+   * Every time this method is invoked, new object is created.
+   *
+   * @param reader - reader of replayed battle record.
+   * @param checkpointInterval - interval between checkpoints comparing
+   *        replayed and recorded events.
+   *
+   * @return Returns new instance of {@link Simulation} interface implementation.
+   */
+  public Simulation createReplaySimulation(BattleRecordReader reader, long checkpointInterval)
+  {
+    return new ServerSimulation(new ReplayEngine2d(reader, checkpointInterval), new ServerInput());
+  }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.batch;
+
+import net.java.dante.sim.io.OutputData;
+import net.java.dante.sim.io.SimulationInput;
+import net.java.dante.sim.io.init.InitializationData;
+
+
+/**
+ * Interface for clients controlling one group of agents in matches
+ * run by {@link BatchRunner}. Clients are connected directly to server
+ * simulation - without any network layer.
+ *
+ * @author M.Olszewski
+ */
+public interface BatchClient
+{
+  /**
+   * Initializes this client with data of controlled group. All commands
+   * should be sent to the specified server simulation input.
+   *
+   * @param initData - initialization data of controlled group.
+   * @param serverInput - input of server simulation.
+   */
+  void init(InitializationData initData, SimulationInput serverInput);
+
+  /**
+   * Method invoked when server simulation generates data for group controlled
+   * by this client: {@link net.java.dante.sim.io.UpdateData},
+   * {@link net.java.dante.sim.io.TimeSyncData},
+   * {@link net.java.dante.sim.io.GroupEliminatedSimulationData} or
+   * {@link net.java.dante.sim.io.StatisticsData}. It is invoked from
+   * simulation's thread, which waits until this method returns - commands
+   * sent to server simulation's input before returning are processed by
+   * the next update, so client answering here runs in lockstep with
+   * simulation.
+   *
+   * @param data - data generated by server simulation.
+   */
+  void dataReady(OutputData data);
+
+  /**
+   * Disposes all resources used by this client. It is invoked after match
+   * is finished or aborted.
+   */
+  void dispose();
+}
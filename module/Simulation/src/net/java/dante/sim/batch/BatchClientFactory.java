@@ -0,0 +1,35 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.batch;
+
+
+/**
+ * Factory creating {@link BatchClient} instances for matches run by
+ * {@link BatchRunner}. Factories are shared by all concurrently run
+ * matches, so they must be thread safe.
+ *
+ * @author M.Olszewski
+ */
+public interface BatchClientFactory
+{
+  /**
+   * Creates new client for one match.
+   *
+   * @param seed - seed for random numbers generators used by created client.
+   *
+   * @return Returns new client.
+   */
+  BatchClient createClient(long seed);
+
+  /**
+   * Gets name of clients created by this factory - it is written to
+   * results file.
+   *
+   * @return Returns name of clients created by this factory.
+   */
+  String getName();
+}
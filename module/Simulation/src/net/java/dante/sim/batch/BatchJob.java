@@ -0,0 +1,149 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.batch;
+
+import java.util.Arrays;
+
+import net.java.dante.sim.data.ServerSimulationInitData;
+import net.java.dante.sim.data.common.BattleFilesDataSource;
+
+
+/**
+ * Class representing one match run by {@link BatchRunner}: map and agents
+ * templates files, factories of clients controlling each group and seed
+ * of match's random numbers generators.
+ *
+ * @author M.Olszewski
+ */
+public class BatchJob
+{
+  /** Name of this job. */
+  private String name;
+  /** Name of file with main settings. */
+  private String mainFile;
+  /** Name of map file or <code>null</code>. */
+  private String mapFile;
+  /** Name of agents templates file or <code>null</code>. */
+  private String templatesFile;
+  /** Factories of clients - one for each group. */
+  private BatchClientFactory[] factories;
+  /** Seed of match's random numbers generators. */
+  private long seed;
+
+
+  /**
+   * Creates instance of {@link BatchJob} class with specified parameters.
+   * Map and templates files names can be <code>null</code> - in such case
+   * they are taken from main settings file.
+   *
+   * @param jobName - name of this job.
+   * @param mainFileName - name of file with main settings.
+   * @param mapFileName - name of map file or <code>null</code>.
+   * @param templatesFileName - name of agents templates file or <code>null</code>.
+   * @param clientFactories - factories of clients - one for each group.
+   * @param matchSeed - seed of match's random numbers generators.
+   */
+  public BatchJob(String jobName, String mainFileName, String mapFileName,
+      String templatesFileName, BatchClientFactory[] clientFactories, long matchSeed)
+  {
+    if (jobName == null)
+    {
+      throw new NullPointerException("Specified jobName is null!");
+    }
+    if (mainFileName == null)
+    {
+      throw new NullPointerException("Specified mainFileName is null!");
+    }
+    if (clientFactories == null)
+    {
+      throw new NullPointerException("Specified clientFactories is null!");
+    }
+    if (clientFactories.length < ServerSimulationInitData.MINIMUM_GROUPS_NUMBER)
+    {
+      throw new IllegalArgumentException("Invalid argument clientFactories - it must contain at least " +
+          ServerSimulationInitData.MINIMUM_GROUPS_NUMBER + " elements!");
+    }
+    for (BatchClientFactory factory : clientFactories)
+    {
+      if (factory == null)
+      {
+        throw new NullPointerException("Specified clientFactories contains null element!");
+      }
+    }
+
+    name          = jobName;
+    mainFile      = mainFileName;
+    mapFile       = mapFileName;
+    templatesFile = templatesFileName;
+    factories     = clientFactories.clone();
+    seed          = matchSeed;
+  }
+
+
+  /**
+   * Gets name of this job.
+   *
+   * @return Returns name of this job.
+   */
+  public String getName()
+  {
+    return name;
+  }
+
+  /**
+   * Gets seed of match's random numbers generators.
+   *
+   * @return Returns seed of match's random numbers generators.
+   */
+  public long getSeed()
+  {
+    return seed;
+  }
+
+  /**
+   * Gets number of clients (groups) in this job.
+   *
+   * @return Returns number of clients in this job.
+   */
+  public int getClientsCount()
+  {
+    return factories.length;
+  }
+
+  /**
+   * Gets factory of client with specified index.
+   *
+   * @param index - index of client.
+   *
+   * @return Returns factory of client with specified index.
+   */
+  public BatchClientFactory getClientFactory(int index)
+  {
+    return factories[index];
+  }
+
+  /**
+   * Creates data source for simulation of this job.
+   *
+   * @return Returns created data source.
+   */
+  BattleFilesDataSource createDataSource()
+  {
+    return new BattleFilesDataSource(mainFile, mapFile, templatesFile);
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass().getName() + " [name=" + name + "; mainFile=" + mainFile +
+        "; mapFile=" + mapFile + "; templatesFile=" + templatesFile +
+        "; factories=" + Arrays.toString(factories) + "; seed=" + seed + "]");
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import net.java.dante.sim.Simulation;
+import net.java.dante.sim.SimulationFactory;
+import net.java.dante.sim.SimulationType;
+import net.java.dante.sim.data.ServerSimulationInitData;
+import net.java.dante.sim.engine.engine2d.server.GroupStatistics;
+import net.java.dante.sim.io.FinishData;
+import net.java.dante.sim.io.GroupEliminatedSimulationData;
+import net.java.dante.sim.io.OutputData;
+import net.java.dante.sim.io.SimulationOutput;
+import net.java.dante.sim.io.StatisticsData;
+import net.java.dante.sim.io.TimeSyncData;
+import net.java.dante.sim.io.UpdateData;
+import net.java.dante.sim.io.init.InitializationData;
+
+
+/**
+ * Task running one {@link BatchJob}. It creates headless server simulation,
+ * connects clients directly to it and waits until match is finished.
+ *
+ * @author M.Olszewski
+ */
+class BatchMatch implements Callable<BatchResult>, SimulationOutput
+{
+  /** Job run by this task. */
+  private BatchJob job;
+  /** Maximum time of match in milliseconds - 0 means no limit. */
+  private long timeout;
+  /** Server simulation. */
+  private Simulation simulation;
+  /** Clients in order of creation. */
+  private List<BatchClient> clients = new ArrayList<BatchClient>();
+  /** Indexes of clients mapped to identifiers of their groups. */
+  private Map<Integer, Integer> clientsIndexes = new HashMap<Integer, Integer>();
+  /** Statistics of groups - in order of clients. */
+  private GroupStatistics[] statistics;
+  /** Latch released when match is finished. */
+  private CountDownLatch finished = new CountDownLatch(1);
+
+
+  /**
+   * Creates instance of {@link BatchMatch} class.
+   *
+   * @param batchJob - job run by this task.
+   * @param matchTimeout - maximum time of match in milliseconds - 0 means no limit.
+   */
+  BatchMatch(BatchJob batchJob, long matchTimeout)
+  {
+    if (batchJob == null)
+    {
+      throw new NullPointerException("Specified batchJob is null!");
+    }
+    if (matchTimeout < 0)
+    {
+      throw new IllegalArgumentException("Invalid argument matchTimeout - it must be non-negative number!");
+    }
+
+    job = batchJob;
+    timeout = matchTimeout;
+    statistics = new GroupStatistics[job.getClientsCount()];
+  }
+
+
+  /**
+   * @see java.util.concurrent.Callable#call()
+   */
+  public BatchResult call()
+  {
+    BatchResult result = null;
+    boolean initialized = false;
+    simulation = SimulationFactory.getInstance().createSimulation(SimulationType.SERVER);
+
+    try
+    {
+      simulation.init(this, job.createDataSource(),
+          new ServerSimulationInitData(job.getClientsCount(), job.getSeed()));
+      initialized = true;
+      simulation.start();
+
+      if (timeout > 0)
+      {
+        if (!finished.await(timeout, TimeUnit.MILLISECONDS))
+        {
+          throw new TimeoutException("Match was not finished in " + timeout + " ms!");
+        }
+      }
+      else
+      {
+        finished.await();
+      }
+
+      result = new BatchResult(job, statistics.clone());
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      result = new BatchResult(job, e);
+    }
+    catch (Exception e)
+    {
+      result = new BatchResult(job, e);
+    }
+    finally
+    {
+      if (initialized)
+      {
+        simulation.dispose();
+      }
+      for (BatchClient client : clients)
+      {
+        client.dispose();
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * @see net.java.dante.sim.io.SimulationOutput#dataReady(net.java.dante.sim.io.OutputData)
+   */
+  public void dataReady(OutputData data)
+  {
+    if (data instanceof InitializationData)
+    {
+      InitializationData initData = (InitializationData)data;
+      int index = clients.size();
+      BatchClient client = job.getClientFactory(index).createClient(job.getSeed() + index + 1);
+      clients.add(client);
+      clientsIndexes.put(Integer.valueOf(initData.getGroupId()), Integer.valueOf(index));
+      client.init(initData, simulation.getInput());
+    }
+    else if (data instanceof UpdateData)
+    {
+      forward(((UpdateData)data).getRepository().getGroupId(), data);
+    }
+    else if (data instanceof TimeSyncData)
+    {
+      forward(((TimeSyncData)data).getGroupId(), data);
+    }
+    else if (data instanceof GroupEliminatedSimulationData)
+    {
+      forward(((GroupEliminatedSimulationData)data).getGroupId(), data);
+    }
+    else if (data instanceof StatisticsData)
+    {
+      GroupStatistics groupStatistics = ((StatisticsData)data).getGroupStatistics();
+      Integer index = clientsIndexes.get(Integer.valueOf(groupStatistics.getGroupId()));
+      if (index != null)
+      {
+        statistics[index.intValue()] = groupStatistics;
+      }
+      forward(groupStatistics.getGroupId(), data);
+    }
+    else if (data instanceof FinishData)
+    {
+      finished.countDown();
+    }
+  }
+
+  /**
+   * Forwards the specified data to client controlling group with
+   * specified identifier.
+   *
+   * @param groupId - group's identifier.
+   * @param data - forwarded data.
+   */
+  private void forward(int groupId, OutputData data)
+  {
+    Integer index = clientsIndexes.get(Integer.valueOf(groupId));
+    if (index != null)
+    {
+      clients.get(index.intValue()).dataReady(data);
+    }
+  }
+}
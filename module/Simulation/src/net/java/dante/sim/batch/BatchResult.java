@@ -0,0 +1,118 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.batch;
+
+import net.java.dante.sim.engine.engine2d.server.GroupStatistics;
+
+
+/**
+ * Class representing result of one {@link BatchJob}: statistics of all
+ * groups if match was finished or cause of failure otherwise.
+ *
+ * @author M.Olszewski
+ */
+public class BatchResult
+{
+  /** Job which result is represented. */
+  private BatchJob job;
+  /** Statistics of groups - in order of job's clients. */
+  private GroupStatistics[] statistics;
+  /** Cause of failure - <code>null</code> if match was finished. */
+  private Throwable failureCause;
+
+
+  /**
+   * Creates instance of {@link BatchResult} class representing
+   * finished match.
+   *
+   * @param batchJob - job which result is represented.
+   * @param groupsStatistics - statistics of groups - in order of job's clients.
+   */
+  BatchResult(BatchJob batchJob, GroupStatistics[] groupsStatistics)
+  {
+    if (batchJob == null)
+    {
+      throw new NullPointerException("Specified batchJob is null!");
+    }
+    if (groupsStatistics == null)
+    {
+      throw new NullPointerException("Specified groupsStatistics is null!");
+    }
+
+    job = batchJob;
+    statistics = groupsStatistics;
+  }
+
+  /**
+   * Creates instance of {@link BatchResult} class representing
+   * failed match.
+   *
+   * @param batchJob - job which result is represented.
+   * @param cause - cause of failure.
+   */
+  BatchResult(BatchJob batchJob, Throwable cause)
+  {
+    if (batchJob == null)
+    {
+      throw new NullPointerException("Specified batchJob is null!");
+    }
+    if (cause == null)
+    {
+      throw new NullPointerException("Specified cause is null!");
+    }
+
+    job = batchJob;
+    failureCause = cause;
+  }
+
+
+  /**
+   * Gets job which result is represented.
+   *
+   * @return Returns job which result is represented.
+   */
+  public BatchJob getJob()
+  {
+    return job;
+  }
+
+  /**
+   * Checks whether match was finished.
+   *
+   * @return Returns <code>true</code> if match was finished,
+   *         <code>false</code> if it failed.
+   */
+  public boolean isFinished()
+  {
+    return (failureCause == null);
+  }
+
+  /**
+   * Gets cause of failure.
+   *
+   * @return Returns cause of failure or <code>null</code> if match
+   *         was finished.
+   */
+  public Throwable getFailureCause()
+  {
+    return failureCause;
+  }
+
+  /**
+   * Gets statistics of group controlled by client with specified index.
+   *
+   * @param clientIndex - index of client.
+   *
+   * @return Returns statistics of group controlled by client with specified
+   *         index or <code>null</code> if match failed or statistics were
+   *         not generated for this group.
+   */
+  public GroupStatistics getStatistics(int clientIndex)
+  {
+    return ((statistics != null)? statistics[clientIndex] : null);
+  }
+}
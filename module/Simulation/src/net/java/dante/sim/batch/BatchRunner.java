@@ -0,0 +1,224 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.batch;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.java.dante.sim.engine.engine2d.server.GroupStatistics;
+
+
+/**
+ * Runner of headless matches. Jobs are run concurrently on a bounded pool
+ * of worker threads - by default one thread for each available processor.
+ * Clients are connected directly to server simulations, so no network
+ * layer is used. Statistics of all groups are written to results file
+ * as tab separated rows, just after each match is finished.
+ * <p>
+ * Each simulation runs its own engine thread, so worker threads mostly wait
+ * for matches - size of the pool limits number of concurrently run matches.
+ *
+ * @author M.Olszewski
+ */
+public class BatchRunner
+{
+  /** Default maximum time of match in milliseconds. */
+  public static final long DEFAULT_MATCH_TIMEOUT = 10L * 60L * 1000L;
+  /** Header of results file. */
+  private static final String RESULTS_HEADER = "# job\tseed\tclient\tname\tgroupId\tupdates\t" +
+      "enemiesVisible\tenemiesHit\tenemiesDestroyed\tprojectilesShot\taccuracy\tdamageTaken\t" +
+      "friendlyFireHits\tfriendlyFireDestroyed\tfriendlyDestroyed\ttotalPoints";
+
+  /** Number of worker threads. */
+  private int threadsCount;
+  /** Maximum time of match in milliseconds - 0 means no limit. */
+  private long matchTimeout;
+
+
+  /**
+   * Creates instance of {@link BatchRunner} class with one worker thread
+   * for each available processor and default match timeout.
+   */
+  public BatchRunner()
+  {
+    this(Runtime.getRuntime().availableProcessors(), DEFAULT_MATCH_TIMEOUT);
+  }
+
+  /**
+   * Creates instance of {@link BatchRunner} class with specified parameters.
+   *
+   * @param threads - number of worker threads.
+   * @param timeout - maximum time of match in milliseconds - 0 means no limit.
+   */
+  public BatchRunner(int threads, long timeout)
+  {
+    if (threads <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument threads - it must be positive integer!");
+    }
+    if (timeout < 0)
+    {
+      throw new IllegalArgumentException("Invalid argument timeout - it must be non-negative number!");
+    }
+
+    threadsCount = threads;
+    matchTimeout = timeout;
+  }
+
+
+  /**
+   * Runs all specified jobs and writes their results to the specified file.
+   * This method blocks until all jobs are finished. Results are returned
+   * in order of jobs.
+   *
+   * @param jobs - jobs to run.
+   * @param resultsFile - name of results file.
+   *
+   * @return Returns results of all jobs.
+   *
+   * @throws IOException if results file cannot be written.
+   * @throws InterruptedException if current thread was interrupted while
+   *         waiting for jobs.
+   */
+  public List<BatchResult> run(List<BatchJob> jobs, String resultsFile) throws IOException, InterruptedException
+  {
+    if (jobs == null)
+    {
+      throw new NullPointerException("Specified jobs is null!");
+    }
+    if (resultsFile == null)
+    {
+      throw new NullPointerException("Specified resultsFile is null!");
+    }
+
+    List<BatchResult> results = new ArrayList<BatchResult>(jobs.size());
+    PrintWriter writer = new PrintWriter(new FileWriter(resultsFile));
+    ExecutorService executor = Executors.newFixedThreadPool(threadsCount, new BatchThreadFactory());
+
+    try
+    {
+      writer.println(RESULTS_HEADER);
+      writer.flush();
+
+      CompletionService<BatchResult> completion = new ExecutorCompletionService<BatchResult>(executor);
+      List<Future<BatchResult>> futures = new ArrayList<Future<BatchResult>>(jobs.size());
+      for (BatchJob job : jobs)
+      {
+        futures.add(completion.submit(new BatchMatch(job, matchTimeout)));
+      }
+
+      for (int i = 0; i < futures.size(); i++)
+      {
+        writeResult(writer, getResult(completion.take()));
+      }
+
+      for (int i = 0; i < futures.size(); i++)
+      {
+        results.add(getResult(futures.get(i)));
+      }
+    }
+    finally
+    {
+      executor.shutdownNow();
+      writer.close();
+    }
+
+    return results;
+  }
+
+  /**
+   * Gets result from the specified completed future.
+   *
+   * @param future - the specified completed future.
+   *
+   * @return Returns result from the specified completed future.
+   *
+   * @throws InterruptedException if current thread was interrupted.
+   */
+  private static BatchResult getResult(Future<BatchResult> future) throws InterruptedException
+  {
+    BatchResult result = null;
+    try
+    {
+      result = future.get();
+    }
+    catch (ExecutionException e)
+    {
+      // BatchMatch catches all exceptions - only errors can be thrown.
+      throw new IllegalStateException("Batch match failed!", e.getCause());
+    }
+    return result;
+  }
+
+  /**
+   * Writes the specified result - one row for each group or comment line
+   * if match failed.
+   *
+   * @param writer - writer of results file.
+   * @param result - written result.
+   */
+  private static void writeResult(PrintWriter writer, BatchResult result)
+  {
+    BatchJob job = result.getJob();
+    if (result.isFinished())
+    {
+      for (int i = 0; i < job.getClientsCount(); i++)
+      {
+        GroupStatistics statistics = result.getStatistics(i);
+        if (statistics != null)
+        {
+          writer.println(job.getName() + '\t' + job.getSeed() + '\t' + i + '\t' +
+              job.getClientFactory(i).getName() + '\t' + statistics.getGroupId() + '\t' +
+              statistics.getUpdatesCount() + '\t' + statistics.getEnemyAgentsVisible() + '\t' +
+              statistics.getEnemyAgentsHit() + '\t' + statistics.getEnemyAgentsDestroyed() + '\t' +
+              statistics.getProjectilesShot() + '\t' + statistics.getAccuracy() + '\t' +
+              statistics.getDamageTaken() + '\t' + statistics.getFriendlyFireHits() + '\t' +
+              statistics.getFriendlyFireDestroyed() + '\t' + statistics.getFriendlyAgentsDestroyed() + '\t' +
+              statistics.getTotalPoints());
+        }
+      }
+    }
+    else
+    {
+      writer.println("# " + job.getName() + '\t' + job.getSeed() + "\tFAILED\t" + result.getFailureCause());
+    }
+    writer.flush();
+  }
+
+
+  /**
+   * Factory of named daemon worker threads.
+   *
+   * @author M.Olszewski
+   */
+  private static class BatchThreadFactory implements ThreadFactory
+  {
+    /** Number of created threads. */
+    private final AtomicInteger threadsCount = new AtomicInteger();
+
+    /**
+     * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+     */
+    public Thread newThread(Runnable runnable)
+    {
+      Thread thread = new Thread(runnable, "BatchRunner-" + threadsCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
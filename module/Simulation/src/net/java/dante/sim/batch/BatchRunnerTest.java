@@ -0,0 +1,141 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+import net.java.dante.sim.engine.engine2d.server.GroupStatistics;
+import net.java.dante.sim.io.OutputData;
+import net.java.dante.sim.io.SimulationInput;
+import net.java.dante.sim.io.init.InitializationData;
+
+/**
+ * Test case for {@link BatchRunner} class. It runs headless matches
+ * with settings from {@link #MAIN_FILE} file, so resources of Simulation
+ * module must be available in class path.
+ *
+ * @author M.Olszewski
+ */
+public class BatchRunnerTest extends TestCase
+{
+  /** File with main settings used by test matches. */
+  private static final String MAIN_FILE = "res/main.config";
+  /** Seed of test matches. */
+  private static final long SEED = 12345L;
+  /** Timeout of test matches in milliseconds. */
+  private static final long TIMEOUT = 60L * 1000L;
+
+  /** Temporary results file. */
+  private File resultsFile;
+
+
+  /**
+   * @see junit.framework.TestCase#setUp()
+   */
+  @Override
+  protected void setUp() throws Exception
+  {
+    resultsFile = File.createTempFile("results", ".txt");
+  }
+
+  /**
+   * @see junit.framework.TestCase#tearDown()
+   */
+  @Override
+  protected void tearDown() throws Exception
+  {
+    resultsFile.delete();
+  }
+
+  /**
+   * Test method for running two matches concurrently - both must be finished
+   * and produce statistics of all groups.
+   *
+   * @throws IOException if results file cannot be written.
+   * @throws InterruptedException if test was interrupted.
+   */
+  public void testRunMatches() throws IOException, InterruptedException
+  {
+    BatchClientFactory factory = new IdleClientFactory();
+    BatchClientFactory[] factories = new BatchClientFactory[] { factory, factory };
+
+    List<BatchJob> jobs = new ArrayList<BatchJob>();
+    jobs.add(new BatchJob("first", MAIN_FILE, null, null, factories, SEED));
+    jobs.add(new BatchJob("second", MAIN_FILE, null, null, factories, SEED + 1));
+
+    List<BatchResult> results = new BatchRunner(2, TIMEOUT).run(jobs, resultsFile.getPath());
+    assertEquals(jobs.size(), results.size());
+
+    for (int i = 0; i < results.size(); i++)
+    {
+      BatchResult result = results.get(i);
+      assertSame(jobs.get(i), result.getJob());
+      assertTrue("Match failed: " + result.getFailureCause(), result.isFinished());
+
+      for (int j = 0; j < factories.length; j++)
+      {
+        GroupStatistics statistics = result.getStatistics(j);
+        assertNotNull(statistics);
+        assertTrue(statistics.getUpdatesCount() > 0);
+      }
+      assertTrue(result.getStatistics(0).getGroupId() != result.getStatistics(1).getGroupId());
+    }
+  }
+
+
+  /**
+   * Factory of clients which do not send any commands.
+   *
+   * @author M.Olszewski
+   */
+  private static class IdleClientFactory implements BatchClientFactory
+  {
+    /**
+     * @see net.java.dante.sim.batch.BatchClientFactory#createClient(long)
+     */
+    public BatchClient createClient(long seed)
+    {
+      return new BatchClient() {
+        /**
+         * @see net.java.dante.sim.batch.BatchClient#init(net.java.dante.sim.io.init.InitializationData, net.java.dante.sim.io.SimulationInput)
+         */
+        public void init(InitializationData initData, SimulationInput serverInput)
+        {
+          // Intentionally left empty.
+        }
+
+        /**
+         * @see net.java.dante.sim.batch.BatchClient#dataReady(net.java.dante.sim.io.OutputData)
+         */
+        public void dataReady(OutputData data)
+        {
+          // Intentionally left empty.
+        }
+
+        /**
+         * @see net.java.dante.sim.batch.BatchClient#dispose()
+         */
+        public void dispose()
+        {
+          // Intentionally left empty.
+        }
+      };
+    }
+
+    /**
+     * @see net.java.dante.sim.batch.BatchClientFactory#getName()
+     */
+    public String getName()
+    {
+      return "Idle";
+    }
+  }
+}
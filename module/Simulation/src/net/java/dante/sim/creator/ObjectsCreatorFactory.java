@@ -6,6 +6,8 @@
 
 package net.java.dante.sim.creator;
 
+import java.util.Random;
+
 import net.java.dante.sim.data.SimulationData;
 
 /**
@@ -51,11 +53,33 @@ public class ObjectsCreatorFactory
    *         data storage.
    */
   public ObjectsCreator createObjectsCreator(SimulationData simData)
+  {
+    return createObjectsCreator(simData, new Random());
+  }
+  
+  /**
+   * Creates instance of class implementing {@link ObjectsCreator} interface
+   * using specified templates types data storage and random numbers
+   * generator. Generator is used by created objects whose properties 
+   * are random (e.g. damage of projectiles).
+   * 
+   * @param simData - simulation's data.
+   * @param random - random numbers generator.
+   * 
+   * @return Returns newly created instance of class implementing 
+   *         {@link ObjectsCreator} interface using specified templates types 
+   *         data storage.
+   */
+  public ObjectsCreator createObjectsCreator(SimulationData simData, Random random)
   {
     if (simData == null)
     {
       throw new NullPointerException("Specified simData is null!");
     }
+    if (random == null)
+    {
+      throw new NullPointerException("Specified random is null!");
+    }
     
     AbstractObjectsCreator creator = null;
     switch (simData.getType())
@@ -63,7 +87,7 @@ public class ObjectsCreatorFactory
       case FULL:
       {
         creator = new ServerObjectsCreatorImpl(simData.getTemplatesStorage(), 
-            simData.getMediator());
+            simData.getMediator(), random);
         break;
       }
       
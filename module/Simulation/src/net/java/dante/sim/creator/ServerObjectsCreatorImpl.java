@@ -6,6 +6,8 @@
 
 package net.java.dante.sim.creator;
 
+import java.util.Random;
+
 import net.java.dante.sim.data.ObjectsMediator;
 import net.java.dante.sim.data.object.WeaponSystem;
 import net.java.dante.sim.data.object.agent.ServerAgent;
@@ -26,6 +28,8 @@ class ServerObjectsCreatorImpl extends AbstractObjectsCreator
 {
   /** Projectiles mediator. */
   private ProjectilesMediator projectilesMediator;
+  /** Random numbers generator used by templates. */
+  private Random random;
 
 
   /**
@@ -34,12 +38,15 @@ class ServerObjectsCreatorImpl extends AbstractObjectsCreator
    *
    * @param templatesStorage - templates types data storage.
    * @param objectsMediator - objects mediator.
+   * @param randomGenerator - random numbers generator used by templates.
    */
   ServerObjectsCreatorImpl(TemplatesTypesStorage templatesStorage,
-      ObjectsMediator objectsMediator)
+      ObjectsMediator objectsMediator, Random randomGenerator)
   {
     super(templatesStorage, objectsMediator);
 
+    random = randomGenerator;
+
     projectilesMediator = new ProjectilesMediator() {
       /**
        * @see net.java.dante.sim.data.object.projectile.ProjectilesMediator#createProjectile(int, int, double, double, double, double, net.java.dante.sim.data.object.WeaponSystem)
@@ -70,6 +77,6 @@ class ServerObjectsCreatorImpl extends AbstractObjectsCreator
   {
     templates.put(ServerAgent.class, new ServerAgentTemplate(storage,
         new ServerWeaponSystemTemplate(storage, projectilesMediator)));
-    templates.put(ServerProjectile.class, new ServerProjectileTemplate(storage));
+    templates.put(ServerProjectile.class, new ServerProjectileTemplate(storage, random));
   }
 }
\ No newline at end of file
@@ -33,21 +33,27 @@ final class ServerProjectileTemplate implements SimulationObjectTemplate
   /** Class storage with weapon systems templates types data. */
   private ClassTypesDataStorage weaponsClassStorage;
   /** Random generator for damage. */
-  private Random random = new Random();
+  private Random random;
 
 
   /**
    * Creates instance of {@link ServerProjectileTemplate} class.
    *
    * @param templatesStorage templates types data storage.
+   * @param randomGenerator random generator for damage.
    */
-  ServerProjectileTemplate(TemplatesTypesStorage templatesStorage)
+  ServerProjectileTemplate(TemplatesTypesStorage templatesStorage, Random randomGenerator)
   {
     if (templatesStorage == null)
     {
       throw new NullPointerException("Specified templatesStorage is null!");
     }
+    if (randomGenerator == null)
+    {
+      throw new NullPointerException("Specified randomGenerator is null!");
+    }
 
+    random = randomGenerator;
     weaponsClassStorage = templatesStorage.getClassStorage(WeaponTemplateData.class);
     if (weaponsClassStorage == null)
     {
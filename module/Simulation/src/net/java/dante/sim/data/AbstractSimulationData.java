@@ -185,6 +185,14 @@ public abstract class AbstractSimulationData implements SimulationData
     ObjectsTraverser.getDefault().traverse(root, new ResetActionListener());
   }
 
+  /**
+   * @see net.java.dante.sim.data.SimulationData#dispose()
+   */
+  public void dispose()
+  {
+    ObjectsTraverser.getDefault().traverse(root, new DisposeActionListener());
+  }
+
 
   /**
    * Class representing action setting data of all objects to their
@@ -210,4 +218,29 @@ public abstract class AbstractSimulationData implements SimulationData
       // TODO reset state
     }
   }
+
+  /**
+   * Class representing action disposing all objects - children are
+   * disposed before their parents.
+   *
+   * @author M.Olszewski
+   */
+  class DisposeActionListener implements ActionListener
+  {
+    /**
+     * @see net.java.dante.sim.data.ActionListener#entryAction(net.java.dante.sim.data.object.SimulationObject)
+     */
+    public void entryAction(SimulationObject object)
+    {
+      // Intentionally left empty.
+    }
+
+    /**
+     * @see net.java.dante.sim.data.ActionListener#exitAction(net.java.dante.sim.data.object.SimulationObject)
+     */
+    public void exitAction(SimulationObject object)
+    {
+      object.dispose();
+    }
+  }
 }
\ No newline at end of file
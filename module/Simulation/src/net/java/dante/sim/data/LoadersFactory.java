@@ -6,6 +6,7 @@
 
 package net.java.dante.sim.data;
 
+import net.java.dante.sim.data.common.BattleFilesDataSource;
 import net.java.dante.sim.data.common.DataSource;
 import net.java.dante.sim.data.common.FileDataSource;
 import net.java.dante.sim.data.common.InitializationDataSource;
@@ -58,7 +59,13 @@ public class LoadersFactory
   {
     DataLoader loader = null;
     
-    if (dataSource instanceof FileDataSource)
+    if (dataSource instanceof BattleFilesDataSource)
+    {
+      BattleFilesDataSource battleSource = (BattleFilesDataSource)dataSource;
+      loader = new MainFileLoader(battleSource.getSource(), 
+          battleSource.getMapFile(), battleSource.getTemplatesFile());
+    }
+    else if (dataSource instanceof FileDataSource)
     {
       loader = new MainFileLoader(((FileDataSource)dataSource).getSource());
     }
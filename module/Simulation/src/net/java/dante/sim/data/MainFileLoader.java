@@ -26,6 +26,15 @@ import net.java.dante.sim.data.template.TemplatesTypesStorage;
  */
 class MainFileLoader extends FileLoader implements DataLoader
 {
+  /** Name of map file replacing one from main settings or <code>null</code>. */
+  private String mapFileName;
+  /** 
+   * Name of agents templates file replacing one from main settings 
+   * or <code>null</code>. 
+   */
+  private String templatesFileName;
+  
+  
   /**
    * Creates {@link MainFileLoader} object loading data to  
    * {@link SimulationData} from specified file.
@@ -41,6 +50,25 @@ class MainFileLoader extends FileLoader implements DataLoader
     super(dataFileName);
   }
   
+  /**
+   * Creates {@link MainFileLoader} object loading data to  
+   * {@link SimulationData} from specified file, but using specified map
+   * and agents templates files instead of ones from main settings.
+   * 
+   * @param dataFileName - name of the file from which data will be loaded.
+   * @param mapFile - name of map file or <code>null</code> if it should
+   *        be taken from main settings.
+   * @param templatesFile - name of agents templates file or <code>null</code>
+   *        if it should be taken from main settings.
+   */
+  MainFileLoader(String dataFileName, String mapFile, String templatesFile)
+  {
+    super(dataFileName);
+    
+    mapFileName = mapFile;
+    templatesFileName = templatesFile;
+  }
+  
   /** 
    * @see net.java.dante.sim.data.DataLoader#loadData()
    */
@@ -51,13 +79,15 @@ class MainFileLoader extends FileLoader implements DataLoader
     SimulationSettings settings = (SimulationSettings)settingsLoader.loadSettings();
     
     // 2. Load map file
+    String mapFile = (mapFileName != null)? mapFileName : settings.getMapFile();
     MapLoader mapLoader = MapLoadersFactory.getInstance().createLoader(
-        new FileDataSource(settings.getMapFile()));
+        new FileDataSource(mapFile));
     SimulationMap map = mapLoader.loadMap();
     
     // 3. Load templates types data
+    String templatesFile = (templatesFileName != null)? templatesFileName : settings.getAgentFile();
     TemplatesLoader templatesLoader = TemplatesLoadersFactory.getInstance().createLoader(
-        new FileDataSource(settings.getAgentFile()));
+        new FileDataSource(templatesFile));
     TemplatesTypesStorage storage = templatesLoader.loadTemplates();
     
     return new ServerSimulationDataImpl(map, storage, settings);
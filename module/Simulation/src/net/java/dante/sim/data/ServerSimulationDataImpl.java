@@ -9,6 +9,7 @@ package net.java.dante.sim.data;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import net.java.dante.sim.creator.ObjectsCreator;
 import net.java.dante.sim.creator.ObjectsCreatorFactory;
@@ -90,7 +91,6 @@ class ServerSimulationDataImpl extends AbstractSimulationData implements Simulat
     }
 
     settings = simSettings;
-    creator = ObjectsCreatorFactory.getInstance().createObjectsCreator(this);
   }
 
 
@@ -111,6 +111,10 @@ class ServerSimulationDataImpl extends AbstractSimulationData implements Simulat
     ServerSimulationInitData data = (ServerSimulationInitData)initData;
     SimulationMap map = getMap();
 
+    // All random decisions are made using the same generator
+    Random random = data.createRandom();
+    creator = ObjectsCreatorFactory.getInstance().createObjectsCreator(this, random);
+
     int maxGroupsCnt = data.getGroupsCount();
     if (maxGroupsCnt > map.locationGroupsCount())
     {
@@ -135,7 +139,7 @@ class ServerSimulationDataImpl extends AbstractSimulationData implements Simulat
     }
 
     // Shuffle the list so random location groups will be chosen each time
-    Collections.shuffle(locationGroups);
+    Collections.shuffle(locationGroups, random);
 
     for (int i = 0; i < maxGroupsCnt; i++)
     {
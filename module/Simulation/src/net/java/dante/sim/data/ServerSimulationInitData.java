@@ -7,6 +7,7 @@
 package net.java.dante.sim.data;
 
 import java.awt.Container;
+import java.util.Random;
 
 import net.java.dante.sim.data.common.InitData;
 
@@ -23,8 +24,16 @@ public class ServerSimulationInitData implements InitData
   
   /** Number of groups taking part in simulation. */
   private int groupsCount;
-  /** Parent container for graphical output. */
+  /** 
+   * Parent container for graphical output - <code>null</code> for
+   * headless simulation.
+   */
   private Container parent;
+  /**
+   * Seed for random numbers generator used by simulation - random one
+   * if it was not specified.
+   */
+  private long randomSeed = new Random().nextLong();
   
   
   /**
@@ -50,6 +59,46 @@ public class ServerSimulationInitData implements InitData
     groupsCount = simGroupsCount;
     parent = parentContainer;
   }
+  
+  /**
+   * Creates object of {@link ServerSimulationInitData} for headless 
+   * simulation - simulation without graphical output, running as fast 
+   * as possible.
+   * 
+   * @param simGroupsCount - number of groups taking part in simulation.
+   * 
+   * @throws IllegalArgumentException if <code>simGroupsCount</code> is lesser
+   *         than {@link #MINIMUM_GROUPS_NUMBER}.
+   */
+  public ServerSimulationInitData(int simGroupsCount)
+  {
+    if (simGroupsCount < MINIMUM_GROUPS_NUMBER)
+    {
+      throw new IllegalArgumentException("Invalid argument simGroupsCount - it must be equal or greater than " + MINIMUM_GROUPS_NUMBER + "!");
+    }
+    
+    groupsCount = simGroupsCount;
+  }
+  
+  /**
+   * Creates object of {@link ServerSimulationInitData} for headless 
+   * simulation which random numbers generator is initialized with the
+   * specified seed. All random decisions made by such simulation 
+   * (e.g. start locations of groups or damage of projectiles) are the same 
+   * for the same seed.
+   * 
+   * @param simGroupsCount - number of groups taking part in simulation.
+   * @param seed - seed for random numbers generator.
+   * 
+   * @throws IllegalArgumentException if <code>simGroupsCount</code> is lesser
+   *         than {@link #MINIMUM_GROUPS_NUMBER}.
+   */
+  public ServerSimulationInitData(int simGroupsCount, long seed)
+  {
+    this(simGroupsCount);
+    
+    randomSeed = seed;
+  }
 
 
   /**
@@ -65,10 +114,45 @@ public class ServerSimulationInitData implements InitData
   /**
    * Gets parent container for graphical output.
    * 
-   * @return Returns parent container for graphical output.
+   * @return Returns parent container for graphical output or 
+   *         <code>null</code> for headless simulation.
    */
   public Container getParentContainer()
   {
     return parent;
   }
+  
+  /**
+   * Gets seed for random numbers generator used by simulation. If seed was
+   * not specified, random one is returned - simulation can be repeated
+   * with this seed (see {@link net.java.dante.sim.record.BattleRecorder}).
+   * 
+   * @return Returns seed for random numbers generator.
+   */
+  public long getSeed()
+  {
+    return randomSeed;
+  }
+  
+  /**
+   * Creates random numbers generator for simulation, initialized with
+   * seed returned by {@link #getSeed()}.
+   * 
+   * @return Returns created random numbers generator.
+   */
+  public Random createRandom()
+  {
+    return new Random(randomSeed);
+  }
+  
+  /**
+   * Checks whether simulation is headless.
+   * 
+   * @return Returns <code>true</code> if simulation is headless, 
+   *         <code>false</code> otherwise.
+   */
+  public boolean isHeadless()
+  {
+    return (parent == null);
+  }
 }
\ No newline at end of file
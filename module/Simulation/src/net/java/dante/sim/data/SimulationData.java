@@ -112,6 +112,13 @@ public interface SimulationData
    */
   void reset();
 
+  /**
+   * Disposes all objects in this {@link SimulationData}, so their
+   * identifiers can be reused. It should be called when this data
+   * will not be used anymore.
+   */
+  void dispose();
+
   /**
    * Adds listener notified about added objects.
    *
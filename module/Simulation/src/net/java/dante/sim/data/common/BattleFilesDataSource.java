@@ -0,0 +1,74 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.data.common;
+
+
+/**
+ * Class representing {@link DataSource} as file with main settings, which
+ * map file and agents templates file can be replaced by other files.
+ * It allows to run battles on different maps or with different templates
+ * without preparing separate file with main settings for each of them.
+ *
+ * @author M.Olszewski
+ */
+public class BattleFilesDataSource extends FileDataSource
+{
+  /** Name of map file - <code>null</code> if taken from main settings. */
+  private String mapFileName;
+  /** Name of agents templates file - <code>null</code> if taken from main settings. */
+  private String templatesFileName;
+
+
+  /**
+   * Creates instance of {@link BattleFilesDataSource} class with specified
+   * files names. Map and templates files names can be <code>null</code> -
+   * in such case they are taken from main settings file.
+   *
+   * @param mainFileName - name of file with main settings.
+   * @param mapFile - name of map file or <code>null</code>.
+   * @param templatesFile - name of agents templates file or <code>null</code>.
+   */
+  public BattleFilesDataSource(String mainFileName, String mapFile, String templatesFile)
+  {
+    super(mainFileName);
+
+    if ((mapFile != null) && (mapFile.length() <= 0))
+    {
+      throw new IllegalArgumentException("Invalid argument mapFile - it cannot be empty string!");
+    }
+    if ((templatesFile != null) && (templatesFile.length() <= 0))
+    {
+      throw new IllegalArgumentException("Invalid argument templatesFile - it cannot be empty string!");
+    }
+
+    mapFileName = mapFile;
+    templatesFileName = templatesFile;
+  }
+
+
+  /**
+   * Gets name of map file.
+   *
+   * @return Returns name of map file or <code>null</code> if it should
+   *         be taken from main settings file.
+   */
+  public String getMapFile()
+  {
+    return mapFileName;
+  }
+
+  /**
+   * Gets name of agents templates file.
+   *
+   * @return Returns name of agents templates file or <code>null</code> if
+   *         it should be taken from main settings file.
+   */
+  public String getTemplatesFile()
+  {
+    return templatesFileName;
+  }
+}
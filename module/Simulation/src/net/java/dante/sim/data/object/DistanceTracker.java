@@ -91,6 +91,25 @@ public final class DistanceTracker
     return isReached();
   }
 
+  /**
+   * Gets time after which destination point will be reached if tracked
+   * object is not reversed. Returned time is never longer than actual
+   * time, so destination point may be reached earlier by at most one
+   * millisecond.
+   *
+   * @return Returns time after which destination point will be reached
+   *         or negative value if tracked object does not move.
+   */
+  public long getRemainingTime()
+  {
+    long remainingTime = -1;
+    if (objectSpeed > 0)
+    {
+      remainingTime = Math.max(0, (long)Math.floor(totalWay / objectSpeed) - timeCount);
+    }
+    return remainingTime;
+  }
+
   /**
    * Checks whether destination point is reached.
    *
@@ -58,6 +58,18 @@ public class ServerWeaponSystem extends WeaponSystem
     stateMachine.update(delta);
   }
 
+  /**
+   * Gets time remaining until this weapon system is reloaded. Negative
+   * value is returned if weapon system is not reloading.
+   *
+   * @return Returns time remaining until this weapon system is reloaded
+   *         or negative value if it is not reloading.
+   */
+  public long getRemainingReloadTime()
+  {
+    return (stateMachine.isReloading()? counter.getRemainingTime() : -1);
+  }
+
   /**
    * Tries to shoot a projectile. Returns <code>true</code> if projectile
    * was shot.
@@ -142,6 +154,17 @@ public class ServerWeaponSystem extends WeaponSystem
       currentState.update(delta);
     }
 
+    /**
+     * Checks whether this weapon system is in 'reloading' state.
+     *
+     * @return Returns <code>true</code> if this weapon system is reloading,
+     *         <code>false</code> otherwise.
+     */
+    boolean isReloading()
+    {
+      return (currentState == reloadingState);
+    }
+
     /**
      * Shoots a projectile if it is possible (weapon system is not reloading).
      * Returns <code>true</code> if projectile was shot, <code>false</code>
@@ -105,6 +105,45 @@ public class ServerAgent extends SimulationObject
     return (!(currentCommand instanceof IdleCommand) && currentCommand.isDone());
   }
 
+  /**
+   * Checks whether this agent is waiting - it has no command that can be
+   * executed, so its updates can change only state of its weapon system.
+   * Waiting agent can be activated only by new commands.
+   *
+   * @return Returns <code>true</code> if this agent is waiting,
+   *         <code>false</code> otherwise.
+   */
+  public boolean isWaiting()
+  {
+    return (((currentCommand instanceof IdleCommand) && (queue.size() == 0)) ||
+        currentCommand.isStopped());
+  }
+
+  /**
+   * Gets time after which state of waiting agent will change. Negative
+   * value is returned if state of waiting agent will not change until
+   * new commands are added.
+   *
+   * @return Returns time after which state of waiting agent will change
+   *         or negative value if it will not change.
+   */
+  public long getWaitingTime()
+  {
+    return state.getWeapon().getRemainingReloadTime();
+  }
+
+  /**
+   * Gets time after which agent moving straight to destination of its
+   * current command will reach it, if it is not interrupted.
+   *
+   * @return Returns time after which agent will reach destination or
+   *         negative value if agent does not move straight to destination.
+   */
+  public long getArrivalTime()
+  {
+    return (isCommandExecutable(currentCommand)? currentCommand.getArrivalTime() : -1);
+  }
+
   /**
    * Checks whether specified command is executable.
    *
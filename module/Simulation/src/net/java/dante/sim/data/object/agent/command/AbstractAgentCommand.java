@@ -79,6 +79,16 @@ abstract class AbstractAgentCommand implements AgentCommand
     return stateMachine.isStopped();
   }
   
+  /**
+   * Commands do not move agents straight to destination by default.
+   *
+   * @see net.java.dante.sim.data.object.agent.command.AgentCommand#getArrivalTime()
+   */
+  public long getArrivalTime()
+  {
+    return -1;
+  }
+
   /**
    * Base class defining fundamental behaviour of {@link #restart()} method.
    * 
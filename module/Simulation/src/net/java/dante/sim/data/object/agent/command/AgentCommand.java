@@ -32,6 +32,16 @@ public interface AgentCommand
    *         <code>false</code> otherwise.
    */
   public boolean isStopped();
+
+  /**
+   * Gets time after which agent moved straight by this command will reach
+   * destination, if it is not interrupted.
+   *
+   * @return Returns time after which agent will reach destination or
+   *         negative value if this command does not move agent straight
+   *         to destination or it is not executed.
+   */
+  public long getArrivalTime();
   
   /**
    * Executes the command by manipulating the agent's state. If execution
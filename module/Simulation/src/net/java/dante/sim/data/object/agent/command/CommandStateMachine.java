@@ -150,6 +150,17 @@ final class CommandStateMachine
     return currentState.isDone();
   }
   
+  /**
+   * Determines whether this command is executed.
+   *
+   * @return Returns <code>true</code> if command is executed or
+   *         <code>false</code> otherwise.
+   */
+  boolean isExecuting()
+  {
+    return (currentState == executing);
+  }
+
   /**
    * Determines whether this command's execution is stopped.
    * 
@@ -49,6 +49,16 @@ final class MoveAgentCommand extends AbstractAgentCommand
   }
 
 
+  /**
+   * @see net.java.dante.sim.data.object.agent.command.AbstractAgentCommand#getArrivalTime()
+   */
+  @Override
+  public long getArrivalTime()
+  {
+    return (stateMachine.isExecuting()? tracker.getRemainingTime() : -1);
+  }
+
+
   /**
    * Implementation of {@link ReadyState} specific for 'move' command.
    *
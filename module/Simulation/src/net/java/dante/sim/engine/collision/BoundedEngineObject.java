@@ -0,0 +1,29 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.collision;
+
+import net.java.dante.sim.engine.EngineObject;
+import net.java.dante.sim.util.math.Rect2d;
+
+/**
+ * Interface for {@link EngineObject} implementations that are able to
+ * provide their bounding rectangle. Only such objects can be stored in
+ * broad phase grid of {@link CollisionDetector} - all other objects are
+ * checked against collisions with every object.
+ *
+ * @author M.Olszewski
+ */
+public interface BoundedEngineObject extends EngineObject
+{
+  /**
+   * Gets current bounds of this {@link BoundedEngineObject}. Returned
+   * rectangle must reflect current position of object.
+   *
+   * @return Returns current bounds of this {@link BoundedEngineObject}.
+   */
+  Rect2d getObjectBounds();
+}
@@ -12,13 +12,20 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import net.java.dante.sim.data.object.ObjectSize;
 import net.java.dante.sim.engine.EngineObject;
+import net.java.dante.sim.util.math.Line2d;
+import net.java.dante.sim.util.math.Rect2d;
 
 
 
 /**
  * Implementation of collision detector, using simplified brute force method
  * to check all possible collisions. Only active objects are checked.
+ * If detector is created with grid parameters, collisions of single object
+ * are checked only against objects occupying the same grid cells
+ * (see {@link BoundedEngineObject}) and against static obstacles
+ * from these cells.
  *
  * @author M.Olszewski
  */
@@ -28,16 +35,44 @@ public class CollisionDetector
   private List<EngineObject> checkedObjects = new ArrayList<EngineObject>();
   /** Set of collision checking modules. */
   private Set<CollisionModule> modules = new HashSet<CollisionModule>();
+  /** Broad phase grid - <code>null</code> if brute force method is used. */
+  private CollisionGrid grid;
+  /** List of candidates found by broad phase grid. */
+  private List<EngineObject> candidates = new ArrayList<EngineObject>();
+  /** Path of object swept by {@link #findFirstCollisionTime(CollisionModule, BoundedEngineObject, double, double)}. */
+  private Line2d sweptPath = new Line2d(0.0, 0.0, 0.0, 0.0);
 
 
   /**
-   * Creates instance of {@link CollisionDetector} class.
+   * Creates instance of {@link CollisionDetector} class, using brute
+   * force method.
    */
   public CollisionDetector()
   {
     // Intentionally left empty.
   }
 
+  /**
+   * Creates instance of {@link CollisionDetector} class, using uniform
+   * grid with specified parameters as broad phase. Usually grid
+   * cells should have size of map's tile.
+   *
+   * @param cellSize - size of each grid cell.
+   * @param columns - number of grid columns.
+   * @param rows - number of grid rows.
+   *
+   * @throws NullPointerException if <code>cellSize</code> is <code>null</code>.
+   */
+  public CollisionDetector(ObjectSize cellSize, int columns, int rows)
+  {
+    if (cellSize == null)
+    {
+      throw new NullPointerException("Specified cellSize is null!");
+    }
+
+    grid = new CollisionGrid(cellSize.getWidth(), cellSize.getHeight(), columns, rows);
+  }
+
 
   /**
    * Removes all registered modules and added objects from this
@@ -47,6 +82,10 @@ public class CollisionDetector
   {
     modules.clear();
     checkedObjects.clear();
+    if (grid != null)
+    {
+      grid.clear();
+    }
   }
 
   /**
@@ -100,12 +139,73 @@ public class CollisionDetector
       throw new NullPointerException("Specified object is null!");
     }
 
-    if (!checkedObjects.contains(object))
+    if (grid != null)
+    {
+      if (grid.add(object))
+      {
+        checkedObjects.add(object);
+      }
+    }
+    else if (!checkedObjects.contains(object))
     {
       checkedObjects.add(object);
     }
   }
 
+  /**
+   * Adds static obstacle occupying map cell with specified column and row.
+   * If detector uses broad phase grid, obstacle is stored in occupancy
+   * bitmap of grid and it is checked only against objects covering its cell.
+   * Otherwise obstacle is added as any other object (see
+   * {@link #addObject(EngineObject)}). Obstacles are never checked
+   * against collisions with each other.
+   *
+   * @param obstacle - static obstacle.
+   * @param column - column of cell occupied by obstacle.
+   * @param row - row of cell occupied by obstacle.
+   *
+   * @throws NullPointerException if specified <code>obstacle</code> is <code>null</code>.
+   */
+  public void addObstacle(EngineObject obstacle, int column, int row)
+  {
+    if (obstacle == null)
+    {
+      throw new NullPointerException("Specified obstacle is null!");
+    }
+
+    if (grid != null)
+    {
+      grid.addObstacle(obstacle, column, row);
+    }
+    else
+    {
+      addObject(obstacle);
+    }
+  }
+
+  /**
+   * Checks whether specified rectangle touches any cell occupied by
+   * static obstacle added by {@link #addObstacle(EngineObject, int, int)}.
+   * This method always returns <code>false</code> if detector does not
+   * use broad phase grid.
+   *
+   * @param rect - checked rectangle.
+   *
+   * @return Returns <code>true</code> if rectangle touches any static obstacle,
+   *         <code>false</code> otherwise.
+   *
+   * @throws NullPointerException if specified <code>rect</code> is <code>null</code>.
+   */
+  public boolean touchesObstacle(Rect2d rect)
+  {
+    if (rect == null)
+    {
+      throw new NullPointerException("Specified rect is null!");
+    }
+
+    return ((grid != null) && grid.touchesObstacle(rect));
+  }
+
   /**
    * Removes object from list of objects that are checked against collisions.
    * If object is already not on the list, this method returns immediately.
@@ -123,6 +223,10 @@ public class CollisionDetector
     }
 
     checkedObjects.remove(object);
+    if (grid != null)
+    {
+      grid.remove(object);
+    }
   }
 
   /**
@@ -183,9 +287,144 @@ public class CollisionDetector
           invokeListeners(listeners, object1, object2);
         }
       }
+
+      // Static obstacles are not stored on list of checked objects
+      if ((grid != null) && (object1 instanceof BoundedEngineObject))
+      {
+        List<EngineObject> obstacles = grid.queryObstacles((BoundedEngineObject)object1, candidates);
+        for (int j = 0, obstaclesCount = obstacles.size(); j < obstaclesCount; j++)
+        {
+          EngineObject obstacle = obstacles.get(j);
+          if (module.checkCollision(object1, obstacle))
+          {
+            invokeListeners(listeners, object1, obstacle);
+          }
+        }
+        candidates.clear();
+      }
     }
   }
 
+  /**
+   * Finds all objects stored in this {@link CollisionDetector} that may
+   * collide with specified object during its movement in current update.
+   * Current bounds of the object and bounds with which it was checked
+   * during last update are taken into consideration, so obstacles and objects
+   * lying between these bounds are also found.
+   *
+   * @param object - object for which candidates are searched.
+   * @param found - list that is cleared and filled with found objects.
+   *
+   * @return Returns list of objects that may collide with specified object,
+   *         it may contain the specified object.
+   */
+  public List<EngineObject> findCandidates(BoundedEngineObject object, List<EngineObject> found)
+  {
+    if (object == null)
+    {
+      throw new NullPointerException("Specified object is null!");
+    }
+    if (found == null)
+    {
+      throw new NullPointerException("Specified found is null!");
+    }
+
+    if (grid != null)
+    {
+      grid.query(object, found);
+    }
+    else
+    {
+      found.clear();
+      found.addAll(checkedObjects);
+    }
+
+    return found;
+  }
+
+  /**
+   * Finds the first collision of the specified object with objects stored
+   * in this {@link CollisionDetector} while its bounds were moving from the
+   * specified start position to their current position. Bounds are moved
+   * by one pixel along path, starting from time at which they enter each
+   * candidate (see {@link Rect2d#intersectionTime(Line2d, int, int)}),
+   * and checked by the specified collision module until they leave
+   * the candidate. Objects overlapped by bounds at start position are
+   * skipped - they were checked during previous update. Listeners are not
+   * invoked and bounds are left at their current position.
+   *
+   * @param module - collision module that checks collisions.
+   * @param object - moving object.
+   * @param startX - 'x' coordinate of object's bounds before movement.
+   * @param startY - 'y' coordinate of object's bounds before movement.
+   *
+   * @return Returns part of movement from range [0, 1] after which object
+   *         collides for the first time or negative value if it does not
+   *         collide during the movement.
+   */
+  public double findFirstCollisionTime(CollisionModule module, BoundedEngineObject object,
+                                       double startX, double startY)
+  {
+    if (module == null)
+    {
+      throw new NullPointerException("Specified module is null!");
+    }
+
+    Rect2d bounds = object.getObjectBounds();
+    double endX = bounds.getX();
+    double endY = bounds.getY();
+    double distanceX = endX - startX;
+    double distanceY = endY - startY;
+    double collisionTime = Double.POSITIVE_INFINITY;
+
+    if ((distanceX != 0.0) || (distanceY != 0.0))
+    {
+      sweptPath.setLine(startX, startY, endX, endY);
+      double timeStep = 1.0 / Math.max(Math.abs(distanceX), Math.abs(distanceY));
+
+      List<EngineObject> objects = findCandidates(object, candidates);
+      for (int i = 0, size = objects.size(); i < size; i++)
+      {
+        EngineObject candidate = objects.get(i);
+        if ((candidate != object) && (candidate instanceof BoundedEngineObject))
+        {
+          Rect2d candidateBounds = ((BoundedEngineObject)candidate).getObjectBounds();
+          double time = candidateBounds.intersectionTime(sweptPath, bounds.getWidth(), bounds.getHeight());
+          boolean entered = false;
+          boolean left = false;
+
+          bounds.moveTo(startX, startY);
+          if (bounds.intersects(candidateBounds))
+          {
+            time = -1.0;
+          }
+
+          while ((time >= 0.0) && (time <= 1.0) && (time < collisionTime) && !left)
+          {
+            bounds.moveTo(startX + time * distanceX, startY + time * distanceY);
+            if (bounds.intersects(candidateBounds))
+            {
+              entered = true;
+              if (module.checkCollision(object, candidate))
+              {
+                collisionTime = time;
+              }
+            }
+            else
+            {
+              left = entered;
+            }
+            time += timeStep;
+          }
+        }
+      }
+      candidates.clear();
+      bounds.moveTo(endX, endY);
+    }
+
+    return ((collisionTime <= 1.0)? collisionTime : -1.0);
+  }
+
   /**
    * Checks all possible collisions between all objects stored in this
    * {@link CollisionDetector} and specified object,
@@ -213,7 +452,37 @@ public class CollisionDetector
       throw new NullPointerException("Specified object is null!");
     }
 
-    checkCollisions0(module, object);
+    checkCollisions0(module, object, true);
+  }
+
+  /**
+   * Checks collisions of specified object as
+   * {@link #checkCollisions(CollisionModule, EngineObject)}, but collisions
+   * with static obstacles are checked only if it is requested. They can
+   * be skipped only if it is known that object cannot touch any obstacle
+   * (see {@link #touchesObstacle(Rect2d)}). Detector without broad phase
+   * grid always checks collisions with obstacles.
+   *
+   * @param module - collision module that will check collisions.
+   * @param object - object checked against collisions with all objects
+   *        stored inside this {@link CollisionDetector}.
+   * @param withObstacles - determines whether collisions with static
+   *        obstacles should be checked.
+   *
+   * @throws NullPointerException if specified <code>module</code> is <code>null</code>.
+   */
+  public void checkCollisions(CollisionModule module, EngineObject object, boolean withObstacles)
+  {
+    if (module == null)
+    {
+      throw new NullPointerException("Specified module is null!");
+    }
+    if (object == null)
+    {
+      throw new NullPointerException("Specified object is null!");
+    }
+
+    checkCollisions0(module, object, withObstacles);
   }
 
   /**
@@ -224,22 +493,38 @@ public class CollisionDetector
    * @param module - collision module checking collisions.
    * @param object - object object checked against collisions with all objects
    *        stored inside this {@link CollisionDetector}.
+   * @param withObstacles - determines whether collisions with static
+   *        obstacles should be checked.
    */
-  private void checkCollisions0(CollisionModule module, EngineObject object)
+  private void checkCollisions0(CollisionModule module, EngineObject object, boolean withObstacles)
   {
     CollisionListener[] listeners = module.getListeners();
 
     // Do not check inactive objects
     if (object.isActive())
     {
-      for (int i = 0, size = checkedObjects.size(); i < size; i++)
+      List<EngineObject> objects = checkedObjects;
+      if ((grid != null) && (object instanceof BoundedEngineObject))
       {
-        EngineObject checkedObject = checkedObjects.get(i);
+        objects = grid.query((BoundedEngineObject)object, candidates, withObstacles);
+      }
+
+      for (int i = 0, size = objects.size(); i < size; i++)
+      {
+        EngineObject checkedObject = objects.get(i);
         if ((checkedObject != object) && module.checkCollision(object, checkedObject))
         {
           invokeListeners(listeners, object, checkedObject);
         }
       }
+
+      candidates.clear();
+    }
+
+    // Object's bounds are final for this update - store them in grid
+    if (grid != null)
+    {
+      grid.update(object);
     }
   }
 
@@ -0,0 +1,422 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import net.java.dante.sim.data.object.ObjectSize;
+import net.java.dante.sim.engine.EngineObject;
+import net.java.dante.sim.util.math.Line2d;
+import net.java.dante.sim.util.math.Rect2d;
+
+/**
+ * Test suite for {@link CollisionDetector} class.
+ *
+ * @author M.Olszewski
+ */
+public class CollisionDetectorTest extends TestCase
+{
+  /** Size of grid cell. */
+  private static final ObjectSize CELL_SIZE = new ObjectSize(20, 20);
+  /** Number of grid columns. */
+  private static final int COLUMNS = 30;
+  /** Number of grid rows. */
+  private static final int ROWS = 20;
+  /** Number of objects in each test. */
+  private static final int OBJECTS_COUNT = 300;
+  /** Size of projectiles swept in tests. */
+  private static final int PROJECTILE_SIZE = 4;
+  /** Allowed error of computed times. */
+  private static final double TIME_EPSILON = 1e-9;
+
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.collision.CollisionDetector#checkCollisions(CollisionModule, EngineObject)}.
+   * Collisions reported by detector using grid must be the same (and
+   * reported in the same order) as collisions reported by brute force
+   * detector, also for moving objects and objects outside of grid.
+   */
+  public final void testGridCheckCollisions()
+  {
+    Random random = new Random(2006);
+
+    CollisionDetector bruteForce = new CollisionDetector();
+    CollisionDetector gridBased  = new CollisionDetector(CELL_SIZE, COLUMNS, ROWS);
+
+    List<TestObject> objects = new ArrayList<TestObject>();
+    for (int i = 0; i < OBJECTS_COUNT; i++)
+    {
+      TestObject object = new TestObject(
+          random.nextInt(COLUMNS * 25) - 50, random.nextInt(ROWS * 25) - 50,
+          1 + random.nextInt(30), 1 + random.nextInt(30));
+      objects.add(object);
+      bruteForce.addObject(object);
+      gridBased.addObject(object);
+    }
+
+    RecordingModule bruteModule = new RecordingModule();
+    RecordingModule gridModule  = new RecordingModule();
+
+    for (int step = 0; step < 20; step++)
+    {
+      for (int i = 0; i < OBJECTS_COUNT; i += 3)
+      {
+        TestObject object = objects.get(i);
+        object.moveBy(random.nextInt(41) - 20, random.nextInt(41) - 20);
+
+        bruteForce.checkCollisions(bruteModule, object);
+        gridBased.checkCollisions(gridModule, object);
+      }
+
+      assertEquals(bruteModule.collisions, gridModule.collisions);
+    }
+
+    assertFalse(gridModule.collisions.isEmpty());
+  }
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.collision.CollisionDetector#addObstacle(EngineObject, int, int)}.
+   * Collisions with static obstacles must be the same (and reported in the
+   * same order) as collisions reported by brute force detector with
+   * obstacles added before all other objects.
+   */
+  public final void testGridObstacles()
+  {
+    Random random = new Random(2007);
+
+    CollisionDetector bruteForce = new CollisionDetector();
+    CollisionDetector gridBased  = new CollisionDetector(CELL_SIZE, COLUMNS, ROWS);
+
+    for (int row = 0; row < ROWS; row++)
+    {
+      for (int column = 0; column < COLUMNS; column++)
+      {
+        if (random.nextInt(4) == 0)
+        {
+          TestObject obstacle = new TestObject(column * CELL_SIZE.getWidth(),
+              row * CELL_SIZE.getHeight(), CELL_SIZE.getWidth(), CELL_SIZE.getHeight());
+          bruteForce.addObject(obstacle);
+          gridBased.addObstacle(obstacle, column, row);
+        }
+      }
+    }
+
+    List<TestObject> objects = new ArrayList<TestObject>();
+    for (int i = 0; i < OBJECTS_COUNT; i++)
+    {
+      TestObject object = new TestObject(
+          random.nextInt(COLUMNS * 25) - 50, random.nextInt(ROWS * 25) - 50,
+          1 + random.nextInt(30), 1 + random.nextInt(30));
+      objects.add(object);
+      bruteForce.addObject(object);
+      gridBased.addObject(object);
+    }
+
+    RecordingModule bruteModule = new RecordingModule();
+    RecordingModule gridModule  = new RecordingModule();
+
+    for (int step = 0; step < 10; step++)
+    {
+      for (int i = 0; i < OBJECTS_COUNT; i++)
+      {
+        TestObject object = objects.get(i);
+        object.moveBy(random.nextInt(21) - 10, random.nextInt(21) - 10);
+
+        bruteForce.checkCollisions(bruteModule, object);
+        gridBased.checkCollisions(gridModule, object);
+
+        assertEquals(bruteModule.collisions, gridModule.collisions);
+      }
+    }
+  }
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.collision.CollisionDetector#touchesObstacle(Rect2d)}.
+   */
+  public final void testTouchesObstacle()
+  {
+    CollisionDetector detector = new CollisionDetector(CELL_SIZE, COLUMNS, ROWS);
+    detector.addObstacle(new TestObject(40, 20, 20, 20), 2, 1);
+
+    assertTrue(detector.touchesObstacle(new Rect2d(45, 25, 5, 5)));
+    assertTrue(detector.touchesObstacle(new Rect2d(30, 10, 11, 11)));
+    assertTrue(detector.touchesObstacle(new Rect2d(59.5, 39.5, 10, 10)));
+    assertFalse(detector.touchesObstacle(new Rect2d(20, 20, 20, 20)));
+    assertFalse(detector.touchesObstacle(new Rect2d(60, 20, 20, 20)));
+    assertFalse(detector.touchesObstacle(new Rect2d(40, 40, 20, 20)));
+    assertFalse(detector.touchesObstacle(new Rect2d(-100, -100, 20, 20)));
+    assertFalse(detector.touchesObstacle(new Rect2d(1000, 25, 20, 20)));
+    assertFalse(new CollisionDetector().touchesObstacle(new Rect2d(45, 25, 5, 5)));
+  }
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.collision.CollisionDetector#removeObject(EngineObject)}.
+   */
+  public final void testGridRemoveObject()
+  {
+    CollisionDetector detector = new CollisionDetector(CELL_SIZE, COLUMNS, ROWS);
+    TestObject object1 = new TestObject(10, 10, 20, 20);
+    TestObject object2 = new TestObject(15, 15, 20, 20);
+
+    detector.addObject(object1);
+    detector.addObject(object2);
+    detector.addObject(object2);
+
+    RecordingModule module = new RecordingModule();
+    detector.checkCollisions(module, object1);
+    assertEquals(1, module.collisions.size());
+
+    detector.removeObject(object2);
+    detector.checkCollisions(module, object1);
+    assertEquals(1, module.collisions.size());
+  }
+
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.util.math.Rect2d#intersectionTime(Line2d, int, int)}.
+   */
+  public final void testIntersectionTime()
+  {
+    Rect2d wall = new Rect2d(100, 40, 20, 20);
+
+    // Tunnelling through whole wall - it is entered when right edge passes x = 100
+    assertEquals(0.36, wall.intersectionTime(new Line2d(60, 48, 160, 48),
+        PROJECTILE_SIZE, PROJECTILE_SIZE), TIME_EPSILON);
+    // Grazing bottom-left corner and sliding along top edge are misses
+    assertTrue(wall.intersectionTime(new Line2d(86, 50, 106, 70),
+        PROJECTILE_SIZE, PROJECTILE_SIZE) < 0.0);
+    assertTrue(wall.intersectionTime(new Line2d(60, 36, 160, 36),
+        PROJECTILE_SIZE, PROJECTILE_SIZE) < 0.0);
+    // Zero velocity - outside and inside of wall
+    assertTrue(wall.intersectionTime(new Line2d(60, 48, 60, 48),
+        PROJECTILE_SIZE, PROJECTILE_SIZE) < 0.0);
+    assertEquals(0.0, wall.intersectionTime(new Line2d(105, 45, 105, 45),
+        PROJECTILE_SIZE, PROJECTILE_SIZE), 0.0);
+    // Start position inside wall
+    assertEquals(0.0, wall.intersectionTime(new Line2d(105, 45, 205, 45),
+        PROJECTILE_SIZE, PROJECTILE_SIZE), 0.0);
+  }
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.collision.CollisionDetector#findCandidates(BoundedEngineObject, List)}.
+   * Obstacles lying between position of object during last update and its
+   * current position must be found.
+   */
+  public final void testFindCandidatesAlongPath()
+  {
+    CollisionDetector detector = new CollisionDetector(CELL_SIZE, COLUMNS, ROWS);
+    TestObject wall = new TestObject(100, 40, 20, 20);
+    detector.addObstacle(wall, 5, 2);
+    TestObject distant = new TestObject(300, 300, 20, 20);
+    detector.addObject(distant);
+
+    TestObject projectile = new TestObject(60, 48, PROJECTILE_SIZE, PROJECTILE_SIZE);
+    detector.addObject(projectile);
+    projectile.moveBy(100, 0);
+
+    List<EngineObject> found = detector.findCandidates(projectile, new ArrayList<EngineObject>());
+    assertTrue(found.contains(wall));
+    assertFalse(found.contains(distant));
+  }
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.collision.CollisionDetector#findFirstCollisionTime(CollisionModule, BoundedEngineObject, double, double)}.
+   * Projectile which passes through one tile wall in one update must be
+   * stopped when it enters the wall.
+   */
+  public final void testFirstCollisionTimeTunnelling()
+  {
+    CollisionDetector detector = new CollisionDetector(CELL_SIZE, COLUMNS, ROWS);
+    TestObject wall = new TestObject(100, 40, 20, 20);
+    detector.addObstacle(wall, 5, 2);
+
+    TestObject projectile = new TestObject(60, 48, PROJECTILE_SIZE, PROJECTILE_SIZE);
+    detector.addObject(projectile);
+    projectile.moveBy(100, 0);
+
+    RecordingModule module = new RecordingModule();
+    double time = detector.findFirstCollisionTime(module, projectile, 60, 48);
+    assertTrue(time >= 0.36 - TIME_EPSILON);
+    assertTrue(time <= 0.37 + TIME_EPSILON);
+    assertFalse(module.collisions.isEmpty());
+
+    // Bounds are left at current position
+    assertEquals(160.0, projectile.getObjectBounds().getX(), 0.0);
+
+    // Stopped projectile overlaps wall by at most one pixel
+    Rect2d stopped = new Rect2d(60 + time * 100, 48, PROJECTILE_SIZE, PROJECTILE_SIZE);
+    assertTrue(stopped.intersects(wall.getObjectBounds()));
+    assertTrue(stopped.getX() + PROJECTILE_SIZE <= 101.0 + TIME_EPSILON);
+  }
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.collision.CollisionDetector#findFirstCollisionTime(CollisionModule, BoundedEngineObject, double, double)}.
+   * Projectiles grazing corner or edge of wall and projectiles which
+   * do not move must not collide.
+   */
+  public final void testFirstCollisionTimeMisses()
+  {
+    CollisionDetector detector = new CollisionDetector(CELL_SIZE, COLUMNS, ROWS);
+    TestObject wall = new TestObject(100, 40, 20, 20);
+    detector.addObstacle(wall, 5, 2);
+    RecordingModule module = new RecordingModule();
+
+    TestObject cornerGrazing = new TestObject(86, 50, PROJECTILE_SIZE, PROJECTILE_SIZE);
+    detector.addObject(cornerGrazing);
+    cornerGrazing.moveBy(20, 20);
+    assertTrue(detector.findFirstCollisionTime(module, cornerGrazing, 86, 50) < 0.0);
+
+    TestObject edgeGrazing = new TestObject(60, 36, PROJECTILE_SIZE, PROJECTILE_SIZE);
+    detector.addObject(edgeGrazing);
+    edgeGrazing.moveBy(100, 0);
+    assertTrue(detector.findFirstCollisionTime(module, edgeGrazing, 60, 36) < 0.0);
+
+    TestObject still = new TestObject(60, 48, PROJECTILE_SIZE, PROJECTILE_SIZE);
+    detector.addObject(still);
+    assertTrue(detector.findFirstCollisionTime(module, still, 60, 48) < 0.0);
+
+    TestObject stillInside = new TestObject(105, 45, PROJECTILE_SIZE, PROJECTILE_SIZE);
+    detector.addObject(stillInside);
+    assertTrue(detector.findFirstCollisionTime(module, stillInside, 105, 45) < 0.0);
+
+    assertTrue(module.collisions.isEmpty());
+  }
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.collision.CollisionDetector#findFirstCollisionTime(CollisionModule, BoundedEngineObject, double, double)}.
+   * Wall overlapped by projectile at its start position must be skipped,
+   * but the next wall on its path must stop it.
+   */
+  public final void testFirstCollisionTimeStartInside()
+  {
+    CollisionDetector detector = new CollisionDetector(CELL_SIZE, COLUMNS, ROWS);
+    TestObject startWall = new TestObject(100, 40, 20, 20);
+    detector.addObstacle(startWall, 5, 2);
+    TestObject nextWall = new TestObject(160, 40, 20, 20);
+    detector.addObstacle(nextWall, 8, 2);
+
+    TestObject projectile = new TestObject(105, 45, PROJECTILE_SIZE, PROJECTILE_SIZE);
+    detector.addObject(projectile);
+    projectile.moveBy(100, 0);
+
+    RecordingModule module = new RecordingModule();
+    double time = detector.findFirstCollisionTime(module, projectile, 105, 45);
+    assertTrue(time >= 0.51 - TIME_EPSILON);
+    assertTrue(time <= 0.52 + TIME_EPSILON);
+
+    String nextWallId = String.valueOf(System.identityHashCode(nextWall));
+    assertFalse(module.collisions.isEmpty());
+    for (String collision : module.collisions)
+    {
+      assertTrue(collision.endsWith("-" + nextWallId));
+    }
+  }
+
+  /**
+   * Simple object with bounds used by tests.
+   *
+   * @author M.Olszewski
+   */
+  private static class TestObject implements BoundedEngineObject
+  {
+    /** Bounds of this object. */
+    private Rect2d bounds;
+
+    /**
+     * Creates instance of {@link TestObject} class.
+     *
+     * @param x - 'x' coordinate.
+     * @param y - 'y' coordinate.
+     * @param width - width of object.
+     * @param height - height of object.
+     */
+    TestObject(double x, double y, int width, int height)
+    {
+      bounds = new Rect2d(x, y, width, height);
+    }
+
+    /**
+     * Moves this object by specified offsets.
+     *
+     * @param dx - offset along 'x' axis.
+     * @param dy - offset along 'y' axis.
+     */
+    void moveBy(double dx, double dy)
+    {
+      bounds.moveTo(bounds.getX() + dx, bounds.getY() + dy);
+    }
+
+    /**
+     * @see net.java.dante.sim.engine.collision.BoundedEngineObject#getObjectBounds()
+     */
+    public Rect2d getObjectBounds()
+    {
+      return bounds;
+    }
+
+    /**
+     * @see net.java.dante.sim.engine.EngineObject#isActive()
+     */
+    public boolean isActive()
+    {
+      return true;
+    }
+
+    /**
+     * @see net.java.dante.sim.engine.EngineObject#render()
+     */
+    public void render()
+    {
+      // Intentionally left empty.
+    }
+
+    /**
+     * @see net.java.dante.sim.engine.EngineObject#update(long)
+     */
+    public void update(long delta)
+    {
+      // Intentionally left empty.
+    }
+  }
+
+  /**
+   * Collision module recording all detected collisions.
+   *
+   * @author M.Olszewski
+   */
+  private static class RecordingModule extends AbstractCollisionModule
+  {
+    /** All detected collisions. */
+    final List<String> collisions = new ArrayList<String>();
+
+    /**
+     * @see net.java.dante.sim.engine.collision.CollisionModule#checkCollision(net.java.dante.sim.engine.EngineObject, net.java.dante.sim.engine.EngineObject)
+     */
+    public boolean checkCollision(EngineObject o1, EngineObject o2)
+    {
+      boolean collided = ((BoundedEngineObject)o1).getObjectBounds().intersects(
+          ((BoundedEngineObject)o2).getObjectBounds());
+      if (collided)
+      {
+        collisions.add(System.identityHashCode(o1) + "-" + System.identityHashCode(o2));
+      }
+      return collided;
+    }
+  }
+}
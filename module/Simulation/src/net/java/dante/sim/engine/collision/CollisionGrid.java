@@ -0,0 +1,544 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.collision;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.java.dante.sim.engine.EngineObject;
+import net.java.dante.sim.util.math.Rect2d;
+
+
+/**
+ * Uniform grid used by {@link CollisionDetector} as broad phase of
+ * collision detection. Each {@link BoundedEngineObject} is registered
+ * in all cells covered by its bounds, so only objects sharing at least
+ * one cell are passed to {@link CollisionModule}. Objects placed outside
+ * of grid are stored in the nearest border cells.
+ * Objects that are not {@link BoundedEngineObject} implementations are
+ * returned by every query.<p>
+ * Static obstacles occupying whole cells are not stored in cells - they
+ * are kept in separate occupancy bitmap, so they do not increase cost of
+ * queries in cells without obstacles.
+ *
+ * @author M.Olszewski
+ */
+class CollisionGrid
+{
+  /** Comparator restoring order in which objects were added. */
+  private static final Comparator<GridEntry> SEQUENCE_COMPARATOR = new Comparator<GridEntry>()
+  {
+    public int compare(GridEntry e1, GridEntry e2)
+    {
+      return ((e1.sequence < e2.sequence)? -1 : ((e1.sequence == e2.sequence)? 0 : 1));
+    }
+  };
+
+  /** Width of each cell. */
+  private int cellWidth;
+  /** Height of each cell. */
+  private int cellHeight;
+  /** Number of columns. */
+  private int columns;
+  /** Number of rows. */
+  private int rows;
+  /** Cells of this grid - created lazily. */
+  private GridCell[] cells;
+  /** Occupancy bitmap of static obstacles - one bit for each cell. */
+  private BitSet obstacles;
+  /** Static obstacles objects, indexed by cells. */
+  private EngineObject[] obstacleObjects;
+  /** Entries of all stored objects. */
+  private Map<EngineObject, GridEntry> entries = new IdentityHashMap<EngineObject, GridEntry>();
+  /** Entries of objects without bounds. */
+  private List<GridEntry> unboundedEntries = new ArrayList<GridEntry>();
+  /** Entries found by last query. */
+  private List<GridEntry> foundEntries = new ArrayList<GridEntry>();
+  /** Sequence number assigned to next added object. */
+  private long nextSequence;
+  /** Stamp of current query. */
+  private int queryStamp;
+
+
+  /**
+   * Creates instance of {@link CollisionGrid} class with specified
+   * parameters.
+   *
+   * @param gridCellWidth - width of each cell.
+   * @param gridCellHeight - height of each cell.
+   * @param gridColumns - number of columns.
+   * @param gridRows - number of rows.
+   */
+  CollisionGrid(int gridCellWidth, int gridCellHeight, int gridColumns, int gridRows)
+  {
+    if (gridCellWidth <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument gridCellWidth - it must be positive integer!");
+    }
+    if (gridCellHeight <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument gridCellHeight - it must be positive integer!");
+    }
+    if (gridColumns <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument gridColumns - it must be positive integer!");
+    }
+    if (gridRows <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument gridRows - it must be positive integer!");
+    }
+
+    cellWidth  = gridCellWidth;
+    cellHeight = gridCellHeight;
+    columns    = gridColumns;
+    rows       = gridRows;
+    cells      = new GridCell[columns * rows];
+    obstacles  = new BitSet(columns * rows);
+    obstacleObjects = new EngineObject[columns * rows];
+  }
+
+
+  /**
+   * Adds specified object to this grid. If object is already added,
+   * this method returns immediately.
+   *
+   * @param object - object to add.
+   *
+   * @return Returns <code>true</code> if object was added,
+   *         <code>false</code> otherwise.
+   */
+  boolean add(EngineObject object)
+  {
+    boolean added = false;
+    if (!entries.containsKey(object))
+    {
+      GridEntry entry = new GridEntry(object, nextSequence++);
+      entries.put(object, entry);
+
+      if (entry.bounded != null)
+      {
+        Rect2d bounds = entry.bounded.getObjectBounds();
+        entry.minColumn = toColumn(bounds.getX());
+        entry.minRow    = toRow(bounds.getY());
+        entry.maxColumn = toColumn(bounds.getX() + bounds.getWidth());
+        entry.maxRow    = toRow(bounds.getY() + bounds.getHeight());
+        insert(entry);
+      }
+      else
+      {
+        unboundedEntries.add(entry);
+      }
+      added = true;
+    }
+
+    return added;
+  }
+
+  /**
+   * Adds specified static obstacle occupying cell with specified column and
+   * row. Obstacle replaces any other obstacle from that cell.
+   *
+   * @param obstacle - obstacle to add.
+   * @param column - column of occupied cell.
+   * @param row - row of occupied cell.
+   */
+  void addObstacle(EngineObject obstacle, int column, int row)
+  {
+    if ((column < 0) || (column >= columns))
+    {
+      throw new IllegalArgumentException("Invalid argument column - it must be an integer in range [0, " + columns + ")!");
+    }
+    if ((row < 0) || (row >= rows))
+    {
+      throw new IllegalArgumentException("Invalid argument row - it must be an integer in range [0, " + rows + ")!");
+    }
+
+    int index = row * columns + column;
+    obstacles.set(index);
+    obstacleObjects[index] = obstacle;
+  }
+
+  /**
+   * Checks whether specified rectangle touches any cell occupied by
+   * static obstacle. Parts of rectangle outside of grid never touch obstacles.
+   *
+   * @param rect - checked rectangle.
+   *
+   * @return Returns <code>true</code> if rectangle touches any obstacle,
+   *         <code>false</code> otherwise.
+   */
+  boolean touchesObstacle(Rect2d rect)
+  {
+    boolean touches = false;
+    if (!rect.isEmpty() && !obstacles.isEmpty())
+    {
+      double maxX = rect.getX() + rect.getWidth();
+      double maxY = rect.getY() + rect.getHeight();
+      // Rectangles touching cells only with edges do not intersect them
+      int minColumn = Math.max((int)Math.floor(rect.getX() / cellWidth), 0);
+      int minRow    = Math.max((int)Math.floor(rect.getY() / cellHeight), 0);
+      int maxColumn = Math.min((int)Math.ceil(maxX / cellWidth) - 1, columns - 1);
+      int maxRow    = Math.min((int)Math.ceil(maxY / cellHeight) - 1, rows - 1);
+
+      for (int row = minRow; (row <= maxRow) && !touches; row++)
+      {
+        int rowOffset = row * columns;
+        int next = obstacles.nextSetBit(rowOffset + minColumn);
+        touches = ((next >= 0) && (next <= (rowOffset + maxColumn)));
+      }
+    }
+
+    return touches;
+  }
+
+  /**
+   * Removes specified object from this grid. If object is not stored in
+   * this grid, this method returns immediately.
+   *
+   * @param object - object to remove.
+   */
+  void remove(EngineObject object)
+  {
+    GridEntry entry = entries.remove(object);
+    if (entry != null)
+    {
+      if (entry.bounded != null)
+      {
+        erase(entry);
+      }
+      else
+      {
+        unboundedEntries.remove(entry);
+      }
+    }
+  }
+
+  /**
+   * Removes all objects from this grid.
+   */
+  void clear()
+  {
+    for (int i = 0; i < cells.length; i++)
+    {
+      cells[i] = null;
+    }
+    obstacles.clear();
+    for (int i = 0; i < obstacleObjects.length; i++)
+    {
+      obstacleObjects[i] = null;
+    }
+    entries.clear();
+    unboundedEntries.clear();
+    foundEntries.clear();
+  }
+
+  /**
+   * Updates cells occupied by specified object using its current bounds.
+   * If object is not stored in this grid or it is not an instance of
+   * {@link BoundedEngineObject} this method returns immediately.
+   *
+   * @param object - object to update.
+   */
+  void update(EngineObject object)
+  {
+    GridEntry entry = entries.get(object);
+    if ((entry != null) && (entry.bounded != null))
+    {
+      Rect2d bounds = entry.bounded.getObjectBounds();
+      int minColumn = toColumn(bounds.getX());
+      int minRow    = toRow(bounds.getY());
+      int maxColumn = toColumn(bounds.getX() + bounds.getWidth());
+      int maxRow    = toRow(bounds.getY() + bounds.getHeight());
+
+      if ((minColumn != entry.minColumn) || (minRow != entry.minRow) ||
+          (maxColumn != entry.maxColumn) || (maxRow != entry.maxRow))
+      {
+        erase(entry);
+        entry.minColumn = minColumn;
+        entry.minRow    = minRow;
+        entry.maxColumn = maxColumn;
+        entry.maxRow    = maxRow;
+        insert(entry);
+      }
+    }
+  }
+
+  /**
+   * Finds all objects that may collide with specified object.
+   * Cells covered by current bounds of the object and cells in which
+   * object was registered during last update are searched, so objects
+   * that can collide with object after its position is reverted are
+   * also found. Static obstacles from searched cells are returned first
+   * (row by row), followed by other objects in order in which they were
+   * added to this grid.
+   *
+   * @param object - object for which candidates are searched.
+   * @param found - list that is cleared and filled with found objects.
+   *
+   * @return Returns list of objects that may collide with specified object.
+   */
+  List<EngineObject> query(BoundedEngineObject object, List<EngineObject> found)
+  {
+    return query(object, found, true);
+  }
+
+  /**
+   * Finds all objects that may collide with specified object - as
+   * {@link #query(BoundedEngineObject, List)}, but static obstacles
+   * are returned only if it is requested.
+   *
+   * @param object - object for which candidates are searched.
+   * @param found - list that is cleared and filled with found objects.
+   * @param withObstacles - determines whether static obstacles should be found.
+   *
+   * @return Returns list of objects that may collide with specified object.
+   */
+  List<EngineObject> query(BoundedEngineObject object, List<EngineObject> found, boolean withObstacles)
+  {
+    found.clear();
+    foundEntries.clear();
+    queryStamp++;
+
+    Rect2d bounds = object.getObjectBounds();
+    int minColumn = toColumn(bounds.getX());
+    int minRow    = toRow(bounds.getY());
+    int maxColumn = toColumn(bounds.getX() + bounds.getWidth());
+    int maxRow    = toRow(bounds.getY() + bounds.getHeight());
+
+    GridEntry objectEntry = entries.get(object);
+    if (objectEntry != null)
+    {
+      objectEntry.stamp = queryStamp;
+      minColumn = Math.min(minColumn, objectEntry.minColumn);
+      minRow    = Math.min(minRow, objectEntry.minRow);
+      maxColumn = Math.max(maxColumn, objectEntry.maxColumn);
+      maxRow    = Math.max(maxRow, objectEntry.maxRow);
+    }
+
+    if (withObstacles)
+    {
+      collectObstacles(minColumn, minRow, maxColumn, maxRow, found);
+    }
+
+    for (int row = minRow; row <= maxRow; row++)
+    {
+      for (int column = minColumn; column <= maxColumn; column++)
+      {
+        GridCell cell = cells[row * columns + column];
+        if (cell != null)
+        {
+          for (int i = 0, size = cell.entries.size(); i < size; i++)
+          {
+            GridEntry entry = cell.entries.get(i);
+            if (entry.stamp != queryStamp)
+            {
+              entry.stamp = queryStamp;
+              foundEntries.add(entry);
+            }
+          }
+        }
+      }
+    }
+
+    foundEntries.addAll(unboundedEntries);
+    Collections.sort(foundEntries, SEQUENCE_COMPARATOR);
+
+    for (int i = 0, size = foundEntries.size(); i < size; i++)
+    {
+      found.add(foundEntries.get(i).object);
+    }
+    foundEntries.clear();
+
+    return found;
+  }
+
+  /**
+   * Finds all static obstacles that may collide with specified object.
+   *
+   * @param object - object for which obstacles are searched.
+   * @param found - list that is cleared and filled with found obstacles.
+   *
+   * @return Returns list of obstacles that may collide with specified object.
+   */
+  List<EngineObject> queryObstacles(BoundedEngineObject object, List<EngineObject> found)
+  {
+    found.clear();
+
+    Rect2d bounds = object.getObjectBounds();
+    collectObstacles(toColumn(bounds.getX()), toRow(bounds.getY()),
+        toColumn(bounds.getX() + bounds.getWidth()),
+        toRow(bounds.getY() + bounds.getHeight()), found);
+
+    return found;
+  }
+
+  /**
+   * Adds static obstacles from specified range of cells to specified list,
+   * row by row.
+   *
+   * @param minColumn - first column.
+   * @param minRow - first row.
+   * @param maxColumn - last column.
+   * @param maxRow - last row.
+   * @param found - list to which obstacles are added.
+   */
+  private void collectObstacles(int minColumn, int minRow, int maxColumn,
+      int maxRow, List<EngineObject> found)
+  {
+    if (!obstacles.isEmpty())
+    {
+      for (int row = minRow; row <= maxRow; row++)
+      {
+        int rowOffset = row * columns;
+        int last = rowOffset + maxColumn;
+        for (int index = obstacles.nextSetBit(rowOffset + minColumn);
+             (index >= 0) && (index <= last); index = obstacles.nextSetBit(index + 1))
+        {
+          found.add(obstacleObjects[index]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Inserts specified entry into all cells covered by it.
+   *
+   * @param entry - entry to insert.
+   */
+  private void insert(GridEntry entry)
+  {
+    for (int row = entry.minRow; row <= entry.maxRow; row++)
+    {
+      for (int column = entry.minColumn; column <= entry.maxColumn; column++)
+      {
+        int index = row * columns + column;
+        GridCell cell = cells[index];
+        if (cell == null)
+        {
+          cell = new GridCell();
+          cells[index] = cell;
+        }
+        cell.entries.add(entry);
+      }
+    }
+  }
+
+  /**
+   * Erases specified entry from all cells covered by it.
+   *
+   * @param entry - entry to erase.
+   */
+  private void erase(GridEntry entry)
+  {
+    for (int row = entry.minRow; row <= entry.maxRow; row++)
+    {
+      for (int column = entry.minColumn; column <= entry.maxColumn; column++)
+      {
+        GridCell cell = cells[row * columns + column];
+        if (cell != null)
+        {
+          cell.entries.remove(entry);
+        }
+      }
+    }
+  }
+
+  /**
+   * Converts specified 'x' coordinate to column index, clamped to
+   * range of this grid.
+   *
+   * @param x - 'x' coordinate.
+   *
+   * @return Returns column index.
+   */
+  private int toColumn(double x)
+  {
+    return clamp((int)Math.floor(x / cellWidth), columns);
+  }
+
+  /**
+   * Converts specified 'y' coordinate to row index, clamped to
+   * range of this grid.
+   *
+   * @param y - 'y' coordinate.
+   *
+   * @return Returns row index.
+   */
+  private int toRow(double y)
+  {
+    return clamp((int)Math.floor(y / cellHeight), rows);
+  }
+
+  /**
+   * Clamps specified index to range [0, count - 1].
+   *
+   * @param index - index to clamp.
+   * @param count - number of indices.
+   *
+   * @return Returns clamped index.
+   */
+  private static int clamp(int index, int count)
+  {
+    return ((index < 0)? 0 : ((index >= count)? (count - 1) : index));
+  }
+
+
+  /**
+   * Single cell of {@link CollisionGrid}.
+   *
+   * @author M.Olszewski
+   */
+  private static class GridCell
+  {
+    /** Entries stored in this cell. */
+    final List<GridEntry> entries = new ArrayList<GridEntry>(4);
+  }
+
+  /**
+   * Entry of object stored in {@link CollisionGrid}.
+   *
+   * @author M.Olszewski
+   */
+  private static class GridEntry
+  {
+    /** Stored object. */
+    final EngineObject object;
+    /** Stored object as {@link BoundedEngineObject} or <code>null</code>. */
+    final BoundedEngineObject bounded;
+    /** Sequence number - order in which objects were added. */
+    final long sequence;
+    /** First column covered by object. */
+    int minColumn;
+    /** First row covered by object. */
+    int minRow;
+    /** Last column covered by object. */
+    int maxColumn;
+    /** Last row covered by object. */
+    int maxRow;
+    /** Stamp of last query which found this entry. */
+    int stamp;
+
+
+    /**
+     * Creates instance of {@link GridEntry} class.
+     *
+     * @param engineObject - stored object.
+     * @param entrySequence - sequence number.
+     */
+    GridEntry(EngineObject engineObject, long entrySequence)
+    {
+      object   = engineObject;
+      bounded  = (engineObject instanceof BoundedEngineObject)? (BoundedEngineObject)engineObject : null;
+      sequence = entrySequence;
+    }
+  }
+}
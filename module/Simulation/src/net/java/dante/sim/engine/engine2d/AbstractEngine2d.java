@@ -62,9 +62,12 @@ public abstract class AbstractEngine2d implements Engine
   /** Engine thread. */
   private Thread engineThread;
 
+  /** Determines whether engine is headless. */
+  private boolean headless;
+
   /** Output for this engine. */
   protected SimulationOutput output;
-  /** Drawing context. */
+  /** Drawing context - <code>null</code> for headless engine. */
   protected Java2dContext context;
   /** Sprites repository. */
   protected SpritesRepository spritesRepository;
@@ -129,15 +132,24 @@ public abstract class AbstractEngine2d implements Engine
         updatesInterval = global.getUpdatesInterval();
         battleDurationCounter = new TimeCounter(global.getBattleDuration());
 
-        // Initialize graphics context
-        context = new Java2dContext(engineInitData.getParent(), true);
-        int resW = global.getMapTileSize().getWidth() * simData.getMap().getColumns();
-        int resH = global.getMapTileSize().getHeight() * simData.getMap().getRows();
-        context.setResolution(resW, resH);
-        context.initialize();
-
-        // Create sprites repository
-        spritesRepository = new SpritesRepository(global, context);
+        headless = engineInitData.isHeadless();
+        if (!headless)
+        {
+          // Initialize graphics context
+          context = new Java2dContext(engineInitData.getParent(), true);
+          int resW = global.getMapTileSize().getWidth() * simData.getMap().getColumns();
+          int resH = global.getMapTileSize().getHeight() * simData.getMap().getRows();
+          context.setResolution(resW, resH);
+          context.initialize();
+
+          // Create sprites repository
+          spritesRepository = new SpritesRepository(global, context);
+        }
+        else
+        {
+          // Sprites are still required by objects' bounds and collisions
+          spritesRepository = new SpritesRepository(global);
+        }
 
         // Perform specific initialization
         performInitialization(simInput, simData, engineInitData);
@@ -334,6 +346,19 @@ public abstract class AbstractEngine2d implements Engine
     return (engineThread != null);
   }
 
+  /**
+   * Checks whether this engine is headless - it has no graphics context
+   * and cannot render anything.
+   * This method can be invoked by subclasses
+   * of this {@link AbstractEngine2d} class.
+   *
+   * @return Returns <code>true</code> if this engine is headless.
+   */
+  protected final boolean isHeadless()
+  {
+    return headless;
+  }
+
   /**
    * Checks whether simulation loop is paused.
    * This method can be invoked by subclasses
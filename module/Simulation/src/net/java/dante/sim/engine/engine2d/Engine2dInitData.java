@@ -14,15 +14,22 @@ import net.java.dante.sim.data.common.InitData;
 
 /**
  * Class containing external settings for {@link net.java.dante.sim.engine.engine2d.server.ServerEngine2d} object.
+ * Settings created without parent's container describe headless engine -
+ * engine without graphics context, which is never rendered.
  * 
  * @author M.Olszewski
  */
 public class Engine2dInitData implements InitData
 {
-  /** Parent's container for engine's graphics context. */
+  /** 
+   * Parent's container for engine's graphics context - <code>null</code>
+   * for headless engine.
+   */
   private Container parent; 
   /** Global data. */
   private GlobalData global;
+  /** Seed of random numbers generator used by simulation data. */
+  private long seed;
   
   
   /**
@@ -46,17 +53,75 @@ public class Engine2dInitData implements InitData
     parent = parentContainer;
     global = globalData;
   }
+  
+  /**
+   * Creates instance of {@link Engine2dInitData} with specified parameters.
+   *
+   * @param parentContainer - parent's container for engine's graphics context.
+   * @param globalData - global data.
+   * @param randomSeed - seed of random numbers generator used by simulation data.
+   */
+  public Engine2dInitData(Container parentContainer, 
+                          GlobalData globalData,
+                          long randomSeed)
+  {
+    this(parentContainer, globalData);
+    
+    seed = randomSeed;
+  }
+  
+  /**
+   * Creates instance of {@link Engine2dInitData} for headless engine, 
+   * with specified global data.
+   *
+   * @param globalData - global data.
+   */
+  public Engine2dInitData(GlobalData globalData)
+  {
+    if (globalData == null)
+    {
+      throw new NullPointerException("Specified globalData is null!");
+    }
+    
+    global = globalData;
+  }
+  
+  /**
+   * Creates instance of {@link Engine2dInitData} for headless engine, 
+   * with specified global data.
+   *
+   * @param globalData - global data.
+   * @param randomSeed - seed of random numbers generator used by simulation data.
+   */
+  public Engine2dInitData(GlobalData globalData, long randomSeed)
+  {
+    this(globalData);
+    
+    seed = randomSeed;
+  }
 
 
   /**
    * Gets parent's container for engine's graphics context.
    * 
-   * @return parent's container for engine's graphics context.
+   * @return parent's container for engine's graphics context or 
+   *         <code>null</code> for headless engine.
    */
   public Container getParent()
   {
     return parent;
   }
+  
+  /**
+   * Checks whether these settings describe headless engine.
+   * 
+   * @return Returns <code>true</code> if engine is headless, 
+   *         <code>false</code> otherwise.
+   */
+  public boolean isHeadless()
+  {
+    return (parent == null);
+  }
 
   
   /**
@@ -68,4 +133,16 @@ public class Engine2dInitData implements InitData
   {
     return global;
   }
+
+  
+  /**
+   * Gets seed of random numbers generator used by simulation data. Seed
+   * is recorded with battle, so battle can be replayed.
+   * 
+   * @return Returns seed of random numbers generator.
+   */
+  public long getSeed()
+  {
+    return seed;
+  }
 }
\ No newline at end of file
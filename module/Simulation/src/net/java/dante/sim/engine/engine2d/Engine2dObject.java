@@ -9,7 +9,8 @@ package net.java.dante.sim.engine.engine2d;
 import java.awt.image.BufferedImage;
 
 import net.java.dante.sim.data.object.ObjectSize;
-import net.java.dante.sim.engine.EngineObject;
+import net.java.dante.sim.engine.collision.BoundedEngineObject;
+import net.java.dante.sim.engine.graphics.java2d.CollisionMask;
 import net.java.dante.sim.engine.graphics.java2d.Java2dSprite;
 import net.java.dante.sim.util.math.Rect2d;
 
@@ -21,7 +22,7 @@ import net.java.dante.sim.util.math.Rect2d;
  * 
  * @author M.Olszewski
  */
-public abstract class Engine2dObject implements EngineObject
+public abstract class Engine2dObject implements BoundedEngineObject
 {
   /** Bounding rectangle. */
   protected Rect2d rectangle;
@@ -122,6 +123,18 @@ public abstract class Engine2dObject implements EngineObject
     return sprite.getImage();
   }
   
+  /**
+   * Gets collision mask of current image of this {@link Engine2dObject} object.
+   * Required to perform perfect pixel collision detection. 
+   * 
+   * @return Returns collision mask of current image of this 
+   *         {@link Engine2dObject} object.
+   */
+  public CollisionMask getCollisionMask()
+  {
+    return sprite.getCollisionMask();
+  }
+  
   /**
    * Sets the specified sprite for this {@link Engine2dObject}.
    * 
@@ -61,6 +61,35 @@ public class SpritesRepository
       throw new NullPointerException("Specified java2dContext is null!");
     }
     
+    init(globalData, java2dContext);
+  }
+  
+  /**
+   * Creates instance of {@link SpritesRepository} class for headless engines. 
+   * Images for instances of {@link Java2dSprite} class are loaded but created 
+   * sprites do not have graphical context, so they are never drawn.
+   * 
+   * @param globalData - initialization data for this engine.
+   */
+  public SpritesRepository(GlobalData globalData)
+  {
+    if (globalData == null)
+    {
+      throw new NullPointerException("Specified globalData is null!");
+    }
+    
+    init(globalData, null);
+  }
+  
+  
+  /**
+   * Loads all images and creates all sprites.
+   * 
+   * @param globalData - initialization data for this engine.
+   * @param java2dContext - graphical context for sprites or <code>null</code>.
+   */
+  private void init(GlobalData globalData, Java2dContext java2dContext)
+  {
     backgroundSprite = new Java2dSprite(
         java2dContext,
         ImagesCache.getInstance().loadImage(globalData.getBackgroundImageFile(), Transparency.OPAQUE));
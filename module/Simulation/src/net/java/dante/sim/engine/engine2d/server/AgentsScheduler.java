@@ -0,0 +1,310 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.engine2d.server;
+
+import java.util.PriorityQueue;
+
+import net.java.dante.sim.data.object.agent.ServerAgentState;
+import net.java.dante.sim.engine.collision.CollisionDetector;
+import net.java.dante.sim.util.math.Rect2d;
+
+/**
+ * Scheduler of waiting agents - agents without any executable command,
+ * whose updates can only change state of their weapon systems. Such agents
+ * are suspended and are not updated until:
+ * <ul>
+ * <li>time of their next state change (e.g. end of weapon reloading),
+ *     computed when they are suspended, has come,
+ * <li>new commands are added to them.
+ * </ul>
+ * Suspended agents are kept in a priority queue ordered by time of their
+ * next state change, so in each update only agents which should be
+ * resumed are processed. Resumed agents are updated with whole time
+ * elapsed since they were suspended, so their state is exactly the same
+ * as if they were updated in each update.<p>
+ * Scheduler also computes arrival times of agents moving straight to
+ * destinations of their move commands. If agent's path to destination
+ * does not touch any static obstacle, its arrival is kept in another
+ * priority queue and until arrival agent's collisions with obstacles
+ * are not checked. Arrival is cancelled when agent's movement is
+ * interrupted or it receives new commands - collisions with obstacles
+ * are checked again from then on.<p>
+ * Scheduling is optional - it is enabled if {@link #SCHEDULING_PROPERTY}
+ * system property is set to <code>true</code>.
+ *
+ * @author M.Olszewski
+ */
+final class AgentsScheduler
+{
+  /** Name of system property enabling scheduling of agents. */
+  public static final String SCHEDULING_PROPERTY = "dante.sim.agentsScheduling";
+
+  /** Suspensions of agents, ordered by time of resuming. */
+  private PriorityQueue<Suspension> suspensions = new PriorityQueue<Suspension>();
+  /** Arrivals of agents, ordered by time of arrival. */
+  private PriorityQueue<Arrival> arrivals = new PriorityQueue<Arrival>();
+  /** Bounds swept by agent moving to its destination. */
+  private Rect2d sweptBounds = new Rect2d(0, 0, 0, 0);
+  /** Time counted by this scheduler. */
+  private long time;
+
+
+  /**
+   * Creates instance of {@link AgentsScheduler} class.
+   */
+  AgentsScheduler()
+  {
+    // Intentionally left empty.
+  }
+
+
+  /**
+   * Checks whether scheduling of agents is enabled by
+   * {@link #SCHEDULING_PROPERTY} system property.
+   *
+   * @return Returns <code>true</code> if scheduling of agents is enabled,
+   *         <code>false</code> otherwise.
+   */
+  static boolean isEnabled()
+  {
+    return Boolean.getBoolean(SCHEDULING_PROPERTY);
+  }
+
+  /**
+   * Advances time of this scheduler by the specified delta. All suspended
+   * agents, whose state will change during the specified delta, are resumed.
+   * Arrivals of agents, which can reach their destinations during the
+   * specified delta, are removed. This method should be invoked before
+   * updates of agents.
+   *
+   * @param delta - time elapsed since last update.
+   */
+  void advance(long delta)
+  {
+    long nextTime = time + delta;
+
+    while (!arrivals.isEmpty() && (arrivals.peek().arrivalTime <= nextTime))
+    {
+      Arrival arrival = arrivals.poll();
+      // Skip cancelled arrivals
+      if (arrival.agent.getArrival() == arrival)
+      {
+        arrival.agent.setArrival(null);
+      }
+    }
+
+    while (!suspensions.isEmpty() && (suspensions.peek().resumeTime <= nextTime))
+    {
+      Suspension suspension = suspensions.poll();
+      // Skip agents resumed earlier
+      if (suspension.agent.getSuspension() == suspension)
+      {
+        resume(suspension.agent);
+      }
+    }
+
+    time = nextTime;
+  }
+
+  /**
+   * Suspends the specified agent until time of its next state change.
+   * Agent should be suspended only if it is waiting, after its update.
+   *
+   * @param agent - the specified agent.
+   */
+  void suspend(Server2dAgent agent)
+  {
+    long waitingTime = agent.getAgent().getWaitingTime();
+    long resumeTime = ((waitingTime >= 0)? (time + waitingTime) : Long.MAX_VALUE);
+    Suspension suspension = new Suspension(agent, time, resumeTime);
+
+    agent.setSuspension(suspension);
+    if (waitingTime >= 0)
+    {
+      suspensions.add(suspension);
+    }
+  }
+
+  /**
+   * Resumes the specified agent - it is updated with time elapsed since
+   * it was suspended. This method returns immediately if the specified
+   * agent is not suspended.
+   *
+   * @param agent - the specified agent.
+   */
+  void resume(Server2dAgent agent)
+  {
+    Suspension suspension = agent.getSuspension();
+    if (suspension != null)
+    {
+      agent.setSuspension(null);
+      agent.prepareUpdate();
+
+      long elapsedTime = time - suspension.suspendTime;
+      if (elapsedTime > 0)
+      {
+        agent.getAgent().update(elapsedTime);
+      }
+    }
+  }
+
+  /**
+   * Schedules arrival of the specified agent if it moves straight to
+   * destination and its path to destination does not touch any static
+   * obstacle. This method returns immediately if arrival of the specified
+   * agent is already scheduled. It should be invoked after update of agent
+   * and after its collisions were checked.
+   *
+   * @param agent - the specified agent.
+   * @param detector - collision detector containing static obstacles.
+   */
+  void scheduleArrival(Server2dAgent agent, CollisionDetector detector)
+  {
+    if (!agent.isArrivalScheduled())
+    {
+      long arrivalTime = agent.getAgent().getArrivalTime();
+      if (arrivalTime > 0)
+      {
+        ServerAgentState state = (ServerAgentState)agent.getAgent().getData();
+        Rect2d bounds = agent.getObjectBounds();
+
+        // Destination can be reached at most one millisecond later
+        double endX = bounds.getX() + ((state.getSpeedX() * (arrivalTime + 1)) / 1000.0);
+        double endY = bounds.getY() + ((state.getSpeedY() * (arrivalTime + 1)) / 1000.0);
+        double minX = Math.floor(Math.min(bounds.getX(), endX));
+        double minY = Math.floor(Math.min(bounds.getY(), endY));
+        int width  = (int)Math.ceil(Math.max(bounds.getX(), endX) - minX) + bounds.getWidth();
+        int height = (int)Math.ceil(Math.max(bounds.getY(), endY) - minY) + bounds.getHeight();
+        sweptBounds.setBounds(minX, minY, width, height);
+
+        if (!detector.touchesObstacle(sweptBounds))
+        {
+          Arrival arrival = new Arrival(agent, time + arrivalTime);
+          agent.setArrival(arrival);
+          arrivals.add(arrival);
+        }
+      }
+    }
+  }
+
+  /**
+   * Cancels scheduled arrival of the specified agent - its collisions with
+   * static obstacles must be checked again.
+   *
+   * @param agent - the specified agent.
+   */
+  void cancelArrival(Server2dAgent agent)
+  {
+    agent.setArrival(null);
+  }
+
+  /**
+   * Removes the specified agent from this scheduler without updating it.
+   *
+   * @param agent - the specified agent.
+   */
+  void cancel(Server2dAgent agent)
+  {
+    agent.setSuspension(null);
+    agent.setArrival(null);
+  }
+
+
+  /**
+   * Suspension of an agent.
+   *
+   * @author M.Olszewski
+   */
+  static final class Suspension implements Comparable<Suspension>
+  {
+    /** Suspended agent. */
+    final Server2dAgent agent;
+    /** Time when agent was suspended. */
+    final long suspendTime;
+    /** Time when agent should be resumed. */
+    final long resumeTime;
+
+
+    /**
+     * Creates instance of {@link Suspension} class.
+     *
+     * @param suspendedAgent - suspended agent.
+     * @param suspendedTime - time when agent was suspended.
+     * @param resumedTime - time when agent should be resumed.
+     */
+    Suspension(Server2dAgent suspendedAgent, long suspendedTime, long resumedTime)
+    {
+      agent       = suspendedAgent;
+      suspendTime = suspendedTime;
+      resumeTime  = resumedTime;
+    }
+
+
+    /**
+     * @see java.lang.Comparable#compareTo(java.lang.Object)
+     */
+    public int compareTo(Suspension other)
+    {
+      int result = 0;
+      if (resumeTime < other.resumeTime)
+      {
+        result = -1;
+      }
+      else if (resumeTime > other.resumeTime)
+      {
+        result = 1;
+      }
+
+      return result;
+    }
+  }
+
+  /**
+   * Scheduled arrival of an agent.
+   *
+   * @author M.Olszewski
+   */
+  static final class Arrival implements Comparable<Arrival>
+  {
+    /** Moving agent. */
+    final Server2dAgent agent;
+    /** Time when agent can reach its destination. */
+    final long arrivalTime;
+
+
+    /**
+     * Creates instance of {@link Arrival} class.
+     *
+     * @param movingAgent - moving agent.
+     * @param agentArrivalTime - time when agent can reach its destination.
+     */
+    Arrival(Server2dAgent movingAgent, long agentArrivalTime)
+    {
+      agent       = movingAgent;
+      arrivalTime = agentArrivalTime;
+    }
+
+
+    /**
+     * @see java.lang.Comparable#compareTo(java.lang.Object)
+     */
+    public int compareTo(Arrival other)
+    {
+      int result = 0;
+      if (arrivalTime < other.arrivalTime)
+      {
+        result = -1;
+      }
+      else if (arrivalTime > other.arrivalTime)
+      {
+        result = 1;
+      }
+
+      return result;
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.engine2d.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.java.dante.sim.engine.engine2d.Engine2dObject;
+import net.java.dante.sim.util.math.Circle2d;
+import net.java.dante.sim.util.math.Rect2d;
+
+
+/**
+ * Uniform grid of central points of observed objects, used by
+ * {@link VisibilityManager} to find objects that can be seen by agents
+ * from visibility records. Grid is filled with all objects from one group
+ * before visibility records are updated for that group, so each agent's
+ * sight circle is checked only against objects from cells covered by it.
+ * Points and circles outside of grid are assigned to the nearest border cells.
+ *
+ * @param <T> - type of objects stored in grid.
+ *
+ * @author M.Olszewski
+ */
+class ObjectsGrid<T extends Engine2dObject>
+{
+  /** Size of each cell. */
+  private double cellSize;
+  /** Number of columns. */
+  private int columns;
+  /** Number of rows. */
+  private int rows;
+  /** Cells of this grid - created lazily. */
+  private List<List<ObjectEntry<T>>> cells;
+  /** Cells containing at least one entry. */
+  private List<List<ObjectEntry<T>>> usedCells = new ArrayList<List<ObjectEntry<T>>>();
+  /** Entries of all stored objects. */
+  private Map<Engine2dObject, ObjectEntry<T>> entries =
+      new IdentityHashMap<Engine2dObject, ObjectEntry<T>>();
+  /** Comparator ordering objects in the same order as they were added. */
+  private Comparator<T> addOrder = new Comparator<T>()
+  {
+    /** @see java.util.Comparator#compare(java.lang.Object, java.lang.Object) */
+    public int compare(T o1, T o2)
+    {
+      return (entries.get(o1).index - entries.get(o2).index);
+    }
+  };
+
+
+  /**
+   * Creates instance of {@link ObjectsGrid} class with specified parameters.
+   * Cells should be of similar size to agents' sight range, so each
+   * sight circle covers only few cells.
+   *
+   * @param gridCellSize - size of each cell.
+   * @param worldWidth - width of area covered by grid.
+   * @param worldHeight - height of area covered by grid.
+   */
+  ObjectsGrid(double gridCellSize, int worldWidth, int worldHeight)
+  {
+    if (gridCellSize <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument gridCellSize - it must be positive number!");
+    }
+    if (worldWidth <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument worldWidth - it must be positive integer!");
+    }
+    if (worldHeight <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument worldHeight - it must be positive integer!");
+    }
+
+    cellSize = gridCellSize;
+    columns  = (int)Math.ceil(worldWidth / cellSize);
+    rows     = (int)Math.ceil(worldHeight / cellSize);
+    cells    = new ArrayList<List<ObjectEntry<T>>>(Collections.nCopies(columns * rows,
+        (List<ObjectEntry<T>>)null));
+  }
+
+
+  /**
+   * Removes all objects from this grid.
+   */
+  void clear()
+  {
+    for (int i = 0, size = usedCells.size(); i < size; i++)
+    {
+      usedCells.get(i).clear();
+    }
+    usedCells.clear();
+    entries.clear();
+  }
+
+  /**
+   * Adds the specified object to the cell containing its central point.
+   * Objects must not be moved until this grid is cleared.
+   *
+   * @param object - the specified object.
+   */
+  void add(T object)
+  {
+    Rect2d bounds = object.getObjectBounds();
+    ObjectEntry<T> entry = new ObjectEntry<T>(object, entries.size(),
+        bounds.getX() + (bounds.getWidth() >> 1),
+        bounds.getY() + (bounds.getHeight() >> 1));
+    entries.put(object, entry);
+
+    int index = toRow(entry.y) * columns + toColumn(entry.x);
+    List<ObjectEntry<T>> cell = cells.get(index);
+    if (cell == null)
+    {
+      cell = new ArrayList<ObjectEntry<T>>(4);
+      cells.set(index, cell);
+    }
+    if (cell.isEmpty())
+    {
+      usedCells.add(cell);
+    }
+    cell.add(entry);
+  }
+
+  /**
+   * Gets stored object which is the specified object.
+   *
+   * @param object - the specified object.
+   *
+   * @return Returns stored object or <code>null</code> if the specified
+   *         object is not stored in this grid.
+   */
+  T get(Engine2dObject object)
+  {
+    ObjectEntry<T> entry = entries.get(object);
+    return ((entry != null)? entry.object : null);
+  }
+
+  /**
+   * Finds all stored objects which central points are contained by
+   * the specified circle and adds them to the specified collection.
+   *
+   * @param circle - the specified circle.
+   * @param found - collection where found objects are added.
+   */
+  void find(Circle2d circle, Collection<T> found)
+  {
+    int minColumn = toColumn(circle.getX() - circle.getRadius());
+    int minRow    = toRow(circle.getY() - circle.getRadius());
+    int maxColumn = toColumn(circle.getX() + circle.getRadius());
+    int maxRow    = toRow(circle.getY() + circle.getRadius());
+
+    for (int row = minRow; row <= maxRow; row++)
+    {
+      for (int column = minColumn; column <= maxColumn; column++)
+      {
+        List<ObjectEntry<T>> cell = cells.get(row * columns + column);
+        if (cell != null)
+        {
+          for (int i = 0, size = cell.size(); i < size; i++)
+          {
+            ObjectEntry<T> entry = cell.get(i);
+            if (circle.contains(entry.x, entry.y))
+            {
+              found.add(entry.object);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Sorts the specified list of stored objects in the same order as
+   * they were added to this grid.
+   *
+   * @param objects - the specified list of stored objects.
+   */
+  void sort(List<T> objects)
+  {
+    Collections.sort(objects, addOrder);
+  }
+
+  /**
+   * Converts the specified 'x' coordinate to column index, clamped to
+   * range of this grid.
+   *
+   * @param x - the specified 'x' coordinate.
+   *
+   * @return Returns column index.
+   */
+  private int toColumn(double x)
+  {
+    int column = (int)Math.floor(x / cellSize);
+    return ((column < 0)? 0 : ((column >= columns)? (columns - 1) : column));
+  }
+
+  /**
+   * Converts the specified 'y' coordinate to row index, clamped to
+   * range of this grid.
+   *
+   * @param y - the specified 'y' coordinate.
+   *
+   * @return Returns row index.
+   */
+  private int toRow(double y)
+  {
+    int row = (int)Math.floor(y / cellSize);
+    return ((row < 0)? 0 : ((row >= rows)? (rows - 1) : row));
+  }
+
+
+  /**
+   * Entry of object stored in {@link ObjectsGrid}.
+   *
+   * @param <T> - type of stored object.
+   *
+   * @author M.Olszewski
+   */
+  private static class ObjectEntry<T>
+  {
+    /** Stored object. */
+    final T object;
+    /** Index of object in order of adding. */
+    final int index;
+    /** 'x' coordinate of object's central point. */
+    final double x;
+    /** 'y' coordinate of object's central point. */
+    final double y;
+
+
+    /**
+     * Creates instance of {@link ObjectEntry} class.
+     *
+     * @param storedObject - stored object.
+     * @param addIndex - index of object in order of adding.
+     * @param centerX - 'x' coordinate of object's central point.
+     * @param centerY - 'y' coordinate of object's central point.
+     */
+    ObjectEntry(T storedObject, int addIndex, double centerX, double centerY)
+    {
+      object = storedObject;
+      index  = addIndex;
+      x      = centerX;
+      y      = centerY;
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.engine2d.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.java.dante.sim.event.Event;
+import net.java.dante.sim.event.EventsRepository;
+import net.java.dante.sim.event.types.EnemyAgentDestroyedEvent;
+import net.java.dante.sim.event.types.EnemyAgentEvent;
+import net.java.dante.sim.event.types.EnemyAgentHitEvent;
+import net.java.dante.sim.event.types.FriendlyAgentBlockedEvent;
+import net.java.dante.sim.event.types.FriendlyAgentEvent;
+import net.java.dante.sim.event.types.FriendlyAgentHitEvent;
+import net.java.dante.sim.event.types.ObjectMoveEventParams;
+import net.java.dante.sim.event.types.ProjectileDestroyedEvent;
+import net.java.dante.sim.event.types.ProjectileShotEvent;
+import net.java.dante.sim.event.types.ProjectileTypeEvent;
+import net.java.dante.sim.io.ReplayCheckpointData;
+
+/**
+ * Comparison of events recorded in battle record and events generated by
+ * {@link ReplayEngine2d} between two checkpoints. Identifiers of simulation
+ * objects are different in each simulation, so identifiers of groups and
+ * agents in recorded events are translated to identifiers used by replay
+ * and identifiers of events and projectiles are not compared at all.
+ * Events are compared regardless of their order in update.
+ *
+ * @author M.Olszewski
+ */
+final class ReplayCheckpoint
+{
+  /** Translation of recorded identifiers of groups and agents. */
+  private Map<Integer, Integer> recordedIds;
+  /** Numbers of recorded events, which were not generated so far, by their signatures. */
+  private Map<String, Integer> pendingEvents = new HashMap<String, Integer>();
+  /** Number of recorded events. */
+  private int recordedCount;
+  /** Number of generated events. */
+  private int generatedCount;
+  /** Number of generated events without matching recorded event. */
+  private int unexpectedCount;
+
+
+  /**
+   * Creates instance of {@link ReplayCheckpoint} class.
+   *
+   * @param recordedIdentifiers - translation of recorded identifiers of
+   *        groups and agents to identifiers used by replay.
+   */
+  ReplayCheckpoint(Map<Integer, Integer> recordedIdentifiers)
+  {
+    if (recordedIdentifiers == null)
+    {
+      throw new NullPointerException("Specified recordedIdentifiers is null!");
+    }
+
+    recordedIds = recordedIdentifiers;
+  }
+
+
+  /**
+   * Adds events from the specified recorded repository.
+   *
+   * @param repository - the specified recorded repository.
+   */
+  void addRecorded(EventsRepository repository)
+  {
+    int groupId = translate(repository.getGroupId());
+    for (int i = 0, size = repository.getEventsCount(); i < size; i++)
+    {
+      String signature = createSignature(groupId, repository.getEvent(i), true);
+      Integer count = pendingEvents.get(signature);
+      pendingEvents.put(signature, Integer.valueOf((count == null)? 1 : (count.intValue() + 1)));
+      recordedCount++;
+    }
+  }
+
+  /**
+   * Adds events from the specified generated repository.
+   *
+   * @param repository - the specified generated repository.
+   */
+  void addGenerated(EventsRepository repository)
+  {
+    int groupId = repository.getGroupId();
+    for (int i = 0, size = repository.getEventsCount(); i < size; i++)
+    {
+      String signature = createSignature(groupId, repository.getEvent(i), false);
+      Integer count = pendingEvents.get(signature);
+      if (count == null)
+      {
+        unexpectedCount++;
+      }
+      else if (count.intValue() == 1)
+      {
+        pendingEvents.remove(signature);
+      }
+      else
+      {
+        pendingEvents.put(signature, Integer.valueOf(count.intValue() - 1));
+      }
+      generatedCount++;
+    }
+  }
+
+  /**
+   * Completes this checkpoint - creates its result and prepares this
+   * object for the next checkpoint.
+   *
+   * @param time - simulation time of checkpoint.
+   * @param last - determines whether this is the last checkpoint.
+   *
+   * @return Returns result of checkpoint.
+   */
+  ReplayCheckpointData complete(long time, boolean last)
+  {
+    // Every generated event which matched recorded one removed it from pending events
+    int matchedCount = generatedCount - unexpectedCount;
+    ReplayCheckpointData result = new ReplayCheckpointData(time, recordedCount, generatedCount,
+                                                           recordedCount - matchedCount, last);
+
+    pendingEvents.clear();
+    recordedCount   = 0;
+    generatedCount  = 0;
+    unexpectedCount = 0;
+
+    return result;
+  }
+
+  /**
+   * Translates the specified recorded identifier of group or agent.
+   *
+   * @param recordedId - the specified recorded identifier.
+   *
+   * @return Returns translated identifier or <code>-1</code> if
+   *         identifier is not known.
+   */
+  private int translate(int recordedId)
+  {
+    Integer id = recordedIds.get(Integer.valueOf(recordedId));
+    return ((id != null)? id.intValue() : -1);
+  }
+
+  /**
+   * Creates signature of the specified event - string containing all
+   * event's parameters except identifiers of event and projectile.
+   *
+   * @param groupId - identifier of group which received event.
+   * @param event - the specified event.
+   * @param recorded - determines whether event was recorded, so its
+   *        identifiers must be translated.
+   *
+   * @return Returns signature of event.
+   */
+  private String createSignature(int groupId, Event event, boolean recorded)
+  {
+    StringBuilder signature = new StringBuilder(64);
+    signature.append(groupId).append(';').append(event.getEventType()).append(';').append(event.getTime());
+
+    if (event instanceof FriendlyAgentEvent)
+    {
+      appendId(signature, ((FriendlyAgentEvent)event).getFriendlyAgentId(), recorded);
+    }
+    else if (event instanceof EnemyAgentEvent)
+    {
+      appendId(signature, ((EnemyAgentEvent)event).getEnemyAgentId(), recorded);
+    }
+
+    if (event instanceof ProjectileTypeEvent)
+    {
+      signature.append(';').append(((ProjectileTypeEvent)event).getProjectileType());
+    }
+    if (event instanceof ObjectMoveEventParams)
+    {
+      ObjectMoveEventParams params = (ObjectMoveEventParams)event;
+      signature.append(';').append(params.getDestinationX()).append(';').append(params.getDestinationY());
+      signature.append(';').append(params.getSpeedX()).append(';').append(params.getSpeedY());
+    }
+
+    if (event instanceof FriendlyAgentBlockedEvent)
+    {
+      FriendlyAgentBlockedEvent blockedEvent = (FriendlyAgentBlockedEvent)event;
+      signature.append(';').append(blockedEvent.getBlockedX()).append(';').append(blockedEvent.getBlockedY());
+    }
+    else if (event instanceof FriendlyAgentHitEvent)
+    {
+      signature.append(';').append(((FriendlyAgentHitEvent)event).getDamage());
+    }
+    else if (event instanceof EnemyAgentHitEvent)
+    {
+      appendId(signature, ((EnemyAgentHitEvent)event).getShooterId(), recorded);
+    }
+    else if (event instanceof EnemyAgentDestroyedEvent)
+    {
+      appendId(signature, ((EnemyAgentDestroyedEvent)event).getShooterId(), recorded);
+    }
+    else if (event instanceof ProjectileShotEvent)
+    {
+      appendId(signature, ((ProjectileShotEvent)event).getShooterId(), recorded);
+    }
+    else if (event instanceof ProjectileDestroyedEvent)
+    {
+      ProjectileDestroyedEvent destroyedEvent = (ProjectileDestroyedEvent)event;
+      signature.append(';').append(destroyedEvent.getProjectileX()).append(';').append(destroyedEvent.getProjectileY());
+    }
+
+    return signature.toString();
+  }
+
+  /**
+   * Appends the specified identifier of agent to signature.
+   *
+   * @param signature - signature of event.
+   * @param agentId - the specified identifier of agent.
+   * @param recorded - determines whether identifier was recorded, so it
+   *        must be translated.
+   */
+  private void appendId(StringBuilder signature, int agentId, boolean recorded)
+  {
+    signature.append(';').append(recorded? translate(agentId) : agentId);
+  }
+}
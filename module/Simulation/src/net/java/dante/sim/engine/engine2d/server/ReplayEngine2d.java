@@ -0,0 +1,328 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.engine2d.server;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.java.dante.sim.command.AgentCommands;
+import net.java.dante.sim.command.CommandUtils;
+import net.java.dante.sim.command.CommandsRepository;
+import net.java.dante.sim.command.types.Command;
+import net.java.dante.sim.data.SimulationData;
+import net.java.dante.sim.engine.engine2d.Engine2dInitData;
+import net.java.dante.sim.io.CommandsData;
+import net.java.dante.sim.io.FinishData;
+import net.java.dante.sim.io.OutputData;
+import net.java.dante.sim.io.ReplayCheckpointData;
+import net.java.dante.sim.io.SimulationInput;
+import net.java.dante.sim.io.UpdateData;
+import net.java.dante.sim.io.init.AgentsInitData;
+import net.java.dante.sim.io.init.FriendlyAgentInitData;
+import net.java.dante.sim.io.init.InitializationData;
+import net.java.dante.sim.record.BattleRecord;
+import net.java.dante.sim.record.BattleRecordReader;
+import net.java.dante.sim.record.BattleRecordType;
+import net.java.dante.sim.record.RecordedInitialState;
+
+
+/**
+ * Server engine replaying battle recorded by
+ * {@link net.java.dante.sim.record.BattleRecorder}. Recorded commands are
+ * processed at the same simulation time at which they were received in
+ * recorded battle, instead of commands from engine's input. Simulation data
+ * must be initialized with recorded seed (see
+ * {@link RecordedInitialState#getSeed()}), so all random decisions are
+ * repeated. Replay should be headless, so battle is replayed as fast
+ * as possible.<p>
+ * Every specified checkpoint interval, events generated by replay are
+ * compared with recorded events and result of comparison is sent as
+ * {@link ReplayCheckpointData} - last one is sent just before
+ * {@link FinishData}. Identifiers of simulation objects are different in
+ * each simulation, so recorded groups and agents are found in replay by
+ * their start positions.<p>
+ * Groups abandoning simulation are not recorded, so battles in which some
+ * group abandoned simulation are not replayed correctly.
+ *
+ * @author M.Olszewski
+ */
+public class ReplayEngine2d extends ServerEngine2d
+{
+  /** Reader of replayed battle record. */
+  private BattleRecordReader reader;
+  /** Interval between checkpoints. */
+  private long checkpointInterval;
+  /** Simulation time of the next checkpoint. */
+  private long nextCheckpointTime;
+  /** Comparison of events since the previous checkpoint. */
+  private ReplayCheckpoint checkpoint;
+  /** Translation of recorded identifiers of groups and agents to identifiers used by replay. */
+  private Map<Integer, Integer> recordedIds = new HashMap<Integer, Integer>();
+  /** Next record read but not processed yet - <code>null</code> if there is no such record. */
+  private BattleRecord nextRecord;
+
+
+  /**
+   * Creates not initialized instance of {@link ReplayEngine2d} class
+   * replaying battle read by the specified reader.
+   *
+   * @param recordReader - reader of replayed battle record.
+   * @param checkpointsInterval - interval between checkpoints.
+   */
+  public ReplayEngine2d(BattleRecordReader recordReader, long checkpointsInterval)
+  {
+    if (recordReader == null)
+    {
+      throw new NullPointerException("Specified recordReader is null!");
+    }
+    if (checkpointsInterval <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument checkpointsInterval - it must be positive long!");
+    }
+
+    reader             = recordReader;
+    checkpointInterval = checkpointsInterval;
+  }
+
+
+  /**
+   * @see net.java.dante.sim.engine.engine2d.server.ServerEngine2d#performInitialization(net.java.dante.sim.io.SimulationInput, net.java.dante.sim.data.SimulationData, net.java.dante.sim.engine.engine2d.Engine2dInitData)
+   */
+  @Override
+  protected void performInitialization(SimulationInput simInput, SimulationData simData, Engine2dInitData engineInitData)
+  {
+    super.performInitialization(simInput, simData, engineInitData);
+
+    reader.rewind();
+    RecordedInitialState state = (reader.hasNext()? reader.next().getInitialState() : null);
+    if (state == null)
+    {
+      throw new IllegalStateException("Replayed battle record does not start with initial state!");
+    }
+    if (state.getSeed() != engineInitData.getSeed())
+    {
+      throw new IllegalStateException("Simulation seed " + engineInitData.getSeed() +
+          " is different than recorded seed " + state.getSeed() + "!");
+    }
+
+    mapRecordedIds(state, InitializationData.createInitializationData(simData));
+
+    checkpoint = new ReplayCheckpoint(recordedIds);
+    nextCheckpointTime = checkpointInterval;
+  }
+
+  /**
+   * Maps recorded identifiers of groups and agents to identifiers used
+   * by replay - agents are found by their start positions.
+   *
+   * @param state - recorded initial state.
+   * @param initData - initialization data of replay.
+   */
+  private void mapRecordedIds(RecordedInitialState state, InitializationData[] initData)
+  {
+    Map<String, InitializationData> groups = new HashMap<String, InitializationData>();
+    Map<String, Integer> agents = new HashMap<String, Integer>();
+    int agentsCount = 0;
+    for (int i = 0; i < initData.length; i++)
+    {
+      AgentsInitData agentsData = initData[i].getAgentsInitData();
+      for (int j = 0, size = agentsData.getFriendlyAgentsCount(); j < size; j++)
+      {
+        FriendlyAgentInitData agentData = agentsData.getFriendlyAgentInitData(j);
+        String position = agentData.getStartX() + ";" + agentData.getStartY();
+        groups.put(position, initData[i]);
+        agents.put(position, Integer.valueOf(agentData.getAgentId()));
+        agentsCount++;
+      }
+    }
+
+    int recordedAgentsCount = 0;
+    for (int i = 0; i < state.getGroupsCount(); i++)
+    {
+      for (int j = 0; j < state.getAgentsCount(i); j++)
+      {
+        String position = state.getStartX(i, j) + ";" + state.getStartY(i, j);
+        Integer agentId = agents.get(position);
+        if (agentId == null)
+        {
+          throw new IllegalStateException("Recorded agent " + state.getAgentId(i, j) +
+              " has no counterpart in replay - start position: " + position + "!");
+        }
+        Integer groupId = Integer.valueOf(groups.get(position).getGroupId());
+        Integer previousGroupId = recordedIds.put(Integer.valueOf(state.getGroupId(i)), groupId);
+        if ((previousGroupId != null) && !previousGroupId.equals(groupId))
+        {
+          throw new IllegalStateException("Agents of recorded group " + state.getGroupId(i) +
+              " belong to different groups in replay!");
+        }
+
+        recordedIds.put(Integer.valueOf(state.getAgentId(i, j)), agentId);
+        recordedAgentsCount++;
+      }
+    }
+
+    if (recordedAgentsCount != agentsCount)
+    {
+      throw new IllegalStateException("Number of recorded agents " + recordedAgentsCount +
+          " is different than number of agents in replay " + agentsCount + "!");
+    }
+  }
+
+  /**
+   * @see net.java.dante.sim.engine.engine2d.server.ServerEngine2d#isBattleRecorded(net.java.dante.sim.engine.engine2d.Engine2dInitData)
+   */
+  @Override
+  protected boolean isBattleRecorded(Engine2dInitData engineInitData)
+  {
+    return false;
+  }
+
+  /**
+   * Completes checkpoint if it is time for it and processes recorded data
+   * up to current simulation time. Input of this engine is processed
+   * afterwards, so it should not contain any commands.
+   *
+   * @see net.java.dante.sim.engine.engine2d.server.ServerEngine2d#processInput()
+   */
+  @Override
+  protected void processInput()
+  {
+    long currentTime = getCurrentTime();
+    if (currentTime >= nextCheckpointTime)
+    {
+      // All events with time lesser than current time are already recorded and generated
+      super.sendOutput(checkpoint.complete(currentTime, false));
+      while (nextCheckpointTime <= currentTime)
+      {
+        nextCheckpointTime += checkpointInterval;
+      }
+    }
+
+    processRecords(currentTime);
+
+    super.processInput();
+  }
+
+  /**
+   * Processes all recorded data with simulation time not greater than
+   * the specified one.
+   *
+   * @param time - the specified simulation time.
+   */
+  private void processRecords(long time)
+  {
+    if ((nextRecord == null) && reader.hasNext())
+    {
+      nextRecord = reader.next();
+    }
+
+    while ((nextRecord != null) && (nextRecord.getTime() <= time))
+    {
+      if (nextRecord.getType() == BattleRecordType.COMMANDS)
+      {
+        processCommands(translateCommands(nextRecord.getCommandsData()));
+      }
+      else if (nextRecord.getType() == BattleRecordType.UPDATE)
+      {
+        checkpoint.addRecorded(nextRecord.getUpdateData().getRepository());
+      }
+
+      nextRecord = (reader.hasNext()? reader.next() : null);
+    }
+  }
+
+  /**
+   * Translates identifiers of group and agents in the specified recorded
+   * commands data to identifiers used by replay.
+   *
+   * @param commandsData - the specified recorded commands data.
+   *
+   * @return Returns translated commands data.
+   */
+  private CommandsData translateCommands(CommandsData commandsData)
+  {
+    CommandsRepository repository = commandsData.getRepository();
+
+    Set<Integer> commandsIds = new LinkedHashSet<Integer>();
+    AgentCommands[] agentsCommands = new AgentCommands[repository.getAgentCommandsCount()];
+    for (int i = 0; i < agentsCommands.length; i++)
+    {
+      AgentCommands agentCommands = repository.getAgentCommands(i);
+      int[] agentCommandsIds = new int[agentCommands.getCommandsCount()];
+      for (int j = 0; j < agentCommandsIds.length; j++)
+      {
+        agentCommandsIds[j] = agentCommands.getCommandId(j);
+        commandsIds.add(Integer.valueOf(agentCommandsIds[j]));
+      }
+      agentsCommands[i] = CommandUtils.createAgentCommands(translateId(agentCommands.getAgentId()),
+                                                           agentCommandsIds);
+    }
+
+    Command[] commands = new Command[commandsIds.size()];
+    int i = 0;
+    for (Integer commandId : commandsIds)
+    {
+      commands[i] = repository.getCommand(commandId.intValue());
+      i++;
+    }
+
+    return new CommandsData(CommandUtils.createCommandsRepository(translateId(repository.getGroupId()),
+                                                                  agentsCommands, commands));
+  }
+
+  /**
+   * Translates the specified recorded identifier of group or agent.
+   *
+   * @param recordedId - the specified recorded identifier.
+   *
+   * @return Returns identifier used by replay.
+   *
+   * @throws IllegalStateException if recorded identifier is not known.
+   */
+  private int translateId(int recordedId)
+  {
+    Integer id = recordedIds.get(Integer.valueOf(recordedId));
+    if (id == null)
+    {
+      throw new IllegalStateException("Unknown identifier in replayed battle record: " + recordedId + "!");
+    }
+    return id.intValue();
+  }
+
+  /**
+   * Compares sent updates with recorded ones and completes the last
+   * checkpoint before finish signal is sent.
+   *
+   * @see net.java.dante.sim.engine.engine2d.server.ServerEngine2d#sendOutput(net.java.dante.sim.io.OutputData)
+   */
+  @Override
+  protected void sendOutput(OutputData outputData)
+  {
+    if (outputData instanceof UpdateData)
+    {
+      checkpoint.addGenerated(((UpdateData)outputData).getRepository());
+    }
+    else if (outputData instanceof FinishData)
+    {
+      // Updates recorded after end of replay are compared too
+      while ((nextRecord != null) || reader.hasNext())
+      {
+        BattleRecord record = ((nextRecord != null)? nextRecord : reader.next());
+        if (record.getType() == BattleRecordType.UPDATE)
+        {
+          checkpoint.addRecorded(record.getUpdateData().getRepository());
+        }
+        nextRecord = null;
+      }
+      super.sendOutput(checkpoint.complete(getCurrentTime(), true));
+    }
+
+    super.sendOutput(outputData);
+  }
+}
@@ -11,6 +11,8 @@ import java.awt.Graphics2D;
 
 import net.java.dante.sim.data.object.agent.ServerAgent;
 import net.java.dante.sim.data.object.agent.ServerAgentState;
+import net.java.dante.sim.data.object.state.Changeable;
+import net.java.dante.sim.data.object.state.ObjectState;
 import net.java.dante.sim.engine.engine2d.Engine2dAnimation;
 import net.java.dante.sim.engine.engine2d.Engine2dObject;
 import net.java.dante.sim.engine.graphics.java2d.Java2dContext;
@@ -34,6 +36,12 @@ class Server2dAgent extends Engine2dObject
   private Circle2d sightCircle;
   /** Circle defining agent's weapon range. */
   private Circle2d weaponCircle;
+  /** Grid of sight circles notified about each move of sight circle. */
+  private SightGrid sightGrid;
+  /** Suspension of this agent - <code>null</code> if agent is not suspended. */
+  private AgentsScheduler.Suspension suspension;
+  /** Scheduled arrival of this agent - <code>null</code> if arrival is not scheduled. */
+  private AgentsScheduler.Arrival arrival;
   
   
   /**
@@ -124,6 +132,27 @@ class Server2dAgent extends Engine2dObject
     
     sightCircle.setCircle(centerX, centerY, sightCircle.getRadius());
     weaponCircle.setCircle(centerX, centerY, weaponCircle.getRadius());
+    
+    if (sightGrid != null)
+    {
+      sightGrid.update(this);
+    }
+  }
+  
+  /**
+   * Sets grid of sight circles in which this agent is stored. 
+   * Grid is updated every time sight circle of this agent is moved.
+   * 
+   * @param grid - grid of sight circles or <code>null</code> if
+   *        no grid should be updated.
+   */
+  void setSightGrid(SightGrid grid)
+  {
+    sightGrid = grid;
+    if (sightGrid != null)
+    {
+      sightGrid.update(this);
+    }
   }
 
   /**
@@ -208,6 +237,20 @@ class Server2dAgent extends Engine2dObject
     return sightCircle;
   }
   
+  /**
+   * Prepares this agent for the next update: updates old agent's position
+   * and marks its state as updated.
+   */
+  void prepareUpdate()
+  {
+    updateOldPosition();
+    ObjectState agentState = agent.getData();
+    if (agentState instanceof Changeable)
+    {
+      ((Changeable)agentState).changesUpdated();
+    }
+  }
+
   /**
    * Updates old agent's position to current one.
    */
@@ -231,6 +274,73 @@ class Server2dAgent extends Engine2dObject
     return ((ServerAgentState)agent.getData()).isPositionChanged();
   }
   
+  /**
+   * Gets suspension of this agent.
+   *
+   * @return Returns suspension of this agent or <code>null</code> if
+   *         agent is not suspended.
+   */
+  AgentsScheduler.Suspension getSuspension()
+  {
+    return suspension;
+  }
+
+  /**
+   * Sets suspension of this agent.
+   *
+   * @param agentSuspension - suspension of this agent or <code>null</code>
+   *        if agent is not suspended.
+   */
+  void setSuspension(AgentsScheduler.Suspension agentSuspension)
+  {
+    suspension = agentSuspension;
+  }
+
+  /**
+   * Checks whether this agent is suspended by {@link AgentsScheduler}.
+   *
+   * @return Returns <code>true</code> if this agent is suspended,
+   *         <code>false</code> otherwise.
+   */
+  boolean isSuspended()
+  {
+    return (suspension != null);
+  }
+
+  /**
+   * Gets scheduled arrival of this agent.
+   *
+   * @return Returns scheduled arrival of this agent or <code>null</code> if
+   *         arrival is not scheduled.
+   */
+  AgentsScheduler.Arrival getArrival()
+  {
+    return arrival;
+  }
+
+  /**
+   * Sets scheduled arrival of this agent.
+   *
+   * @param agentArrival - scheduled arrival of this agent or <code>null</code>
+   *        if arrival is not scheduled.
+   */
+  void setArrival(AgentsScheduler.Arrival agentArrival)
+  {
+    arrival = agentArrival;
+  }
+
+  /**
+   * Checks whether arrival of this agent is scheduled by {@link AgentsScheduler}
+   * - until arrival, agent moves straight and cannot touch any static obstacle.
+   *
+   * @return Returns <code>true</code> if arrival of this agent is scheduled,
+   *         <code>false</code> otherwise.
+   */
+  boolean isArrivalScheduled()
+  {
+    return (arrival != null);
+  }
+
   /**
    * Reverses agent's position.
    */
@@ -18,8 +18,6 @@ import net.java.dante.sim.command.CommandsRepository;
 import net.java.dante.sim.command.types.Command;
 import net.java.dante.sim.data.object.agent.ServerAgent;
 import net.java.dante.sim.data.object.agent.ServerAgentState;
-import net.java.dante.sim.data.object.state.Changeable;
-import net.java.dante.sim.data.object.state.ObjectState;
 import net.java.dante.sim.engine.EngineObjectsGroup;
 import net.java.dante.sim.engine.collision.CollisionDetector;
 import net.java.dante.sim.engine.collision.CollisionModule;
@@ -62,6 +60,10 @@ class Server2dAgentsGroup implements EngineObjectsGroup
   private CurrentTimeHolder timeHolder;
   /** Group's color. */
   private Color color;
+  /** Scheduler of waiting and moving agents. */
+  private AgentsScheduler scheduler = new AgentsScheduler();
+  /** Determines whether agents are scheduled by {@link #scheduler}. */
+  private boolean schedulingEnabled = AgentsScheduler.isEnabled();
 
 
   /**
@@ -86,7 +88,7 @@ class Server2dAgentsGroup implements EngineObjectsGroup
     agents  = agentsGroup;
 
     agentsCollection   = Collections.unmodifiableCollection(agents.values());
-    groupEventsBuilder = EventUtils.createDefaultBuilder(groupId);
+    groupEventsBuilder = EventUtils.createPrimitiveBuilder(groupId);
     visibilityRecord   = new VisibilityRecord(this);
     statistics         = new GroupStatistics(groupId);
   }
@@ -148,6 +150,7 @@ class Server2dAgentsGroup implements EngineObjectsGroup
     removeMarkedAgents();
 
     prepareAgents();
+    scheduler.advance(delta);
     updateActiveAgents(delta);
 
     removeMarkedAgents();
@@ -161,34 +164,37 @@ class Server2dAgentsGroup implements EngineObjectsGroup
     // Remove agents marked as 'to remove'
     for (Integer agentId : agentsToRemove)
     {
-      collisionDetector.removeObject(agents.get(agentId));
-      agents.remove(agentId);
+      Server2dAgent agent = agents.remove(agentId);
+      scheduler.cancel(agent);
+      collisionDetector.removeObject(agent);
+      visibilityRecord.agentRemoved(agent);
     }
     // And clear list - do not remove again
     agentsToRemove.clear();
   }
 
   /**
-   * Prepares all agents.
+   * Prepares all agents, except agents suspended by {@link AgentsScheduler}
+   * - they are prepared when they are resumed.
    */
   private void prepareAgents()
   {
     for (Integer agentId : agents.keySet())
     {
-      // Update old positions
       Server2dAgent agent = agents.get(agentId);
-      agent.updateOldPosition();
-      // Mark agent state as updated.
-      ObjectState agentState = agent.getAgent().getData();
-      if (agentState instanceof Changeable)
+      if (!agent.isSuspended())
       {
-        ((Changeable)agentState).changesUpdated();
+        agent.prepareUpdate();
       }
     }
   }
 
   /**
-   * Updates state of all active agents.
+   * Updates state of all active agents, except agents suspended by
+   * {@link AgentsScheduler}. If scheduling is enabled, waiting agents are
+   * suspended after update and arrivals of agents moving straight
+   * are scheduled - collisions of such agents with static obstacles are
+   * not checked until arrival or until their movement is interrupted.
    *
    * @param delta - time elapsed since last update.
    */
@@ -198,13 +204,13 @@ class Server2dAgentsGroup implements EngineObjectsGroup
     for (Integer agentId : agents.keySet())
     {
       Server2dAgent agent = agents.get(agentId);
-      if (agent.isActive())
+      if (agent.isActive() && !agent.isSuspended())
       {
         agent.update(delta);
 
         if (agent.isPositionChanged())
         {
-          collisionDetector.checkCollisions(collisionModule, agent);
+          collisionDetector.checkCollisions(collisionModule, agent, !agent.isArrivalScheduled());
 
           // If position is not changed anymore, it means that agent was blocked
           // so no visibility updates should be performed
@@ -228,10 +234,39 @@ class Server2dAgentsGroup implements EngineObjectsGroup
             }
           }
         }
+
+        if (schedulingEnabled && agent.isActive())
+        {
+          scheduleAgent(agent);
+        }
       }
     }
   }
 
+  /**
+   * Schedules the specified updated agent: waiting agent is suspended,
+   * agent moving straight has its arrival scheduled and arrival of agent
+   * whose movement was interrupted is cancelled.
+   *
+   * @param agent - the specified updated agent.
+   */
+  private void scheduleAgent(Server2dAgent agent)
+  {
+    if (agent.getAgent().isWaiting())
+    {
+      scheduler.cancelArrival(agent);
+      scheduler.suspend(agent);
+    }
+    else if (agent.isPositionChanged())
+    {
+      scheduler.scheduleArrival(agent, collisionDetector);
+    }
+    else
+    {
+      scheduler.cancelArrival(agent);
+    }
+  }
+
   /**
    * @see net.java.dante.sim.engine.EngineObjectsGroup#render()
    */
@@ -301,6 +336,8 @@ class Server2dAgentsGroup implements EngineObjectsGroup
         ServerAgent simAgent = agent.getAgent();
         if (simAgent.getGroupId() == agentsGroupId)
         {
+          scheduler.resume(agent);
+          scheduler.cancelArrival(agent);
           for (int j = 0, commandsCount = commands.getCommandsCount(); j < commandsCount; j++)
           {
             Command command = repository.getCommand(commands.getCommandId(j));
@@ -6,7 +6,7 @@
 
 package net.java.dante.sim.engine.engine2d.server;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import net.java.dante.sim.data.ActionListener;
@@ -89,7 +89,7 @@ class Server2dAgentsGroupsBuilder
      * maps with agents identifiers and agents.
      */
     private Map<Integer, Map<Integer, Server2dAgent>> groups =
-      new HashMap<Integer, Map<Integer, Server2dAgent>>();
+      new LinkedHashMap<Integer, Map<Integer, Server2dAgent>>();
 
 
     /**
@@ -119,7 +119,7 @@ class Server2dAgentsGroupsBuilder
         Map<Integer, Server2dAgent> group = groups.get(groupId);
         if (group == null)
         {
-          group = new HashMap<Integer, Server2dAgent>();
+          group = new LinkedHashMap<Integer, Server2dAgent>();
           groups.put(groupId, group);
         }
 
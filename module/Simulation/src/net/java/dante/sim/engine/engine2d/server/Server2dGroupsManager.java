@@ -8,7 +8,7 @@ package net.java.dante.sim.engine.engine2d.server;
 
 import java.awt.Color;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -51,14 +51,14 @@ import net.java.dante.sim.util.Colors;
 class Server2dGroupsManager
 {
   /** Collision detector. */
-  private CollisionDetector collisionDetector = new CollisionDetector();
+  private CollisionDetector collisionDetector;
   /** Default collision detector. */
   private Server2dCollisionModule collisionModule = new Server2dCollisionModule();
   /** Visibility manager.  */
   VisibilityManager visibilityManager;
   /** Groups of agents. */
   Map<Integer, Server2dAgentsGroup> agentsGroups =
-    new HashMap<Integer, Server2dAgentsGroup>();
+    new LinkedHashMap<Integer, Server2dAgentsGroup>();
   /** Projectiles group. */
   Server2dProjectilesGroup projectiles;
   /** Explosions group. */
@@ -77,17 +77,14 @@ class Server2dGroupsManager
    * Creates instance of {@link Server2dGroupsManager} class with specified parameters.
    *
    * @param spritesRepository - sprites repository.
-   * @param graphicsContext - graphics context.
+   * @param graphicsContext - graphics context or <code>null</code> if
+   *        objects are never rendered.
    * @param currentTimeHolder - current time holder.
    */
   Server2dGroupsManager(Java2dContext graphicsContext,
       SpritesRepository spritesRepository,
       CurrentTimeHolder currentTimeHolder)
   {
-    if (graphicsContext == null)
-    {
-      throw new NullPointerException("Specified graphicsContext is null!");
-    }
     if (spritesRepository == null)
     {
       throw new NullPointerException("Specified spritesRepository is null!");
@@ -100,8 +97,6 @@ class Server2dGroupsManager
     sprites = spritesRepository;
     context = graphicsContext;
     timeHolder = currentTimeHolder;
-
-    visibilityManager = new VisibilityManager(currentTimeHolder);
   }
 
 
@@ -123,11 +118,18 @@ class Server2dGroupsManager
       throw new NullPointerException("Specified engineInitData is null!");
     }
 
+    ObjectSize tileSize = engineInitData.getGlobalData().getMapTileSize();
+    SimulationMap map = simData.getMap();
+
+    // Initialize visibility manager
+    visibilityManager = new VisibilityManager(timeHolder,
+        tileSize.getWidth() * map.getColumns(), tileSize.getHeight() * map.getRows());
+
     // Initialize collision detector
-    initCollisionDetector(simData.getMediator());
+    initCollisionDetector(simData.getMediator(), map, tileSize);
 
     // Initialize obstacle tiles
-    initializeTiles(simData.getMap(), engineInitData.getGlobalData().getMapTileSize());
+    initializeTiles(map, tileSize);
 
     // Initialize group of agents
     initAgentsGroups(simData.getRoot());
@@ -150,11 +152,16 @@ class Server2dGroupsManager
 
   /**
    * Initializes collision detector and default collision module.
+   * Collision detector uses grid with cells of map's tile size.
    *
    * @param mediator - objects mediator used by collision listener.
+   * @param map - simulation map.
+   * @param tileSize - size of each tile.
    */
-  private void initCollisionDetector(ObjectsMediator mediator)
+  private void initCollisionDetector(ObjectsMediator mediator,
+      SimulationMap map, ObjectSize tileSize)
   {
+    collisionDetector = new CollisionDetector(tileSize, map.getColumns(), map.getRows());
     collisionModule.addListener(new Engine2dCollisionListener(mediator));
     collisionDetector.registerModule(collisionModule);
   }
@@ -187,7 +194,8 @@ class Server2dGroupsManager
    * from the specified {@link SimulationMap} object. Each tile is
    * created with the specified size.
    * All created obstacle tiles are added to the {@link CollisionDetector}
-   * object.
+   * object as static obstacles, so they are checked only against objects
+   * covering their cells.
    *
    * @param map - the specified {@link SimulationMap} object.
    * @param tileSize - size of each tile.
@@ -207,7 +215,7 @@ class Server2dGroupsManager
               sprites.getTileSprite(), (tileSize.getWidth() * j),
               (tileSize.getHeight() * i), tileSize);
           tilesList.add(tile);
-          collisionDetector.addObject(tile);
+          collisionDetector.addObstacle(tile, j, i);
         }
       }
     }
@@ -373,7 +381,7 @@ class Server2dGroupsManager
    */
   Map<Integer, EventsRepository> buildEventsRepositories()
   {
-    Map<Integer, EventsRepository> repositories = new HashMap<Integer, EventsRepository>(agentsGroups.size());
+    Map<Integer, EventsRepository> repositories = new LinkedHashMap<Integer, EventsRepository>(agentsGroups.size());
 
     for (Integer groupId : agentsGroups.keySet())
     {
@@ -409,7 +417,7 @@ class Server2dGroupsManager
 
         if (repositories == null)
         {
-          repositories = new HashMap<Integer, EventsRepository>(agentsGroups.size());
+          repositories = new LinkedHashMap<Integer, EventsRepository>(agentsGroups.size());
         }
 
         repositories.put(groupId, repository);
@@ -81,6 +81,20 @@ class Server2dProjectile extends Engine2dObject
     }
   }
 
+  /**
+   * Moves this projectile to the specified position.
+   *
+   * @param newX - new 'x' coordinate of projectile.
+   * @param newY - new 'y' coordinate of projectile.
+   */
+  void moveTo(double newX, double newY)
+  {
+    ServerProjectileState state = (ServerProjectileState)projectile.getData();
+    state.setX(newX);
+    state.setY(newY);
+    updateBounds();
+  }
+
   /**
    * Gets the wrapped simulation's projectile.
    *
@@ -9,7 +9,7 @@ package net.java.dante.sim.engine.engine2d.server;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +19,7 @@ import net.java.dante.sim.data.object.state.ObjectState;
 import net.java.dante.sim.engine.EngineObjectsGroup;
 import net.java.dante.sim.engine.collision.CollisionDetector;
 import net.java.dante.sim.engine.collision.CollisionModule;
+import net.java.dante.sim.util.math.Rect2d;
 
 
 /**
@@ -31,7 +32,7 @@ class Server2dProjectilesGroup implements EngineObjectsGroup
 {
   /** Map containing association between projectiles identifiers and projectiles. */
   private Map<Integer, Server2dProjectile> projectiles =
-      new HashMap<Integer, Server2dProjectile>(100);
+      new LinkedHashMap<Integer, Server2dProjectile>(100);
   /** List of projectiles to remove. */
   private List<Integer> projectilesToRemove = new ArrayList<Integer>(10);
   /** All projectiles as unmodifiable collection. */
@@ -140,10 +141,14 @@ class Server2dProjectilesGroup implements EngineObjectsGroup
       // Only active projectiles are moving
       if (projectile.isActive())
       {
-        projectile.update(delta);
         ServerProjectileState projectileState = (ServerProjectileState)projectile.getProjectile().getData();
+        double startX = projectileState.getX();
+        double startY = projectileState.getY();
+
+        projectile.update(delta);
         if (projectileState.isPositionChanged())
         {
+          stopAtFirstCollision(projectile, startX, startY);
           visibilityManager.updateRecordsByMovedProjectile(projectile);
           detector.checkCollisions(collisionModule, projectile);
         }
@@ -151,6 +156,36 @@ class Server2dProjectilesGroup implements EngineObjectsGroup
     }
   }
 
+  /**
+   * Checks whether the specified projectile collided with any object
+   * while it was moving from the specified start position to its current
+   * position. If it did, projectile is moved back to position of its first
+   * collision, where this collision will be detected by
+   * {@link CollisionDetector}. Thanks to that fast projectiles cannot pass
+   * through thin walls or agents between updates.
+   * Projectiles that moved less than their size are not checked, objects
+   * overlapped by projectile at its start position are skipped.
+   *
+   * @param projectile - the specified projectile.
+   * @param startX - 'x' coordinate of projectile before movement.
+   * @param startY - 'y' coordinate of projectile before movement.
+   */
+  private void stopAtFirstCollision(Server2dProjectile projectile, double startX, double startY)
+  {
+    Rect2d bounds = projectile.getObjectBounds();
+    double distanceX = bounds.getX() - startX;
+    double distanceY = bounds.getY() - startY;
+
+    if ((Math.abs(distanceX) > bounds.getWidth()) || (Math.abs(distanceY) > bounds.getHeight()))
+    {
+      double collisionTime = detector.findFirstCollisionTime(collisionModule, projectile, startX, startY);
+      if (collisionTime >= 0.0)
+      {
+        projectile.moveTo(startX + collisionTime * distanceX, startY + collisionTime * distanceY);
+      }
+    }
+  }
+
   /**
    * @see net.java.dante.sim.engine.EngineObjectsGroup#render()
    */
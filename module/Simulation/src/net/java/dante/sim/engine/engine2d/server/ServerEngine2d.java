@@ -6,8 +6,10 @@
 
 package net.java.dante.sim.engine.engine2d.server;
 
+import java.io.IOException;
 import java.util.Map;
 
+import net.java.dante.sim.common.Dbg;
 import net.java.dante.sim.data.SimulationData;
 import net.java.dante.sim.data.common.InitData;
 import net.java.dante.sim.engine.Engine;
@@ -23,17 +25,31 @@ import net.java.dante.sim.io.FinishData;
 import net.java.dante.sim.io.GroupAbandonSimulationData;
 import net.java.dante.sim.io.GroupEliminatedSimulationData;
 import net.java.dante.sim.io.InputData;
+import net.java.dante.sim.io.OutputData;
 import net.java.dante.sim.io.ServerInput;
 import net.java.dante.sim.io.SimulationInput;
 import net.java.dante.sim.io.SimulationOutput;
 import net.java.dante.sim.io.StatisticsData;
 import net.java.dante.sim.io.TimeSyncData;
 import net.java.dante.sim.io.UpdateData;
+import net.java.dante.sim.io.init.InitializationData;
+import net.java.dante.sim.record.BattleRecorder;
+import net.java.dante.sim.record.RecordedInitialState;
 
 
 /**
  * Implementation of {@link Engine} interface using Java2D rendering to render
- * agents, running on server's side.
+ * agents, running on server's side.<p>
+ * Headless engine (see {@link Engine2dInitData#isHeadless()}) does not render
+ * anything and does not wait between updates - simulation time is advanced
+ * by the same interval in each update, so battle runs exactly as in real-time
+ * engine, but as fast as possible. Output is delivered synchronously from
+ * engine's thread, so clients keep up with headless engine only if they
+ * answer before {@link SimulationOutput#dataReady(OutputData)} returns
+ * (see {@link net.java.dante.sim.batch.BatchClient}).<p>
+ * If battle is recorded (see {@link net.java.dante.sim.data.GlobalData#isRecordBattle()}),
+ * all sent updates and received commands are written by {@link BattleRecorder}
+ * to new file created by {@link BattleRecorder#createRecordFile()}.
  *
  * @author M.Olszewski
  */
@@ -55,6 +71,9 @@ public class ServerEngine2d extends AbstractEngine2d
   /** Indicates whether rendering should be enabled or not. */
   private boolean renderingEnabled = true;
 
+  /** Battle recorder - <code>null</code> if battle is not recorded. */
+  private BattleRecorder recorder;
+
 
   /**
    * Creates not initialized instance of {@link ServerEngine2d} class.
@@ -93,6 +112,34 @@ public class ServerEngine2d extends AbstractEngine2d
     // Initialize groups manager
     groupsManager = new Server2dGroupsManager(context, spritesRepository, timeHolder);
     groupsManager.init(simData, engineInitData);
+
+    // Initialize battle recorder
+    if (isBattleRecorded(engineInitData))
+    {
+      try
+      {
+        recorder = new BattleRecorder(BattleRecorder.createRecordFile());
+        recorder.recordInitialization(RecordedInitialState.create(
+            engineInitData.getSeed(), InitializationData.createInitializationData(simData)));
+      }
+      catch (IOException e)
+      {
+        Dbg.error("Battle cannot be recorded - caught exception: " + e);
+      }
+    }
+  }
+
+  /**
+   * Checks whether battle should be recorded.
+   *
+   * @param engineInitData - engine's initialization data.
+   *
+   * @return Returns <code>true</code> if battle should be recorded,
+   *         <code>false</code> otherwise.
+   */
+  protected boolean isBattleRecorded(Engine2dInitData engineInitData)
+  {
+    return engineInitData.getGlobalData().isRecordBattle();
   }
 
   /**
@@ -105,7 +152,12 @@ public class ServerEngine2d extends AbstractEngine2d
   @Override
   protected void engineUpdate()
   {
-    timeStopper.startPoint();
+    // Headless engine waits only when paused
+    boolean fixedStep = (isHeadless() && !isPaused());
+    if (!fixedStep)
+    {
+      timeStopper.startPoint();
+    }
     {
       long delta = updatesInterval;
 
@@ -138,20 +190,23 @@ public class ServerEngine2d extends AbstractEngine2d
         renderScene();
       }
     }
-    timeStopper.endPoint();
+    if (!fixedStep)
+    {
+      timeStopper.endPoint();
+    }
   }
 
   /**
    * Processes input of this simulation engine.
    */
-  private void processInput()
+  protected void processInput()
   {
     InputData inputData = input.retrieveInput();
     while (inputData != null)
     {
       if (inputData instanceof CommandsData)
       {
-        groupsManager.processCommands((CommandsData)inputData);
+        processCommands((CommandsData)inputData);
       }
       else if (inputData instanceof EnableRenderingData)
       {
@@ -167,11 +222,37 @@ public class ServerEngine2d extends AbstractEngine2d
   }
 
   /**
-   * Renders scene (background and objects) if rendering is enabled.
+   * Processes the specified commands data and records it if battle
+   * is recorded.
+   *
+   * @param commands - the specified commands data.
+   */
+  protected void processCommands(CommandsData commands)
+  {
+    if (recorder != null)
+    {
+      recorder.recordCommands(timeHolder.getCurrentTime(), commands);
+    }
+    groupsManager.processCommands(commands);
+  }
+
+  /**
+   * Gets current simulation time.
+   *
+   * @return Returns current simulation time.
+   */
+  protected long getCurrentTime()
+  {
+    return timeHolder.getCurrentTime();
+  }
+
+  /**
+   * Renders scene (background and objects) if rendering is enabled and 
+   * this engine is not headless.
    */
   private void renderScene()
   {
-    if (renderingEnabled)
+    if (renderingEnabled && !isHeadless())
     {
       context.beginRendering();
       {
@@ -217,15 +298,39 @@ public class ServerEngine2d extends AbstractEngine2d
       EventsRepository repository = repositories.get(groupId);
       if (repository != null)
       {
-        output.dataReady(new UpdateData(timeHolder.getCurrentTime(), repository));
+        sendUpdate(new UpdateData(timeHolder.getCurrentTime(), repository));
       }
       else if (groupsManager.isGroupActive(groupId))
       {
-        output.dataReady(new TimeSyncData(groupId.intValue(), timeHolder.getCurrentTime()));
+        sendOutput(new TimeSyncData(groupId.intValue(), timeHolder.getCurrentTime()));
       }
     }
   }
 
+  /**
+   * Sends the specified update data and records it if battle is recorded.
+   *
+   * @param update - the specified update data.
+   */
+  private void sendUpdate(UpdateData update)
+  {
+    if (recorder != null)
+    {
+      recorder.recordUpdate(update);
+    }
+    sendOutput(update);
+  }
+
+  /**
+   * Sends the specified output data.
+   *
+   * @param outputData - the specified output data.
+   */
+  protected void sendOutput(OutputData outputData)
+  {
+    output.dataReady(outputData);
+  }
+
   /**
    * Checks whether status of any group has changed to 'not active' and if so
    * notifies this group.
@@ -241,9 +346,9 @@ public class ServerEngine2d extends AbstractEngine2d
         EventsRepository repository = repositories.get(groupId);
         if (repository != null)
         {
-          output.dataReady(new UpdateData(timeHolder.getCurrentTime(), repository));
+          sendUpdate(new UpdateData(timeHolder.getCurrentTime(), repository));
         }
-        output.dataReady(new GroupEliminatedSimulationData(groupId.intValue()));
+        sendOutput(new GroupEliminatedSimulationData(groupId.intValue()));
       }
     }
   }
@@ -269,11 +374,32 @@ public class ServerEngine2d extends AbstractEngine2d
       GroupStatistics[] statistics = groupsManager.buildGroupsStatistics();
       for (int i = 0; i < statistics.length; i++)
       {
-        output.dataReady(new StatisticsData(statistics[i]));
+        sendOutput(new StatisticsData(statistics[i]));
       }
 
       // Send finish signal
-      output.dataReady(new FinishData());
+      sendOutput(new FinishData());
+
+      closeRecorder();
+    }
+  }
+
+  /**
+   * Closes battle recorder if battle is recorded.
+   */
+  private void closeRecorder()
+  {
+    if (recorder != null)
+    {
+      try
+      {
+        recorder.close();
+      }
+      catch (IOException e)
+      {
+        Dbg.error("Battle record is not complete - caught exception: " + e);
+      }
+      recorder = null;
     }
   }
 
@@ -283,6 +409,11 @@ public class ServerEngine2d extends AbstractEngine2d
   @Override
   protected void performDisposal()
   {
-    context.dispose();
+    closeRecorder();
+
+    if (context != null)
+    {
+      context.dispose();
+    }
   }
 }
\ No newline at end of file
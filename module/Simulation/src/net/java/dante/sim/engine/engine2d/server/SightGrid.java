@@ -0,0 +1,272 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.engine2d.server;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.java.dante.sim.util.math.Circle2d;
+
+
+/**
+ * Uniform grid of agents' sight circles, used by {@link VisibilityRecord}
+ * to find agents that can see specified point. Each agent is stored in
+ * all cells covered by bounding square of its sight circle. Agents are
+ * moved between cells every time their sight circles are moved
+ * (see {@link Server2dAgent#setSightGrid(SightGrid)}), so only agents
+ * from one cell are checked for each point.
+ * Points and circles outside of grid are assigned to the nearest border cells.
+ *
+ * @author M.Olszewski
+ */
+class SightGrid
+{
+  /** Size of each cell. */
+  private double cellSize;
+  /** Number of columns. */
+  private int columns;
+  /** Number of rows. */
+  private int rows;
+  /** Cells of this grid - created lazily. */
+  private SightCell[] cells;
+  /** Entries of all stored agents. */
+  private Map<Server2dAgent, SightEntry> entries = new IdentityHashMap<Server2dAgent, SightEntry>();
+
+
+  /**
+   * Creates instance of {@link SightGrid} class with specified parameters.
+   * Cells should be of similar size to agents' sight range, so each
+   * sight circle covers only few cells.
+   *
+   * @param gridCellSize - size of each cell.
+   * @param worldWidth - width of area covered by grid.
+   * @param worldHeight - height of area covered by grid.
+   */
+  SightGrid(double gridCellSize, int worldWidth, int worldHeight)
+  {
+    if (gridCellSize <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument gridCellSize - it must be positive number!");
+    }
+    if (worldWidth <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument worldWidth - it must be positive integer!");
+    }
+    if (worldHeight <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument worldHeight - it must be positive integer!");
+    }
+
+    cellSize = gridCellSize;
+    columns  = (int)Math.ceil(worldWidth / cellSize);
+    rows     = (int)Math.ceil(worldHeight / cellSize);
+    cells    = new SightCell[columns * rows];
+  }
+
+
+  /**
+   * Updates cells occupied by sight circle of the specified agent. If agent
+   * is not stored in this grid, it is added.
+   *
+   * @param agent - the specified agent.
+   */
+  void update(Server2dAgent agent)
+  {
+    Circle2d circle = agent.getSightCircle();
+    int minColumn = toColumn(circle.getX() - circle.getRadius());
+    int minRow    = toRow(circle.getY() - circle.getRadius());
+    int maxColumn = toColumn(circle.getX() + circle.getRadius());
+    int maxRow    = toRow(circle.getY() + circle.getRadius());
+
+    boolean changed = true;
+    SightEntry entry = entries.get(agent);
+    if (entry == null)
+    {
+      entry = new SightEntry(agent);
+      entries.put(agent, entry);
+    }
+    else if ((minColumn != entry.minColumn) || (minRow != entry.minRow) ||
+             (maxColumn != entry.maxColumn) || (maxRow != entry.maxRow))
+    {
+      erase(entry);
+    }
+    else
+    {
+      // Same cells - nothing to do.
+      changed = false;
+    }
+
+    if (changed)
+    {
+      entry.minColumn = minColumn;
+      entry.minRow    = minRow;
+      entry.maxColumn = maxColumn;
+      entry.maxRow    = maxRow;
+      insert(entry);
+    }
+  }
+
+  /**
+   * Removes the specified agent from this grid. If agent is not stored
+   * in this grid, this method returns immediately.
+   *
+   * @param agent - the specified agent.
+   */
+  void remove(Server2dAgent agent)
+  {
+    SightEntry entry = entries.remove(agent);
+    if (entry != null)
+    {
+      erase(entry);
+    }
+  }
+
+  /**
+   * Checks whether any active agent stored in this grid can see the
+   * specified point - point must be contained by agent's sight circle.
+   *
+   * @param x - 'x' coordinate of the specified point.
+   * @param y - 'y' coordinate of the specified point.
+   *
+   * @return Returns <code>true</code> if point is seen by any active agent,
+   *         <code>false</code> otherwise.
+   */
+  boolean isSeen(double x, double y)
+  {
+    boolean seen = false;
+    SightCell cell = cells[toRow(y) * columns + toColumn(x)];
+    if (cell != null)
+    {
+      List<Server2dAgent> agents = cell.agents;
+      for (int i = 0, size = agents.size(); i < size; i++)
+      {
+        Server2dAgent agent = agents.get(i);
+        if (agent.isActive() && agent.getSightCircle().contains(x, y))
+        {
+          seen = true;
+          break;
+        }
+      }
+    }
+    return seen;
+  }
+
+  /**
+   * Inserts the specified entry into all cells covered by it.
+   *
+   * @param entry - the specified entry.
+   */
+  private void insert(SightEntry entry)
+  {
+    for (int row = entry.minRow; row <= entry.maxRow; row++)
+    {
+      for (int column = entry.minColumn; column <= entry.maxColumn; column++)
+      {
+        int index = row * columns + column;
+        SightCell cell = cells[index];
+        if (cell == null)
+        {
+          cell = new SightCell();
+          cells[index] = cell;
+        }
+        cell.agents.add(entry.agent);
+      }
+    }
+  }
+
+  /**
+   * Erases the specified entry from all cells covered by it.
+   *
+   * @param entry - the specified entry.
+   */
+  private void erase(SightEntry entry)
+  {
+    for (int row = entry.minRow; row <= entry.maxRow; row++)
+    {
+      for (int column = entry.minColumn; column <= entry.maxColumn; column++)
+      {
+        SightCell cell = cells[row * columns + column];
+        if (cell != null)
+        {
+          cell.agents.remove(entry.agent);
+        }
+      }
+    }
+  }
+
+  /**
+   * Converts the specified 'x' coordinate to column index, clamped to
+   * range of this grid.
+   *
+   * @param x - the specified 'x' coordinate.
+   *
+   * @return Returns column index.
+   */
+  private int toColumn(double x)
+  {
+    int column = (int)Math.floor(x / cellSize);
+    return ((column < 0)? 0 : ((column >= columns)? (columns - 1) : column));
+  }
+
+  /**
+   * Converts the specified 'y' coordinate to row index, clamped to
+   * range of this grid.
+   *
+   * @param y - the specified 'y' coordinate.
+   *
+   * @return Returns row index.
+   */
+  private int toRow(double y)
+  {
+    int row = (int)Math.floor(y / cellSize);
+    return ((row < 0)? 0 : ((row >= rows)? (rows - 1) : row));
+  }
+
+
+  /**
+   * Single cell of {@link SightGrid}.
+   *
+   * @author M.Olszewski
+   */
+  private static class SightCell
+  {
+    /** Agents which sight circles cover this cell. */
+    final List<Server2dAgent> agents = new ArrayList<Server2dAgent>(4);
+  }
+
+  /**
+   * Entry of agent stored in {@link SightGrid}.
+   *
+   * @author M.Olszewski
+   */
+  private static class SightEntry
+  {
+    /** Stored agent. */
+    final Server2dAgent agent;
+    /** First column covered by agent's sight circle. */
+    int minColumn;
+    /** First row covered by agent's sight circle. */
+    int minRow;
+    /** Last column covered by agent's sight circle. */
+    int maxColumn;
+    /** Last row covered by agent's sight circle. */
+    int maxRow;
+
+
+    /**
+     * Creates instance of {@link SightEntry} class.
+     *
+     * @param sightAgent - stored agent.
+     */
+    SightEntry(Server2dAgent sightAgent)
+    {
+      agent = sightAgent;
+    }
+  }
+}
@@ -6,12 +6,15 @@
 
 package net.java.dante.sim.engine.engine2d.server;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import net.java.dante.sim.data.object.agent.ServerAgentState;
 import net.java.dante.sim.data.object.projectile.ServerProjectileState;
+import net.java.dante.sim.engine.engine2d.Engine2dObject;
 import net.java.dante.sim.event.types.EventTypesUtils;
 
 
@@ -27,27 +30,51 @@ class VisibilityManager
   private Set<VisibilityRecord> records = new HashSet<VisibilityRecord>();
   /** Current time holder. */
   private CurrentTimeHolder timeHolder;
+  /** Width of area where objects can move. */
+  private int worldWidth;
+  /** Height of area where objects can move. */
+  private int worldHeight;
+  /** Grid with agents of currently updated group - <code>null</code> if no record is registered. */
+  private ObjectsGrid<Server2dAgent> agentsGrid;
+  /** Grid with currently updated projectiles - <code>null</code> if no record is registered. */
+  private ObjectsGrid<Server2dProjectile> projectilesGrid;
+  /** Size of cells of both grids - the longest sight range of all registered records. */
+  private double gridCellSize;
 
 
   /**
    * Creates instance of {@link VisibilityManager} class.
    *
    * @param currentTimeHolder - current time holder.
+   * @param width - width of area where objects can move.
+   * @param height - height of area where objects can move.
    */
-  VisibilityManager(CurrentTimeHolder currentTimeHolder)
+  VisibilityManager(CurrentTimeHolder currentTimeHolder, int width, int height)
   {
     if (currentTimeHolder == null)
     {
       throw new NullPointerException("Specified currentTimeHolder is null!");
     }
+    if (width <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument width - it must be positive integer!");
+    }
+    if (height <= 0)
+    {
+      throw new IllegalArgumentException("Invalid argument height - it must be positive integer!");
+    }
 
-    timeHolder = currentTimeHolder;
+    timeHolder  = currentTimeHolder;
+    worldWidth  = width;
+    worldHeight = height;
   }
 
 
   /**
    * Registers the specified {@link VisibilityRecord} record in
-   * this {@link VisibilityManager}.
+   * this {@link VisibilityManager}. Sight grid of registered record
+   * is initialized, so record should be registered after all agents
+   * were added to its group.
    *
    * @param record - the specified specified {@link VisibilityRecord} record
    *        to register.
@@ -59,7 +86,16 @@ class VisibilityManager
       throw new NullPointerException("Specified record is null!");
     }
 
-    records.add(record);
+    if (records.add(record))
+    {
+      record.initSightGrid(worldWidth, worldHeight);
+      if ((agentsGrid == null) || (record.getMaxSightRange() > gridCellSize))
+      {
+        gridCellSize     = record.getMaxSightRange();
+        agentsGrid       = new ObjectsGrid<Server2dAgent>(gridCellSize, worldWidth, worldHeight);
+        projectilesGrid  = new ObjectsGrid<Server2dProjectile>(gridCellSize, worldWidth, worldHeight);
+      }
+    }
   }
 
   /**
@@ -247,21 +283,31 @@ class VisibilityManager
    */
   void updateRecordsForAgentsGroups(Server2dAgentsGroup group)
   {
-    Collection<Server2dAgent> agents = group.getAgents();
-
-    for (VisibilityRecord record : records)
+    if (agentsGrid != null)
     {
-      // Filter records - do not update the same visibility record.
-      if (record.getGroupId() != group.getGroupId())
+      agentsGrid.clear();
+      for (Server2dAgent agent : group.getAgents())
       {
-        for (Server2dAgent agent : agents)
+        agentsGrid.add(agent);
+      }
+
+      Set<Server2dAgent> seenAgents = new HashSet<Server2dAgent>();
+      for (VisibilityRecord record : records)
+      {
+        // Filter records - do not update the same visibility record.
+        if (record.getGroupId() != group.getGroupId())
         {
-          if (record.update(agent))
+          seenAgents.clear();
+          for (Server2dAgent agent : findCheckedObjects(record, agentsGrid, seenAgents))
           {
-            generateEventsForStillAgent(record, agent);
+            if (record.update(agent, seenAgents.contains(agent)))
+            {
+              generateEventsForStillAgent(record, agent);
+            }
           }
         }
       }
+      agentsGrid.clear();
     }
   }
 
@@ -306,20 +352,57 @@ class VisibilityManager
    */
   void updateRecordsForProjectilesGroups(Server2dProjectilesGroup group)
   {
-    Collection<Server2dProjectile> projectiles = group.getProjectiles();
-
-    for (VisibilityRecord record : records)
+    if (projectilesGrid != null)
     {
-      for (Server2dProjectile projectile : projectiles)
+      projectilesGrid.clear();
+      for (Server2dProjectile projectile : group.getProjectiles())
       {
-        if (record.update(projectile))
+        projectilesGrid.add(projectile);
+      }
+
+      Set<Server2dProjectile> seenProjectiles = new HashSet<Server2dProjectile>();
+      for (VisibilityRecord record : records)
+      {
+        seenProjectiles.clear();
+        for (Server2dProjectile projectile : findCheckedObjects(record, projectilesGrid, seenProjectiles))
         {
-          generateEventsForStillProjectile(record, projectile);
+          if (record.update(projectile, seenProjectiles.contains(projectile)))
+          {
+            generateEventsForStillProjectile(record, projectile);
+          }
         }
       }
+      projectilesGrid.clear();
     }
   }
 
+  /**
+   * Finds objects from the specified grid which visibility status must be
+   * checked in the specified record: objects seen now by any active agent
+   * from record's group and objects tracked by the record. Status of all
+   * other objects cannot change, so they are skipped. Returned objects are
+   * in the same order as they were added to grid.
+   *
+   * @param <T> - type of objects stored in grid.
+   * @param record - the specified record.
+   * @param grid - the specified grid.
+   * @param seenObjects - set where objects seen now are added.
+   *
+   * @return Returns list of objects to check.
+   */
+  private <T extends Engine2dObject> List<T> findCheckedObjects(
+      VisibilityRecord record, ObjectsGrid<T> grid, Set<T> seenObjects)
+  {
+    record.findSeenObjects(grid, seenObjects);
+
+    Set<T> checkedObjects = new HashSet<T>(seenObjects);
+    record.findTrackedObjects(grid, checkedObjects);
+
+    List<T> sortedObjects = new ArrayList<T>(checkedObjects);
+    grid.sort(sortedObjects);
+    return sortedObjects;
+  }
+
   private void generateEventsForStillProjectile(
       VisibilityRecord record, Server2dProjectile stillProjectile)
   {
@@ -393,6 +476,8 @@ class VisibilityManager
                 state.getX(), state.getY()));
 
       }
+      // Destroyed projectile will not be updated anymore
+      record.forget(destroyedProjectile);
     }
   }
 }
\ No newline at end of file
@@ -6,8 +6,9 @@
 
 package net.java.dante.sim.engine.engine2d.server;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import net.java.dante.sim.engine.engine2d.Engine2dObject;
 import net.java.dante.sim.event.EventsRepositoryBuilder;
@@ -22,12 +23,19 @@ import net.java.dante.sim.util.math.Rect2d;
  */
 class VisibilityRecord
 {
-  /** List with all objects seen during last update. */
-  private List<Engine2dObject> seenNowObjects = new ArrayList<Engine2dObject>();
-  /** List with all objects seen before last update. */  
-  private List<Engine2dObject> seenBeforeObjects = new ArrayList<Engine2dObject>();
+  /** Set with all objects seen during last update. */
+  private Set<Engine2dObject> seenNowObjects = new HashSet<Engine2dObject>();
+  /** Set with all objects seen before last update. */  
+  private Set<Engine2dObject> seenBeforeObjects = new HashSet<Engine2dObject>();
   /** Parent object for this {@link VisibilityRecord} instance. */
   private Server2dAgentsGroup parent;
+  /** 
+   * Grid with sight circles of parent group's agents - <code>null</code> 
+   * if all agents are checked for each object.
+   */
+  private SightGrid sightGrid;
+  /** The longest sight range of agents from parent group. */
+  private double maxSightRange = 1.0;
   
   /**
    * Creates instance of {@link VisibilityRecord} class with specified
@@ -46,6 +54,54 @@ class VisibilityRecord
   }
   
   
+  /**
+   * Initializes grid with sight circles of all agents from parent group.
+   * After this method is invoked, only agents which sight circles are
+   * close to checked object are used to update this record.
+   * 
+   * @param worldWidth - width of area where agents can move.
+   * @param worldHeight - height of area where agents can move.
+   */
+  void initSightGrid(int worldWidth, int worldHeight)
+  {
+    for (Server2dAgent agent : parent.getAgents())
+    {
+      maxSightRange = Math.max(maxSightRange, agent.getSightCircle().getRadius());
+    }
+    
+    sightGrid = new SightGrid(maxSightRange, worldWidth, worldHeight);
+    for (Server2dAgent agent : parent.getAgents())
+    {
+      agent.setSightGrid(sightGrid);
+    }
+  }
+  
+  /**
+   * Method invoked when the specified agent is removed from parent group.
+   * 
+   * @param agent - the specified agent.
+   */
+  void agentRemoved(Server2dAgent agent)
+  {
+    if ((sightGrid != null) && (agent != null))
+    {
+      agent.setSightGrid(null);
+      sightGrid.remove(agent);
+    }
+  }
+  
+  /**
+   * Removes the specified object from this record. This method should
+   * be invoked for objects that will not be updated anymore.
+   * 
+   * @param object - the specified object.
+   */
+  void forget(Engine2dObject object)
+  {
+    seenNowObjects.remove(object);
+    seenBeforeObjects.remove(object);
+  }
+  
   /**
    * Gets identifier of this agents group.
    * 
@@ -113,20 +169,27 @@ class VisibilityRecord
   {
     boolean updated = false;
     
-    if (!parent.getAgents().contains(object))
+    if (!isParentAgent(object))
     {
       Rect2d bounds = object.getObjectBounds();
       double objectX = bounds.getX() + (bounds.getWidth() >> 1);
       double objectY = bounds.getY() + (bounds.getHeight() >> 1);
       
       boolean isSeenNow = false;
-      for (Server2dAgent agent : parent.getAgents())
+      if (sightGrid != null)
       {
-        // Check whether agent sight circle contains central point of object
-        if (agent.isActive() && agent.getSightCircle().contains(objectX, objectY))
+        isSeenNow = sightGrid.isSeen(objectX, objectY);
+      }
+      else
+      {
+        for (Server2dAgent agent : parent.getAgents())
         {
-          isSeenNow = true;
-          break;
+          // Check whether agent sight circle contains central point of object
+          if (agent.isActive() && agent.getSightCircle().contains(objectX, objectY))
+          {
+            isSeenNow = true;
+            break;
+          }
         }
       }
       // Update only once
@@ -137,46 +200,97 @@ class VisibilityRecord
   }
   
   /**
-   * Updates this visibility record using only moved agents 
-   * for the specified object.
+   * Updates this visibility record for the specified object, which
+   * visibility was already determined by the caller.
    * 
    * @param object - the specified object.
+   * @param isSeenNow - value indicating whether object is seen now by
+   *        any active agent from parent group.
    * 
    * @return Returns value indicating whether any update was performed.
    */
-  boolean updateOnlyMoved(Engine2dObject object)
+  boolean update(Engine2dObject object, boolean isSeenNow)
   {
-    boolean updated = false;
-    
-    if (!parent.getAgents().contains(object))
+    return (!isParentAgent(object) && updateObjectStatus(object, isSeenNow));
+  }
+  
+  /**
+   * Finds all objects stored in the specified grid which are seen by
+   * any active agent from parent group.
+   * 
+   * @param <T> - type of objects stored in grid.
+   * @param grid - the specified grid.
+   * @param found - collection where found objects are added.
+   */
+  <T extends Engine2dObject> void findSeenObjects(ObjectsGrid<T> grid, Collection<T> found)
+  {
+    for (Server2dAgent agent : parent.getAgents())
     {
-      Rect2d bounds = object.getObjectBounds();
-      double objectX = bounds.getX() + (bounds.getWidth() >> 1);
-      double objectY = bounds.getY() + (bounds.getHeight() >> 1);
-      
-      boolean movedFound = false;
-      boolean isSeenNow = false;
-      for (Server2dAgent agent : parent.getAgents())
+      if (agent.isActive())
       {
-        if (agent.isPositionChanged())
-        {
-          movedFound = true;
-          // Check whether object contains central point of object
-          if (agent.getSightCircle().contains(objectX, objectY))
-          {
-            isSeenNow = true;
-            break;
-          }
-        }
+        grid.find(agent.getSightCircle(), found);
       }
-      
-      if (movedFound)
+    }
+  }
+  
+  /**
+   * Finds all objects stored in the specified grid which are tracked 
+   * by this record - seen during last update or before it.
+   * 
+   * @param <T> - type of objects stored in grid.
+   * @param grid - the specified grid.
+   * @param found - collection where found objects are added.
+   */
+  <T extends Engine2dObject> void findTrackedObjects(ObjectsGrid<T> grid, Collection<T> found)
+  {
+    addStoredObjects(grid, seenNowObjects, found);
+    addStoredObjects(grid, seenBeforeObjects, found);
+  }
+  
+  /**
+   * Gets the longest sight range of agents from parent group. 
+   * 
+   * @return Returns the longest sight range of agents from parent group.
+   */
+  double getMaxSightRange()
+  {
+    return maxSightRange;
+  }
+  
+  /**
+   * Adds objects from the specified set which are stored in the specified 
+   * grid to the specified collection.
+   * 
+   * @param <T> - type of objects stored in grid.
+   * @param grid - the specified grid.
+   * @param objects - the specified set of objects.
+   * @param found - collection where stored objects are added.
+   */
+  private <T extends Engine2dObject> void addStoredObjects(ObjectsGrid<T> grid, 
+      Set<Engine2dObject> objects, Collection<T> found)
+  {
+    for (Engine2dObject object : objects)
+    {
+      T stored = grid.get(object);
+      if (stored != null)
       {
-        updated = updateObjectStatus(object, isSeenNow);
+        found.add(stored);
       }
     }
-    
-    return updated;
+  }
+  
+  /**
+   * Checks whether the specified object is an agent from parent group.
+   * 
+   * @param object - the specified object.
+   * 
+   * @return Returns <code>true</code> if the specified object is an agent
+   *         from parent group, <code>false</code> otherwise.
+   */
+  private boolean isParentAgent(Engine2dObject object)
+  {
+    return ((object instanceof Server2dAgent) && 
+            (((Server2dAgent)object).getAgent().getGroupId() == parent.getGroupId()));
   }
   
   /**
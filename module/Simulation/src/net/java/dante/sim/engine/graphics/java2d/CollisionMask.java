@@ -0,0 +1,185 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.graphics.java2d;
+
+import java.awt.image.BufferedImage;
+
+
+/**
+ * Collision mask of an image - each not fully transparent pixel is
+ * represented by one set bit. Bits of each row are packed into
+ * <code>long</code> words, so pixel perfect collision tests can be
+ * performed 64 pixels at once, without accessing image data.
+ *
+ * @author M.Olszewski
+ */
+public final class CollisionMask
+{
+  /** Mask for obtaining alpha value from ARGB color format. */
+  private static final int ARGB_ALPHA_MASK = 0xFF000000;
+  /** Number of bits in each word. */
+  private static final int WORD_BITS = 64;
+  /** Shift converting pixel index to word index. */
+  private static final int WORD_SHIFT = 6;
+
+  /** Width of mask. */
+  private final int width;
+  /** Height of mask. */
+  private final int height;
+  /** Number of words in each row. */
+  private final int wordsPerRow;
+  /** Packed rows of mask. */
+  private final long[] words;
+
+
+  /**
+   * Creates instance of {@link CollisionMask} class from alpha channel
+   * of the specified image.
+   *
+   * @param image - image from which mask is created.
+   */
+  public CollisionMask(BufferedImage image)
+  {
+    if (image == null)
+    {
+      throw new NullPointerException("Specified image is null!");
+    }
+
+    width       = image.getWidth();
+    height      = image.getHeight();
+    wordsPerRow = (width + WORD_BITS - 1) >>> WORD_SHIFT;
+    words       = new long[wordsPerRow * height];
+
+    int[] row = new int[width];
+    for (int y = 0; y < height; y++)
+    {
+      image.getRGB(0, y, width, 1, row, 0, width);
+      int rowOffset = y * wordsPerRow;
+      for (int x = 0; x < width; x++)
+      {
+        if ((row[x] & ARGB_ALPHA_MASK) != 0)
+        {
+          words[rowOffset + (x >>> WORD_SHIFT)] |= (1L << x);
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Gets width of this mask.
+   *
+   * @return Returns width of this mask.
+   */
+  public int getWidth()
+  {
+    return width;
+  }
+
+  /**
+   * Gets height of this mask.
+   *
+   * @return Returns height of this mask.
+   */
+  public int getHeight()
+  {
+    return height;
+  }
+
+  /**
+   * Checks whether pixel with specified coordinates is set (not fully
+   * transparent). Pixels outside of mask are never set.
+   *
+   * @param x - 'x' coordinate of pixel.
+   * @param y - 'y' coordinate of pixel.
+   *
+   * @return Returns <code>true</code> if pixel is set, <code>false</code>
+   *         otherwise.
+   */
+  public boolean isSet(int x, int y)
+  {
+    boolean set = false;
+    if ((x >= 0) && (x < width) && (y >= 0) && (y < height))
+    {
+      set = ((words[y * wordsPerRow + (x >>> WORD_SHIFT)] & (1L << x)) != 0);
+    }
+    return set;
+  }
+
+  /**
+   * Checks whether this and the specified mask have any set pixel in
+   * common in compared areas. Both areas have the specified size and start at
+   * specified coordinates of each mask.
+   *
+   * @param x - 'x' coordinate of compared area in this mask.
+   * @param y - 'y' coordinate of compared area in this mask.
+   * @param other - the other mask.
+   * @param otherX - 'x' coordinate of compared area in other mask.
+   * @param otherY - 'y' coordinate of compared area in other mask.
+   * @param areaWidth - width of compared areas.
+   * @param areaHeight - height of compared areas.
+   *
+   * @return Returns <code>true</code> if masks overlap in compared areas,
+   *         <code>false</code> otherwise.
+   */
+  public boolean overlaps(int x, int y, CollisionMask other,
+      int otherX, int otherY, int areaWidth, int areaHeight)
+  {
+    boolean overlap = false;
+
+    for (int j = 0; (j < areaHeight) && !overlap; j++)
+    {
+      for (int i = 0; i < areaWidth; i += WORD_BITS)
+      {
+        long bits = this.getBits(x + i, y + j) & other.getBits(otherX + i, otherY + j);
+        int remaining = areaWidth - i;
+        if (remaining < WORD_BITS)
+        {
+          bits &= ((1L << remaining) - 1);
+        }
+
+        if (bits != 0)
+        {
+          overlap = true;
+          break;
+        }
+      }
+    }
+
+    return overlap;
+  }
+
+  /**
+   * Gets 64 bits of specified row, starting from specified pixel.
+   * Bits outside of mask are not set.
+   *
+   * @param x - first pixel.
+   * @param y - row.
+   *
+   * @return Returns 64 bits of specified row.
+   */
+  private long getBits(int x, int y)
+  {
+    long bits = 0;
+    if ((y >= 0) && (y < height) && (x >= 0))
+    {
+      int word   = x >>> WORD_SHIFT;
+      int offset = x & (WORD_BITS - 1);
+      int rowOffset = y * wordsPerRow;
+
+      if (word < wordsPerRow)
+      {
+        bits = (words[rowOffset + word] >>> offset);
+        if ((offset != 0) && ((word + 1) < wordsPerRow))
+        {
+          bits |= (words[rowOffset + word + 1] << (WORD_BITS - offset));
+        }
+      }
+    }
+    return bits;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.engine.graphics.java2d;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Test suite for {@link CollisionMask} class.
+ *
+ * @author M.Olszewski
+ */
+public class CollisionMaskTest extends TestCase
+{
+  /** Mask for obtaining alpha value from ARGB color format. */
+  private static final int ARGB_ALPHA_MASK = 0xFF000000;
+
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.graphics.java2d.CollisionMask#isSet(int, int)}.
+   */
+  public final void testIsSet()
+  {
+    Random random = new Random(2006);
+    BufferedImage image = createRandomImage(random, 150, 7);
+    CollisionMask mask = new CollisionMask(image);
+
+    assertEquals(150, mask.getWidth());
+    assertEquals(7, mask.getHeight());
+    for (int y = 0; y < image.getHeight(); y++)
+    {
+      for (int x = 0; x < image.getWidth(); x++)
+      {
+        assertEquals(((image.getRGB(x, y) & ARGB_ALPHA_MASK) != 0), mask.isSet(x, y));
+      }
+    }
+    assertFalse(mask.isSet(-1, 0));
+    assertFalse(mask.isSet(150, 0));
+    assertFalse(mask.isSet(0, 7));
+  }
+
+  /**
+   * Test method for
+   * {@link net.java.dante.sim.engine.graphics.java2d.CollisionMask#overlaps(int, int, CollisionMask, int, int, int, int)}.
+   * Results must be the same as results of pixel-by-pixel check.
+   */
+  public final void testOverlaps()
+  {
+    Random random = new Random(2007);
+
+    for (int test = 0; test < 500; test++)
+    {
+      BufferedImage image1 = createRandomImage(random, 1 + random.nextInt(140), 1 + random.nextInt(20));
+      BufferedImage image2 = createRandomImage(random, 1 + random.nextInt(140), 1 + random.nextInt(20));
+      CollisionMask mask1 = new CollisionMask(image1);
+      CollisionMask mask2 = new CollisionMask(image2);
+
+      int x1 = random.nextInt(image1.getWidth());
+      int y1 = random.nextInt(image1.getHeight());
+      int x2 = random.nextInt(image2.getWidth());
+      int y2 = random.nextInt(image2.getHeight());
+      int width  = Math.min(image1.getWidth() - x1, image2.getWidth() - x2);
+      int height = Math.min(image1.getHeight() - y1, image2.getHeight() - y2);
+
+      boolean expected = false;
+      for (int i = 0; (i < width) && !expected; i++)
+      {
+        for (int j = 0; (j < height) && !expected; j++)
+        {
+          expected = (((image1.getRGB(x1 + i, y1 + j) & ARGB_ALPHA_MASK) != 0) &&
+                      ((image2.getRGB(x2 + i, y2 + j) & ARGB_ALPHA_MASK) != 0));
+        }
+      }
+
+      assertEquals(expected, mask1.overlaps(x1, y1, mask2, x2, y2, width, height));
+    }
+  }
+
+  /**
+   * Creates image with randomly placed transparent pixels.
+   *
+   * @param random - random numbers generator.
+   * @param width - width of image.
+   * @param height - height of image.
+   *
+   * @return Returns created image.
+   */
+  private static BufferedImage createRandomImage(Random random, int width, int height)
+  {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < height; y++)
+    {
+      for (int x = 0; x < width; x++)
+      {
+        if (random.nextInt(8) == 0)
+        {
+          image.setRGB(x, y, 0xFF000000 | random.nextInt(0x01000000));
+        }
+      }
+    }
+    return image;
+  }
+}
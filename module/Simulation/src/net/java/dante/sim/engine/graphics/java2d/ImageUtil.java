@@ -10,6 +10,8 @@ import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsEnvironment;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DirectColorModel;
 import java.io.IOException;
 import java.net.URL;
 
@@ -139,7 +141,9 @@ public final class ImageUtil
   
   /**
    * Loads image compatible with default configuration of screen device 
-   * from specified URL with desired transparency type. 
+   * from specified URL with desired transparency type. In headless 
+   * environment image with the same pixel format as default screen device
+   * would use is created.
    * 
    * @param url - URL with image.
    * @param transparency - transparency type of image.
@@ -161,14 +165,53 @@ public final class ImageUtil
       throw new ResourceLoadFailedException("Cannot read image: " + url + "!", e);
     }
     
-    // Create an accelerated image of the right size to store our sprite in
-    GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
-    BufferedImage image = gc.createCompatibleImage(sourceImage.getWidth(), sourceImage.getHeight(), transparency);
+    BufferedImage image = null;
+    if (!GraphicsEnvironment.isHeadless())
+    {
+      // Create an accelerated image of the right size to store our sprite in
+      GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+      image = gc.createCompatibleImage(sourceImage.getWidth(), sourceImage.getHeight(), transparency);
+    }
+    else
+    {
+      image = createHeadlessImage(sourceImage.getWidth(), sourceImage.getHeight(), transparency);
+    }
     image.getGraphics().drawImage(sourceImage, 0, 0, null);
     
     return image;
   }
   
+  /**
+   * Creates image for headless environment with specified size and
+   * transparency type. Bitmask images have one bit alpha channel, so
+   * transparency of their pixels is the same as for images compatible
+   * with screen device.
+   * 
+   * @param width - width of image.
+   * @param height - height of image.
+   * @param transparency - transparency type of image.
+   * 
+   * @return Returns created image.
+   */
+  private static BufferedImage createHeadlessImage(int width, int height, int transparency)
+  {
+    BufferedImage image = null;
+    if (transparency == Transparency.OPAQUE)
+    {
+      image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+    else if (transparency == Transparency.BITMASK)
+    {
+      ColorModel model = new DirectColorModel(25, 0x00FF0000, 0x0000FF00, 0x000000FF, 0x01000000);
+      image = new BufferedImage(model, model.createCompatibleWritableRaster(width, height), false, null);
+    }
+    else
+    {
+      image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+    return image;
+  }
+  
   /**
    * Splits specified instance of {@link BufferedImage} class into <code>columnsCount * rowsCount</code>
    * chunks and returns array with them. This method can return empty array if 
@@ -11,6 +11,7 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.Map.Entry;
 
 import net.java.dante.sim.common.ResourceLoadFailedException;
@@ -26,6 +27,9 @@ import net.java.dante.sim.common.ResourceLoadFailedException;
  * <li>Images cache with limited size - if it is reached, eldest entry is removed.
  *     It is also cleared every time {@link #clear(boolean)} method is invoked
  *     or images cache is (re)initialized by calling {@link #init(int)} method.
+ * </ul>
+ * All methods of this cache are synchronized, so it can be used by many
+ * engines running in parallel.
  *
  * @author M.Olszewski
  */
@@ -91,6 +95,8 @@ public final class ImagesCache
   private ImagesCacheMap imagesPool = new ImagesCacheMap();
   /** Persistent storage - only for most important images! */
   private Map<String, BufferedImage[]> persistent = new HashMap<String, BufferedImage[]>();
+  /** Collision masks of loaded images - removed together with images. */
+  private Map<BufferedImage, CollisionMask> masks = new WeakHashMap<BufferedImage, CollisionMask>();
   
 
   /**
@@ -120,7 +126,7 @@ public final class ImagesCache
    * 
    * @param maxCacheSize - maximum number of images that can be stored in cache.
    */
-  public void init(int maxCacheSize)
+  public synchronized void init(int maxCacheSize)
   {
     if (maxCacheSize <= 0)
     {
@@ -136,7 +142,7 @@ public final class ImagesCache
    * 
    * @param clearPersistent - specifies whether persistent storage should be cleared.
    */
-  public void clear(boolean clearPersistent)
+  public synchronized void clear(boolean clearPersistent)
   {
     imagesPool.clear();
     if (clearPersistent)
@@ -156,7 +162,7 @@ public final class ImagesCache
    * 
    * @return Returns array with {@link BufferedImage} objects.
    */
-  public BufferedImage[] loadImages(String path, final int columnsCount, final int rowsCount, final int transparency)
+  public synchronized BufferedImage[] loadImages(String path, final int columnsCount, final int rowsCount, final int transparency)
   {
     if (path == null)
     {
@@ -226,7 +232,7 @@ public final class ImagesCache
    * 
    * @return Returns array with {@link BufferedImage} objects.
    */
-  public BufferedImage[] storeImage(String path, final int columnsCount, final int rowsCount, final int transparency)
+  public synchronized BufferedImage[] storeImage(String path, final int columnsCount, final int rowsCount, final int transparency)
   {
     if (path == null)
     {
@@ -283,6 +289,8 @@ public final class ImagesCache
   
   /**
    * Converts specified path into URL and retrieves images from it.
+   * Collision masks of retrieved images are created and stored. It must be
+   * invoked with lock of this cache held.
    * 
    * @param path - path to image to store.
    * @param columnsCount - number of image columns.
@@ -300,6 +308,36 @@ public final class ImagesCache
     }
     
     BufferedImage[] images = ImageUtil.getImages(url, columnsCount, rowsCount, transparency);
+    for (int i = 0; i < images.length; i++)
+    {
+      masks.put(images[i], new CollisionMask(images[i]));
+    }
     return images;
   }
+
+  /**
+   * Gets collision mask of the specified image. Masks of images loaded
+   * by this cache are created once, when images are loaded - masks for
+   * other images are created and stored during first call to this method.
+   *
+   * @param image - the specified image.
+   *
+   * @return Returns collision mask of the specified image.
+   */
+  public synchronized CollisionMask getCollisionMask(BufferedImage image)
+  {
+    if (image == null)
+    {
+      throw new NullPointerException("Specified image is null!");
+    }
+
+    CollisionMask mask = masks.get(image);
+    if (mask == null)
+    {
+      mask = new CollisionMask(image);
+      masks.put(image, mask);
+    }
+
+    return mask;
+  }
 }
\ No newline at end of file
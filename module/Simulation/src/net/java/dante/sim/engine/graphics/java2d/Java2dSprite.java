@@ -21,23 +21,27 @@ public class Java2dSprite implements Sprite
 {
   /** The image with specified sprite. */
   protected BufferedImage image;
-  /** The game context where this sprite is going to be drawn. */
+  /** 
+   * The game context where this sprite is going to be drawn - 
+   * <code>null</code> if sprite is never drawn. 
+   */
   protected Java2dContext context;
+  /** Collision mask of sprite's image. */
+  private CollisionMask collisionMask;
 
 
   /**
    * Creates new instance of {@link Java2dSprite} class that belongs to
-   * specified context and holds specified image.
+   * specified context and holds specified image. Sprite created without
+   * context is never drawn - it can be used by headless engines, which
+   * still require sprite's size and collision mask.
    *
-   * @param spriteCtx - game context where this sprite is going to be drawn.
+   * @param spriteCtx - game context where this sprite is going to be drawn
+   *        or <code>null</code>.
    * @param spriteImage - image with specified sprite.
    */
   public Java2dSprite(Java2dContext spriteCtx, BufferedImage spriteImage)
   {
-    if (spriteCtx == null)
-    {
-      throw new NullPointerException("Specified spriteCtx is null!");
-    }
     if (spriteImage == null)
     {
       throw new NullPointerException("Specified spriteImage is null!");
@@ -45,6 +49,7 @@ public class Java2dSprite implements Sprite
 
     image = spriteImage;
     context = spriteCtx;
+    collisionMask = ImagesCache.getInstance().getCollisionMask(spriteImage);
   }
 
 
@@ -71,11 +76,14 @@ public class Java2dSprite implements Sprite
    */
   public void draw(double x, double y)
   {
-    Graphics2D g = context.getAcceleratedGraphics();
-    // It can return null!!!
-    if (g != null)
+    if (context != null)
     {
-      g.drawImage(image, (int)x, (int)y, null);
+      Graphics2D g = context.getAcceleratedGraphics();
+      // It can return null!!!
+      if (g != null)
+      {
+        g.drawImage(image, (int)x, (int)y, null);
+      }
     }
   }
 
@@ -88,4 +96,14 @@ public class Java2dSprite implements Sprite
   {
     return image;
   }
-}
\ No newline at end of file
+
+  /**
+   * Retrieves collision mask of image used by this {@link Java2dSprite}.
+   *
+   * @return Returns collision mask of image used by this {@link Java2dSprite}.
+   */
+  public CollisionMask getCollisionMask()
+  {
+    return collisionMask;
+  }
+}
@@ -77,6 +77,24 @@ public class TimeCounter
     return (enabled && actionTime);
   }
 
+  /**
+   * Gets time remaining until time delay of this {@link TimeCounter} passes.
+   * This method returns zero if it is already 'action time' and negative
+   * value for disabled {@link TimeCounter}.
+   *
+   * @return Returns time remaining until time delay passes.
+   */
+  public long getRemainingTime()
+  {
+    long remainingTime = -1;
+    if (enabled)
+    {
+      remainingTime = (actionTime)? 0 : Math.max(0, delay - elapsedTime);
+    }
+
+    return remainingTime;
+  }
+
   /**
    * Refreshes time of this time counter by the specified amount of elapsed
    * time. Disabled time counters cannot be refreshed - this method will return
@@ -48,6 +48,27 @@ public class EventUtils
     return new EventsRepositoryBuilderImpl(agentsGroupId);
   }
   
+  /**
+   * Creates instance of class implementing {@link EventsRepositoryBuilder}
+   * interface, building repositories implementing 
+   * {@link PrimitiveEventsRepository} interface. Such builder does not create
+   * {@link Event} objects for merged movement events.
+   * 
+   * @param agentsGroupId - group of agents identifier.
+   * 
+   * @return Returns created instance of class implementing {@link EventsRepositoryBuilder}
+   *         interface.
+   */
+  public static EventsRepositoryBuilder createPrimitiveBuilder(int agentsGroupId)
+  {
+    if (agentsGroupId < 0)
+    {
+      throw new IllegalArgumentException("Invalid argument agentsGroupId - it must be positive integer or zero!");
+    }
+    
+    return new EventsRepositoryBuilderImpl(agentsGroupId, true);
+  }
+  
   /**
    * Creates instance of {@link EventsRepository} class with specified parameters.
    * 
@@ -7,10 +7,12 @@
 package net.java.dante.sim.event;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.Set;
 
 import net.java.dante.sim.event.types.EnemyAgentEvent;
 import net.java.dante.sim.event.types.EnemyAgentMoveEvent;
@@ -22,7 +24,10 @@ import net.java.dante.sim.event.types.ProjectileMoveEvent;
 
 
 /**
- * Implementation of {@link EventsRepositoryBuilder} interface.
+ * Implementation of {@link EventsRepositoryBuilder} interface. Depending on
+ * mode chosen at creation, it builds {@link EventsRepositoryImpl} objects
+ * or {@link PrimitiveEventsRepositoryImpl} objects - the latter do not
+ * require creation of {@link Event} objects for cached movement events.
  *
  * @author M.Olszewski
  */
@@ -30,10 +35,18 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
 {
   /** Agents group identifier. */
   int groupId;
-  /** List with all events regarding this agents group. */
+  /** List with all events regarding this agents group, added directly. */
   private List<Event> events = new ArrayList<Event>();
+  /** Set with all events added to this builder - used to reject duplicated events. */
+  private Set<Event> addedEvents = new HashSet<Event>();
   /** Movement events cache for this group. */
   private MovementEventsCache movementCache = new MovementEventsCache();
+  /** Indicates whether built repositories store events in primitive arrays. */
+  private boolean primitive;
+  /** List with events of built {@link EventsRepositoryImpl} object. */
+  private List<Event> builtEvents;
+  /** Built {@link PrimitiveEventsRepositoryImpl} object. */
+  private PrimitiveEventsRepositoryImpl builtRepository;
 
 
   /**
@@ -43,13 +56,27 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
    * @param agentsGroupId - agents group identifier.
    */
   EventsRepositoryBuilderImpl(int agentsGroupId)
+  {
+    this(agentsGroupId, false);
+  }
+
+  /**
+   * Creates instance of {@link EventsRepositoryBuilderImpl} with
+   * the specified parameters.
+   *
+   * @param agentsGroupId - agents group identifier.
+   * @param primitiveRepositories - <code>true</code> if built repositories
+   *        should store events in primitive arrays, <code>false</code> otherwise.
+   */
+  EventsRepositoryBuilderImpl(int agentsGroupId, boolean primitiveRepositories)
   {
     if (agentsGroupId < 0)
     {
       throw new IllegalArgumentException("Invalid argument agentsGroupId - it must be positive integer or zero!");
     }
 
-    groupId = agentsGroupId;
+    groupId   = agentsGroupId;
+    primitive = primitiveRepositories;
   }
 
 
@@ -84,27 +111,12 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
    */
   void addEventDirectly(Event event)
   {
-    if (!events.contains(event))
+    if (addedEvents.add(event))
     {
       events.add(event);
     }
   }
 
-  /**
-   * Adds event directly at the specified index, without processing it
-   * in the cache.
-   *
-   * @param index - the specified index.
-   * @param event - event to add.
-   */
-  void addEventDirectly(int index, Event event)
-  {
-    if (!events.contains(event))
-    {
-      events.add(index, event);
-    }
-  }
-
   /**
    * Gets index for event that will be inserted. It takes into consideration
    * all events stored in the cache.
@@ -122,21 +134,82 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
   public EventsRepository build()
   {
     EventsRepository eventsRepository = null;
+    int eventsCount = getNextEventIndex();
 
-    // Try to generate cached events first.
-    movementCache.generateEvents();
-
-    if (events.size() > 0)
+    if (primitive)
     {
-      eventsRepository = new EventsRepositoryImpl(groupId, events);
+      builtRepository = new PrimitiveEventsRepositoryImpl(groupId, eventsCount);
+    }
+    else
+    {
+      builtEvents = new ArrayList<Event>(eventsCount);
+    }
 
-      events = new ArrayList<Event>();
-      movementCache.clear();
+    // Put cached events between events added directly
+    movementCache.generateEvents(events);
+
+    if (getBuiltEventsCount() > 0)
+    {
+      eventsRepository = (primitive? builtRepository : new EventsRepositoryImpl(groupId, builtEvents));
     }
 
+    builtRepository = null;
+    builtEvents = null;
+    events.clear();
+    addedEvents.clear();
+    movementCache.clear();
+
     return eventsRepository;
   }
 
+  /**
+   * Gets number of events in built repository.
+   *
+   * @return Returns number of events in built repository.
+   */
+  int getBuiltEventsCount()
+  {
+    return (primitive? builtRepository.getEventsCount() : builtEvents.size());
+  }
+
+  /**
+   * Adds the specified event at the end of built repository.
+   *
+   * @param event - the specified event.
+   */
+  void addBuiltEvent(Event event)
+  {
+    if (primitive)
+    {
+      builtRepository.addEvent(event);
+    }
+    else
+    {
+      builtEvents.add(event);
+    }
+  }
+
+  /**
+   * Adds movement event created from the specified data at the end of
+   * built repository. {@link Event} object is not created if built
+   * repository stores events in primitive arrays.
+   *
+   * @param objectId - identifier of moving object.
+   * @param data - movement data.
+   */
+  void addBuiltMoveEvent(int objectId, MoveData data)
+  {
+    if (primitive)
+    {
+      builtRepository.addMoveEvent(data.getMoveEventType(), EventTypesUtils.createEventId(),
+          data.startTime, objectId, data.x, data.y, data.speedX, data.speedY);
+    }
+    else
+    {
+      builtEvents.add(data.createMoveEvent(objectId));
+    }
+  }
+
   /**
    * Movement events cache storing
    *
@@ -144,8 +217,19 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
    */
   private class MovementEventsCache
   {
-    /** Index event to event map. */
-    Map<Integer, Event> indexToEvent = new TreeMap<Integer, Event>();
+    /** Initial capacity of arrays indexed by events indexes. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Cached events stored under indexes at which they should be inserted. */
+    Event[] indexToEvent = new Event[INITIAL_CAPACITY];
+    /** Movement data of events not created yet, stored under indexes at which they should be inserted. */
+    MoveData[] indexToMoveData = new MoveData[INITIAL_CAPACITY];
+    /** Identifiers of objects described by {@link #indexToMoveData} movement data. */
+    int[] indexToObjectId = new int[INITIAL_CAPACITY];
+    /** Number of events stored in {@link #indexToEvent} and {@link #indexToMoveData} arrays. */
+    int indexedEventsCount;
+    /** The highest index of stored event. */
+    int maxEventIndex = -1;
     /** Cache with movement data of friendly agents. */
     Map<Integer, FriendlyAgentMoveData> friendlyMovementEvent =
         new HashMap<Integer, FriendlyAgentMoveData>();
@@ -172,7 +256,88 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
     int size()
     {
       return (friendlyMovementEvent.size() + enemyMovementEvent.size() +
-              projectileMovementEvent.size() + indexToEvent.size());
+              projectileMovementEvent.size() + indexedEventsCount);
+    }
+
+    /**
+     * Stores the specified event under the specified index at which it
+     * should be inserted.
+     *
+     * @param index - the specified index.
+     * @param event - the specified event.
+     */
+    private void putEvent(int index, Event event)
+    {
+      reserveIndex(index);
+      indexToEvent[index] = event;
+    }
+
+    /**
+     * Stores the specified movement data under the specified index at which
+     * event created from it should be inserted.
+     *
+     * @param index - the specified index.
+     * @param objectId - identifier of moving object.
+     * @param data - the specified movement data.
+     */
+    private void putMoveData(int index, int objectId, MoveData data)
+    {
+      reserveIndex(index);
+      indexToMoveData[index] = data;
+      indexToObjectId[index] = objectId;
+    }
+
+    /**
+     * Reserves the specified index for cached event, enlarging arrays
+     * indexed by events indexes if necessary.
+     *
+     * @param index - the specified index.
+     */
+    private void reserveIndex(int index)
+    {
+      if (index >= indexToEvent.length)
+      {
+        int capacity = Math.max((index + 1), (2 * indexToEvent.length));
+
+        Event[] newIndexToEvent = new Event[capacity];
+        System.arraycopy(indexToEvent, 0, newIndexToEvent, 0, indexToEvent.length);
+        indexToEvent = newIndexToEvent;
+
+        MoveData[] newIndexToMoveData = new MoveData[capacity];
+        System.arraycopy(indexToMoveData, 0, newIndexToMoveData, 0, indexToMoveData.length);
+        indexToMoveData = newIndexToMoveData;
+
+        int[] newIndexToObjectId = new int[capacity];
+        System.arraycopy(indexToObjectId, 0, newIndexToObjectId, 0, indexToObjectId.length);
+        indexToObjectId = newIndexToObjectId;
+      }
+      if ((indexToEvent[index] == null) && (indexToMoveData[index] == null))
+      {
+        indexedEventsCount++;
+      }
+
+      indexToEvent[index] = null;
+      indexToMoveData[index] = null;
+      maxEventIndex = Math.max(maxEventIndex, index);
+    }
+
+    /**
+     * Gets the lowest index of stored event, not lower than the specified index.
+     *
+     * @param fromIndex - the specified index.
+     *
+     * @return Returns the lowest index of stored event or value greater than
+     *         {@link #maxEventIndex} if there is no such event.
+     */
+    private int nextEventIndex(int fromIndex)
+    {
+      int index = fromIndex;
+      while ((index <= maxEventIndex) && (indexToEvent[index] == null) &&
+             (indexToMoveData[index] == null))
+      {
+        index++;
+      }
+      return index;
     }
 
     /**
@@ -224,7 +389,7 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
             }
             else
             {
-              indexToEvent.put(Integer.valueOf(data.getEventIndex()),
+              putEvent(data.getEventIndex(),
                   data.createFriendlyMoveEvent(friendlyAgentId.intValue()));
               data.set((getNextEventIndex() - 1), moveEvent);
             }
@@ -242,7 +407,7 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
         {
           if (data != null)
           {
-            indexToEvent.put(Integer.valueOf(data.getEventIndex()),
+            putEvent(data.getEventIndex(),
                 data.createFriendlyMoveEvent(friendlyAgentId.intValue()));
             friendlyMovementEvent.remove(friendlyAgentId);
           }
@@ -277,7 +442,7 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
             }
             else
             {
-              indexToEvent.put(Integer.valueOf(data.getEventIndex()),
+              putEvent(data.getEventIndex(),
                   data.createEnemyMoveEvent(enemyAgentId.intValue()));
               data.set((getNextEventIndex() - 1), moveEvent);
             }
@@ -295,7 +460,7 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
         {
           if (data != null)
           {
-            indexToEvent.put(Integer.valueOf(data.getEventIndex()),
+            putEvent(data.getEventIndex(),
                 data.createEnemyMoveEvent(enemyAgentId.intValue()));
             enemyMovementEvent.remove(enemyAgentId);
           }
@@ -330,7 +495,7 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
             }
             else
             {
-              indexToEvent.put(Integer.valueOf(data.getEventIndex()),
+              putEvent(data.getEventIndex(),
                   data.createProjectileMoveEvent(projectileId.intValue()));
               data.set((getNextEventIndex() - 1), moveEvent);
             }
@@ -348,7 +513,7 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
         {
           if (data != null)
           {
-            indexToEvent.put(Integer.valueOf(data.getEventIndex()),
+            putEvent(data.getEventIndex(),
                 data.createProjectileMoveEvent(projectileId.intValue()));
             projectileMovementEvent.remove(projectileId);
           }
@@ -364,34 +529,53 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
     }
 
     /**
-     * Generates all possible events now and adds them to events repository.
+     * Generates all possible events now and merges them with the specified
+     * events added directly into built repository. Every generated event is
+     * inserted at its index, duplicated events are rejected.
+     *
+     * @param directEvents - events added directly, in order of addition.
      */
-    void generateEvents()
+    void generateEvents(List<Event> directEvents)
     {
-      for (Integer friendlyId : friendlyMovementEvent.keySet())
+      for (Map.Entry<Integer, FriendlyAgentMoveData> entry : friendlyMovementEvent.entrySet())
       {
-        FriendlyAgentMoveData data = friendlyMovementEvent.get(friendlyId);
-        indexToEvent.put(Integer.valueOf(data.getEventIndex()),
-                         data.createFriendlyMoveEvent(friendlyId.intValue()));
+        putMoveData(entry.getValue().getEventIndex(), entry.getKey().intValue(), entry.getValue());
       }
 
-      for (Integer enemyId : enemyMovementEvent.keySet())
+      for (Map.Entry<Integer, EnemyAgentMoveData> entry : enemyMovementEvent.entrySet())
       {
-        EnemyAgentMoveData data = enemyMovementEvent.get(enemyId);
-        indexToEvent.put(Integer.valueOf(data.getEventIndex()),
-                         data.createEnemyMoveEvent(enemyId.intValue()));
+        putMoveData(entry.getValue().getEventIndex(), entry.getKey().intValue(), entry.getValue());
       }
 
-      for (Integer projectileId : projectileMovementEvent.keySet())
+      for (Map.Entry<Integer, ProjectileMoveData> entry : projectileMovementEvent.entrySet())
       {
-        ProjectileMoveData data = projectileMovementEvent.get(projectileId);
-        indexToEvent.put(Integer.valueOf(data.getEventIndex()),
-                         data.createProjectileMoveEvent(projectileId.intValue()));
+        putMoveData(entry.getValue().getEventIndex(), entry.getKey().intValue(), entry.getValue());
       }
 
-      for (Integer index : indexToEvent.keySet())
+      int directIndex = 0;
+      int cachedIndex = nextEventIndex(0);
+      while ((directIndex < directEvents.size()) || (cachedIndex <= maxEventIndex))
       {
-        addEventDirectly(index.intValue(), indexToEvent.get(index));
+        if ((cachedIndex <= maxEventIndex) &&
+            ((cachedIndex <= getBuiltEventsCount()) || (directIndex >= directEvents.size())))
+        {
+          Event event = indexToEvent[cachedIndex];
+          if (event == null)
+          {
+            // Movement event is created now, so it cannot be a duplicate
+            addBuiltMoveEvent(indexToObjectId[cachedIndex], indexToMoveData[cachedIndex]);
+          }
+          else if (addedEvents.add(event))
+          {
+            addBuiltEvent(event);
+          }
+          cachedIndex = nextEventIndex(cachedIndex + 1);
+        }
+        else
+        {
+          addBuiltEvent(directEvents.get(directIndex));
+          directIndex++;
+        }
       }
     }
 
@@ -403,7 +587,10 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
       projectileMovementEvent.clear();
       enemyMovementEvent.clear();
       friendlyMovementEvent.clear();
-      indexToEvent.clear();
+      Arrays.fill(indexToEvent, 0, (maxEventIndex + 1), null);
+      Arrays.fill(indexToMoveData, 0, (maxEventIndex + 1), null);
+      indexedEventsCount = 0;
+      maxEventIndex = -1;
     }
   }
 
@@ -506,6 +693,23 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
     {
       return eventIndex;
     }
+
+    /**
+     * Gets type of movement events created from this {@link MoveData} object.
+     *
+     * @return Returns type of movement events.
+     */
+    abstract EventType getMoveEventType();
+
+    /**
+     * Creates movement event using data stored inside this {@link MoveData}
+     * object.
+     *
+     * @param objectId - identifier of moving object.
+     *
+     * @return Returns created movement event.
+     */
+    abstract Event createMoveEvent(int objectId);
   }
 
   /**
@@ -557,6 +761,24 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
       return EventTypesUtils.createFriendlyAgentMoveEvent(startTime, friendlyId,
           x, y, speedX, speedY);
     }
+
+    /**
+     * @see net.java.dante.sim.event.EventsRepositoryBuilderImpl.MoveData#getMoveEventType()
+     */
+    @Override
+    EventType getMoveEventType()
+    {
+      return EventType.FRIENDLY_AGENT_MOVE;
+    }
+
+    /**
+     * @see net.java.dante.sim.event.EventsRepositoryBuilderImpl.MoveData#createMoveEvent(int)
+     */
+    @Override
+    Event createMoveEvent(int objectId)
+    {
+      return createFriendlyMoveEvent(objectId);
+    }
   }
 
   /**
@@ -608,6 +830,24 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
       return EventTypesUtils.createEnemyAgentMoveEvent(startTime, enemyId,
           x, y, speedX, speedY);
     }
+
+    /**
+     * @see net.java.dante.sim.event.EventsRepositoryBuilderImpl.MoveData#getMoveEventType()
+     */
+    @Override
+    EventType getMoveEventType()
+    {
+      return EventType.ENEMY_AGENT_MOVE;
+    }
+
+    /**
+     * @see net.java.dante.sim.event.EventsRepositoryBuilderImpl.MoveData#createMoveEvent(int)
+     */
+    @Override
+    Event createMoveEvent(int objectId)
+    {
+      return createEnemyMoveEvent(objectId);
+    }
   }
 
   /**
@@ -659,6 +899,24 @@ class EventsRepositoryBuilderImpl implements EventsRepositoryBuilder
       return EventTypesUtils.createProjectileMoveEvent(startTime,
           projectileId, x, y, speedX, speedY);
     }
+
+    /**
+     * @see net.java.dante.sim.event.EventsRepositoryBuilderImpl.MoveData#getMoveEventType()
+     */
+    @Override
+    EventType getMoveEventType()
+    {
+      return EventType.PROJECTILE_MOVE;
+    }
+
+    /**
+     * @see net.java.dante.sim.event.EventsRepositoryBuilderImpl.MoveData#createMoveEvent(int)
+     */
+    @Override
+    Event createMoveEvent(int objectId)
+    {
+      return createProjectileMoveEvent(objectId);
+    }
   }
 
   /**
@@ -0,0 +1,192 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.event;
+
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+import net.java.dante.sim.event.types.EventTypesUtils;
+import net.java.dante.sim.event.types.FriendlyAgentMoveEvent;
+
+/**
+ * Test case for {@link EventsRepositoryBuilderImpl} class.
+ *
+ * @author M.Olszewski
+ */
+public class EventsRepositoryBuilderImplTest extends TestCase
+{
+  /** Number of agents moving in tests. */
+  private static final int AGENTS_COUNT = 2000;
+
+
+  /**
+   * Test method for {@link EventsRepositoryBuilderImpl#addEvent(Event)} -
+   * duplicated events must be rejected.
+   */
+  public void testAddDuplicatedEvent()
+  {
+    EventsRepositoryBuilder builder = new EventsRepositoryBuilderImpl(1);
+    Event[] events = new Event[AGENTS_COUNT];
+    for (int i = 0; i < events.length; i++)
+    {
+      events[i] = EventTypesUtils.createFriendlyAgentHitEvent(i, i, 10);
+      builder.addEvent(events[i]);
+    }
+    for (int i = 0; i < events.length; i++)
+    {
+      builder.addEvent(events[i]);
+    }
+
+    EventsRepository repository = builder.build();
+    assertEquals(events.length, repository.getEventsCount());
+    for (int i = 0; i < events.length; i++)
+    {
+      assertSame(events[i], repository.getEvent(i));
+    }
+    assertNull(builder.build());
+  }
+
+  /**
+   * Test method for {@link EventsRepositoryBuilderImpl#build()} - movement
+   * events must be merged and stored in place of their first occurrence.
+   */
+  public void testBuildMergedMoveEvents()
+  {
+    EventsRepositoryBuilder builder = new EventsRepositoryBuilderImpl(1);
+    for (int i = 0; i < AGENTS_COUNT; i++)
+    {
+      builder.addEvent(EventTypesUtils.createFriendlyAgentMoveEvent(10, i, 1.0, 1.0, 1.0, 1.0));
+      builder.addEvent(EventTypesUtils.createFriendlyAgentHitEvent(10, i, 10));
+    }
+    for (int i = 0; i < AGENTS_COUNT; i++)
+    {
+      builder.addEvent(EventTypesUtils.createFriendlyAgentMoveEvent(20, i, 2.0, 2.0, 1.0, 1.0));
+    }
+
+    EventsRepository repository = builder.build();
+    assertEquals((2 * AGENTS_COUNT), repository.getEventsCount());
+    for (int i = 0; i < AGENTS_COUNT; i++)
+    {
+      FriendlyAgentMoveEvent moveEvent = (FriendlyAgentMoveEvent)repository.getEvent(2 * i);
+      assertEquals(i, moveEvent.getFriendlyAgentId());
+      assertEquals(10, moveEvent.getTime());
+      assertEquals(2.0, moveEvent.getDestinationX(), 0.0);
+      assertEquals(EventType.FRIENDLY_AGENT_HIT, repository.getEvent(2 * i + 1).getEventType());
+    }
+  }
+
+  /**
+   * Test method for {@link EventsRepositoryBuilderImpl#build()} with
+   * builder of {@link PrimitiveEventsRepository} objects - repository must
+   * be equal to one built by default builder and merged movement events
+   * must be stored in place of their first occurrence.
+   */
+  public void testBuildPrimitiveRepository()
+  {
+    Event[] events = {
+        EventTypesUtils.createFriendlyAgentHitEvent(10, 1, 15),
+        EventTypesUtils.createFriendlyAgentBlockedEvent(11, 1, 5.0, 6.0),
+        EventTypesUtils.createEnemyAgentSeenEvent(12, 2, 1.0, 2.0, 3.0, 4.0),
+        EventTypesUtils.createEnemyAgentDestroyedEvent(13, 2, 1),
+        EventTypesUtils.createProjectileShotEvent(14, "Bullet", 3, 1.0, 2.0, 3.0, 4.0, 1),
+        EventTypesUtils.createProjectileDestroyedEvent(15, 3, 7.0, 8.0)
+    };
+
+    EventsRepositoryBuilder defaultBuilder = EventUtils.createDefaultBuilder(1);
+    EventsRepositoryBuilder primitiveBuilder = EventUtils.createPrimitiveBuilder(1);
+    for (int i = 0; i < events.length; i++)
+    {
+      defaultBuilder.addEvent(events[i]);
+      primitiveBuilder.addEvent(events[i]);
+    }
+
+    EventsRepository repository = primitiveBuilder.build();
+    assertTrue(repository instanceof PrimitiveEventsRepository);
+    assertEquals(defaultBuilder.build(), repository);
+    assertEquals(repository.hashCode(), EventUtils.createGroupEventsRepository(1, events).hashCode());
+    for (int i = 0; i < events.length; i++)
+    {
+      assertSame(events[i], repository.getEvent(i));
+    }
+
+    primitiveBuilder.addEvent(EventTypesUtils.createProjectileMoveEvent(20, 3, 1.0, 1.0, 1.0, 1.0));
+    primitiveBuilder.addEvent(events[0]);
+    primitiveBuilder.addEvent(EventTypesUtils.createProjectileMoveEvent(30, 3, 2.0, 2.0, 1.0, 1.0));
+
+    PrimitiveEventsRepository primitiveRepository = (PrimitiveEventsRepository)primitiveBuilder.build();
+    assertEquals(2, primitiveRepository.getEventsCount());
+    assertEquals(EventType.PROJECTILE_MOVE, primitiveRepository.getEventType(0));
+    assertEquals(20, primitiveRepository.getEventTime(0));
+    assertEquals(3, primitiveRepository.getObjectId(0));
+    assertEquals(2.0, primitiveRepository.getPositionX(0), 0.0);
+    assertSame(primitiveRepository.getEvent(0), primitiveRepository.getEvent(0));
+    assertEquals(EventTypesUtils.createProjectileMoveEvent(primitiveRepository.getEventId(0), 20,
+        3, 2.0, 2.0, 1.0, 1.0), primitiveRepository.getEvent(0));
+    assertSame(events[0], primitiveRepository.getEvent(1));
+  }
+
+  /**
+   * Test method for {@link PrimitiveEventsRepositoryImpl#getEvent(int)} -
+   * threads reading built repository concurrently must obtain the same
+   * lazily created events.
+   *
+   * @throws InterruptedException if test was interrupted.
+   */
+  public void testConcurrentGetEvent() throws InterruptedException
+  {
+    final int READERS_COUNT = 4;
+
+    EventsRepositoryBuilder builder = EventUtils.createPrimitiveBuilder(1);
+    for (int i = 0; i < AGENTS_COUNT; i++)
+    {
+      builder.addEvent(EventTypesUtils.createFriendlyAgentMoveEvent(10, i, 1.0, 1.0, 1.0, 1.0));
+    }
+    final EventsRepository repository = builder.build();
+    final Event[][] readEvents = new Event[READERS_COUNT][AGENTS_COUNT];
+    final CountDownLatch start = new CountDownLatch(1);
+
+    Thread[] readers = new Thread[READERS_COUNT];
+    for (int i = 0; i < readers.length; i++)
+    {
+      final Event[] read = readEvents[i];
+      readers[i] = new Thread() {
+        @Override
+        public void run()
+        {
+          try
+          {
+            start.await();
+          }
+          catch (InterruptedException e)
+          {
+            return;
+          }
+          for (int j = 0; j < read.length; j++)
+          {
+            read[j] = repository.getEvent(j);
+          }
+        }
+      };
+      readers[i].start();
+    }
+    start.countDown();
+    for (int i = 0; i < readers.length; i++)
+    {
+      readers[i].join();
+    }
+
+    for (int j = 0; j < AGENTS_COUNT; j++)
+    {
+      Event event = repository.getEvent(j);
+      assertNotNull(event);
+      for (int i = 0; i < READERS_COUNT; i++)
+      {
+        assertSame(event, readEvents[i][j]);
+      }
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.event;
+
+/**
+ * Events repository storing events in parallel arrays of primitive values.
+ * Parameters of stored events can be read directly, without obtaining
+ * {@link Event} objects - for each event only parameters meaningful for
+ * its {@link EventType} are stored:
+ * <ul>
+ * <li>identifier of object - identifier of friendly agent, enemy agent or
+ *     projectile, stored for all events,
+ * <li>position - destination of moving object, position of blocked
+ *     friendly agent or position of destroyed projectile,
+ * <li>speed - speed of moving object,
+ * <li>value - damage of hit friendly agent or identifier of shooter,
+ * <li>projectile type - type of seen or shot projectile.
+ * </ul>
+ *
+ * @author M.Olszewski
+ */
+public interface PrimitiveEventsRepository extends EventsRepository
+{
+  /**
+   * Gets type of event from the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns type of event from the specified index.
+   */
+  EventType getEventType(int index);
+
+  /**
+   * Gets identifier of event from the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns identifier of event from the specified index.
+   */
+  int getEventId(int index);
+
+  /**
+   * Gets time of event from the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns time of event from the specified index.
+   */
+  long getEventTime(int index);
+
+  /**
+   * Gets identifier of friendly agent, enemy agent or projectile regarding
+   * event from the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns identifier of object regarding event from the specified index.
+   */
+  int getObjectId(int index);
+
+  /**
+   * Gets 'x' coordinate of position stored for event from
+   * the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns 'x' coordinate of position stored for event.
+   */
+  double getPositionX(int index);
+
+  /**
+   * Gets 'y' coordinate of position stored for event from
+   * the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns 'y' coordinate of position stored for event.
+   */
+  double getPositionY(int index);
+
+  /**
+   * Gets horizontal speed stored for event from the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns horizontal speed stored for event.
+   */
+  double getSpeedX(int index);
+
+  /**
+   * Gets vertical speed stored for event from the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns vertical speed stored for event.
+   */
+  double getSpeedY(int index);
+
+  /**
+   * Gets damage or shooter's identifier stored for event from
+   * the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns damage or shooter's identifier stored for event.
+   */
+  int getValue(int index);
+
+  /**
+   * Gets projectile type stored for event from the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns projectile type stored for event or <code>null</code>
+   *         if event has no projectile type.
+   */
+  String getProjectileType(int index);
+}
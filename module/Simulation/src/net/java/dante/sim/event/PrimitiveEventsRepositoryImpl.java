@@ -0,0 +1,591 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.event;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.java.dante.sim.event.types.EnemyAgentDestroyedEvent;
+import net.java.dante.sim.event.types.EnemyAgentEvent;
+import net.java.dante.sim.event.types.EnemyAgentHitEvent;
+import net.java.dante.sim.event.types.EventTypesUtils;
+import net.java.dante.sim.event.types.FriendlyAgentBlockedEvent;
+import net.java.dante.sim.event.types.FriendlyAgentEvent;
+import net.java.dante.sim.event.types.FriendlyAgentHitEvent;
+import net.java.dante.sim.event.types.ObjectMoveEventParams;
+import net.java.dante.sim.event.types.ProjectileDestroyedEvent;
+import net.java.dante.sim.event.types.ProjectileEvent;
+import net.java.dante.sim.event.types.ProjectileShotEvent;
+import net.java.dante.sim.event.types.ProjectileTypeEvent;
+
+/**
+ * Implementation of {@link PrimitiveEventsRepository} interface. Events
+ * can be added as {@link Event} objects or as primitive values - in the
+ * latter case {@link Event} object is created only when it is requested
+ * by {@link #getEvent(int)} method.
+ * <p>Built repository can be read concurrently by several threads (battle
+ * recorder, batch clients), so lazily created {@link Event} objects are
+ * published through {@link AtomicReferenceArray} - threads requesting the
+ * same event at once can create it twice, but all of them obtain
+ * the same instance.
+ *
+ * @author M.Olszewski
+ */
+class PrimitiveEventsRepositoryImpl implements PrimitiveEventsRepository
+{
+  /** Agents group identifier. */
+  int groupId;
+  /** Number of stored events. */
+  private int count;
+  /** Types of events. */
+  private EventType[] types;
+  /** Identifiers of events. */
+  private int[] ids;
+  /** Times of events. */
+  private long[] times;
+  /** Identifiers of objects regarding events. */
+  private int[] objectIds;
+  /** 'x' coordinates of positions. */
+  private double[] positionsX;
+  /** 'y' coordinates of positions. */
+  private double[] positionsY;
+  /** Horizontal speeds. */
+  private double[] speedsX;
+  /** Vertical speeds. */
+  private double[] speedsY;
+  /** Damages or shooters' identifiers. */
+  private int[] values;
+  /** Projectile types. */
+  private String[] projectileTypes;
+  /** Added or already created {@link Event} objects. */
+  private AtomicReferenceArray<Event> events;
+
+
+  /**
+   * Creates instance of {@link PrimitiveEventsRepositoryImpl} class with
+   * the specified parameters.
+   *
+   * @param agentsGroupId - agents group identifier.
+   * @param capacity - initial capacity of repository.
+   */
+  PrimitiveEventsRepositoryImpl(int agentsGroupId, int capacity)
+  {
+    if (agentsGroupId < 0)
+    {
+      throw new IllegalArgumentException("Invalid argument agentsGroupId - it must be positive integer or zero!");
+    }
+    if (capacity < 0)
+    {
+      throw new IllegalArgumentException("Invalid argument capacity - it must be positive integer or zero!");
+    }
+
+    groupId = agentsGroupId;
+    allocate(Math.max(capacity, 1));
+  }
+
+
+  /**
+   * Allocates arrays with the specified capacity and copies to them
+   * all stored events.
+   *
+   * @param capacity - the specified capacity.
+   */
+  private void allocate(int capacity)
+  {
+    EventType[] newTypes = new EventType[capacity];
+    int[] newIds = new int[capacity];
+    long[] newTimes = new long[capacity];
+    int[] newObjectIds = new int[capacity];
+    double[] newPositionsX = new double[capacity];
+    double[] newPositionsY = new double[capacity];
+    double[] newSpeedsX = new double[capacity];
+    double[] newSpeedsY = new double[capacity];
+    int[] newValues = new int[capacity];
+    String[] newProjectileTypes = new String[capacity];
+    AtomicReferenceArray<Event> newEvents = new AtomicReferenceArray<Event>(capacity);
+
+    if (count > 0)
+    {
+      System.arraycopy(types, 0, newTypes, 0, count);
+      System.arraycopy(ids, 0, newIds, 0, count);
+      System.arraycopy(times, 0, newTimes, 0, count);
+      System.arraycopy(objectIds, 0, newObjectIds, 0, count);
+      System.arraycopy(positionsX, 0, newPositionsX, 0, count);
+      System.arraycopy(positionsY, 0, newPositionsY, 0, count);
+      System.arraycopy(speedsX, 0, newSpeedsX, 0, count);
+      System.arraycopy(speedsY, 0, newSpeedsY, 0, count);
+      System.arraycopy(values, 0, newValues, 0, count);
+      System.arraycopy(projectileTypes, 0, newProjectileTypes, 0, count);
+      for (int i = 0; i < count; i++)
+      {
+        newEvents.set(i, events.get(i));
+      }
+    }
+
+    types           = newTypes;
+    ids             = newIds;
+    times           = newTimes;
+    objectIds       = newObjectIds;
+    positionsX      = newPositionsX;
+    positionsY      = newPositionsY;
+    speedsX         = newSpeedsX;
+    speedsY         = newSpeedsY;
+    values          = newValues;
+    projectileTypes = newProjectileTypes;
+    events          = newEvents;
+  }
+
+  /**
+   * Adds new event with the specified type, identifier and time.
+   *
+   * @param eventType - type of event.
+   * @param eventId - identifier of event.
+   * @param eventTime - time of event.
+   * @param objectId - identifier of object regarding event.
+   *
+   * @return Returns index of added event.
+   */
+  private int addRow(EventType eventType, int eventId, long eventTime, int objectId)
+  {
+    if (count == types.length)
+    {
+      allocate(2 * count);
+    }
+
+    int index = count;
+    types[index]           = eventType;
+    ids[index]             = eventId;
+    times[index]           = eventTime;
+    objectIds[index]       = objectId;
+    positionsX[index]      = 0.0;
+    positionsY[index]      = 0.0;
+    speedsX[index]         = 0.0;
+    speedsY[index]         = 0.0;
+    values[index]          = 0;
+    projectileTypes[index] = null;
+    events.set(index, null);
+    count++;
+
+    return index;
+  }
+
+  /**
+   * Adds the specified event at the end of this repository.
+   *
+   * @param event - the specified event.
+   */
+  void addEvent(Event event)
+  {
+    int objectId = 0;
+    if (event instanceof FriendlyAgentEvent)
+    {
+      objectId = ((FriendlyAgentEvent)event).getFriendlyAgentId();
+    }
+    else if (event instanceof EnemyAgentEvent)
+    {
+      objectId = ((EnemyAgentEvent)event).getEnemyAgentId();
+    }
+    else if (event instanceof ProjectileEvent)
+    {
+      objectId = ((ProjectileEvent)event).getProjectileId();
+    }
+
+    int index = addRow(event.getEventType(), event.getId(), event.getTime(), objectId);
+    events.set(index, event);
+
+    if (event instanceof ObjectMoveEventParams)
+    {
+      ObjectMoveEventParams moveParams = (ObjectMoveEventParams)event;
+      positionsX[index] = moveParams.getDestinationX();
+      positionsY[index] = moveParams.getDestinationY();
+      speedsX[index]    = moveParams.getSpeedX();
+      speedsY[index]    = moveParams.getSpeedY();
+    }
+    else if (event instanceof FriendlyAgentBlockedEvent)
+    {
+      positionsX[index] = ((FriendlyAgentBlockedEvent)event).getBlockedX();
+      positionsY[index] = ((FriendlyAgentBlockedEvent)event).getBlockedY();
+    }
+    else if (event instanceof ProjectileDestroyedEvent)
+    {
+      positionsX[index] = ((ProjectileDestroyedEvent)event).getProjectileX();
+      positionsY[index] = ((ProjectileDestroyedEvent)event).getProjectileY();
+    }
+
+    if (event instanceof FriendlyAgentHitEvent)
+    {
+      values[index] = ((FriendlyAgentHitEvent)event).getDamage();
+    }
+    else if (event instanceof EnemyAgentHitEvent)
+    {
+      values[index] = ((EnemyAgentHitEvent)event).getShooterId();
+    }
+    else if (event instanceof EnemyAgentDestroyedEvent)
+    {
+      values[index] = ((EnemyAgentDestroyedEvent)event).getShooterId();
+    }
+    else if (event instanceof ProjectileShotEvent)
+    {
+      values[index] = ((ProjectileShotEvent)event).getShooterId();
+    }
+
+    if (event instanceof ProjectileTypeEvent)
+    {
+      projectileTypes[index] = ((ProjectileTypeEvent)event).getProjectileType();
+    }
+  }
+
+  /**
+   * Adds event regarding movement of object with the specified parameters
+   * at the end of this repository. {@link Event} object is not created.
+   *
+   * @param eventType - type of event: {@link EventType#FRIENDLY_AGENT_MOVE},
+   *        {@link EventType#ENEMY_AGENT_MOVE} or {@link EventType#PROJECTILE_MOVE}.
+   * @param eventId - identifier of event.
+   * @param eventTime - time of event.
+   * @param objectId - identifier of moving object.
+   * @param destinationX - moving object's destination 'x' coordinate.
+   * @param destinationY - moving object's destination 'y' coordinate.
+   * @param speedX - moving object's horizontal speed.
+   * @param speedY - moving object's vertical speed.
+   */
+  void addMoveEvent(EventType eventType, int eventId, long eventTime, int objectId,
+      double destinationX, double destinationY, double speedX, double speedY)
+  {
+    int index = addRow(eventType, eventId, eventTime, objectId);
+
+    positionsX[index] = destinationX;
+    positionsY[index] = destinationY;
+    speedsX[index]    = speedX;
+    speedsY[index]    = speedY;
+  }
+
+  /**
+   * Checks whether the specified index is valid.
+   *
+   * @param index - the specified index.
+   */
+  private void checkIndex(int index)
+  {
+    if ((index < 0) || (index >= count))
+    {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+    }
+  }
+
+  /**
+   * Creates {@link Event} object from primitive values stored at
+   * the specified index.
+   *
+   * @param index - the specified index.
+   *
+   * @return Returns created {@link Event} object.
+   */
+  private Event createEvent(int index)
+  {
+    Event event = null;
+    int id = ids[index];
+    long time = times[index];
+    int objectId = objectIds[index];
+
+    switch (types[index])
+    {
+      case FRIENDLY_AGENT_MOVE:
+      {
+        event = EventTypesUtils.createFriendlyAgentMoveEvent(id, time, objectId,
+            positionsX[index], positionsY[index], speedsX[index], speedsY[index]);
+        break;
+      }
+      case FRIENDLY_AGENT_BLOCKED:
+      {
+        event = EventTypesUtils.createFriendlyAgentBlockedEvent(id, time, objectId,
+            positionsX[index], positionsY[index]);
+        break;
+      }
+      case FRIENDLY_AGENT_MOVE_FINISHED:
+      {
+        event = EventTypesUtils.createFriendlyAgentMoveFinishedEvent(id, time, objectId);
+        break;
+      }
+      case FRIENDLY_AGENT_HIT:
+      {
+        event = EventTypesUtils.createFriendlyAgentHitEvent(id, time, objectId, values[index]);
+        break;
+      }
+      case FRIENDLY_AGENT_DESTROYED:
+      {
+        event = EventTypesUtils.createFriendlyAgentDestroyedEvent(id, time, objectId);
+        break;
+      }
+      case ENEMY_AGENT_MOVE:
+      {
+        event = EventTypesUtils.createEnemyAgentMoveEvent(id, time, objectId,
+            positionsX[index], positionsY[index], speedsX[index], speedsY[index]);
+        break;
+      }
+      case ENEMY_AGENT_SEEN:
+      {
+        event = EventTypesUtils.createEnemyAgentSeenEvent(id, time, objectId,
+            positionsX[index], positionsY[index], speedsX[index], speedsY[index]);
+        break;
+      }
+      case ENEMY_AGENT_GONE:
+      {
+        event = EventTypesUtils.createEnemyAgentGoneEvent(id, time, objectId,
+            positionsX[index], positionsY[index], speedsX[index], speedsY[index]);
+        break;
+      }
+      case ENEMY_AGENT_HIT:
+      {
+        event = EventTypesUtils.createEnemyAgentHitEvent(id, time, objectId, values[index]);
+        break;
+      }
+      case ENEMY_AGENT_DESTROYED:
+      {
+        event = EventTypesUtils.createEnemyAgentDestroyedEvent(id, time, objectId, values[index]);
+        break;
+      }
+      case PROJECTILE_MOVE:
+      {
+        event = EventTypesUtils.createProjectileMoveEvent(id, time, objectId,
+            positionsX[index], positionsY[index], speedsX[index], speedsY[index]);
+        break;
+      }
+      case PROJECTILE_SEEN:
+      {
+        event = EventTypesUtils.createProjectileSeenEvent(id, time,
+            projectileTypes[index], objectId,
+            positionsX[index], positionsY[index], speedsX[index], speedsY[index]);
+        break;
+      }
+      case PROJECTILE_GONE:
+      {
+        event = EventTypesUtils.createProjectileGoneEvent(id, time, objectId,
+            positionsX[index], positionsY[index], speedsX[index], speedsY[index]);
+        break;
+      }
+      case PROJECTILE_SHOT:
+      {
+        event = EventTypesUtils.createProjectileShotEvent(id, time,
+            projectileTypes[index], objectId,
+            positionsX[index], positionsY[index], speedsX[index], speedsY[index],
+            values[index]);
+        break;
+      }
+      case PROJECTILE_DESTROYED:
+      {
+        event = EventTypesUtils.createProjectileDestroyedEvent(id, time, objectId,
+            positionsX[index], positionsY[index]);
+        break;
+      }
+    }
+
+    return event;
+  }
+
+  /**
+   * @see net.java.dante.sim.event.EventsRepository#getGroupId()
+   */
+  public int getGroupId()
+  {
+    return groupId;
+  }
+
+  /**
+   * @see net.java.dante.sim.event.EventsRepository#getEventsCount()
+   */
+  public int getEventsCount()
+  {
+    return count;
+  }
+
+  /**
+   * Gets event from the specified index. {@link Event} object is created
+   * when it is requested for the first time.
+   *
+   * @see net.java.dante.sim.event.EventsRepository#getEvent(int)
+   */
+  public Event getEvent(int index)
+  {
+    checkIndex(index);
+
+    Event event = events.get(index);
+    if (event == null)
+    {
+      // Event created concurrently by another thread is kept
+      events.compareAndSet(index, null, createEvent(index));
+      event = events.get(index);
+    }
+    return event;
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getEventType(int)
+   */
+  public EventType getEventType(int index)
+  {
+    checkIndex(index);
+    return types[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getEventId(int)
+   */
+  public int getEventId(int index)
+  {
+    checkIndex(index);
+    return ids[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getEventTime(int)
+   */
+  public long getEventTime(int index)
+  {
+    checkIndex(index);
+    return times[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getObjectId(int)
+   */
+  public int getObjectId(int index)
+  {
+    checkIndex(index);
+    return objectIds[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getPositionX(int)
+   */
+  public double getPositionX(int index)
+  {
+    checkIndex(index);
+    return positionsX[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getPositionY(int)
+   */
+  public double getPositionY(int index)
+  {
+    checkIndex(index);
+    return positionsY[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getSpeedX(int)
+   */
+  public double getSpeedX(int index)
+  {
+    checkIndex(index);
+    return speedsX[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getSpeedY(int)
+   */
+  public double getSpeedY(int index)
+  {
+    checkIndex(index);
+    return speedsY[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getValue(int)
+   */
+  public int getValue(int index)
+  {
+    checkIndex(index);
+    return values[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.PrimitiveEventsRepository#getProjectileType(int)
+   */
+  public String getProjectileType(int index)
+  {
+    checkIndex(index);
+    return projectileTypes[index];
+  }
+
+  /**
+   * @see net.java.dante.sim.event.EventsRepository#clear()
+   */
+  public void clear()
+  {
+    for (int i = 0; i < count; i++)
+    {
+      types[i]           = null;
+      projectileTypes[i] = null;
+      events.set(i, null);
+    }
+    count = 0;
+  }
+
+  /**
+   * Hash code is computed the same way as in {@link EventsRepositoryImpl}.
+   *
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode()
+  {
+    final int PRIME = 37;
+    int result = 17;
+
+    int eventsHashCode = 1;
+    for (int i = 0; i < count; i++)
+    {
+      eventsHashCode = 31 * eventsHashCode + getEvent(i).hashCode();
+    }
+
+    result = PRIME * result + eventsHashCode;
+    result = PRIME * result + groupId;
+
+    return result;
+  }
+
+  /**
+   * @see java.lang.Object#equals(java.lang.Object)
+   */
+  @Override
+  public boolean equals(Object object)
+  {
+    boolean equal = (this == object);
+    if (!equal && (object instanceof EventsRepository))
+    {
+      final EventsRepository other = (EventsRepository) object;
+      equal = ((groupId == other.getGroupId()) &&
+               (count == other.getEventsCount()));
+      for (int i = 0; equal && (i < count); i++)
+      {
+        equal = getEvent(i).equals(other.getEvent(i));
+      }
+    }
+    return equal;
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    StringBuilder eventsString = new StringBuilder("[");
+    for (int i = 0; i < count; i++)
+    {
+      if (i > 0)
+      {
+        eventsString.append(", ");
+      }
+      eventsString.append(getEvent(i));
+    }
+    eventsString.append(']');
+
+    return (getClass() + "[groupId=" + groupId + "; events=" + eventsString + "]");
+  }
+}
@@ -46,6 +46,17 @@ public final class EventTypesUtils
   }
 
 
+  /**
+   * Creates new event's identifier, unique among identifiers of events
+   * created by this class.
+   *
+   * @return Returns created event's identifier.
+   */
+  public static int createEventId()
+  {
+    return idGen.generateId();
+  }
+
   /**
    * Creates {@link EnemyAgentGoneEvent} object with specified parameters.
    *
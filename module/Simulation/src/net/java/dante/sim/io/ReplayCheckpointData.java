@@ -0,0 +1,133 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.io;
+
+/**
+ * Class representing result of checkpoint of replayed battle - comparison
+ * of events recorded in battle record and events generated by replay
+ * since the previous checkpoint. This data is generated by
+ * {@link net.java.dante.sim.engine.engine2d.server.ReplayEngine2d}.
+ *
+ * @author M.Olszewski
+ */
+public class ReplayCheckpointData implements ServerOutputData
+{
+  /** Simulation time of checkpoint. */
+  private long time;
+  /** Number of recorded events. */
+  private int recordedEventsCount;
+  /** Number of generated events. */
+  private int generatedEventsCount;
+  /** Number of recorded events without matching generated event. */
+  private int mismatchedEventsCount;
+  /** Determines whether this is the last checkpoint. */
+  private boolean last;
+
+
+  /**
+   * Creates instance of {@link ReplayCheckpointData} class.
+   *
+   * @param checkpointTime - simulation time of checkpoint.
+   * @param recordedCount - number of recorded events.
+   * @param generatedCount - number of generated events.
+   * @param mismatchedCount - number of recorded events without matching
+   *        generated event.
+   * @param lastCheckpoint - determines whether this is the last checkpoint.
+   */
+  public ReplayCheckpointData(long checkpointTime, int recordedCount, int generatedCount,
+                              int mismatchedCount, boolean lastCheckpoint)
+  {
+    if ((recordedCount < 0) || (generatedCount < 0))
+    {
+      throw new IllegalArgumentException("Invalid argument recordedCount or generatedCount - it must be positive integer or zero!");
+    }
+    if ((mismatchedCount < 0) || (mismatchedCount > recordedCount))
+    {
+      throw new IllegalArgumentException("Invalid argument mismatchedCount - it must be positive integer or zero, not greater than recordedCount!");
+    }
+
+    time                  = checkpointTime;
+    recordedEventsCount   = recordedCount;
+    generatedEventsCount  = generatedCount;
+    mismatchedEventsCount = mismatchedCount;
+    last                  = lastCheckpoint;
+  }
+
+
+  /**
+   * Gets simulation time of checkpoint.
+   *
+   * @return Returns simulation time of checkpoint.
+   */
+  public long getTime()
+  {
+    return time;
+  }
+
+  /**
+   * Gets number of events recorded since the previous checkpoint.
+   *
+   * @return Returns number of recorded events.
+   */
+  public int getRecordedEventsCount()
+  {
+    return recordedEventsCount;
+  }
+
+  /**
+   * Gets number of events generated by replay since the previous checkpoint.
+   *
+   * @return Returns number of generated events.
+   */
+  public int getGeneratedEventsCount()
+  {
+    return generatedEventsCount;
+  }
+
+  /**
+   * Gets number of recorded events without matching generated event.
+   *
+   * @return Returns number of mismatched events.
+   */
+  public int getMismatchedEventsCount()
+  {
+    return mismatchedEventsCount;
+  }
+
+  /**
+   * Checks whether generated events match recorded events.
+   *
+   * @return Returns <code>true</code> if generated events match recorded
+   *         events, <code>false</code> otherwise.
+   */
+  public boolean isMatched()
+  {
+    return ((mismatchedEventsCount == 0) && (recordedEventsCount == generatedEventsCount));
+  }
+
+  /**
+   * Checks whether this is the last checkpoint of replayed battle.
+   *
+   * @return Returns <code>true</code> if this is the last checkpoint,
+   *         <code>false</code> otherwise.
+   */
+  public boolean isLast()
+  {
+    return last;
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass() + "[time=" + time + "; recordedEventsCount=" + recordedEventsCount +
+        "; generatedEventsCount=" + generatedEventsCount +
+        "; mismatchedEventsCount=" + mismatchedEventsCount + "; last=" + last + "]");
+  }
+}
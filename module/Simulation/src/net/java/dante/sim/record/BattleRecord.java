@@ -0,0 +1,151 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.record;
+
+import net.java.dante.sim.io.CommandsData;
+import net.java.dante.sim.io.UpdateData;
+
+/**
+ * Single record read from battle record file by {@link BattleRecordReader}.
+ *
+ * @author M.Olszewski
+ */
+public final class BattleRecord
+{
+  /** Type of this record. */
+  private BattleRecordType type;
+  /** Simulation time of this record. */
+  private long time;
+  /** Recorded update data - <code>null</code> for other records. */
+  private UpdateData update;
+  /** Recorded commands data - <code>null</code> for other records. */
+  private CommandsData commands;
+  /** Recorded initial state - <code>null</code> for other records. */
+  private RecordedInitialState initialState;
+
+
+  /**
+   * Creates instance of {@link BattleRecord} class with recorded update data.
+   *
+   * @param updateData - recorded update data.
+   */
+  BattleRecord(UpdateData updateData)
+  {
+    type   = BattleRecordType.UPDATE;
+    time   = updateData.getTime();
+    update = updateData;
+  }
+
+  /**
+   * Creates instance of {@link BattleRecord} class with recorded commands
+   * data.
+   *
+   * @param recordTime - simulation time at which commands were received.
+   * @param commandsData - recorded commands data.
+   */
+  BattleRecord(long recordTime, CommandsData commandsData)
+  {
+    type     = BattleRecordType.COMMANDS;
+    time     = recordTime;
+    commands = commandsData;
+  }
+
+  /**
+   * Creates instance of {@link BattleRecord} class with recorded initial
+   * state of battle.
+   *
+   * @param state - recorded initial state.
+   */
+  BattleRecord(RecordedInitialState state)
+  {
+    type         = BattleRecordType.INITIALIZATION;
+    initialState = state;
+  }
+
+
+  /**
+   * Gets type of this record.
+   *
+   * @return Returns type of this record.
+   */
+  public BattleRecordType getType()
+  {
+    return type;
+  }
+
+  /**
+   * Gets simulation time of this record.
+   *
+   * @return Returns simulation time of this record.
+   */
+  public long getTime()
+  {
+    return time;
+  }
+
+  /**
+   * Gets identifier of group which received update or sent commands.
+   *
+   * @return Returns identifier of group.
+   *
+   * @throws IllegalStateException if this record is
+   *         {@link BattleRecordType#INITIALIZATION} record.
+   */
+  public int getGroupId()
+  {
+    if (type == BattleRecordType.INITIALIZATION)
+    {
+      throw new IllegalStateException("Initialization record is not related to any group!");
+    }
+
+    return ((type == BattleRecordType.UPDATE)? update.getRepository().getGroupId() :
+                                               commands.getRepository().getGroupId());
+  }
+
+  /**
+   * Gets recorded update data.
+   *
+   * @return Returns recorded update data or <code>null</code> if this
+   *         record is not {@link BattleRecordType#UPDATE} record.
+   */
+  public UpdateData getUpdateData()
+  {
+    return update;
+  }
+
+  /**
+   * Gets recorded commands data.
+   *
+   * @return Returns recorded commands data or <code>null</code> if this
+   *         record is not {@link BattleRecordType#COMMANDS} record.
+   */
+  public CommandsData getCommandsData()
+  {
+    return commands;
+  }
+
+  /**
+   * Gets recorded initial state of battle.
+   *
+   * @return Returns recorded initial state or <code>null</code> if this
+   *         record is not {@link BattleRecordType#INITIALIZATION} record.
+   */
+  public RecordedInitialState getInitialState()
+  {
+    return initialState;
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString()
+  {
+    return (getClass() + "[type=" + type + "; time=" + time + "; update=" + update +
+        "; commands=" + commands + "]");
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.record;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.NoSuchElementException;
+
+/**
+ * Reader of battle record files written by {@link BattleRecorder}. Whole
+ * file is mapped into memory, so records are decoded without copying them
+ * and reader can quickly seek to the specified simulation time - payloads
+ * of skipped records are not decoded. Battle is reproduced from its record
+ * without running simulation engine.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author M.Olszewski
+ */
+public class BattleRecordReader
+{
+  /** Mapped content of record file. */
+  private ByteBuffer content;
+  /** Decoder of records' payloads. */
+  private RecordDecoder decoder = new RecordDecoder();
+  /** Next record read by {@link #next()} method - <code>null</code> if it is not read yet. */
+  private BattleRecord nextRecord;
+  /** Position in file at which next record starts. */
+  private int nextRecordPosition;
+  /** Time of last record read or skipped by this reader. */
+  private long lastTime = Long.MIN_VALUE;
+
+
+  /**
+   * Creates instance of {@link BattleRecordReader} class reading the
+   * specified record file.
+   *
+   * @param recordFile - the specified record file.
+   *
+   * @throws IOException if file cannot be read or it is not a battle record file.
+   */
+  public BattleRecordReader(File recordFile) throws IOException
+  {
+    if (recordFile == null)
+    {
+      throw new NullPointerException("Specified recordFile is null!");
+    }
+
+    RandomAccessFile file = new RandomAccessFile(recordFile, "r");
+    try
+    {
+      FileChannel channel = file.getChannel();
+      content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    finally
+    {
+      file.close();
+    }
+
+    if ((content.remaining() < RecordFormat.FILE_HEADER_SIZE) ||
+        (content.getInt() != RecordFormat.MAGIC))
+    {
+      throw new IOException("File " + recordFile + " is not a battle record file!");
+    }
+    byte version = content.get();
+    if (version != RecordFormat.VERSION)
+    {
+      throw new IOException("Unsupported battle record version: " + version + "!");
+    }
+  }
+
+
+  /**
+   * Checks whether there is next record in file. Incomplete record at the
+   * end of file (e.g. when recording battle was interrupted) is ignored.
+   *
+   * @return Returns <code>true</code> if there is next record,
+   *         <code>false</code> otherwise.
+   */
+  public boolean hasNext()
+  {
+    while ((nextRecord == null) && isRecordAvailable())
+    {
+      nextRecordPosition = content.position();
+      nextRecord = readRecord();
+    }
+    return (nextRecord != null);
+  }
+
+  /**
+   * Reads next record.
+   *
+   * @return Returns next record.
+   *
+   * @throws NoSuchElementException if there are no more records.
+   */
+  public BattleRecord next()
+  {
+    if (!hasNext())
+    {
+      throw new NoSuchElementException("There are no more records in battle record file!");
+    }
+
+    BattleRecord record = nextRecord;
+    nextRecord = null;
+    lastTime   = record.getTime();
+
+    return record;
+  }
+
+  /**
+   * Seeks to the first record with simulation time not lesser than the
+   * specified one. Records are skipped without being decoded. If any record
+   * with time not lesser than the specified one was already read, reader
+   * seeks from the beginning of file.
+   *
+   * @param time - the specified simulation time.
+   */
+  public void seek(long time)
+  {
+    if (nextRecord != null)
+    {
+      content.position(nextRecordPosition);
+      nextRecord = null;
+    }
+    if (lastTime >= time)
+    {
+      rewind();
+    }
+
+    while (isRecordAvailable() && (peekTime() < time))
+    {
+      lastTime = peekTime();
+      skipRecord();
+    }
+  }
+
+  /**
+   * Rewinds reader to the beginning of file.
+   */
+  public void rewind()
+  {
+    content.position(RecordFormat.FILE_HEADER_SIZE);
+    decoder.reset();
+    nextRecord = null;
+    lastTime   = Long.MIN_VALUE;
+  }
+
+  /**
+   * Checks whether complete record starts at current position.
+   *
+   * @return Returns <code>true</code> if complete record starts at current
+   *         position, <code>false</code> otherwise.
+   */
+  private boolean isRecordAvailable()
+  {
+    int position = content.position();
+    return ((content.remaining() >= RecordFormat.RECORD_HEADER_SIZE) &&
+        (content.remaining() - RecordFormat.RECORD_HEADER_SIZE >=
+          content.getInt(position + RecordFormat.RECORD_HEADER_SIZE - (Integer.SIZE / Byte.SIZE))));
+  }
+
+  /**
+   * Gets time of record starting at current position.
+   *
+   * @return Returns time of record.
+   */
+  private long peekTime()
+  {
+    return content.getLong(content.position() + 1);
+  }
+
+  /**
+   * Skips record starting at current position. Records defining projectile
+   * types are decoded, because next records can refer to them.
+   */
+  private void skipRecord()
+  {
+    byte kind = content.get();
+    content.getLong();
+    int payloadLength = content.getInt();
+
+    if (kind == RecordFormat.PROJECTILE_TYPE_RECORD)
+    {
+      decoder.defineProjectileType(slicePayload(payloadLength));
+    }
+    else
+    {
+      content.position(content.position() + payloadLength);
+    }
+  }
+
+  /**
+   * Reads record starting at current position.
+   *
+   * @return Returns read record or <code>null</code> if read record was
+   *         not a {@link BattleRecord}.
+   */
+  private BattleRecord readRecord()
+  {
+    BattleRecord record = null;
+
+    byte kind = content.get();
+    long time = content.getLong();
+    ByteBuffer payload = slicePayload(content.getInt());
+
+    switch (kind)
+    {
+      case RecordFormat.UPDATE_RECORD:
+      {
+        record = new BattleRecord(decoder.decodeUpdate(time, payload));
+        break;
+      }
+      case RecordFormat.COMMANDS_RECORD:
+      {
+        record = new BattleRecord(time, decoder.decodeCommands(payload));
+        break;
+      }
+      case RecordFormat.PROJECTILE_TYPE_RECORD:
+      {
+        decoder.defineProjectileType(payload);
+        break;
+      }
+      case RecordFormat.INITIALIZATION_RECORD:
+      {
+        record = new BattleRecord(decoder.decodeInitialization(payload));
+        break;
+      }
+      default:
+      {
+        // Records of unknown kind are skipped
+        break;
+      }
+    }
+
+    return record;
+  }
+
+  /**
+   * Slices payload of record from current position and moves current
+   * position to the next record.
+   *
+   * @param payloadLength - length of payload.
+   *
+   * @return Returns buffer with payload.
+   */
+  private ByteBuffer slicePayload(int payloadLength)
+  {
+    ByteBuffer payload = content.slice();
+    payload.limit(payloadLength);
+    content.position(content.position() + payloadLength);
+
+    return payload;
+  }
+}
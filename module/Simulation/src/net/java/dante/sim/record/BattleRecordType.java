@@ -0,0 +1,22 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.record;
+
+/**
+ * Enumeration of types of {@link BattleRecord} objects.
+ *
+ * @author M.Olszewski
+ */
+public enum BattleRecordType
+{
+  /** Record with {@link RecordedInitialState} of battle. */
+  INITIALIZATION,
+  /** Record with {@link net.java.dante.sim.io.UpdateData} sent to one group. */
+  UPDATE,
+  /** Record with {@link net.java.dante.sim.io.CommandsData} received from one group. */
+  COMMANDS
+}
@@ -0,0 +1,362 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.record;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.java.dante.sim.io.CommandsData;
+import net.java.dante.sim.io.UpdateData;
+
+/**
+ * Recorder writing battle to append-only binary record file, which can be
+ * read by {@link BattleRecordReader}. Recorded data is queued by
+ * simulation engine and encoded and written by recorder's own thread,
+ * so engine never waits for disk. Encoded records are collected in direct
+ * buffer and written to file channel when buffer is full or there are
+ * no more queued records.
+ * <p>
+ * If any I/O error occurs, recorder stops writing and reports error
+ * in {@link #close()} method.
+ *
+ * @author M.Olszewski
+ */
+public class BattleRecorder
+{
+  /** Directory in which record files are created by {@link #createRecordFile()}. */
+  public static final String RECORDS_DIRECTORY = "./records";
+  /** Extension of record files. */
+  public static final String RECORD_FILE_SUFFIX = ".dbr";
+
+  /** Capacity of buffer collecting encoded records. */
+  private static final int OUTPUT_BUFFER_CAPACITY = 64 * 1024;
+  /** Object queued to stop recorder's thread. */
+  private static final Object END_OF_RECORD = new Object();
+  /** Number of created recorders, used to name their threads. */
+  private static final AtomicInteger recordersCount = new AtomicInteger();
+  /** Number of created record files, used to make their names unique. */
+  private static final AtomicInteger recordFilesCount = new AtomicInteger();
+
+  /** Queued data waiting to be written. */
+  private BlockingQueue<Object> queue = new LinkedBlockingQueue<Object>();
+  /** Channel to which records are written. */
+  private FileChannel channel;
+  /** Encoder of records - used only by recorder's thread. */
+  private RecordEncoder encoder = new RecordEncoder();
+  /** Buffer collecting encoded records - used only by recorder's thread. */
+  private ByteBuffer outputBuffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_CAPACITY);
+  /** Thread encoding and writing records. */
+  private Thread recorderThread;
+  /** First I/O error which occurred while writing records. */
+  private volatile IOException failure;
+  /** Determines whether this recorder was closed. */
+  private boolean closed;
+
+
+  /**
+   * Creates instance of {@link BattleRecorder} class writing battle to the
+   * specified file. Existing file is overwritten.
+   *
+   * @param recordFile - the specified file.
+   *
+   * @throws IOException if file cannot be created.
+   */
+  public BattleRecorder(File recordFile) throws IOException
+  {
+    if (recordFile == null)
+    {
+      throw new NullPointerException("Specified recordFile is null!");
+    }
+
+    channel = new FileOutputStream(recordFile).getChannel();
+    try
+    {
+      write(encoder.encodeFileHeader());
+    }
+    catch (IOException e)
+    {
+      channel.close();
+      throw e;
+    }
+
+    recorderThread = new Thread(getClass().getSimpleName() + '#' + recordersCount.incrementAndGet()) {
+      /**
+       * @see java.lang.Thread#run()
+       */
+      @Override
+      public void run()
+      {
+        writeRecords();
+      }
+    };
+    recorderThread.setDaemon(true);
+    recorderThread.start();
+  }
+
+
+  /**
+   * Creates new, empty record file in {@link #RECORDS_DIRECTORY} directory,
+   * with name based on current date and time and unique number. Name is
+   * changed until file which did not exist before is created, so concurrently
+   * started battles never share record file.
+   *
+   * @return Returns created record file.
+   *
+   * @throws IOException if file cannot be created.
+   */
+  public static File createRecordFile() throws IOException
+  {
+    File directory = new File(RECORDS_DIRECTORY);
+    if (!directory.exists())
+    {
+      directory.mkdir();
+    }
+
+    File recordFile = null;
+    do
+    {
+      String fileName = String.format("battle_%1$tY-%1$tm-%1$td_%1$tH.%1$tM.%1$tS.%1$tL_%2$d",
+                                      Calendar.getInstance(),
+                                      Integer.valueOf(recordFilesCount.incrementAndGet()));
+      recordFile = new File(directory, fileName + RECORD_FILE_SUFFIX);
+    }
+    while (!recordFile.createNewFile());
+
+    return recordFile;
+  }
+
+  /**
+   * Records the specified initial state of battle. Initial state should be
+   * recorded before any other data.
+   *
+   * @param state - the specified initial state.
+   */
+  public void recordInitialization(RecordedInitialState state)
+  {
+    if (state == null)
+    {
+      throw new NullPointerException("Specified state is null!");
+    }
+
+    queue.offer(state);
+  }
+
+  /**
+   * Records the specified update data sent to one group.
+   *
+   * @param update - the specified update data.
+   */
+  public void recordUpdate(UpdateData update)
+  {
+    if (update == null)
+    {
+      throw new NullPointerException("Specified update is null!");
+    }
+
+    queue.offer(update);
+  }
+
+  /**
+   * Records the specified commands data received from one group.
+   *
+   * @param time - simulation time at which commands were received.
+   * @param commands - the specified commands data.
+   */
+  public void recordCommands(long time, CommandsData commands)
+  {
+    if (commands == null)
+    {
+      throw new NullPointerException("Specified commands is null!");
+    }
+
+    queue.offer(new QueuedCommands(time, commands));
+  }
+
+  /**
+   * Closes this recorder - waits until all queued data is written and
+   * closes record file. Further calls to this method have no effect.
+   *
+   * @throws IOException if any I/O error occurred while writing records.
+   */
+  public synchronized void close() throws IOException
+  {
+    if (!closed)
+    {
+      closed = true;
+
+      queue.offer(END_OF_RECORD);
+      boolean interrupted = false;
+      while (recorderThread.isAlive())
+      {
+        try
+        {
+          recorderThread.join();
+        }
+        catch (InterruptedException e)
+        {
+          interrupted = true;
+        }
+      }
+      if (interrupted)
+      {
+        Thread.currentThread().interrupt();
+      }
+
+      channel.close();
+
+      if (failure != null)
+      {
+        throw failure;
+      }
+    }
+  }
+
+  /**
+   * Main method of recorder's thread - writes queued data until
+   * {@link #END_OF_RECORD} object is taken from queue.
+   */
+  void writeRecords()
+  {
+    List<Object> batch = new ArrayList<Object>();
+    boolean running = true;
+    while (running)
+    {
+      try
+      {
+        batch.add(queue.take());
+      }
+      catch (InterruptedException e)
+      {
+        // Intentionally left empty.
+      }
+      queue.drainTo(batch);
+
+      try
+      {
+        for (Object queued : batch)
+        {
+          if ((queued != END_OF_RECORD) && (failure == null))
+          {
+            writeRecord(queued);
+          }
+        }
+
+        if (failure == null)
+        {
+          flush();
+        }
+      }
+      catch (IOException e)
+      {
+        failure = e;
+      }
+      running = !batch.contains(END_OF_RECORD);
+      batch.clear();
+    }
+  }
+
+  /**
+   * Encodes the specified queued data and collects it in output buffer.
+   *
+   * @param queued - the specified queued data.
+   *
+   * @throws IOException if any I/O error occurred.
+   */
+  private void writeRecord(Object queued) throws IOException
+  {
+    ByteBuffer encoded = null;
+    if (queued instanceof UpdateData)
+    {
+      encoded = encoder.encodeUpdate((UpdateData)queued);
+    }
+    else if (queued instanceof RecordedInitialState)
+    {
+      encoded = encoder.encodeInitialization((RecordedInitialState)queued);
+    }
+    else
+    {
+      QueuedCommands commands = (QueuedCommands)queued;
+      encoded = encoder.encodeCommands(commands.time, commands.commands);
+    }
+
+    if (encoded.remaining() > outputBuffer.remaining())
+    {
+      flush();
+    }
+    if (encoded.remaining() > outputBuffer.remaining())
+    {
+      write(encoded);
+    }
+    else
+    {
+      outputBuffer.put(encoded);
+    }
+  }
+
+  /**
+   * Writes all records collected in output buffer.
+   *
+   * @throws IOException if any I/O error occurred.
+   */
+  private void flush() throws IOException
+  {
+    outputBuffer.flip();
+    write(outputBuffer);
+    outputBuffer.clear();
+  }
+
+  /**
+   * Writes whole content of the specified buffer to record file.
+   *
+   * @param buffer - the specified buffer.
+   *
+   * @throws IOException if any I/O error occurred.
+   */
+  private void write(ByteBuffer buffer) throws IOException
+  {
+    while (buffer.hasRemaining())
+    {
+      channel.write(buffer);
+    }
+  }
+
+
+  /**
+   * Queued commands data together with time at which it was received.
+   *
+   * @author M.Olszewski
+   */
+  private static final class QueuedCommands
+  {
+    /** Simulation time at which commands were received. */
+    final long time;
+    /** Received commands data. */
+    final CommandsData commands;
+
+
+    /**
+     * Creates instance of {@link QueuedCommands} class.
+     *
+     * @param receivedTime - simulation time at which commands were received.
+     * @param commandsData - received commands data.
+     */
+    QueuedCommands(long receivedTime, CommandsData commandsData)
+    {
+      time     = receivedTime;
+      commands = commandsData;
+    }
+  }
+}
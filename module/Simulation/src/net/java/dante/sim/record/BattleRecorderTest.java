@@ -0,0 +1,241 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.record;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+import net.java.dante.sim.command.CommandUtils;
+import net.java.dante.sim.command.CommandsRepositoryBuilder;
+import net.java.dante.sim.command.types.CommandTypesUtils;
+import net.java.dante.sim.event.Event;
+import net.java.dante.sim.event.EventUtils;
+import net.java.dante.sim.event.types.EventTypesUtils;
+import net.java.dante.sim.io.CommandsData;
+import net.java.dante.sim.io.UpdateData;
+
+/**
+ * Test case for {@link BattleRecorder} and {@link BattleRecordReader} classes.
+ *
+ * @author M.Olszewski
+ */
+public class BattleRecorderTest extends TestCase
+{
+  /** Number of recorded updates. */
+  private static final int UPDATES_COUNT = 2000;
+  /** Interval between recorded updates. */
+  private static final long UPDATES_INTERVAL = 20;
+
+  /** Temporary record file. */
+  private File recordFile;
+
+
+  /**
+   * @see junit.framework.TestCase#setUp()
+   */
+  @Override
+  protected void setUp() throws Exception
+  {
+    recordFile = File.createTempFile("battle", BattleRecorder.RECORD_FILE_SUFFIX);
+  }
+
+  /**
+   * @see junit.framework.TestCase#tearDown()
+   */
+  @Override
+  protected void tearDown() throws Exception
+  {
+    recordFile.delete();
+  }
+
+  /**
+   * Test method for reading recorded battle - all records must be read
+   * in order in which they were recorded.
+   *
+   * @throws IOException if any I/O error occurred.
+   */
+  public void testReadRecord() throws IOException
+  {
+    List<Object> recorded = recordBattle();
+
+    BattleRecordReader reader = new BattleRecordReader(recordFile);
+    for (Object expected : recorded)
+    {
+      assertTrue(reader.hasNext());
+      BattleRecord record = reader.next();
+      if (expected instanceof UpdateData)
+      {
+        assertEquals(BattleRecordType.UPDATE, record.getType());
+        assertEquals(expected, record.getUpdateData());
+      }
+      else
+      {
+        assertEquals(BattleRecordType.COMMANDS, record.getType());
+        assertEquals(expected, record.getCommandsData());
+      }
+    }
+    assertFalse(reader.hasNext());
+  }
+
+  /**
+   * Test method for {@link BattleRecordReader#seek(long)} method - reader
+   * must seek forward and backward to the first record with the specified
+   * time.
+   *
+   * @throws IOException if any I/O error occurred.
+   */
+  public void testSeek() throws IOException
+  {
+    recordBattle();
+
+    BattleRecordReader reader = new BattleRecordReader(recordFile);
+    long[] times = { 1500 * UPDATES_INTERVAL, 10 * UPDATES_INTERVAL + 1,
+                     10 * UPDATES_INTERVAL, 1999 * UPDATES_INTERVAL };
+    long[] expectedTimes = { 1500 * UPDATES_INTERVAL, 11 * UPDATES_INTERVAL,
+                             10 * UPDATES_INTERVAL, 1999 * UPDATES_INTERVAL };
+    for (int i = 0; i < times.length; i++)
+    {
+      reader.seek(times[i]);
+      BattleRecord record = reader.next();
+      assertEquals(expectedTimes[i], record.getTime());
+      assertEquals(createUpdate(record.getTime()), record.getUpdateData());
+    }
+
+    reader.seek(UPDATES_COUNT * UPDATES_INTERVAL);
+    assertFalse(reader.hasNext());
+  }
+
+  /**
+   * Test method for {@link BattleRecorder#createRecordFile()} - files created
+   * before any recorder was created must have distinct names.
+   *
+   * @throws IOException if any I/O error occurred.
+   */
+  public void testCreateRecordFile() throws IOException
+  {
+    final int FILES_COUNT = 10;
+
+    List<File> files = new ArrayList<File>();
+    try
+    {
+      for (int i = 0; i < FILES_COUNT; i++)
+      {
+        File file = BattleRecorder.createRecordFile();
+        assertTrue(file.exists());
+        assertFalse(files.contains(file));
+        files.add(file);
+      }
+    }
+    finally
+    {
+      for (File file : files)
+      {
+        file.delete();
+      }
+    }
+  }
+
+  /**
+   * Test method for reading recorded initial state of battle - it must be
+   * read as the first record.
+   *
+   * @throws IOException if any I/O error occurred.
+   */
+  public void testReadInitialState() throws IOException
+  {
+    RecordedInitialState state = new RecordedInitialState(-1234567890123L, new int[] { 5, 9 },
+        new int[][] { { 1, 2 }, { 3 } },
+        new double[][] { { 10.5, 20.25 }, { 300.125 } },
+        new double[][] { { 0.0, 1.0 / 3 }, { Math.PI } });
+
+    BattleRecorder recorder = new BattleRecorder(recordFile);
+    recorder.recordInitialization(state);
+    recorder.recordUpdate(createUpdate(0));
+    recorder.close();
+
+    BattleRecordReader reader = new BattleRecordReader(recordFile);
+    BattleRecord record = reader.next();
+    assertEquals(BattleRecordType.INITIALIZATION, record.getType());
+
+    RecordedInitialState readState = record.getInitialState();
+    assertEquals(state.getSeed(), readState.getSeed());
+    assertEquals(state.getGroupsCount(), readState.getGroupsCount());
+    for (int i = 0; i < state.getGroupsCount(); i++)
+    {
+      assertEquals(state.getGroupId(i), readState.getGroupId(i));
+      assertEquals(state.getAgentsCount(i), readState.getAgentsCount(i));
+      for (int j = 0; j < state.getAgentsCount(i); j++)
+      {
+        assertEquals(state.getAgentId(i, j), readState.getAgentId(i, j));
+        assertEquals(state.getStartX(i, j), readState.getStartX(i, j), 0.0);
+        assertEquals(state.getStartY(i, j), readState.getStartY(i, j), 0.0);
+      }
+    }
+
+    assertEquals(BattleRecordType.UPDATE, reader.next().getType());
+    assertFalse(reader.hasNext());
+  }
+
+  /**
+   * Records battle to temporary file.
+   *
+   * @return Returns list with recorded data.
+   *
+   * @throws IOException if any I/O error occurred.
+   */
+  private List<Object> recordBattle() throws IOException
+  {
+    List<Object> recorded = new ArrayList<Object>();
+
+    BattleRecorder recorder = new BattleRecorder(recordFile);
+    for (int i = 0; i < UPDATES_COUNT; i++)
+    {
+      long time = i * UPDATES_INTERVAL;
+      UpdateData update = createUpdate(time);
+      recorder.recordUpdate(update);
+      recorded.add(update);
+
+      if ((i % 10) == 0)
+      {
+        CommandsRepositoryBuilder builder = CommandUtils.createDefaultBuilder(1);
+        builder.addCommand(i, CommandTypesUtils.createMoveCommand(i, 10.5, -3.25));
+        builder.addCommand(i + 1, CommandTypesUtils.createAttackCommand(i + 1, 0.125, 7));
+        builder.addCommand(i + 1, CommandTypesUtils.createClearQueueCommand(i + 2));
+        CommandsData commands = new CommandsData(builder.build());
+        recorder.recordCommands(time, commands);
+        recorded.add(commands);
+      }
+    }
+    recorder.close();
+
+    return recorded;
+  }
+
+  /**
+   * Creates update data with events of several types.
+   *
+   * @param time - time of update.
+   *
+   * @return Returns created update data.
+   */
+  private static UpdateData createUpdate(long time)
+  {
+    int id = (int)(time / UPDATES_INTERVAL);
+    String type = (((id % 2) == 0)? "bullet" : "rocket");
+    Event[] events = {
+        EventTypesUtils.createFriendlyAgentMoveEvent(id, time / 2, 3, 100.25, 200.5, -1.5, 0.75),
+        EventTypesUtils.createFriendlyAgentHitEvent(id + 1, time / 4, 3, 25),
+        EventTypesUtils.createEnemyAgentDestroyedEvent(id + 2, time, 7, 12),
+        EventTypesUtils.createProjectileShotEvent(id + 3, time, type, id, 1.0 / 3, 2, 3, 4, 3),
+        EventTypesUtils.createProjectileDestroyedEvent(id + 4, time, id, Math.PI, Math.E)
+    };
+    return new UpdateData(time, EventUtils.createGroupEventsRepository(id % 2, events));
+  }
+}
@@ -0,0 +1,353 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.record;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.java.dante.sim.command.AgentCommands;
+import net.java.dante.sim.command.CommandUtils;
+import net.java.dante.sim.command.types.Command;
+import net.java.dante.sim.command.types.CommandType;
+import net.java.dante.sim.command.types.CommandTypesUtils;
+import net.java.dante.sim.event.Event;
+import net.java.dante.sim.event.EventType;
+import net.java.dante.sim.event.EventUtils;
+import net.java.dante.sim.event.types.EventTypesUtils;
+import net.java.dante.sim.io.CommandsData;
+import net.java.dante.sim.io.UpdateData;
+
+/**
+ * Decoder of payloads of records encoded by {@link RecordEncoder}. Decoder
+ * remembers projectile types defined so far, so all
+ * {@link RecordFormat#PROJECTILE_TYPE_RECORD} records must be decoded
+ * in order in which they were written - this class is not thread-safe.
+ *
+ * @author M.Olszewski
+ */
+final class RecordDecoder
+{
+  /** All event types. */
+  private static final EventType[] EVENT_TYPES = EventType.values();
+  /** All command types. */
+  private static final CommandType[] COMMAND_TYPES = CommandType.values();
+
+  /** Projectile types defined so far - identifier is index in this list. */
+  private List<String> projectileTypes = new ArrayList<String>();
+
+
+  /**
+   * Creates instance of {@link RecordDecoder} class.
+   */
+  RecordDecoder()
+  {
+    // Intentionally left empty.
+  }
+
+
+  /**
+   * Decodes payload of record defining next projectile type.
+   *
+   * @param payload - payload of record.
+   */
+  void defineProjectileType(ByteBuffer payload)
+  {
+    byte[] typeBytes = new byte[RecordFormat.getVarInt(payload)];
+    payload.get(typeBytes);
+    projectileTypes.add(new String(typeBytes, RecordFormat.CHARSET));
+  }
+
+  /**
+   * Forgets all projectile types defined so far.
+   */
+  void reset()
+  {
+    projectileTypes.clear();
+  }
+
+  /**
+   * Decodes payload of initialization record.
+   *
+   * @param payload - payload of record.
+   *
+   * @return Returns decoded initial state of battle.
+   */
+  RecordedInitialState decodeInitialization(ByteBuffer payload)
+  {
+    long seed = RecordFormat.getVarLong(payload);
+    int groupsCount = RecordFormat.getVarInt(payload);
+
+    int[] groupsIds = new int[groupsCount];
+    int[][] agentsIds = new int[groupsCount][];
+    double[][] startX = new double[groupsCount][];
+    double[][] startY = new double[groupsCount][];
+    for (int i = 0; i < groupsCount; i++)
+    {
+      groupsIds[i] = RecordFormat.getVarInt(payload);
+
+      int agentsCount = RecordFormat.getVarInt(payload);
+      agentsIds[i] = new int[agentsCount];
+      startX[i]    = new double[agentsCount];
+      startY[i]    = new double[agentsCount];
+      for (int j = 0; j < agentsCount; j++)
+      {
+        agentsIds[i][j] = RecordFormat.getVarInt(payload);
+        startX[i][j]    = payload.getDouble();
+        startY[i][j]    = payload.getDouble();
+      }
+    }
+
+    return new RecordedInitialState(seed, groupsIds, agentsIds, startX, startY);
+  }
+
+  /**
+   * Decodes payload of update record.
+   *
+   * @param time - time of record.
+   * @param payload - payload of record.
+   *
+   * @return Returns decoded update data.
+   */
+  UpdateData decodeUpdate(long time, ByteBuffer payload)
+  {
+    int groupId = RecordFormat.getVarInt(payload);
+    Event[] events = new Event[RecordFormat.getVarInt(payload)];
+    for (int i = 0; i < events.length; i++)
+    {
+      int eventId = RecordFormat.getVarInt(payload);
+      EventType eventType = EVENT_TYPES[payload.get()];
+      long eventTime = time + RecordFormat.getVarLong(payload);
+
+      events[i] = decodeEvent(payload, eventId, eventType, eventTime);
+    }
+
+    return new UpdateData(time, EventUtils.createGroupEventsRepository(groupId, events));
+  }
+
+  /**
+   * Decodes parameters of event.
+   *
+   * @param payload - payload of record.
+   * @param eventId - event's identifier.
+   * @param eventType - event's type.
+   * @param eventTime - event's time.
+   *
+   * @return Returns decoded event.
+   */
+  private Event decodeEvent(ByteBuffer payload, int eventId, EventType eventType, long eventTime)
+  {
+    Event event = null;
+    switch (eventType)
+    {
+      case ENEMY_AGENT_SEEN:
+      {
+        event = EventTypesUtils.createEnemyAgentSeenEvent(eventId, eventTime,
+                                                          RecordFormat.getVarInt(payload),
+                                                          payload.getDouble(), payload.getDouble(),
+                                                          payload.getDouble(), payload.getDouble());
+        break;
+      }
+      case ENEMY_AGENT_GONE:
+      {
+        event = EventTypesUtils.createEnemyAgentGoneEvent(eventId, eventTime,
+                                                          RecordFormat.getVarInt(payload),
+                                                          payload.getDouble(), payload.getDouble(),
+                                                          payload.getDouble(), payload.getDouble());
+        break;
+      }
+      case ENEMY_AGENT_MOVE:
+      {
+        event = EventTypesUtils.createEnemyAgentMoveEvent(eventId, eventTime,
+                                                          RecordFormat.getVarInt(payload),
+                                                          payload.getDouble(), payload.getDouble(),
+                                                          payload.getDouble(), payload.getDouble());
+        break;
+      }
+      case ENEMY_AGENT_HIT:
+      {
+        event = EventTypesUtils.createEnemyAgentHitEvent(eventId, eventTime,
+                                                         RecordFormat.getVarInt(payload),
+                                                         RecordFormat.getVarInt(payload));
+        break;
+      }
+      case ENEMY_AGENT_DESTROYED:
+      {
+        event = EventTypesUtils.createEnemyAgentDestroyedEvent(eventId, eventTime,
+                                                               RecordFormat.getVarInt(payload),
+                                                               RecordFormat.getVarInt(payload));
+        break;
+      }
+      case FRIENDLY_AGENT_MOVE:
+      {
+        event = EventTypesUtils.createFriendlyAgentMoveEvent(eventId, eventTime,
+                                                             RecordFormat.getVarInt(payload),
+                                                             payload.getDouble(), payload.getDouble(),
+                                                             payload.getDouble(), payload.getDouble());
+        break;
+      }
+      case FRIENDLY_AGENT_MOVE_FINISHED:
+      {
+        event = EventTypesUtils.createFriendlyAgentMoveFinishedEvent(eventId, eventTime,
+                                                                     RecordFormat.getVarInt(payload));
+        break;
+      }
+      case FRIENDLY_AGENT_BLOCKED:
+      {
+        event = EventTypesUtils.createFriendlyAgentBlockedEvent(eventId, eventTime,
+                                                                RecordFormat.getVarInt(payload),
+                                                                payload.getDouble(), payload.getDouble());
+        break;
+      }
+      case FRIENDLY_AGENT_HIT:
+      {
+        event = EventTypesUtils.createFriendlyAgentHitEvent(eventId, eventTime,
+                                                            RecordFormat.getVarInt(payload),
+                                                            RecordFormat.getVarInt(payload));
+        break;
+      }
+      case FRIENDLY_AGENT_DESTROYED:
+      {
+        event = EventTypesUtils.createFriendlyAgentDestroyedEvent(eventId, eventTime,
+                                                                  RecordFormat.getVarInt(payload));
+        break;
+      }
+      case PROJECTILE_SHOT:
+      {
+        event = EventTypesUtils.createProjectileShotEvent(eventId, eventTime,
+                                                          decodeProjectileType(payload),
+                                                          RecordFormat.getVarInt(payload),
+                                                          payload.getDouble(), payload.getDouble(),
+                                                          payload.getDouble(), payload.getDouble(),
+                                                          RecordFormat.getVarInt(payload));
+        break;
+      }
+      case PROJECTILE_SEEN:
+      {
+        event = EventTypesUtils.createProjectileSeenEvent(eventId, eventTime,
+                                                          decodeProjectileType(payload),
+                                                          RecordFormat.getVarInt(payload),
+                                                          payload.getDouble(), payload.getDouble(),
+                                                          payload.getDouble(), payload.getDouble());
+        break;
+      }
+      case PROJECTILE_GONE:
+      {
+        event = EventTypesUtils.createProjectileGoneEvent(eventId, eventTime,
+                                                          RecordFormat.getVarInt(payload),
+                                                          payload.getDouble(), payload.getDouble(),
+                                                          payload.getDouble(), payload.getDouble());
+        break;
+      }
+      case PROJECTILE_MOVE:
+      {
+        event = EventTypesUtils.createProjectileMoveEvent(eventId, eventTime,
+                                                          RecordFormat.getVarInt(payload),
+                                                          payload.getDouble(), payload.getDouble(),
+                                                          payload.getDouble(), payload.getDouble());
+        break;
+      }
+      case PROJECTILE_DESTROYED:
+      {
+        event = EventTypesUtils.createProjectileDestroyedEvent(eventId, eventTime,
+                                                               RecordFormat.getVarInt(payload),
+                                                               payload.getDouble(), payload.getDouble());
+        break;
+      }
+    }
+
+    return event;
+  }
+
+  /**
+   * Decodes identifier of projectile type.
+   *
+   * @param payload - payload of record.
+   *
+   * @return Returns decoded projectile type.
+   */
+  private String decodeProjectileType(ByteBuffer payload)
+  {
+    int typeId = RecordFormat.getVarInt(payload);
+    if ((typeId < 0) || (typeId >= projectileTypes.size()))
+    {
+      throw new IllegalStateException("Undefined projectile type identifier in battle record: " + typeId + "!");
+    }
+    return projectileTypes.get(typeId);
+  }
+
+  /**
+   * Decodes payload of commands record.
+   *
+   * @param payload - payload of record.
+   *
+   * @return Returns decoded commands data.
+   */
+  CommandsData decodeCommands(ByteBuffer payload)
+  {
+    int groupId = RecordFormat.getVarInt(payload);
+
+    AgentCommands[] agentsCommands = new AgentCommands[RecordFormat.getVarInt(payload)];
+    for (int i = 0; i < agentsCommands.length; i++)
+    {
+      int agentId = RecordFormat.getVarInt(payload);
+      int[] commandsIds = new int[RecordFormat.getVarInt(payload)];
+      for (int j = 0; j < commandsIds.length; j++)
+      {
+        commandsIds[j] = RecordFormat.getVarInt(payload);
+      }
+      agentsCommands[i] = CommandUtils.createAgentCommands(agentId, commandsIds);
+    }
+
+    Command[] commands = new Command[RecordFormat.getVarInt(payload)];
+    for (int i = 0; i < commands.length; i++)
+    {
+      commands[i] = decodeCommand(payload);
+    }
+
+    return new CommandsData(CommandUtils.createCommandsRepository(groupId, agentsCommands, commands));
+  }
+
+  /**
+   * Decodes single command.
+   *
+   * @param payload - payload of record.
+   *
+   * @return Returns decoded command.
+   */
+  private Command decodeCommand(ByteBuffer payload)
+  {
+    Command command = null;
+
+    int commandId = RecordFormat.getVarInt(payload);
+    switch (COMMAND_TYPES[payload.get()])
+    {
+      case CLEAR_QUEUE:
+      {
+        command = CommandTypesUtils.createClearQueueCommand(commandId);
+        break;
+      }
+      case RESUME_LAST_COMMAND:
+      {
+        command = CommandTypesUtils.createResumeLastCommand(commandId);
+        break;
+      }
+      case ATTACK:
+      {
+        command = CommandTypesUtils.createAttackCommand(commandId, payload.getDouble(), payload.getDouble());
+        break;
+      }
+      case MOVE:
+      {
+        command = CommandTypesUtils.createMoveCommand(commandId, payload.getDouble(), payload.getDouble());
+        break;
+      }
+    }
+
+    return command;
+  }
+}
@@ -0,0 +1,434 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.record;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.java.dante.sim.command.AgentCommands;
+import net.java.dante.sim.command.CommandsRepository;
+import net.java.dante.sim.command.types.AttackCommand;
+import net.java.dante.sim.command.types.Command;
+import net.java.dante.sim.command.types.MoveCommand;
+import net.java.dante.sim.event.Event;
+import net.java.dante.sim.event.EventsRepository;
+import net.java.dante.sim.event.types.EnemyAgentDestroyedEvent;
+import net.java.dante.sim.event.types.EnemyAgentEvent;
+import net.java.dante.sim.event.types.EnemyAgentHitEvent;
+import net.java.dante.sim.event.types.FriendlyAgentBlockedEvent;
+import net.java.dante.sim.event.types.FriendlyAgentEvent;
+import net.java.dante.sim.event.types.FriendlyAgentHitEvent;
+import net.java.dante.sim.event.types.ObjectMoveEventParams;
+import net.java.dante.sim.event.types.ProjectileDestroyedEvent;
+import net.java.dante.sim.event.types.ProjectileEvent;
+import net.java.dante.sim.event.types.ProjectileShotEvent;
+import net.java.dante.sim.event.types.ProjectileTypeEvent;
+import net.java.dante.sim.io.CommandsData;
+import net.java.dante.sim.io.UpdateData;
+
+/**
+ * Encoder of battle records (see {@link RecordFormat}). Encoder remembers
+ * projectile types encoded so far, so one encoder must be used for whole
+ * record file. Encoded records are stored in one buffer reused by each
+ * encoding - this class is not thread-safe.
+ *
+ * @author M.Olszewski
+ */
+final class RecordEncoder
+{
+  /** Initial capacity of buffer. */
+  private static final int INITIAL_CAPACITY = 4 * 1024;
+  /** Maximum size of variable length integer. */
+  private static final int MAX_VAR_LONG_SIZE = 10;
+  /** Maximum size of encoded event without projectile type. */
+  private static final int MAX_EVENT_SIZE = 5 * MAX_VAR_LONG_SIZE + 4 * (Long.SIZE / Byte.SIZE) + 1;
+  /** Maximum size of encoded command. */
+  private static final int MAX_COMMAND_SIZE = MAX_VAR_LONG_SIZE + 2 * (Long.SIZE / Byte.SIZE) + 1;
+
+  /** Buffer with encoded records. */
+  private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+  /** Identifiers of projectile types encoded so far. */
+  private Map<String, Integer> projectileTypes = new HashMap<String, Integer>();
+
+
+  /**
+   * Creates instance of {@link RecordEncoder} class.
+   */
+  RecordEncoder()
+  {
+    // Intentionally left empty.
+  }
+
+
+  /**
+   * Encodes file header.
+   *
+   * @return Returns buffer with encoded header, ready to be read.
+   */
+  ByteBuffer encodeFileHeader()
+  {
+    buffer.clear();
+    buffer.putInt(RecordFormat.MAGIC);
+    buffer.put(RecordFormat.VERSION);
+    buffer.flip();
+
+    return buffer;
+  }
+
+  /**
+   * Encodes record with the specified update data, preceded by records
+   * defining projectile types not encoded so far.
+   *
+   * @param update - the specified update data.
+   *
+   * @return Returns buffer with encoded records, ready to be read.
+   */
+  ByteBuffer encodeUpdate(UpdateData update)
+  {
+    buffer.clear();
+
+    long time = update.getTime();
+    EventsRepository repository = update.getRepository();
+    int eventsCount = repository.getEventsCount();
+
+    for (int i = 0; i < eventsCount; i++)
+    {
+      Event event = repository.getEvent(i);
+      if (event instanceof ProjectileTypeEvent)
+      {
+        defineProjectileType(time, ((ProjectileTypeEvent)event).getProjectileType());
+      }
+    }
+
+    int recordStart = beginRecord(RecordFormat.UPDATE_RECORD, time);
+    ensureCapacity(2 * MAX_VAR_LONG_SIZE);
+    RecordFormat.putVarLong(buffer, repository.getGroupId());
+    RecordFormat.putVarLong(buffer, eventsCount);
+    for (int i = 0; i < eventsCount; i++)
+    {
+      encodeEvent(repository.getEvent(i), time);
+    }
+    endRecord(recordStart);
+
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Encodes record with the specified commands data.
+   *
+   * @param time - simulation time at which commands were received.
+   * @param commands - the specified commands data.
+   *
+   * @return Returns buffer with encoded record, ready to be read.
+   */
+  ByteBuffer encodeCommands(long time, CommandsData commands)
+  {
+    buffer.clear();
+
+    CommandsRepository repository = commands.getRepository();
+    int agentCommandsCount = repository.getAgentCommandsCount();
+
+    int recordStart = beginRecord(RecordFormat.COMMANDS_RECORD, time);
+    ensureCapacity(2 * MAX_VAR_LONG_SIZE);
+    RecordFormat.putVarLong(buffer, repository.getGroupId());
+    RecordFormat.putVarLong(buffer, agentCommandsCount);
+
+    Set<Integer> commandsIds = new LinkedHashSet<Integer>(repository.getCommandsCount() * 2);
+    for (int i = 0; i < agentCommandsCount; i++)
+    {
+      AgentCommands agentCommands = repository.getAgentCommands(i);
+      int commandsCount = agentCommands.getCommandsCount();
+
+      ensureCapacity((commandsCount + 2) * MAX_VAR_LONG_SIZE);
+      RecordFormat.putVarLong(buffer, agentCommands.getAgentId());
+      RecordFormat.putVarLong(buffer, commandsCount);
+      for (int j = 0; j < commandsCount; j++)
+      {
+        int commandId = agentCommands.getCommandId(j);
+        RecordFormat.putVarLong(buffer, commandId);
+        commandsIds.add(Integer.valueOf(commandId));
+      }
+    }
+
+    ensureCapacity(MAX_VAR_LONG_SIZE + commandsIds.size() * MAX_COMMAND_SIZE);
+    RecordFormat.putVarLong(buffer, commandsIds.size());
+    for (Integer commandId : commandsIds)
+    {
+      encodeCommand(repository.getCommand(commandId.intValue()));
+    }
+    endRecord(recordStart);
+
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Encodes record with the specified initial state of battle.
+   *
+   * @param state - the specified initial state.
+   *
+   * @return Returns buffer with encoded record, ready to be read.
+   */
+  ByteBuffer encodeInitialization(RecordedInitialState state)
+  {
+    buffer.clear();
+
+    int groupsCount = state.getGroupsCount();
+
+    int recordStart = beginRecord(RecordFormat.INITIALIZATION_RECORD, 0);
+    ensureCapacity(2 * MAX_VAR_LONG_SIZE);
+    RecordFormat.putVarLong(buffer, state.getSeed());
+    RecordFormat.putVarLong(buffer, groupsCount);
+    for (int i = 0; i < groupsCount; i++)
+    {
+      int agentsCount = state.getAgentsCount(i);
+
+      ensureCapacity(2 * MAX_VAR_LONG_SIZE +
+          agentsCount * (MAX_VAR_LONG_SIZE + 2 * (Long.SIZE / Byte.SIZE)));
+      RecordFormat.putVarLong(buffer, state.getGroupId(i));
+      RecordFormat.putVarLong(buffer, agentsCount);
+      for (int j = 0; j < agentsCount; j++)
+      {
+        RecordFormat.putVarLong(buffer, state.getAgentId(i, j));
+        buffer.putDouble(state.getStartX(i, j));
+        buffer.putDouble(state.getStartY(i, j));
+      }
+    }
+    endRecord(recordStart);
+
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Encodes record defining identifier of the specified projectile type,
+   * if this type was not encoded so far.
+   *
+   * @param time - time of record.
+   * @param type - the specified projectile type.
+   */
+  private void defineProjectileType(long time, String type)
+  {
+    if (!projectileTypes.containsKey(type))
+    {
+      projectileTypes.put(type, Integer.valueOf(projectileTypes.size()));
+
+      int recordStart = beginRecord(RecordFormat.PROJECTILE_TYPE_RECORD, time);
+      byte[] typeBytes = type.getBytes(RecordFormat.CHARSET);
+      ensureCapacity(MAX_VAR_LONG_SIZE + typeBytes.length);
+      RecordFormat.putVarLong(buffer, typeBytes.length);
+      buffer.put(typeBytes);
+      endRecord(recordStart);
+    }
+  }
+
+  /**
+   * Encodes the specified event.
+   *
+   * @param event - the specified event.
+   * @param time - time of record.
+   */
+  private void encodeEvent(Event event, long time)
+  {
+    ensureCapacity(MAX_EVENT_SIZE);
+
+    RecordFormat.putVarLong(buffer, event.getId());
+    buffer.put((byte)event.getEventType().ordinal());
+    RecordFormat.putVarLong(buffer, event.getTime() - time);
+
+    if (event instanceof FriendlyAgentEvent)
+    {
+      encodeFriendlyAgentEvent((FriendlyAgentEvent)event);
+    }
+    else if (event instanceof EnemyAgentEvent)
+    {
+      encodeEnemyAgentEvent((EnemyAgentEvent)event);
+    }
+    else if (event instanceof ProjectileEvent)
+    {
+      encodeProjectileEvent((ProjectileEvent)event);
+    }
+  }
+
+  /**
+   * Encodes parameters of the specified {@link FriendlyAgentEvent} event.
+   *
+   * @param event - the specified event.
+   */
+  private void encodeFriendlyAgentEvent(FriendlyAgentEvent event)
+  {
+    RecordFormat.putVarLong(buffer, event.getFriendlyAgentId());
+
+    if (event instanceof ObjectMoveEventParams)
+    {
+      encodeMoveParams((ObjectMoveEventParams)event);
+    }
+    else if (event instanceof FriendlyAgentBlockedEvent)
+    {
+      FriendlyAgentBlockedEvent blockedEvent = (FriendlyAgentBlockedEvent)event;
+      buffer.putDouble(blockedEvent.getBlockedX());
+      buffer.putDouble(blockedEvent.getBlockedY());
+    }
+    else if (event instanceof FriendlyAgentHitEvent)
+    {
+      RecordFormat.putVarLong(buffer, ((FriendlyAgentHitEvent)event).getDamage());
+    }
+  }
+
+  /**
+   * Encodes parameters of the specified {@link EnemyAgentEvent} event.
+   *
+   * @param event - the specified event.
+   */
+  private void encodeEnemyAgentEvent(EnemyAgentEvent event)
+  {
+    RecordFormat.putVarLong(buffer, event.getEnemyAgentId());
+
+    if (event instanceof ObjectMoveEventParams)
+    {
+      encodeMoveParams((ObjectMoveEventParams)event);
+    }
+    else if (event instanceof EnemyAgentHitEvent)
+    {
+      RecordFormat.putVarLong(buffer, ((EnemyAgentHitEvent)event).getShooterId());
+    }
+    else if (event instanceof EnemyAgentDestroyedEvent)
+    {
+      RecordFormat.putVarLong(buffer, ((EnemyAgentDestroyedEvent)event).getShooterId());
+    }
+  }
+
+  /**
+   * Encodes parameters of the specified {@link ProjectileEvent} event.
+   *
+   * @param event - the specified event.
+   */
+  private void encodeProjectileEvent(ProjectileEvent event)
+  {
+    if (event instanceof ProjectileTypeEvent)
+    {
+      String type = ((ProjectileTypeEvent)event).getProjectileType();
+      RecordFormat.putVarLong(buffer, projectileTypes.get(type).intValue());
+    }
+
+    RecordFormat.putVarLong(buffer, event.getProjectileId());
+
+    if (event instanceof ObjectMoveEventParams)
+    {
+      encodeMoveParams((ObjectMoveEventParams)event);
+
+      if (event instanceof ProjectileShotEvent)
+      {
+        RecordFormat.putVarLong(buffer, ((ProjectileShotEvent)event).getShooterId());
+      }
+    }
+    else if (event instanceof ProjectileDestroyedEvent)
+    {
+      ProjectileDestroyedEvent destroyedEvent = (ProjectileDestroyedEvent)event;
+      buffer.putDouble(destroyedEvent.getProjectileX());
+      buffer.putDouble(destroyedEvent.getProjectileY());
+    }
+  }
+
+  /**
+   * Encodes the specified movement parameters.
+   *
+   * @param params - the specified movement parameters.
+   */
+  private void encodeMoveParams(ObjectMoveEventParams params)
+  {
+    buffer.putDouble(params.getDestinationX());
+    buffer.putDouble(params.getDestinationY());
+    buffer.putDouble(params.getSpeedX());
+    buffer.putDouble(params.getSpeedY());
+  }
+
+  /**
+   * Encodes the specified command.
+   *
+   * @param command - the specified command.
+   */
+  private void encodeCommand(Command command)
+  {
+    RecordFormat.putVarLong(buffer, command.getCommandId());
+    buffer.put((byte)command.getCommandType().ordinal());
+
+    if (command instanceof AttackCommand)
+    {
+      AttackCommand attackCommand = (AttackCommand)command;
+      buffer.putDouble(attackCommand.getTargetX());
+      buffer.putDouble(attackCommand.getTargetY());
+    }
+    else if (command instanceof MoveCommand)
+    {
+      MoveCommand moveCommand = (MoveCommand)command;
+      buffer.putDouble(moveCommand.getDestinationX());
+      buffer.putDouble(moveCommand.getDestinationY());
+    }
+  }
+
+  /**
+   * Begins record of the specified kind - writes its header with
+   * length of payload set to zero.
+   *
+   * @param kind - kind of record.
+   * @param time - time of record.
+   *
+   * @return Returns position at which record starts.
+   */
+  private int beginRecord(byte kind, long time)
+  {
+    ensureCapacity(RecordFormat.RECORD_HEADER_SIZE);
+
+    int recordStart = buffer.position();
+    buffer.put(kind);
+    buffer.putLong(time);
+    buffer.putInt(0);
+
+    return recordStart;
+  }
+
+  /**
+   * Ends record started at the specified position - sets length of its
+   * payload.
+   *
+   * @param recordStart - position at which record starts.
+   */
+  private void endRecord(int recordStart)
+  {
+    int payloadLength = buffer.position() - recordStart - RecordFormat.RECORD_HEADER_SIZE;
+    buffer.putInt(recordStart + RecordFormat.RECORD_HEADER_SIZE - (Integer.SIZE / Byte.SIZE),
+                  payloadLength);
+  }
+
+  /**
+   * Ensures that buffer has at least the specified number of bytes
+   * remaining - replaces it with greater one if necessary.
+   *
+   * @param required - required number of bytes.
+   */
+  private void ensureCapacity(int required)
+  {
+    if (buffer.remaining() < required)
+    {
+      int capacity = buffer.capacity() * 2;
+      while ((capacity - buffer.position()) < required)
+      {
+        capacity *= 2;
+      }
+
+      ByteBuffer newBuffer = ByteBuffer.allocate(capacity);
+      buffer.flip();
+      newBuffer.put(buffer);
+      buffer = newBuffer;
+    }
+  }
+}
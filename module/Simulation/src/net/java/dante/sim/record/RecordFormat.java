@@ -0,0 +1,126 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.record;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Constants and primitive operations of battle record format.
+ * <p>
+ * Record file starts with {@link #MAGIC} number and {@link #VERSION} byte,
+ * followed by records. Each record starts with header: record kind (one
+ * byte), simulation time (<code>long</code>) and length of payload
+ * (<code>int</code>). Reader can skip whole record without decoding its
+ * payload, so it can quickly seek to the specified time.
+ * <p>
+ * Payloads use variable length integers for identifiers and counters,
+ * events' times are written as differences from time of record and
+ * positions and speeds are written with full precision, so recorded battle
+ * is reproduced exactly. Projectile types are written as identifiers
+ * defined by {@link #PROJECTILE_TYPE_RECORD} records.
+ *
+ * @author M.Olszewski
+ */
+final class RecordFormat
+{
+  /** Magic number starting each record file. */
+  static final int MAGIC = 0x44425243;
+  /** Version of record format. */
+  static final byte VERSION = 1;
+  /** Size of file header. */
+  static final int FILE_HEADER_SIZE = 5;
+  /** Size of record header. */
+  static final int RECORD_HEADER_SIZE = 13;
+
+  /** Character set of projectile types. */
+  static final Charset CHARSET = Charset.forName("UTF-8");
+
+  /** Kind of record with {@link net.java.dante.sim.io.UpdateData}. */
+  static final byte UPDATE_RECORD = 1;
+  /** Kind of record with {@link net.java.dante.sim.io.CommandsData}. */
+  static final byte COMMANDS_RECORD = 2;
+  /** Kind of record defining identifier of next projectile type. */
+  static final byte PROJECTILE_TYPE_RECORD = 3;
+  /** Kind of record with {@link RecordedInitialState}. */
+  static final byte INITIALIZATION_RECORD = 4;
+
+  /** Mask of bits stored in one byte of variable length integer. */
+  private static final int VAR_INT_BITS_MASK = 0x7F;
+  /** Flag set in each byte of variable length integer except the last one. */
+  private static final int VAR_INT_CONTINUATION = 0x80;
+  /** Number of bits stored in one byte of variable length integer. */
+  private static final int VAR_INT_SHIFT = 7;
+
+
+  /**
+   * Private constructor - no instances allowed.
+   */
+  private RecordFormat()
+  {
+    // Intentionally left empty.
+  }
+
+
+  /**
+   * Writes the specified number as variable length integer, using zig-zag
+   * encoding so numbers close to zero take less bytes - also negative ones.
+   * Buffer must have at least 10 bytes remaining.
+   *
+   * @param buffer - buffer to which number is written.
+   * @param value - written number.
+   */
+  static void putVarLong(ByteBuffer buffer, long value)
+  {
+    long remaining = (value << 1) ^ (value >> (Long.SIZE - 1));
+    while ((remaining & ~VAR_INT_BITS_MASK) != 0)
+    {
+      buffer.put((byte)((remaining & VAR_INT_BITS_MASK) | VAR_INT_CONTINUATION));
+      remaining >>>= VAR_INT_SHIFT;
+    }
+    buffer.put((byte)remaining);
+  }
+
+  /**
+   * Reads number written by {@link #putVarLong(ByteBuffer, long)}.
+   *
+   * @param buffer - buffer from which number is read.
+   *
+   * @return Returns read number.
+   */
+  static long getVarLong(ByteBuffer buffer)
+  {
+    long encoded = 0;
+    int shift = 0;
+    byte read;
+    do
+    {
+      if (shift >= Long.SIZE)
+      {
+        throw new IllegalStateException("Malformed variable length integer in battle record!");
+      }
+      read = buffer.get();
+      encoded |= ((long)(read & VAR_INT_BITS_MASK) << shift);
+      shift += VAR_INT_SHIFT;
+    }
+    while ((read & VAR_INT_CONTINUATION) != 0);
+
+    return ((encoded >>> 1) ^ -(encoded & 1));
+  }
+
+  /**
+   * Reads integer written by {@link #putVarLong(ByteBuffer, long)}.
+   *
+   * @param buffer - buffer from which integer is read.
+   *
+   * @return Returns read integer.
+   */
+  static int getVarInt(ByteBuffer buffer)
+  {
+    return (int)getVarLong(buffer);
+  }
+}
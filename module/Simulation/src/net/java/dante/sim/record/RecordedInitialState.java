@@ -0,0 +1,179 @@
+/*
+ * Created on 2026-10-18
+ *
+ * @author M.Olszewski
+ */
+
+package net.java.dante.sim.record;
+
+import net.java.dante.sim.io.init.AgentsInitData;
+import net.java.dante.sim.io.init.FriendlyAgentInitData;
+import net.java.dante.sim.io.init.InitializationData;
+
+/**
+ * Initial state of recorded battle - seed of random numbers generator
+ * and identifiers and start positions of agents in each group. Battle is
+ * replayed by simulation initialized with the same seed, in which groups
+ * and agents are found by their start positions, because identifiers of
+ * simulation objects are different in each simulation.
+ *
+ * @author M.Olszewski
+ */
+public final class RecordedInitialState
+{
+  /** Seed of random numbers generator. */
+  private long seed;
+  /** Identifiers of groups. */
+  private int[] groupsIds;
+  /** Identifiers of agents in each group. */
+  private int[][] agentsIds;
+  /** Start X coordinates of agents in each group. */
+  private double[][] startX;
+  /** Start Y coordinates of agents in each group. */
+  private double[][] startY;
+
+
+  /**
+   * Creates instance of {@link RecordedInitialState} class.
+   *
+   * @param randomSeed - seed of random numbers generator.
+   * @param groupsIdentifiers - identifiers of groups.
+   * @param agentsIdentifiers - identifiers of agents in each group.
+   * @param agentsStartX - start X coordinates of agents in each group.
+   * @param agentsStartY - start Y coordinates of agents in each group.
+   */
+  RecordedInitialState(long randomSeed, int[] groupsIdentifiers, int[][] agentsIdentifiers,
+                       double[][] agentsStartX, double[][] agentsStartY)
+  {
+    seed      = randomSeed;
+    groupsIds = groupsIdentifiers;
+    agentsIds = agentsIdentifiers;
+    startX    = agentsStartX;
+    startY    = agentsStartY;
+  }
+
+
+  /**
+   * Creates initial state from the specified seed and initialization data
+   * sent to all groups.
+   *
+   * @param seed - seed of random numbers generator.
+   * @param initData - initialization data sent to all groups.
+   *
+   * @return Returns created initial state.
+   */
+  public static RecordedInitialState create(long seed, InitializationData[] initData)
+  {
+    if (initData == null)
+    {
+      throw new NullPointerException("Specified initData is null!");
+    }
+
+    int[] groupsIds = new int[initData.length];
+    int[][] agentsIds = new int[initData.length][];
+    double[][] startX = new double[initData.length][];
+    double[][] startY = new double[initData.length][];
+    for (int i = 0; i < initData.length; i++)
+    {
+      AgentsInitData agentsData = initData[i].getAgentsInitData();
+      int agentsCount = agentsData.getFriendlyAgentsCount();
+
+      groupsIds[i] = initData[i].getGroupId();
+      agentsIds[i] = new int[agentsCount];
+      startX[i]    = new double[agentsCount];
+      startY[i]    = new double[agentsCount];
+      for (int j = 0; j < agentsCount; j++)
+      {
+        FriendlyAgentInitData agentData = agentsData.getFriendlyAgentInitData(j);
+        agentsIds[i][j] = agentData.getAgentId();
+        startX[i][j]    = agentData.getStartX();
+        startY[i][j]    = agentData.getStartY();
+      }
+    }
+
+    return new RecordedInitialState(seed, groupsIds, agentsIds, startX, startY);
+  }
+
+  /**
+   * Gets seed of random numbers generator.
+   *
+   * @return Returns seed of random numbers generator.
+   */
+  public long getSeed()
+  {
+    return seed;
+  }
+
+  /**
+   * Gets number of groups.
+   *
+   * @return Returns number of groups.
+   */
+  public int getGroupsCount()
+  {
+    return groupsIds.length;
+  }
+
+  /**
+   * Gets identifier of group with the specified index.
+   *
+   * @param groupIndex - the specified index of group.
+   *
+   * @return Returns identifier of group.
+   */
+  public int getGroupId(int groupIndex)
+  {
+    return groupsIds[groupIndex];
+  }
+
+  /**
+   * Gets number of agents in group with the specified index.
+   *
+   * @param groupIndex - the specified index of group.
+   *
+   * @return Returns number of agents in group.
+   */
+  public int getAgentsCount(int groupIndex)
+  {
+    return agentsIds[groupIndex].length;
+  }
+
+  /**
+   * Gets identifier of agent with the specified index.
+   *
+   * @param groupIndex - index of agent's group.
+   * @param agentIndex - index of agent in its group.
+   *
+   * @return Returns identifier of agent.
+   */
+  public int getAgentId(int groupIndex, int agentIndex)
+  {
+    return agentsIds[groupIndex][agentIndex];
+  }
+
+  /**
+   * Gets start X coordinate of agent with the specified index.
+   *
+   * @param groupIndex - index of agent's group.
+   * @param agentIndex - index of agent in its group.
+   *
+   * @return Returns start X coordinate of agent.
+   */
+  public double getStartX(int groupIndex, int agentIndex)
+  {
+    return startX[groupIndex][agentIndex];
+  }
+
+  /**
+   * Gets start Y coordinate of agent with the specified index.
+   *
+   * @param groupIndex - index of agent's group.
+   * @param agentIndex - index of agent in its group.
+   *
+   * @return Returns start Y coordinate of agent.
+   */
+  public double getStartY(int groupIndex, int agentIndex)
+  {
+    return startY[groupIndex][agentIndex];
+  }
+}
@@ -105,17 +105,17 @@ public final class Line2d
    */
   public double getX2()
   {
-    return x1;
+    return x2;
   }
 
   /**
-   * Gets 'x' coordinate of second endpoint.
+   * Gets 'y' coordinate of second endpoint.
    *
-   * @return Returns 'x' coordinate of second endpoint.
+   * @return Returns 'y' coordinate of second endpoint.
    */
   public double getY2()
   {
-    return y1;
+    return y2;
   }
 
   /**
@@ -76,6 +76,109 @@ public final class Rect2d
     return intersect;
   }
   
+  /**
+   * Calculates part of the specified movement after which rectangle with
+   * the specified size starts to intersect this {@link Rect2d}. Path of
+   * rectangle's top-left corner is checked against this {@link Rect2d}
+   * enlarged by size of moving rectangle.
+   * 
+   * @param path - path of moving rectangle's top-left corner.
+   * @param movingWidth - width of moving rectangle.
+   * @param movingHeight - height of moving rectangle.
+   * 
+   * @return Returns part of movement from range [0, 1] after which rectangles
+   *         intersect or negative value if they do not intersect during
+   *         the movement.
+   */
+  public double intersectionTime(Line2d path, int movingWidth, int movingHeight)
+  {
+    double enterTime = -1.0;
+    if (!isEmpty() && (movingWidth > 0) && (movingHeight > 0))
+    {
+      double enterX = slabEnterTime(path.getX1(), path.getX2(), x - movingWidth, x + width);
+      double exitX  = slabExitTime(path.getX1(), path.getX2(), x - movingWidth, x + width);
+      double enterY = slabEnterTime(path.getY1(), path.getY2(), y - movingHeight, y + height);
+      double exitY  = slabExitTime(path.getY1(), path.getY2(), y - movingHeight, y + height);
+
+      double enter = Math.max(0.0, Math.max(enterX, enterY));
+      double exit  = Math.min(1.0, Math.min(exitX, exitY));
+      if (enter < exit)
+      {
+        enterTime = enter;
+      }
+    }
+    
+    return enterTime;
+  }
+  
+  /**
+   * Calculates part of movement along one axis, from the specified start
+   * to the specified end, after which moving point enters open range
+   * (<code>min</code>, <code>max</code>).
+   * 
+   * @param start - start coordinate.
+   * @param end - end coordinate.
+   * @param min - lower bound of range.
+   * @param max - upper bound of range.
+   * 
+   * @return Returns part of movement after which point enters range,
+   *         {@link Double#NEGATIVE_INFINITY} if point is always inside
+   *         range or {@link Double#POSITIVE_INFINITY} if it is never
+   *         inside range.
+   */
+  private static double slabEnterTime(double start, double end, double min, double max)
+  {
+    double time = Double.NEGATIVE_INFINITY;
+    double distance = end - start;
+    if (distance == 0.0)
+    {
+      if ((start <= min) || (start >= max))
+      {
+        time = Double.POSITIVE_INFINITY;
+      }
+    }
+    else
+    {
+      time = Math.min((min - start) / distance, (max - start) / distance);
+    }
+    
+    return time;
+  }
+  
+  /**
+   * Calculates part of movement along one axis, from the specified start
+   * to the specified end, after which moving point leaves open range
+   * (<code>min</code>, <code>max</code>).
+   * 
+   * @param start - start coordinate.
+   * @param end - end coordinate.
+   * @param min - lower bound of range.
+   * @param max - upper bound of range.
+   * 
+   * @return Returns part of movement after which point leaves range,
+   *         {@link Double#POSITIVE_INFINITY} if point is always inside
+   *         range or {@link Double#NEGATIVE_INFINITY} if it is never
+   *         inside range.
+   */
+  private static double slabExitTime(double start, double end, double min, double max)
+  {
+    double time = Double.POSITIVE_INFINITY;
+    double distance = end - start;
+    if (distance == 0.0)
+    {
+      if ((start <= min) || (start >= max))
+      {
+        time = Double.NEGATIVE_INFINITY;
+      }
+    }
+    else
+    {
+      time = Math.max((min - start) / distance, (max - start) / distance);
+    }
+    
+    return time;
+  }
+  
   /**
    * Calculates {@link Rect2d} object representing intersection between this
    * and specified instance of {@link Rect2d} class.